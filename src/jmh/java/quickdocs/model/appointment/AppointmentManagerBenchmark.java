@@ -0,0 +1,160 @@
+package quickdocs.model.appointment;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import quickdocs.model.Slot;
+import quickdocs.model.patient.Address;
+import quickdocs.model.patient.Contact;
+import quickdocs.model.patient.Dob;
+import quickdocs.model.patient.Email;
+import quickdocs.model.patient.Gender;
+import quickdocs.model.patient.Name;
+import quickdocs.model.patient.Nric;
+import quickdocs.model.patient.Patient;
+import quickdocs.model.tag.Tag;
+
+/**
+ * Measures the calendar operations of {@code AppointmentManager} on synthetic calendars spanning several years,
+ * where every weekday is booked with half hour appointments from the opening hour, leaving gaps at random.
+ * The conflict check is compared against a linear scan of all appointments, which is how it was carried out
+ * before the appointments were kept in a calendar keyed by date.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AppointmentManagerBenchmark {
+
+    private static final LocalDate FIRST_DATE = LocalDate.parse("2019-01-01");
+    private static final int SLOTS_PER_DAY = 18;
+
+    @Param({"1", "3", "10"})
+    private int years;
+
+    private AppointmentManager appointmentManager;
+    private List<Appointment> allAppointments;
+    private Appointment[] queries;
+    private LocalDate[] weeks;
+    private int nextQuery;
+
+    /**
+     * Fills the appointment manager with {@code years} years of appointments
+     * and picks the appointments and weeks to query during the benchmark.
+     */
+    @Setup
+    public void setUp() {
+        Patient patient = new Patient(new Name("Alice Tan"), new Nric("S9123456A"), new Email("alice@gmail.com"),
+                new Address("1 Simei Road"), new Contact("91111111"), new Gender("F"), new Dob("1991-01-01"),
+                new ArrayList<Tag>());
+        Random random = new Random(2019);
+        appointmentManager = new AppointmentManager();
+        LocalDate lastDate = FIRST_DATE.plusYears(years);
+        for (LocalDate date = FIRST_DATE; date.isBefore(lastDate); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                if (random.nextInt(4) == 0) {
+                    continue;
+                }
+                LocalTime start = AppointmentManager.OPENING_HOUR.plusMinutes(30 * slot);
+                appointmentManager.addAppointment(
+                        new Appointment(patient, date, start, start.plusMinutes(30), "Checkup"));
+            }
+        }
+        allAppointments = appointmentManager.getAppointmentList();
+
+        queries = new Appointment[1024];
+        weeks = new LocalDate[1024];
+        for (int i = 0; i < queries.length; i++) {
+            LocalDate date = FIRST_DATE.plusDays(random.nextInt(365 * years));
+            LocalTime start = AppointmentManager.OPENING_HOUR.plusMinutes(30 * random.nextInt(SLOTS_PER_DAY));
+            queries[i] = new Appointment(patient, date, start, start.plusMinutes(30), "Follow up");
+            weeks[i] = date;
+        }
+    }
+
+    private int nextQuery() {
+        nextQuery = (nextQuery + 1) % queries.length;
+        return nextQuery;
+    }
+
+    @Benchmark
+    public boolean hasTimeConflicts() {
+        return appointmentManager.hasTimeConflicts(queries[nextQuery()]);
+    }
+
+    /**
+     * Lists the appointments of the week starting at a random date.
+     */
+    @Benchmark
+    public String listAppointmentsForWeek() {
+        LocalDate start = weeks[nextQuery()];
+        return appointmentManager.listAppointments(start, start.plusDays(6));
+    }
+
+    /**
+     * Lists the free slots of the week starting at a random date.
+     */
+    @Benchmark
+    public String listFreeSlotsForWeek() {
+        LocalDate start = weeks[nextQuery()];
+        return appointmentManager.listFreeSlots(start, start.plusDays(6));
+    }
+
+    /**
+     * Finds the next 5 free hour long slots from a random date, which usually skips several busy days.
+     */
+    @Benchmark
+    public List<Slot> findNextFreeHours() {
+        Appointment query = queries[nextQuery()];
+        return appointmentManager.findFreeSlots(query.getDate(), query.getStart(), Duration.ofHours(1), 5);
+    }
+
+    /**
+     * Adds an appointment on a date after every booked day, and deletes it to keep the calendar unchanged.
+     */
+    @Benchmark
+    public boolean addAndDeleteAppointment() {
+        Appointment query = queries[nextQuery()];
+        Appointment toAdd = new Appointment(query.getPatient(), query.getDate().plusYears(years),
+                query.getStart(), query.getEnd(), query.getComment());
+        appointmentManager.addAppointment(toAdd);
+        boolean added = appointmentManager.hasDuplicateAppointment(toAdd);
+        appointmentManager.delete(toAdd);
+        return added;
+    }
+
+    /**
+     * Baseline: the linear scan previously used by the conflict check.
+     */
+    @Benchmark
+    public boolean linearScanTimeConflicts() {
+        Appointment query = queries[nextQuery()];
+        for (Appointment app : allAppointments) {
+            if (app.getDate().isEqual(query.getDate())) {
+                if (app.getStart().isBefore(query.getEnd()) && query.getStart().isBefore(app.getEnd())) {
+                    return true;
+                }
+            } else if (app.getDate().isAfter(query.getDate())) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,134 @@
+package quickdocs.model.medicine;
+
+import static quickdocs.commons.util.CollectionUtil.binarySearch;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the lookups of medicines by name in {@code MedicineManager} against a binary search that lowers the
+ * case of both names at every comparison, which is how the lookups were carried out before the name index
+ * was introduced. Also measures the import of {@code medicineCount} medicines into an empty directory,
+ * one by one and as a batch, and the completion of prefixes of the names against listing the medicines of the
+ * directory they are in, which sorts them all.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MedicineManagerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int medicineCount;
+
+    private MedicineManager medicineManager;
+    private String[] catalogueNames;
+    private String[] queries;
+    private String[] prefixes;
+    private int nextQuery;
+
+    /**
+     * Fills the medicine manager with {@code medicineCount} medicines, and picks the names to look up during the
+     * benchmark, in the case a user would type them in.
+     */
+    @Setup
+    public void setUp() {
+        medicineManager = new MedicineManager();
+        String[] root = new String[] {"root"};
+        for (int i = 0; i < medicineCount; i++) {
+            medicineManager.addMedicine("Medicine" + i, 100, root, BigDecimal.ONE);
+        }
+
+        Random random = new Random(2019);
+        catalogueNames = new String[medicineCount];
+        for (int i = 0; i < medicineCount; i++) {
+            catalogueNames[i] = "Medicine" + random.nextInt();
+        }
+
+        queries = new String[1024];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = "medicine" + random.nextInt(medicineCount);
+        }
+
+        // prescribes some of the medicines, and completes the names typed up to their first few digits
+        for (int i = 0; i < medicineCount; i++) {
+            medicineManager.recordPrescription(medicineManager.findMedicine(queries[i % queries.length]).get(), 1);
+        }
+        prefixes = new String[queries.length];
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = queries[i].substring(0, "medicine".length() + 1 + random.nextInt(2));
+        }
+        medicineManager.getCompletions("");
+    }
+
+    private String nextQuery() {
+        nextQuery = (nextQuery + 1) % queries.length;
+        return queries[nextQuery];
+    }
+
+    @Benchmark
+    public Optional<Medicine> findMedicine() {
+        return medicineManager.findMedicine(nextQuery());
+    }
+
+    /**
+     * Baseline: the binary search previously used by every lookup by name.
+     */
+    @Benchmark
+    public Optional<Medicine> binarySearchLowerCase() {
+        String medicineName = nextQuery();
+        ArrayList<Medicine> listOfMedicine = medicineManager.getListOfMedicine();
+        return binarySearch(listOfMedicine, (Medicine med) -> (
+                med.name.toLowerCase().compareTo(medicineName.toLowerCase())));
+    }
+
+    @Benchmark
+    public ArrayList<String> getCompletions() {
+        nextQuery = (nextQuery + 1) % prefixes.length;
+        return medicineManager.getCompletions(prefixes[nextQuery]);
+    }
+
+    /**
+     * Baseline: the suggestions listed for the directory the medicines are in, at every keystroke.
+     */
+    @Benchmark
+    public ArrayList<String> getMedicineSuggestions() {
+        return medicineManager.getMedicineSuggestions("root\\");
+    }
+
+    @Benchmark
+    public MedicineManager addMedicinesOneByOne() {
+        MedicineManager catalogue = new MedicineManager();
+        String[] root = new String[] {"root"};
+        for (String name : catalogueNames) {
+            if (!catalogue.findMedicine(name).isPresent()) {
+                catalogue.addMedicine(name, 100, root, BigDecimal.ONE);
+            }
+        }
+        return catalogue;
+    }
+
+    @Benchmark
+    public MedicineManager addAllMedicines() {
+        MedicineManager catalogue = new MedicineManager();
+        Map<String, Medicine> medicines = new LinkedHashMap<>();
+        for (String name : catalogueNames) {
+            medicines.putIfAbsent(MedicineManager.getNameKey(name), new Medicine(name, 100));
+        }
+        catalogue.addAllMedicines(new ArrayList<>(medicines.values()), new String[] {"root"});
+        return catalogue;
+    }
+}
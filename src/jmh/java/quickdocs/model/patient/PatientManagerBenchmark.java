@@ -0,0 +1,117 @@
+package quickdocs.model.patient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import quickdocs.model.tag.Tag;
+
+/**
+ * Compares the NRIC lookups of {@code PatientManager} against a linear scan of the patient list,
+ * which is how the lookups were carried out before the NRIC index was introduced,
+ * and measures the deletion of patients from the middle of the list, and the retrieval of a later page of a search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PatientManagerBenchmark {
+
+    private static final String[] S_AND_T_CHECKSUMS = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "Z", "J"};
+
+    @Param({"10000", "100000", "1000000"})
+    private int patientCount;
+
+    private PatientManager patientManager;
+    private Patient[] queries;
+    private int nextQuery;
+
+    /**
+     * Fills the patient manager with {@code patientCount} patients with distinct NRICs
+     * and picks the patients to look up during the benchmark.
+     */
+    @Setup
+    public void setUp() {
+        patientManager = new PatientManager();
+        Email email = new Email("patient@gmail.com");
+        Address address = new Address("1 Simei Road");
+        Contact contact = new Contact("91111111");
+        Gender gender = new Gender("M");
+        Dob dob = new Dob("1991-01-01");
+        for (int i = 0; i < patientCount; i++) {
+            Nric nric = new Nric(String.format("S%07d%s", i, S_AND_T_CHECKSUMS[i % S_AND_T_CHECKSUMS.length]));
+            Name name = new Name("Patient " + i);
+            patientManager.addPatient(new Patient(name, nric, email, address, contact, gender, dob,
+                    new ArrayList<Tag>()));
+        }
+
+        Random random = new Random(2019);
+        queries = new Patient[1024];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = patientManager.getPatientAtIndex(random.nextInt(patientCount));
+        }
+    }
+
+    private Patient nextQuery() {
+        nextQuery = (nextQuery + 1) % queries.length;
+        return queries[nextQuery];
+    }
+
+    @Benchmark
+    public int getIndexByNric() {
+        return patientManager.getIndexByNric(nextQuery().getNric());
+    }
+
+    @Benchmark
+    public boolean isDuplicatePatient() {
+        return patientManager.isDuplicatePatient(nextQuery());
+    }
+
+    @Benchmark
+    public Patient getPatientByNric() {
+        return patientManager.getPatientByNric(nextQuery().getNric().toString());
+    }
+
+    /**
+     * Deletes a patient and adds it back at the end of the list, so that the number of patients stays the same.
+     */
+    @Benchmark
+    public int deleteAndAddPatient() {
+        Patient patient = nextQuery();
+        patientManager.deletePatientByNric(patient.getNric().toString());
+        patientManager.addPatient(patient);
+        return patientManager.getIndexByNric(patient.getNric());
+    }
+
+    /**
+     * Retrieves a later page of a search finding every patient, as when paging through its results.
+     */
+    @Benchmark
+    public PatientPage findPatientsByNricLaterPage() {
+        return patientManager.findPatientsByNric("S", 50, PatientPage.encodePageToken(patientCount / 2));
+    }
+
+    /**
+     * Baseline: the linear scan previously used by every NRIC lookup.
+     */
+    @Benchmark
+    public int linearScanByNric() {
+        String nric = nextQuery().getNric().toString();
+        List<Patient> patientList = patientManager.getPatientList();
+        for (int i = 0; i < patientList.size(); i++) {
+            if (patientList.get(i).getNric().toString().equals(nric)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
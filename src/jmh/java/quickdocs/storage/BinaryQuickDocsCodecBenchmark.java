@@ -0,0 +1,128 @@
+package quickdocs.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import quickdocs.commons.core.Config.DataFormat;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.appointment.Appointment;
+import quickdocs.model.consultation.Assessment;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.Diagnosis;
+import quickdocs.model.consultation.Prescription;
+import quickdocs.model.consultation.Symptom;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.model.patient.Address;
+import quickdocs.model.patient.Contact;
+import quickdocs.model.patient.Dob;
+import quickdocs.model.patient.Email;
+import quickdocs.model.patient.Gender;
+import quickdocs.model.patient.Name;
+import quickdocs.model.patient.Nric;
+import quickdocs.model.patient.Patient;
+import quickdocs.model.tag.Tag;
+
+/**
+ * Compares the time taken to load the QuickDocs data when QuickDocs is launched, and to write all of it when the
+ * journal is compacted, between section files in json and in the binary format. The total size of the section
+ * files of each format is printed when the data is set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BinaryQuickDocsCodecBenchmark {
+
+    private static final String[] S_AND_T_CHECKSUMS = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "Z", "J"};
+    private static final LocalDate FIRST_DATE = LocalDate.parse("2019-01-01");
+    private static final int APPOINTMENTS_PER_PATIENT = 4;
+    private static final int CONSULTATIONS_PER_PATIENT = 4;
+
+    @Param({"1000", "10000"})
+    private int patientCount;
+
+    @Param({"JSON", "BINARY"})
+    private DataFormat format;
+
+    private QuickDocs quickDocs;
+    private Path directory;
+    private JournalQuickDocsStorage storage;
+
+    /**
+     * Creates {@code patientCount} patients, each with a few consultations and appointments,
+     * and writes them to section files in the format to compare.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        quickDocs = new QuickDocs();
+        Diagnosis diagnosis = new Diagnosis(new Assessment("Migraine"),
+                new ArrayList<>(Arrays.asList(new Symptom("Headache"), new Symptom("Nausea"))));
+        Medicine medicine = new Medicine("paracetamol", 100);
+        for (int i = 0; i < patientCount; i++) {
+            Patient patient = new Patient(new Name("Patient " + i),
+                    new Nric(String.format("S%07d%s", i, S_AND_T_CHECKSUMS[i % S_AND_T_CHECKSUMS.length])),
+                    new Email("patient" + i + "@gmail.com"), new Address(i + " Simei Road"),
+                    new Contact("91111111"), new Gender("F"), new Dob("1991-01-01"),
+                    new ArrayList<>(Arrays.asList(new Tag("Diabetes"), new Tag("Asthma"))));
+            quickDocs.getPatientManager().addPatient(patient);
+
+            for (int j = 0; j < CONSULTATIONS_PER_PATIENT; j++) {
+                Consultation consultation = new Consultation(quickDocs.getConsultationManager()
+                        .getConsultationList().size(), patient, LocalDateTime.of(2019, 1, 1, 9, 0).plusDays(i),
+                        diagnosis, new ArrayList<>(Arrays.asList(new Prescription(medicine, 2))));
+                quickDocs.getConsultationManager().addConsultation(consultation);
+            }
+
+            // each patient has its own days, so that no appointments clash
+            for (int j = 0; j < APPOINTMENTS_PER_PATIENT; j++) {
+                LocalDate date = FIRST_DATE.plusDays((long) i * APPOINTMENTS_PER_PATIENT + j);
+                quickDocs.getAppointmentManager().addAppointment(new Appointment(patient, date,
+                        LocalTime.parse("10:00"), LocalTime.parse("10:30"), "Follow up"));
+            }
+        }
+
+        directory = Files.createTempDirectory("quickdocs-benchmark");
+        storage = new JournalQuickDocsStorage(directory.resolve("quickdocs.json"), format);
+        storage.compact(quickDocs);
+        long size = 0;
+        for (DataSection section : DataSection.values()) {
+            size += Files.size(storage.getSectionFilePath(section).get());
+        }
+        System.out.println(format + " section files size for " + patientCount + " patients: " + size + " bytes");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public QuickDocs load() throws Exception {
+        return storage.readQuickDocs().get();
+    }
+
+    @Benchmark
+    public void compact() throws Exception {
+        storage.compact(quickDocs);
+    }
+}
@@ -0,0 +1,132 @@
+package quickdocs.storage;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.appointment.Appointment;
+import quickdocs.model.consultation.Assessment;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.Diagnosis;
+import quickdocs.model.consultation.Symptom;
+import quickdocs.model.patient.Address;
+import quickdocs.model.patient.Contact;
+import quickdocs.model.patient.Dob;
+import quickdocs.model.patient.Email;
+import quickdocs.model.patient.Gender;
+import quickdocs.model.patient.Name;
+import quickdocs.model.patient.Nric;
+import quickdocs.model.patient.Patient;
+import quickdocs.model.tag.Tag;
+
+/**
+ * Compares the size and the loading time of QuickDocs data files in which consultations and appointments
+ * refer to their patient by NRIC, against files in which they embed a copy of their patient,
+ * which is how the data was stored before version 2 of the format.
+ * The size of the file of each layout is printed when the data is set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonSerializableQuickDocsBenchmark {
+
+    private static final String[] S_AND_T_CHECKSUMS = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "Z", "J"};
+    private static final LocalDate FIRST_DATE = LocalDate.parse("2019-01-01");
+    private static final int APPOINTMENTS_PER_PATIENT = 4;
+    private static final int CONSULTATIONS_PER_PATIENT = 4;
+
+    /**
+     * Layouts of the records that belong to a patient.
+     */
+    public enum Layout { EMBEDDED, REFERENCED }
+
+    @Param({"1000", "10000"})
+    private int patientCount;
+
+    @Param({"EMBEDDED", "REFERENCED"})
+    private Layout layout;
+
+    private QuickDocs quickDocs;
+    private String json;
+
+    /**
+     * Creates {@code patientCount} patients, each with a few consultations and appointments,
+     * and writes them in the layout to compare.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        quickDocs = new QuickDocs();
+        Diagnosis diagnosis = new Diagnosis(new Assessment("Migraine"),
+                new ArrayList<>(Arrays.asList(new Symptom("Headache"), new Symptom("Nausea"))));
+        for (int i = 0; i < patientCount; i++) {
+            Patient patient = new Patient(new Name("Patient " + i),
+                    new Nric(String.format("S%07d%s", i, S_AND_T_CHECKSUMS[i % S_AND_T_CHECKSUMS.length])),
+                    new Email("patient" + i + "@gmail.com"), new Address(i + " Simei Road"),
+                    new Contact("91111111"), new Gender("F"), new Dob("1991-01-01"),
+                    new ArrayList<>(Arrays.asList(new Tag("Diabetes"), new Tag("Asthma"))));
+            quickDocs.getPatientManager().addPatient(patient);
+
+            for (int j = 0; j < CONSULTATIONS_PER_PATIENT; j++) {
+                Consultation consultation = new Consultation(quickDocs.getConsultationManager()
+                        .getConsultationList().size(), patient, LocalDateTime.of(2019, 1, 1, 9, 0).plusDays(i),
+                        diagnosis, new ArrayList<>());
+                quickDocs.getConsultationManager().addConsultation(consultation);
+            }
+
+            // each patient has its own days, so that no appointments clash
+            for (int j = 0; j < APPOINTMENTS_PER_PATIENT; j++) {
+                LocalDate date = FIRST_DATE.plusDays((long) i * APPOINTMENTS_PER_PATIENT + j);
+                quickDocs.getAppointmentManager().addAppointment(new Appointment(patient, date,
+                        LocalTime.parse("10:00"), LocalTime.parse("10:30"), "Follow up"));
+            }
+        }
+
+        json = JsonUtil.toJsonString(toJson());
+        System.out.println(layout + " file size for " + patientCount + " patients: " + json.length() + " bytes");
+    }
+
+    /**
+     * Converts the data in the layout to compare.
+     */
+    private JsonSerializableQuickDocs toJson() {
+        if (layout == Layout.REFERENCED) {
+            return new JsonSerializableQuickDocs(quickDocs);
+        }
+        return new JsonSerializableQuickDocs(JsonSerializableQuickDocs.LEGACY_FORMAT_VERSION,
+                quickDocs.getPatientManager().getPatientList()
+                        .stream().map(JsonAdaptedPatient::new).collect(Collectors.toList()),
+                quickDocs.getConsultationManager().getConsultationList()
+                        .stream().map(JsonAdaptedConsultation::new).collect(Collectors.toList()), null,
+                quickDocs.getAppointmentManager().getAppointmentList()
+                        .stream().map(JsonAdaptedAppointment::new).collect(Collectors.toList()),
+                new ArrayList<>(), new ArrayList<>(),
+                new JsonAdaptedDirectory(quickDocs.getMedicineManager().getRoot()),
+                new ArrayList<>(), new BigDecimal("30"));
+    }
+
+    @Benchmark
+    public String save() throws Exception {
+        return JsonUtil.toJsonString(toJson());
+    }
+
+    @Benchmark
+    public QuickDocs load() throws Exception {
+        return JsonUtil.fromJsonString(json, JsonSerializableQuickDocs.class).toModelType();
+    }
+}
@@ -2,6 +2,7 @@ package quickdocs;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.logging.Logger;
 
@@ -19,13 +20,18 @@ import quickdocs.commons.util.ConfigUtil;
 import quickdocs.commons.util.StringUtil;
 import quickdocs.logic.Logic;
 import quickdocs.logic.LogicManager;
+import quickdocs.model.Change;
 import quickdocs.model.Model;
 import quickdocs.model.ModelManager;
 import quickdocs.model.QuickDocs;
 import quickdocs.model.ReadOnlyUserPrefs;
 import quickdocs.model.UserPrefs;
-import quickdocs.storage.JsonQuickDocsStorage;
+import quickdocs.model.appointment.AppointmentManager;
+import quickdocs.model.consultation.ConsultationManager;
+import quickdocs.storage.JournalQuickDocsStorage;
 import quickdocs.storage.JsonUserPrefsStorage;
+import quickdocs.storage.MappedConsultationArchive;
+import quickdocs.storage.QuickDocsSaver;
 import quickdocs.storage.QuickDocsStorage;
 import quickdocs.storage.Storage;
 import quickdocs.storage.StorageManager;
@@ -47,6 +53,7 @@ public class MainApp extends Application {
     protected Ui ui;
     protected Logic logic;
     protected Storage storage;
+    protected QuickDocsSaver saver;
     protected Model model;
     protected Config config;
 
@@ -65,7 +72,8 @@ public class MainApp extends Application {
         UserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(config.getUserPrefsFilePath());
         UserPrefs userPrefs = initPrefs(userPrefsStorage);
 
-        QuickDocsStorage quickDocsStorage = new JsonQuickDocsStorage(userPrefs.getQuickDocsFilePath());
+        QuickDocsStorage quickDocsStorage = new JournalQuickDocsStorage(userPrefs.getQuickDocsFilePath(),
+                config.getDataFormat());
         storage = new StorageManager(userPrefsStorage, quickDocsStorage);
 
         initLogging(config);
@@ -73,7 +81,8 @@ public class MainApp extends Application {
         model = initModelManager(storage, userPrefs);
         model.updateFilteredReminderList(model.getCurrentWeekRemindersPredicate());
 
-        logic = new LogicManager(model, storage);
+        saver = new QuickDocsSaver(quickDocsStorage);
+        logic = new LogicManager(model, storage, saver);
 
         ui = new UiManager(logic);
     }
@@ -99,9 +108,55 @@ public class MainApp extends Application {
             logger.warning("Problem while reading from the file. Will be starting with an empty QuickDocs");
         }
 
+        initConsultationArchive(initialQuickDocs, userPrefs);
+        initAppointmentCapacity(initialQuickDocs);
         return new ModelManager(initialQuickDocs, userPrefs);
     }
 
+    /**
+     * Sets the number of appointments that can take place at the same time to the capacity in the config.
+     * The default capacity is used instead if the capacity in the config is not positive.
+     */
+    private void initAppointmentCapacity(QuickDocs quickDocs) {
+        int capacity = config.getAppointmentCapacity();
+        if (capacity <= 0) {
+            logger.warning("Appointment capacity in the config is not positive. Using the default capacity of "
+                    + Config.DEFAULT_APPOINTMENT_CAPACITY);
+            capacity = Config.DEFAULT_APPOINTMENT_CAPACITY;
+        }
+        AppointmentManager appointmentManager = quickDocs.getAppointmentManager();
+        appointmentManager.setOfficeHours(appointmentManager.getOpeningHour(), appointmentManager.getClosingHour(),
+                capacity);
+    }
+
+    /**
+     * Attaches the consultation archive kept next to the data file to {@code quickDocs}, and moves the
+     * consultations older than the horizon in the config into it. The consultations are kept in memory
+     * if the archive cannot be used, and new consultations are still numbered after the archived ones,
+     * whose number is stored in the data file.
+     */
+    private void initConsultationArchive(QuickDocs quickDocs, ReadOnlyUserPrefs userPrefs) {
+        Path archiveFilePath = MappedConsultationArchive.getArchiveFilePath(userPrefs.getQuickDocsFilePath());
+        ConsultationManager consultationManager = quickDocs.getConsultationManager();
+        try {
+            consultationManager.setArchive(new MappedConsultationArchive(archiveFilePath));
+            if (config.getConsultationArchiveDays() <= 0) {
+                return;
+            }
+
+            int archivedCount = consultationManager.archiveConsultationsBefore(
+                    LocalDateTime.now().minusDays(config.getConsultationArchiveDays()));
+            if (archivedCount > 0) {
+                logger.info("Archived " + archivedCount + " consultations to " + archiveFilePath);
+                quickDocs.recordChange(Change.archiveConsultations());
+            }
+        } catch (DataConversionException e) {
+            logger.warning("Consultation archive not in the correct format. Archived consultations cannot be listed");
+        } catch (IOException e) {
+            logger.warning("Problem while archiving consultations : " + StringUtil.getDetails(e));
+        }
+    }
+
     private void initLogging(Config config) {
         LogsCenter.init(config);
     }
@@ -183,6 +238,10 @@ public class MainApp extends Application {
     @Override
     public void stop() {
         logger.info("============================ [ Stopping Address Book ] =============================");
+        if (!saver.flush(model.getQuickDocs())) {
+            logger.severe("Failed to save data before exiting");
+        }
+        saver.shutdown();
         try {
             storage.saveUserPrefs(model.getUserPrefs());
         } catch (IOException e) {
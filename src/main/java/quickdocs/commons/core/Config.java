@@ -11,10 +11,23 @@ import java.util.logging.Level;
 public class Config {
 
     public static final Path DEFAULT_CONFIG_FILE = Paths.get("config.json");
+    public static final int DEFAULT_CONSULTATION_ARCHIVE_DAYS = 365;
+    public static final int DEFAULT_APPOINTMENT_CAPACITY = 1;
+
+    /**
+     * Formats the QuickDocs data can be stored in.
+     * JSON is readable and used to exchange data, while BINARY is loaded faster when QuickDocs is launched.
+     */
+    public enum DataFormat { JSON, BINARY }
 
     // Config values customizable through config file
     private Level logLevel = Level.INFO;
     private Path userPrefsFilePath = Paths.get("preferences.json");
+    private DataFormat dataFormat = DataFormat.JSON;
+    // consultations older than this are moved out of memory into the consultation archive
+    private int consultationArchiveDays = DEFAULT_CONSULTATION_ARCHIVE_DAYS;
+    // number of appointments that can take place at the same time
+    private int appointmentCapacity = DEFAULT_APPOINTMENT_CAPACITY;
 
     public Level getLogLevel() {
         return logLevel;
@@ -32,6 +45,30 @@ public class Config {
         this.userPrefsFilePath = userPrefsFilePath;
     }
 
+    public DataFormat getDataFormat() {
+        return dataFormat;
+    }
+
+    public void setDataFormat(DataFormat dataFormat) {
+        this.dataFormat = dataFormat;
+    }
+
+    public int getConsultationArchiveDays() {
+        return consultationArchiveDays;
+    }
+
+    public void setConsultationArchiveDays(int consultationArchiveDays) {
+        this.consultationArchiveDays = consultationArchiveDays;
+    }
+
+    public int getAppointmentCapacity() {
+        return appointmentCapacity;
+    }
+
+    public void setAppointmentCapacity(int appointmentCapacity) {
+        this.appointmentCapacity = appointmentCapacity;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -44,12 +81,15 @@ public class Config {
         Config o = (Config) other;
 
         return Objects.equals(logLevel, o.logLevel)
-                && Objects.equals(userPrefsFilePath, o.userPrefsFilePath);
+                && Objects.equals(userPrefsFilePath, o.userPrefsFilePath)
+                && Objects.equals(dataFormat, o.dataFormat)
+                && consultationArchiveDays == o.consultationArchiveDays
+                && appointmentCapacity == o.appointmentCapacity;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(logLevel, userPrefsFilePath);
+        return Objects.hash(logLevel, userPrefsFilePath, dataFormat, consultationArchiveDays, appointmentCapacity);
     }
 
     @Override
@@ -57,6 +97,9 @@ public class Config {
         StringBuilder sb = new StringBuilder();
         sb.append("Current log level : " + logLevel);
         sb.append("\nPreference file Location : " + userPrefsFilePath);
+        sb.append("\nData format : " + dataFormat);
+        sb.append("\nConsultation archive horizon : " + consultationArchiveDays + " days");
+        sb.append("\nAppointment capacity : " + appointmentCapacity);
         return sb.toString();
     }
 
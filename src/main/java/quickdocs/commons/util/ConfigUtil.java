@@ -17,7 +17,7 @@ public class ConfigUtil {
     }
 
     public static void saveConfig(Config config, Path configFilePath) throws IOException {
-        JsonUtil.saveJsonFile(config, configFilePath);
+        JsonUtil.saveJsonFile(config, configFilePath, true);
     }
 
 }
@@ -1,16 +1,25 @@
 package quickdocs.commons.util;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Writes and reads files
  */
 public class FileUtil {
 
+    public static final String TEMP_FILE_SUFFIX = ".tmp";
+
     private static final String CHARSET = "UTF-8";
 
     public static boolean isFileExists(Path file) {
@@ -77,7 +86,86 @@ public class FileUtil {
      * Will create the file if it does not exist yet.
      */
     public static void writeToFile(Path file, String content) throws IOException {
-        Files.write(file, content.getBytes(CHARSET));
+        writeToFileAtomically(file, out -> out.write(content.getBytes(CHARSET)));
+    }
+
+    /**
+     * Returns the path of the temporary file that {@link #writeToFileAtomically(Path, ContentWriter)} writes
+     * before it replaces the given file.
+     */
+    public static Path getTempFilePath(Path file) {
+        return file.resolveSibling(file.getFileName() + TEMP_FILE_SUFFIX);
+    }
+
+    /**
+     * Writes the content to a temporary file next to the given file, forces it to the disk, and then renames it
+     * to the given file and forces the rename to the disk, so that the file holds either its previous content or
+     * the whole new content, even if QuickDocs stops or the power fails while writing.
+     * Will create the file if it does not exist yet.
+     */
+    public static void writeToFileAtomically(Path file, ContentWriter contentWriter) throws IOException {
+        writeToFileAtomically(file, contentWriter, () -> { });
+    }
+
+    /**
+     * Similar to {@link #writeToFileAtomically(Path, ContentWriter)}, but runs {@code beforeReplace} once the
+     * content is forced to the disk, before the given file is replaced, such as to back up the given file.
+     * The given file is left as it is if writing the content or {@code beforeReplace} fails.
+     */
+    public static void writeToFileAtomically(Path file, ContentWriter contentWriter, FileAction beforeReplace)
+            throws IOException {
+        Path tempFile = getTempFilePath(file);
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            contentWriter.writeTo(out);
+            out.flush();
+            channel.force(true);
+        }
+
+        beforeReplace.run();
+        try {
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException amnse) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        forceDirectoryOf(file);
+    }
+
+    /**
+     * Forces the entries of the directory holding the given file to the disk, such as after the file was created
+     * or renamed, so that the file is still found in the directory if the power fails.
+     * Does nothing on platforms where a directory cannot be opened or forced, such as Windows.
+     */
+    public static void forceDirectoryOf(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // the directory entries are then written to the disk whenever the platform does so
+        }
+    }
+
+    /**
+     * Represents the writing of the content of a file to a stream.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        /**
+         * Writes the content to {@code out}, without closing it.
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Represents an action on files, which may fail.
+     */
+    @FunctionalInterface
+    public interface FileAction {
+        void run() throws IOException;
     }
 
 }
@@ -2,7 +2,9 @@ package quickdocs.commons.util;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
@@ -11,6 +13,8 @@ import java.util.logging.Logger;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -39,13 +43,43 @@ public class JsonUtil {
                     .addSerializer(Level.class, new ToStringSerializer())
                     .addDeserializer(Level.class, new LevelDeserializer(Level.class)));
 
-    static <T> void serializeObjectToJsonFile(Path jsonFile, T objectToSerialize) throws IOException {
-        FileUtil.writeToFile(jsonFile, toJsonString(objectToSerialize));
+    /**
+     * Writes the object to the file as it is serialized, through a buffered stream, so that the whole JSON
+     * document is never held in memory. The file is replaced atomically once the whole object is written.
+     * @param prettyPrint whether to indent the JSON and break it into lines.
+     */
+    static <T> void serializeObjectToJsonFile(Path jsonFile, T objectToSerialize, boolean prettyPrint)
+            throws IOException {
+        serializeObjectToJsonFile(jsonFile, objectToSerialize, prettyPrint, () -> { });
+    }
+
+    /**
+     * Serializes the object to the json file in the same way as {@link #serializeObjectToJsonFile(Path, Object,
+     * boolean)}, running {@code beforeReplace} before the json file is replaced.
+     */
+    static <T> void serializeObjectToJsonFile(Path jsonFile, T objectToSerialize, boolean prettyPrint,
+                                              FileUtil.FileAction beforeReplace) throws IOException {
+        FileUtil.writeToFileAtomically(jsonFile, out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                // the stream is closed by FileUtil, once it is forced to the disk
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                if (prettyPrint) {
+                    generator.useDefaultPrettyPrinter();
+                }
+                objectMapper.writeValue(generator, objectToSerialize);
+            }
+        }, beforeReplace);
     }
 
+    /**
+     * Reads the object from the file as it is parsed, through a buffered stream, so that the file is never held
+     * in memory as a whole.
+     */
     static <T> T deserializeObjectFromJsonFile(Path jsonFile, Class<T> classOfObjectToDeserialize)
             throws IOException {
-        return fromJsonString(FileUtil.readFromFile(jsonFile), classOfObjectToDeserialize);
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(jsonFile))) {
+            return objectMapper.readValue(inputStream, classOfObjectToDeserialize);
+        }
     }
 
     /**
@@ -77,17 +111,37 @@ public class JsonUtil {
     }
 
     /**
-     * Saves the Json object to the specified file.
+     * Saves the Json object to the specified file, without line breaks or indentation.
      * Overwrites existing file if it exists, creates a new file if it doesn't.
      * @param jsonFile cannot be null
      * @param filePath cannot be null
      * @throws IOException if there was an error during writing to the file
      */
     public static <T> void saveJsonFile(T jsonFile, Path filePath) throws IOException {
+        saveJsonFile(jsonFile, filePath, false);
+    }
+
+    /**
+     * Similar to {@link #saveJsonFile(Object, Path)}, but indents the JSON if {@code prettyPrint} is true,
+     * for files that are meant to be read or edited by users.
+     */
+    public static <T> void saveJsonFile(T jsonFile, Path filePath, boolean prettyPrint) throws IOException {
         requireNonNull(filePath);
         requireNonNull(jsonFile);
 
-        serializeObjectToJsonFile(filePath, jsonFile);
+        serializeObjectToJsonFile(filePath, jsonFile, prettyPrint);
+    }
+
+    /**
+     * Similar to {@link #saveJsonFile(Object, Path)}, but runs {@code beforeReplace} once the new content is
+     * forced to the disk, before the file is replaced, such as to back up the file.
+     */
+    public static <T> void saveJsonFile(T jsonFile, Path filePath, FileUtil.FileAction beforeReplace)
+            throws IOException {
+        requireNonNull(filePath);
+        requireNonNull(jsonFile);
+
+        serializeObjectToJsonFile(filePath, jsonFile, false, beforeReplace);
     }
 
 
@@ -110,6 +164,17 @@ public class JsonUtil {
         return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(instance);
     }
 
+    /**
+     * Converts a given instance of a class into its JSON data string representation on a single line,
+     * for files that hold one JSON object per line.
+     * @param instance The T object to be converted into the JSON string
+     * @param <T> The generic type to create an instance of
+     * @return JSON data representation of the given class instance, in string without line breaks
+     */
+    public static <T> String toJsonLine(T instance) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(instance);
+    }
+
     /**
      * Contains methods that retrieve logging level from serialized string.
      */
@@ -1,6 +1,7 @@
 package quickdocs.logic;
 
 import java.util.ArrayList;
+import java.util.function.Consumer;
 
 import javafx.beans.property.ReadOnlyProperty;
 import javafx.collections.ObservableList;
@@ -24,6 +25,12 @@ public interface Logic {
      */
     CommandResult execute(String commandText) throws CommandException, ParseException;
 
+    /**
+     * Sets the handler that is given the error message of each save that failed after its command returned.
+     * The handler may be called on a thread other than the one executing commands.
+     */
+    void setSaveFailureHandler(Consumer<String> handler);
+
     /**
      * Returns an unmodifiable view of the list of commands entered by the user.
      * The list is ordered from the least recent command to the most recent command.
@@ -49,6 +56,12 @@ public interface Logic {
 
     ArrayList<String> getMedicineSuggestions(String path);
 
+    /**
+     * Returns the names of medicines and paths of directories that start with the given prefix, the medicines
+     * most prescribed first.
+     */
+    ArrayList<String> getCompletions(String prefix);
+
     boolean isDirectoryFormat(String rawArgs);
 
     boolean isMedicineAllowed(String rawArgs);
@@ -2,6 +2,7 @@ package quickdocs.logic;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import javafx.beans.property.ReadOnlyProperty;
@@ -15,6 +16,7 @@ import quickdocs.logic.parser.QuickDocsParser;
 import quickdocs.logic.parser.exceptions.ParseException;
 import quickdocs.model.Model;
 import quickdocs.model.reminder.Reminder;
+import quickdocs.storage.QuickDocsSaver;
 import quickdocs.storage.Storage;
 
 /**
@@ -29,9 +31,21 @@ public class LogicManager implements Logic {
     private final CommandHistory history;
     private final QuickDocsParser quickDocsParser;
 
+    // writes the saves in the background, or null if each save is written before its command returns
+    private final QuickDocsSaver saver;
+
     public LogicManager(Model model, Storage storage) {
+        this(model, storage, null);
+    }
+
+    /**
+     * Creates a LogicManager that saves the data after each command with the given {@code saver},
+     * without waiting for it to be written.
+     */
+    public LogicManager(Model model, Storage storage, QuickDocsSaver saver) {
         this.model = model;
         this.storage = storage;
+        this.saver = saver;
         history = new CommandHistory();
         quickDocsParser = new QuickDocsParser();
     }
@@ -48,7 +62,10 @@ public class LogicManager implements Logic {
             history.add(commandText);
         }
 
-        if (model.getQuickDocs().isModified()) {
+        if (model.getQuickDocs().isModified() && saver != null) {
+            logger.info("QuickDocs modified, saving to file in the background.");
+            saver.save(model.getQuickDocs());
+        } else if (model.getQuickDocs().isModified()) {
             logger.info("QuickDocs modified, saving to file.");
             try {
                 storage.saveQuickDocs(model.getQuickDocs());
@@ -61,6 +78,13 @@ public class LogicManager implements Logic {
         return commandResult;
     }
 
+    @Override
+    public void setSaveFailureHandler(Consumer<String> handler) {
+        if (saver != null) {
+            saver.setFailureHandler(ioe -> handler.accept(FILE_OPS_ERROR_MESSAGE + ioe));
+        }
+    }
+
     @Override
     public ObservableList<String> getHistory() {
         return history.getHistory();
@@ -103,6 +127,11 @@ public class LogicManager implements Logic {
         return model.getMedicineSuggestions(rawPath);
     }
 
+    @Override
+    public ArrayList<String> getCompletions(String prefix) {
+        return model.getCompletions(prefix);
+    }
+
     @Override
     public boolean isDirectoryFormat(String rawArgs) {
         return quickDocsParser.isDirectoryFormat(rawArgs);
@@ -52,7 +52,7 @@ public class AlarmCommand extends Command {
                 model.setThreshold(medicine.get(), alarmLevel);
                 return new CommandResult(String.format(MESSAGE_SUCCESS, alarmLevel, medicine.get().toString()));
             } else {
-                model.setThreshold(directory.get(), alarmLevel);
+                model.setDirectoryThreshold(path, alarmLevel);
                 return new CommandResult(String.format(MESSAGE_SUCCESS, alarmLevel, directory.get().toString()));
             }
         } catch (Exception ex) {
@@ -0,0 +1,56 @@
+package quickdocs.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import quickdocs.logic.CommandHistory;
+import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.model.Model;
+import quickdocs.storage.JsonQuickDocsStorage;
+
+/**
+ * Exports all the data in QuickDocs to a single json file, whatever the format the data is stored in.
+ * The file can be read back as the data file of QuickDocs.
+ */
+public class ExportDataCommand extends Command {
+
+    public static final String COMMAND_WORD = "exportdata";
+    public static final String COMMAND_ALIAS = "ed";
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Exports all the data in QuickDocs to a json file.\n"
+            + "Parameters: FILE_PATH\n"
+            + "Example: " + COMMAND_WORD + " data/export.json\n";
+
+    public static final String MESSAGE_SUCCESS = "Exported all data to %1$s";
+    public static final String MESSAGE_WRITE_ERROR = "Could not write data to %1$s: %2$s";
+
+    private final Path filePath;
+
+    /**
+     * Creates an {@code ExportDataCommand} to export all the data to the given file.
+     */
+    public ExportDataCommand(Path filePath) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+    }
+
+    @Override
+    public CommandResult execute(Model model, CommandHistory history) throws CommandException {
+        requireNonNull(model);
+
+        try {
+            new JsonQuickDocsStorage(filePath, 0).saveQuickDocs(model.getQuickDocs());
+        } catch (IOException ioe) {
+            throw new CommandException(String.format(MESSAGE_WRITE_ERROR, filePath, ioe.getMessage()), ioe);
+        }
+        return new CommandResult(String.format(MESSAGE_SUCCESS, filePath));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof ExportDataCommand // instanceof handles nulls
+                && filePath.equals(((ExportDataCommand) other).filePath));
+    }
+}
@@ -0,0 +1,64 @@
+package quickdocs.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import quickdocs.logic.CommandHistory;
+import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.model.Model;
+import quickdocs.model.medicine.Directory;
+import quickdocs.storage.FormularyExportWriter;
+
+/**
+ * Exports the medicine storage to a CSV or JSON file, as a formulary catalogue that
+ * {@code ImportMedicineCommand} can import.
+ */
+public class ExportMedicineCommand extends Command {
+
+    public static final String COMMAND_WORD = "exportmed";
+    public static final String COMMAND_ALIAS = "em";
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Exports every directory and medicine in the "
+            + "storage to a CSV file, or to a JSON file if the file name ends with .json.\n"
+            + "Parameters: FILE_PATH\n"
+            + "Example: " + COMMAND_WORD + " data/formulary.csv\n";
+
+    public static final String MESSAGE_SUCCESS = "Exported %1$d row(s) to %2$s";
+    public static final String MESSAGE_WRITE_ERROR = "Could not write medicines to %1$s: %2$s";
+
+    private static final String[] ROOT_PATH = new String[] {"root"};
+
+    private final Path filePath;
+
+    /**
+     * Creates an {@code ExportMedicineCommand} to export the medicine storage to the given file.
+     */
+    public ExportMedicineCommand(Path filePath) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+    }
+
+    @Override
+    public CommandResult execute(Model model, CommandHistory history) throws CommandException {
+        requireNonNull(model);
+        long startTime = System.nanoTime();
+
+        Directory root = model.findDirectory(ROOT_PATH).get();
+        int rowCount;
+        try {
+            rowCount = new FormularyExportWriter(filePath).write(root);
+        } catch (IOException ioe) {
+            throw new CommandException(String.format(MESSAGE_WRITE_ERROR, filePath, ioe.getMessage()), ioe);
+        }
+        return new CommandResult(String.format(MESSAGE_SUCCESS, rowCount, filePath)
+                + ImportMedicineCommand.formatThroughput(rowCount, System.nanoTime() - startTime));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof ExportMedicineCommand // instanceof handles nulls
+                && filePath.equals(((ExportMedicineCommand) other).filePath));
+    }
+}
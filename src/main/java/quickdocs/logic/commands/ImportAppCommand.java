@@ -0,0 +1,156 @@
+package quickdocs.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import quickdocs.logic.CommandHistory;
+import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.logic.parser.ParserUtil;
+import quickdocs.logic.parser.exceptions.ParseException;
+import quickdocs.model.Model;
+import quickdocs.model.appointment.Appointment;
+import quickdocs.model.appointment.AppointmentManager;
+import quickdocs.model.patient.Nric;
+import quickdocs.model.patient.Patient;
+import quickdocs.storage.AppointmentImportReader;
+import quickdocs.storage.AppointmentImportReader.Row;
+
+/**
+ * Imports many {@code Appointment}s into QuickDocs from a CSV or JSON file.
+ * Each row of the file is checked in the same way as {@code AddAppCommand}, and rows that cannot be added
+ * are reported with the reason, while the other rows are still added.
+ */
+public class ImportAppCommand extends Command {
+
+    public static final String COMMAND_WORD = "importapp";
+    public static final String COMMAND_ALIAS = "ia";
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Imports appointments from a CSV or JSON file. "
+            + "Each CSV line holds NRIC,DATE,START,END[,COMMENT], "
+            + "and a JSON file holds an array of objects with the fields nric, date, start, end and comment.\n"
+            + "Parameters: FILE_PATH\n"
+            + "Example: " + COMMAND_WORD + " data/appointments.csv\n";
+
+    public static final String MESSAGE_SUCCESS = "Imported %1$d appointment(s) from %2$s\n";
+    public static final String MESSAGE_REJECTED = "Rejected %1$d row(s):\n";
+    public static final String MESSAGE_REJECTED_ROW = "Row %1$d: %2$s\n";
+    public static final String MESSAGE_MISSING_FIELD = "Missing %1$s";
+    public static final String MESSAGE_READ_ERROR = "Could not read appointments from %1$s: %2$s";
+    public static final String MESSAGE_CONFLICTING_APP = "Clashes with another appointment";
+
+    private final Path filePath;
+
+    /**
+     * Creates an {@code ImportAppCommand} to import the appointments in the given file.
+     */
+    public ImportAppCommand(Path filePath) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+    }
+
+    @Override
+    public CommandResult execute(Model model, CommandHistory history) throws CommandException {
+        requireNonNull(model);
+
+        List<Row> rows;
+        try {
+            rows = new AppointmentImportReader(filePath).readRows();
+        } catch (IOException ioe) {
+            throw new CommandException(String.format(MESSAGE_READ_ERROR, filePath, ioe.getMessage()), ioe);
+        }
+
+        // reasons for rejecting each row, in order of row number
+        Map<Integer, String> rejected = new TreeMap<>();
+        Map<Appointment, Row> rowOfApp = new IdentityHashMap<>();
+        List<Appointment> toAdd = new ArrayList<>();
+        for (Row row : rows) {
+            try {
+                Appointment app = toAppointment(model, row);
+                rowOfApp.put(app, row);
+                toAdd.add(app);
+            } catch (CommandException ce) {
+                rejected.put(row.getRowNumber(), ce.getMessage());
+            }
+        }
+
+        // all valid rows are checked for time conflicts and added together
+        List<Appointment> conflicting = toAdd.isEmpty() ? Collections.emptyList() : model.addApps(toAdd);
+        for (Appointment app : conflicting) {
+            rejected.put(rowOfApp.get(app).getRowNumber(), MESSAGE_CONFLICTING_APP);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(MESSAGE_SUCCESS, toAdd.size() - conflicting.size(), filePath));
+        if (!rejected.isEmpty()) {
+            sb.append(String.format(MESSAGE_REJECTED, rejected.size()));
+            for (Map.Entry<Integer, String> entry : rejected.entrySet()) {
+                sb.append(String.format(MESSAGE_REJECTED_ROW, entry.getKey(), entry.getValue()));
+            }
+        }
+        return new CommandResult(sb.toString());
+    }
+
+    /**
+     * Creates the {@code Appointment} described by the given row, without checking for time conflicts.
+     *
+     * @throws CommandException with the reason if the row does not describe a valid {@code Appointment}.
+     */
+    private static Appointment toAppointment(Model model, Row row) throws CommandException {
+        String nricValue = requireField(row.getNric(), "NRIC");
+        String dateValue = requireField(row.getDate(), "date");
+        String startValue = requireField(row.getStart(), "start time");
+        String endValue = requireField(row.getEnd(), "end time");
+        String comment = row.getComment() == null ? "" : row.getComment();
+
+        Optional<Patient> patient;
+        LocalDate date;
+        LocalTime start;
+        LocalTime end;
+        try {
+            patient = model.getPatientByNric(new Nric(nricValue));
+            date = ParserUtil.parseDate(dateValue);
+            start = ParserUtil.parseTime(startValue);
+            end = ParserUtil.parseTime(endValue);
+        } catch (IllegalArgumentException | ParseException e) {
+            throw new CommandException(e.getMessage().trim());
+        }
+
+        if (!patient.isPresent()) {
+            throw new CommandException(AddAppCommand.MESSAGE_PATIENT_NOT_FOUND);
+        }
+        if (start.isBefore(AppointmentManager.OPENING_HOUR) || end.isAfter(AppointmentManager.CLOSING_HOUR)) {
+            throw new CommandException(AddAppCommand.MESSAGE_NON_OFFICE_HOURS);
+        }
+        if (start.equals(end)) {
+            throw new CommandException(AddAppCommand.MESSAGE_START_EQUALS_END);
+        }
+        if (start.isAfter(end)) {
+            throw new CommandException(AddAppCommand.MESSAGE_START_AFTER_END);
+        }
+        return new Appointment(patient.get(), date, start, end, comment);
+    }
+
+    private static String requireField(String value, String field) throws CommandException {
+        if (value == null || value.isEmpty()) {
+            throw new CommandException(String.format(MESSAGE_MISSING_FIELD, field));
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof ImportAppCommand // instanceof handles nulls
+                && filePath.equals(((ImportAppCommand) other).filePath));
+    }
+}
@@ -0,0 +1,157 @@
+package quickdocs.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import quickdocs.logic.CommandHistory;
+import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.model.Model;
+import quickdocs.model.medicine.FormularyItem;
+import quickdocs.storage.FormularyImportReader;
+import quickdocs.storage.FormularyImportReader.Row;
+
+/**
+ * Imports a formulary catalogue from a CSV or JSON file into the medicine storage, creating the directories
+ * on the paths of its rows as needed.
+ * Every row is checked before any of them is imported, and nothing is imported if any row is rejected,
+ * so that the catalogue can be corrected and imported again.
+ */
+public class ImportMedicineCommand extends Command {
+
+    public static final String COMMAND_WORD = "importmed";
+    public static final String COMMAND_ALIAS = "im";
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Imports a catalogue of medicines from a CSV or "
+            + "JSON file. Each CSV line holds PATH,[NAME],[PRICE],[QUANTITY],[ALARM_LEVEL], "
+            + "and a JSON file holds an array of objects with the fields path, name, price, quantity and threshold.\n"
+            + "A row without a name creates the directory at its path, and a row without a price and quantity "
+            + "adds an existing medicine to the directory at its path.\n"
+            + "Parameters: FILE_PATH\n"
+            + "Example: " + COMMAND_WORD + " data/formulary.csv\n";
+
+    public static final String MESSAGE_SUCCESS = "Imported %1$d row(s) from %2$s";
+    public static final String MESSAGE_THROUGHPUT = " in %1$d ms (%2$d rows/sec)\n";
+    public static final String MESSAGE_REJECTED = "No medicines imported from %1$s, as %2$d row(s) are rejected:\n";
+    public static final String MESSAGE_REJECTED_ROW = "Row %1$d: %2$s\n";
+    public static final String MESSAGE_MISSING_FIELD = "Missing %1$s";
+    public static final String MESSAGE_INVALID_NUMBER = "Invalid %1$s: %2$s";
+    public static final String MESSAGE_READ_ERROR = "Could not read medicines from %1$s: %2$s";
+
+    private final Path filePath;
+
+    /**
+     * Creates an {@code ImportMedicineCommand} to import the catalogue in the given file.
+     */
+    public ImportMedicineCommand(Path filePath) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+    }
+
+    @Override
+    public CommandResult execute(Model model, CommandHistory history) throws CommandException {
+        requireNonNull(model);
+        long startTime = System.nanoTime();
+
+        List<Row> rows;
+        try {
+            rows = new FormularyImportReader(filePath).readRows();
+        } catch (IOException ioe) {
+            throw new CommandException(String.format(MESSAGE_READ_ERROR, filePath, ioe.getMessage()), ioe);
+        }
+
+        // reasons for rejecting each row, in order of row number
+        Map<Integer, String> rejected = new TreeMap<>();
+        List<FormularyItem> items = new ArrayList<>();
+        for (Row row : rows) {
+            try {
+                items.add(toFormularyItem(row));
+            } catch (CommandException ce) {
+                rejected.put(row.getRowNumber(), ce.getMessage());
+            }
+        }
+
+        // the rows are only imported if all of them are valid, and are then checked against the storage together
+        if (rejected.isEmpty()) {
+            for (Map.Entry<Integer, String> entry : model.importMedicines(items).entrySet()) {
+                rejected.put(rows.get(entry.getKey()).getRowNumber(), entry.getValue());
+            }
+        }
+
+        if (!rejected.isEmpty()) {
+            StringBuilder sb = new StringBuilder(String.format(MESSAGE_REJECTED, filePath, rejected.size()));
+            for (Map.Entry<Integer, String> entry : rejected.entrySet()) {
+                sb.append(String.format(MESSAGE_REJECTED_ROW, entry.getKey(), entry.getValue()));
+            }
+            throw new CommandException(sb.toString());
+        }
+        return new CommandResult(String.format(MESSAGE_SUCCESS, rows.size(), filePath)
+                + formatThroughput(rows.size(), System.nanoTime() - startTime));
+    }
+
+    /**
+     * Returns the time taken to process the given number of rows, and the number of rows processed per second.
+     */
+    static String formatThroughput(int rowCount, long elapsedNanos) {
+        long elapsed = Math.max(elapsedNanos, 1);
+        return String.format(MESSAGE_THROUGHPUT, elapsed / 1_000_000, (long) (rowCount * 1e9 / elapsed));
+    }
+
+    /**
+     * Creates the {@code FormularyItem} described by the given row, without checking it against the storage.
+     *
+     * @throws CommandException with the reason if the values of the row are missing or not numbers.
+     */
+    private static FormularyItem toFormularyItem(Row row) throws CommandException {
+        if (row.getPath() == null) {
+            throw new CommandException(String.format(MESSAGE_MISSING_FIELD, "path"));
+        }
+        String[] path = row.getPath().split("\\\\");
+        Optional<BigDecimal> price = parseNumber(row.getPrice(), "price", BigDecimal::new);
+        Optional<Integer> quantity = parseNumber(row.getQuantity(), "quantity", Integer::valueOf);
+        Optional<Integer> threshold = parseNumber(row.getThreshold(), "alarm level", Integer::valueOf);
+
+        if (row.getName() == null) {
+            if (price.isPresent() || quantity.isPresent()) {
+                throw new CommandException(String.format(MESSAGE_MISSING_FIELD, "medicine name"));
+            }
+            return FormularyItem.ofDirectory(path, threshold);
+        }
+        if (price.isPresent() != quantity.isPresent()) {
+            throw new CommandException(AddMedicineCommand.ERRORMESSAGE_INSUFFICIENTINFO_NEWMEDICINE);
+        }
+        return new FormularyItem(path, Optional.of(row.getName()), price, quantity, threshold);
+    }
+
+    /**
+     * Parses the given value of a row with the given parser, which throws {@code NumberFormatException}
+     * if the value is not a number. A {@code null} value is left out.
+     *
+     * @throws CommandException if the value is not a number.
+     */
+    private static <T> Optional<T> parseNumber(String value, String field, Function<String, T> parser)
+            throws CommandException {
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(parser.apply(value));
+        } catch (NumberFormatException nfe) {
+            throw new CommandException(String.format(MESSAGE_INVALID_NUMBER, field, value));
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof ImportMedicineCommand // instanceof handles nulls
+                && filePath.equals(((ImportMedicineCommand) other).filePath));
+    }
+}
@@ -51,12 +51,16 @@ public class ListConsultationCommand extends Command {
     @Override
     public CommandResult execute(Model model, CommandHistory history) throws CommandException {
 
-        if (constructedBy == 1 && (index > model.getConsultationList().size() || index < 1)) {
+        if (constructedBy == 1 && (index > model.getConsultationCount() || index < 1)) {
             throw new CommandException(INVALID_INDEX);
         }
 
         if (constructedBy == 1) {
-            return new CommandResult(model.listConsultation(index).toString());
+            try {
+                return new CommandResult(model.listConsultation(index).toString());
+            } catch (IllegalArgumentException e) {
+                throw new CommandException(e.getMessage());
+            }
         }
 
         ArrayList<Consultation> consultations = model.listConsultation(nric);
@@ -1,12 +1,17 @@
 package quickdocs.logic.commands;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import quickdocs.commons.core.LogsCenter;
 import quickdocs.logic.CommandHistory;
 import quickdocs.logic.commands.exceptions.CommandException;
 import quickdocs.model.Model;
 import quickdocs.model.patient.Patient;
+import quickdocs.model.patient.PatientPage;
 import quickdocs.model.tag.Tag;
 
 /**
@@ -21,22 +26,32 @@ public class ListPatientCommand extends Command {
     public static final String NO_PATIENT_FOUND_NAME = "No patient by the name: %s found";
     public static final String NO_PATIENT_FOUND_NRIC = "No patient by NRIC: %s found";
     public static final String NO_PATIENT_FOUND_TAG = "No patient with tag: %s found";
+    public static final String NO_PATIENT_FOUND_TAGS = "No patient with %s of the tags: %s found";
+    public static final String NO_MORE_PATIENTS = "No more patient records to list.\n";
+    public static final String MORE_PATIENTS = "Showing patients %d to %d of %d found.\n"
+            + "To list the next page, enter the same command followed by c/%s\n";
+    public static final int PAGE_SIZE = 50;
 
     public static final String INVALID_INDEX = "Invalid index to find patient records.\n";
     public static final String MESSAGE_USAGE =
             COMMAND_WORD + ": List patient details using a particular index, name or nric.\n"
                     + " A list of patients with the same tags can also be displayed by entering the tag.\n"
-                    + " If no parameters are entered, QuickDocs will try to list at least 50 patients\n"
+                    + " When several tags are entered, patients having all of them are listed,\n"
+                    + " or patients having any of them if m/any is also entered.\n"
+                    + " If no parameters are entered, QuickDocs will list all patients, " + PAGE_SIZE + " at a time\n"
+                    + " The next page of a long list is shown by repeating the command with c/PAGE_TOKEN\n"
                     + "Parameters: "
                     + "INDEX OR"
                     + "n/NAME OR"
                     + "r/NRIC OR"
-                    + "t/TAG\n"
+                    + "t/TAG [t/TAG]... [m/all OR m/any]\n"
+                    + "[c/PAGE_TOKEN]\n"
                     + "Examples: " + COMMAND_WORD + "\n"
                     + COMMAND_WORD + "10" + "\n"
                     + COMMAND_WORD + "r/S9214538C" + "\n"
                     + COMMAND_WORD + "n/Tan Ah Kow" + "\n"
-                    + COMMAND_WORD + "t/diabetes" + "\n";
+                    + COMMAND_WORD + "t/diabetes" + "\n"
+                    + COMMAND_WORD + "t/diabetes t/hypertension m/any" + "\n";
 
     private static final Logger logger = LogsCenter.getLogger(ListPatientCommand.class);
 
@@ -45,7 +60,11 @@ public class ListPatientCommand extends Command {
     private int index = -1;
     private String name;
     private String nric;
-    private Tag tag;
+    private ArrayList<Tag> tags;
+    private boolean matchAllTags;
+
+    // token of the page of patient records to list, null for the first page
+    private String pageToken;
 
     /**
      * Indicates that the search is conducted by an index during the
@@ -75,16 +94,37 @@ public class ListPatientCommand extends Command {
     }
 
     public ListPatientCommand(Tag tag) {
+        this(new ArrayList<>(List.of(tag)), true);
+    }
+
+    /**
+     * Indicates that the search is conducted by tags during the command's execution
+     *
+     * @param tags         the tags to filter patient records with
+     * @param matchAllTags true if the patients listed must have all of the tags,
+     *                     false if they only need to have any one of them
+     */
+    public ListPatientCommand(ArrayList<Tag> tags, boolean matchAllTags) {
         logger.info("ListPatientCommand: Listing patient by tag");
-        this.tag = tag;
+        this.tags = tags;
+        this.matchAllTags = matchAllTags;
         constructedBy = 4;
     }
 
     public ListPatientCommand() {
-        logger.info("ListPatientCommand: Listing first 50 patients");
+        logger.info("ListPatientCommand: Listing all patients");
         constructedBy = 5;
     }
 
+    /**
+     * Sets the page of patient records that will be listed if multiple patient records are found
+     *
+     * @param pageToken token of the page given when the previous page was listed
+     */
+    public void setPageToken(String pageToken) {
+        this.pageToken = pageToken;
+    }
+
     @Override
     public CommandResult execute(Model model, CommandHistory history) throws CommandException {
         if (model.isPatientListEmpty()) {
@@ -102,37 +142,72 @@ public class ListPatientCommand extends Command {
             return constructResult(patient.toString());
         }
 
-        // handles patient record search by name sequences
-        if (constructedBy == 2) {
-            String result = model.findPatientsByName(name);
-            if (result.equals("No patient record found")) {
-                throw new CommandException(String.format(NO_PATIENT_FOUND_NAME, name));
+        try {
+            // handles patient record search by name sequences
+            if (constructedBy == 2) {
+                PatientPage page = model.findPatientsByName(name, PAGE_SIZE, pageToken);
+                return constructPageResult(page, String.format(NO_PATIENT_FOUND_NAME, name));
             }
-            return constructResult(result);
-        }
 
-        // handles patient record search by NRIC sequences
-        if (constructedBy == 3) {
-            String result = model.findPatientsByNric(nric);
-            if (result.equals("No patient record found")) {
-                throw new CommandException(String.format(NO_PATIENT_FOUND_NRIC, nric));
+            // handles patient record search by NRIC sequences
+            if (constructedBy == 3) {
+                PatientPage page = model.findPatientsByNric(nric, PAGE_SIZE, pageToken);
+                return constructPageResult(page, String.format(NO_PATIENT_FOUND_NRIC, nric));
+            }
+
+            // find patient records with all or any of the given tags
+            if (constructedBy == 4) {
+                PatientPage page = model.findPatientsByTags(tags, matchAllTags, PAGE_SIZE, pageToken);
+                String notFoundMessage = tags.size() == 1
+                        ? String.format(NO_PATIENT_FOUND_TAG, tags.get(0))
+                        : String.format(NO_PATIENT_FOUND_TAGS, matchAllTags ? "all" : "any",
+                                tags.stream().map(Tag::toString).collect(Collectors.joining(" ")));
+                return constructPageResult(page, notFoundMessage);
             }
-            return constructResult(result);
-        }
 
-        // find patient records with the given tag
-        if (constructedBy == 4) {
-            String result = model.findPatientsByTag(tag);
-            if (result.equals("No patient record found")) {
-                throw new CommandException(String.format(NO_PATIENT_FOUND_TAG, tag));
+            // list all the patient records a page at a time if no parameters are provided
+            PatientPage page = model.listPatients(PAGE_SIZE, pageToken);
+            if (page.isEmpty()) {
+                throw new CommandException(NO_MORE_PATIENTS);
             }
+            return constructResult(page.format() + formatNextPage(page));
+        } catch (IllegalArgumentException e) {
+            throw new CommandException(e.getMessage());
+        }
+    }
+
+    /**
+     * format a page of the patients found by a search to a commandresult for display.
+     * If only a single patient is found, the full patient record is displayed instead.
+     *
+     * @param page            the page of patient records to list
+     * @param notFoundMessage the message to display if no patient is found
+     * @throws CommandException if the page is empty
+     */
+    private CommandResult constructPageResult(PatientPage page, String notFoundMessage) throws CommandException {
+        if (page.getTotalPatients() == 0) {
+            throw new CommandException(notFoundMessage);
+        }
+
+        if (page.isEmpty()) {
+            throw new CommandException(NO_MORE_PATIENTS);
+        }
 
-            return constructResult(result);
+        if (page.getTotalPatients() == 1) {
+            return constructResult(page.getPatients().get(0).toString());
         }
 
-        // list as many patient records if no parameters are provided
-        String result = model.listFiftyPatients();
-        return constructResult(result);
+        return constructResult(page.format() + formatNextPage(page));
+    }
+
+    /**
+     * Returns the instructions to list the page after the given page, or an empty string if it is the last page
+     */
+    private String formatNextPage(PatientPage page) {
+        return page.getNextPageToken()
+                .map(token -> String.format(MORE_PATIENTS, page.getOffset() + 1,
+                        page.getOffset() + page.getPatients().size(), page.getTotalPatients(), token))
+                .orElse("");
     }
 
     /**
@@ -162,15 +237,24 @@ public class ListPatientCommand extends Command {
         return nric;
     }
 
-    public Tag getTag() {
-        return tag;
+    public ArrayList<Tag> getTags() {
+        return tags;
+    }
+
+    public boolean isMatchAllTags() {
+        return matchAllTags;
+    }
+
+    public String getPageToken() {
+        return pageToken;
     }
 
     @Override
     public boolean equals(Object other) {
         return other == this
                 || (other instanceof ListPatientCommand
-                && checkAttributes((ListPatientCommand) other));
+                && checkAttributes((ListPatientCommand) other)
+                && Objects.equals(pageToken, ((ListPatientCommand) other).getPageToken()));
     }
 
     /**
@@ -186,7 +270,7 @@ public class ListPatientCommand extends Command {
         case 3:
             return nric.equals(other.getNric());
         case 4:
-            return tag.equals(other.getTag());
+            return tags.equals(other.getTags()) && matchAllTags == other.isMatchAllTags();
         default:
             return true;
         }
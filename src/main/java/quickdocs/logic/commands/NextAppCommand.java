@@ -0,0 +1,79 @@
+package quickdocs.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+import static quickdocs.logic.parser.NextAppCommandParser.PREFIX_COUNT;
+import static quickdocs.logic.parser.NextAppCommandParser.PREFIX_DATE;
+import static quickdocs.logic.parser.NextAppCommandParser.PREFIX_LENGTH;
+import static quickdocs.logic.parser.NextAppCommandParser.PREFIX_TIME;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import quickdocs.logic.CommandHistory;
+import quickdocs.model.Model;
+
+/**
+ * Lists the earliest free appointment slots of a given length in QuickDocs on the main display of the UI.
+ */
+public class NextAppCommand extends Command {
+
+    public static final String COMMAND_WORD = "nextapp";
+    public static final String COMMAND_ALIAS = "na";
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Lists the earliest free appointment slots "
+            + "of a given length.\n"
+            + "Parameters: "
+            + PREFIX_LENGTH + "LENGTH_IN_MINUTES "
+            + "[" + PREFIX_COUNT + "NUMBER_OF_SLOTS] "
+            + "[" + PREFIX_DATE + "DATE] "
+            + "[" + PREFIX_TIME + "TIME]\n"
+            + "Example: " + COMMAND_WORD + " "
+            + PREFIX_LENGTH + "30 "
+            + PREFIX_COUNT + "3 "
+            + PREFIX_DATE + "2019-10-23 "
+            + PREFIX_TIME + "14:00";
+    public static final String MESSAGE_SUCCESS = "Listed the earliest free appointment slots of %1$d minutes "
+            + "from %2$s %3$s\n";
+    public static final String MESSAGE_NO_FREE_SLOTS = "There are no free appointment slots of %1$d minutes "
+            + "from %2$s %3$s\n";
+
+    private final LocalDate date;
+    private final LocalTime time;
+    private final Duration length;
+    private final int count;
+
+    /**
+     * Creates a {@code NextAppCommand} to list at most {@code count} free appointment slots of the given length,
+     * starting from the given date and time.
+     */
+    public NextAppCommand(LocalDate date, LocalTime time, Duration length, int count) {
+        this.date = date;
+        this.time = time;
+        this.length = length;
+        this.count = count;
+    }
+
+    @Override
+    public CommandResult execute(Model model, CommandHistory history) {
+        requireNonNull(model);
+
+        String result = model.nextApp(date, time, length, count);
+        if (result.isEmpty()) {
+            return new CommandResult(String.format(MESSAGE_NO_FREE_SLOTS, length.toMinutes(), date, time),
+                    false, false);
+        }
+
+        return new CommandResult(String.format(MESSAGE_SUCCESS, length.toMinutes(), date, time) + result,
+                false, false);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof NextAppCommand // instanceof handles nulls
+                && date.equals(((NextAppCommand) other).date)
+                && time.equals(((NextAppCommand) other).time)
+                && length.equals(((NextAppCommand) other).length)
+                && count == ((NextAppCommand) other).count);
+    }
+}
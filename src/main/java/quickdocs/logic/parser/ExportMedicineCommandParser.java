@@ -0,0 +1,39 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import quickdocs.logic.commands.ExportMedicineCommand;
+import quickdocs.logic.parser.exceptions.ParseException;
+
+/**
+ * Parses input arguments and creates a new {@code ExportMedicineCommand} object.
+ */
+public class ExportMedicineCommandParser implements Parser<ExportMedicineCommand> {
+
+    /**
+     * Parses the given {@code String} of arguments in the context of the {@code ExportMedicineCommand}
+     * and returns an {@code ExportMedicineCommand} object for execution.
+     *
+     * @throws ParseException if the user input does not conform to the expected format.
+     */
+    public ExportMedicineCommand parse(String args) throws ParseException {
+        String trimmedArgs = args.trim();
+        if (trimmedArgs.isEmpty()) {
+            throw new ParseException(
+                    String.format(MESSAGE_INVALID_COMMAND_FORMAT, ExportMedicineCommand.MESSAGE_USAGE));
+        }
+
+        Path filePath;
+        try {
+            filePath = Paths.get(trimmedArgs);
+        } catch (InvalidPathException ipe) {
+            throw new ParseException(
+                    String.format(MESSAGE_INVALID_COMMAND_FORMAT, ExportMedicineCommand.MESSAGE_USAGE));
+        }
+        return new ExportMedicineCommand(filePath);
+    }
+}
@@ -0,0 +1,37 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import quickdocs.logic.commands.ImportAppCommand;
+import quickdocs.logic.parser.exceptions.ParseException;
+
+/**
+ * Parses input arguments and creates a new {@code ImportAppCommand} object.
+ */
+public class ImportAppCommandParser implements Parser<ImportAppCommand> {
+
+    /**
+     * Parses the given {@code String} of arguments in the context of the {@code ImportAppCommand}
+     * and returns an {@code ImportAppCommand} object for execution.
+     *
+     * @throws ParseException if the user input does not conform to the expected format.
+     */
+    public ImportAppCommand parse(String args) throws ParseException {
+        String trimmedArgs = args.trim();
+        if (trimmedArgs.isEmpty()) {
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, ImportAppCommand.MESSAGE_USAGE));
+        }
+
+        Path filePath;
+        try {
+            filePath = Paths.get(trimmedArgs);
+        } catch (InvalidPathException ipe) {
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, ImportAppCommand.MESSAGE_USAGE));
+        }
+        return new ImportAppCommand(filePath);
+    }
+}
@@ -1,7 +1,10 @@
 package quickdocs.logic.parser;
 
+import java.util.ArrayList;
+
 import quickdocs.logic.commands.ListPatientCommand;
 import quickdocs.logic.parser.exceptions.ParseException;
+import quickdocs.model.patient.PatientPage;
 import quickdocs.model.tag.Tag;
 
 /**
@@ -13,15 +16,36 @@ public class ListPatientParser implements Parser<ListPatientCommand> {
 
     public static final String INDEX_INVALID_RANGE = "Index is beyond the valid range";
     public static final String INDEX_NUMERIC = "Index should be numeric";
+    public static final String INVALID_TAG_MATCH = "Tag matching should either be m/all or m/any";
     public static final Prefix PREFIX_NAME = new Prefix("n/");
     public static final Prefix PREFIX_NRIC = new Prefix("r/");
     public static final Prefix PREFIX_TAG = new Prefix("t/");
+    public static final Prefix PREFIX_TAG_MATCH = new Prefix("m/");
+    public static final Prefix PREFIX_PAGE = new Prefix("c/");
 
     @Override
     public ListPatientCommand parse(String args) throws ParseException {
-        ArgumentMultimap argMultimap =
-                ArgumentTokenizer.tokenize(args, PREFIX_NAME, PREFIX_NRIC, PREFIX_TAG);
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(args, PREFIX_NAME, PREFIX_NRIC,
+                PREFIX_TAG, PREFIX_TAG_MATCH, PREFIX_PAGE);
+
+        ListPatientCommand listPatientCommand = parseSearchCriteria(argMultimap);
+
+        // the page token given when a previous page of the same search was listed
+        if (argMultimap.getValue(PREFIX_PAGE).isPresent()) {
+            String pageToken = argMultimap.getValue(PREFIX_PAGE).get().trim();
+            if (!PatientPage.isValidPageToken(pageToken)) {
+                throw new ParseException(PatientPage.INVALID_PAGE_TOKEN);
+            }
+            listPatientCommand.setPageToken(pageToken);
+        }
 
+        return listPatientCommand;
+    }
+
+    /**
+     * Creates the ListPatientCommand for the first search criteria entered by the user
+     */
+    private ListPatientCommand parseSearchCriteria(ArgumentMultimap argMultimap) throws ParseException {
         if (!argMultimap.getPreamble().isEmpty()) {
 
             String userInput = argMultimap.getPreamble().trim();
@@ -55,11 +79,20 @@ public class ListPatientParser implements Parser<ListPatientCommand> {
         }
 
         if (argMultimap.getValue(PREFIX_TAG).isPresent()) {
-            // list all patients with the same tag
-            return new ListPatientCommand(new Tag(argMultimap.getValue(PREFIX_TAG).get()));
+            // list all patients with the same tags, by default patients must have every tag entered
+            ArrayList<Tag> tags = new ArrayList<>();
+            for (String tagName : argMultimap.getAllValues(PREFIX_TAG)) {
+                tags.add(new Tag(tagName));
+            }
+
+            String tagMatch = argMultimap.getValue(PREFIX_TAG_MATCH).orElse("all").trim();
+            if (!tagMatch.equalsIgnoreCase("all") && !tagMatch.equalsIgnoreCase("any")) {
+                throw new ParseException(INVALID_TAG_MATCH);
+            }
+            return new ListPatientCommand(tags, tagMatch.equalsIgnoreCase("all"));
         }
 
-        // if nothing is supplied, will try to list all the patients, maximum 50;
+        // if nothing is supplied, will list all the patients a page at a time
         return new ListPatientCommand();
     }
 }
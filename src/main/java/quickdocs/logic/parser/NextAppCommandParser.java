@@ -0,0 +1,81 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import quickdocs.commons.util.StringUtil;
+import quickdocs.logic.commands.NextAppCommand;
+import quickdocs.logic.parser.exceptions.ParseException;
+
+/**
+ * Parses input arguments and creates a new {@code NextAppCommand} object.
+ */
+public class NextAppCommandParser implements Parser<NextAppCommand> {
+    public static final Prefix PREFIX_LENGTH = new Prefix("l/");
+    public static final Prefix PREFIX_COUNT = new Prefix("n/");
+    public static final Prefix PREFIX_DATE = new Prefix("d/");
+    public static final Prefix PREFIX_TIME = new Prefix("t/");
+    public static final int DEFAULT_COUNT = 5;
+    public static final String MESSAGE_INVALID_LENGTH = "Length of the slots should be a positive number of minutes";
+    public static final String MESSAGE_INVALID_COUNT = "Number of slots should be a positive integer";
+
+    /**
+     * Parses the given {@code String} of arguments in the context of the {@code NextAppCommand}
+     * and returns a {@code NextAppCommand} object for execution.
+     * The search starts from the current time if no date is given, or from the start of the given date if
+     * no time is given.
+     *
+     * @throws ParseException if the user input does not conform to the expected format.
+     */
+    public NextAppCommand parse(String args) throws ParseException {
+        ArgumentMultimap argMultimap =
+                ArgumentTokenizer.tokenize(args, PREFIX_LENGTH, PREFIX_COUNT, PREFIX_DATE, PREFIX_TIME);
+
+        // check if required prefixes are present
+        boolean prefixesPresent = argMultimap.getValue(PREFIX_LENGTH).isPresent();
+        boolean preamblePresent = argMultimap.getPreamble().isEmpty();
+        if (!prefixesPresent || !preamblePresent) {
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, NextAppCommand.MESSAGE_USAGE));
+        }
+
+        Duration length = Duration.ofMinutes(parsePositiveInteger(argMultimap.getValue(PREFIX_LENGTH).get(),
+                MESSAGE_INVALID_LENGTH));
+        int count = DEFAULT_COUNT;
+        if (argMultimap.getValue(PREFIX_COUNT).isPresent()) {
+            count = parsePositiveInteger(argMultimap.getValue(PREFIX_COUNT).get(), MESSAGE_INVALID_COUNT);
+        }
+
+        Optional<String> dateString = argMultimap.getValue(PREFIX_DATE);
+        Optional<String> timeString = argMultimap.getValue(PREFIX_TIME);
+        LocalDate date = dateString.isPresent() ? ParserUtil.parseDate(dateString.get().trim()) : LocalDate.now();
+        LocalTime time;
+        if (timeString.isPresent()) {
+            time = ParserUtil.parseTime(timeString.get().trim());
+        } else if (dateString.isPresent()) {
+            time = LocalTime.MIDNIGHT;
+        } else {
+            time = LocalTime.now().truncatedTo(ChronoUnit.MINUTES);
+        }
+
+        return new NextAppCommand(date, time, length, count);
+    }
+
+    /**
+     * Parses {@code String value} into a positive {@code int}.
+     *
+     * @throws ParseException with the given message if the value is not a positive integer.
+     */
+    private static int parsePositiveInteger(String value, String message) throws ParseException {
+        String trimmedValue = value.trim();
+        if (!StringUtil.isNonZeroUnsignedInteger(trimmedValue)) {
+            throw new ParseException(message);
+        }
+        return Integer.parseInt(trimmedValue);
+    }
+
+}
@@ -22,13 +22,18 @@ import quickdocs.logic.commands.DiagnosePatientCommand;
 import quickdocs.logic.commands.EditPatientCommand;
 import quickdocs.logic.commands.EndConsultationCommand;
 import quickdocs.logic.commands.ExitCommand;
+import quickdocs.logic.commands.ExportDataCommand;
+import quickdocs.logic.commands.ExportMedicineCommand;
 import quickdocs.logic.commands.FreeAppCommand;
 import quickdocs.logic.commands.HelpCommand;
 import quickdocs.logic.commands.HistoryCommand;
+import quickdocs.logic.commands.ImportAppCommand;
+import quickdocs.logic.commands.ImportMedicineCommand;
 import quickdocs.logic.commands.ListAppCommand;
 import quickdocs.logic.commands.ListConsultationCommand;
 import quickdocs.logic.commands.ListPatientCommand;
 import quickdocs.logic.commands.ListRemCommand;
+import quickdocs.logic.commands.NextAppCommand;
 import quickdocs.logic.commands.PrescriptionCommand;
 import quickdocs.logic.commands.PurchaseMedicineCommand;
 import quickdocs.logic.commands.SetConsultationFeeCommand;
@@ -93,6 +98,14 @@ public class QuickDocsParser {
         case FreeAppCommand.COMMAND_ALIAS:
             return new FreeAppCommandParser().parse(arguments);
 
+        case NextAppCommand.COMMAND_WORD:
+        case NextAppCommand.COMMAND_ALIAS:
+            return new NextAppCommandParser().parse(arguments);
+
+        case ImportAppCommand.COMMAND_WORD:
+        case ImportAppCommand.COMMAND_ALIAS:
+            return new ImportAppCommandParser().parse(arguments);
+
         case AddRemCommand.COMMAND_WORD:
         case AddRemCommand.COMMAND_ALIAS:
             return new AddRemCommandParser().parse(arguments);
@@ -156,6 +169,18 @@ public class QuickDocsParser {
         case AddDirectoryCommand.COMMAND_ALIAS:
             return new AddDirectoryCommandParser().parse(arguments);
 
+        case ImportMedicineCommand.COMMAND_WORD:
+        case ImportMedicineCommand.COMMAND_ALIAS:
+            return new ImportMedicineCommandParser().parse(arguments);
+
+        case ExportMedicineCommand.COMMAND_WORD:
+        case ExportMedicineCommand.COMMAND_ALIAS:
+            return new ExportMedicineCommandParser().parse(arguments);
+
+        case ExportDataCommand.COMMAND_WORD:
+        case ExportDataCommand.COMMAND_ALIAS:
+            return new ExportDataCommandParser().parse(arguments);
+
         case PurchaseMedicineCommand.COMMAND_WORD:
         case PurchaseMedicineCommand.COMMAND_ALIAS:
             return new PurchaseMedicineCommandParser().parse(arguments);
@@ -0,0 +1,205 @@
+package quickdocs.model;
+
+import static java.util.Objects.requireNonNull;
+
+import quickdocs.model.appointment.Appointment;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.model.patient.Patient;
+import quickdocs.model.reminder.Reminder;
+
+/**
+ * Represents a single modification of the data in {@code QuickDocs}, recorded so that the storage
+ * can persist only what was modified since the last save.
+ * Patients, consultations, appointments, reminders and medicines are recorded record by record, while a change in
+ * the statistics, an import of medicines, or the archiving of consultations, is recorded without details, as it is
+ * saved as a whole section.
+ */
+public class Change {
+
+    /**
+     * Kinds of modification that can be recorded.
+     */
+    public enum Type {
+        ADD_PATIENT,
+        REPLACE_PATIENT,
+        DELETE_PATIENT,
+        ADD_CONSULTATION,
+        ARCHIVE_CONSULTATIONS,
+        ADD_APPOINTMENT,
+        DELETE_APPOINTMENT,
+        ADD_REMINDER,
+        DELETE_REMINDER,
+        UPDATE_MEDICINE,
+        ADD_DIRECTORY,
+        SET_DIRECTORY_THRESHOLD,
+        UPDATE_MEDICINES,
+        UPDATE_STATISTICS
+    }
+
+    private final Type type;
+    private final String nric;
+    private final Patient patient;
+    private final Consultation consultation;
+    private final Appointment appointment;
+    private final Reminder reminder;
+    private final Medicine medicine;
+    private final String[] path;
+    private final int threshold;
+
+    private Change(Type type, String nric, Patient patient, Consultation consultation, Appointment appointment,
+                   Reminder reminder) {
+        this(type, nric, patient, consultation, appointment, reminder, null, null, 0);
+    }
+
+    private Change(Type type, String nric, Patient patient, Consultation consultation, Appointment appointment,
+                   Reminder reminder, Medicine medicine, String[] path, int threshold) {
+        this.type = type;
+        this.nric = nric;
+        this.patient = patient;
+        this.consultation = consultation;
+        this.appointment = appointment;
+        this.reminder = reminder;
+        this.medicine = medicine;
+        this.path = path;
+        this.threshold = threshold;
+    }
+
+    public static Change addPatient(Patient patient) {
+        requireNonNull(patient);
+        return new Change(Type.ADD_PATIENT, null, patient, null, null, null);
+    }
+
+    /**
+     * Records that the patient with the given NRIC was replaced with the edited patient.
+     */
+    public static Change replacePatient(String nric, Patient editedPatient) {
+        requireNonNull(nric);
+        requireNonNull(editedPatient);
+        return new Change(Type.REPLACE_PATIENT, nric, editedPatient, null, null, null);
+    }
+
+    public static Change deletePatient(String nric) {
+        requireNonNull(nric);
+        return new Change(Type.DELETE_PATIENT, nric, null, null, null, null);
+    }
+
+    public static Change addConsultation(Consultation consultation) {
+        requireNonNull(consultation);
+        return new Change(Type.ADD_CONSULTATION, null, null, consultation, null, null);
+    }
+
+    /**
+     * Records that consultations were moved out of the consultationList into the consultation archive.
+     */
+    public static Change archiveConsultations() {
+        return new Change(Type.ARCHIVE_CONSULTATIONS, null, null, null, null, null);
+    }
+
+    public static Change addAppointment(Appointment appointment) {
+        requireNonNull(appointment);
+        return new Change(Type.ADD_APPOINTMENT, null, null, null, appointment, null);
+    }
+
+    public static Change deleteAppointment(Appointment appointment) {
+        requireNonNull(appointment);
+        return new Change(Type.DELETE_APPOINTMENT, null, null, null, appointment, null);
+    }
+
+    public static Change addReminder(Reminder reminder) {
+        requireNonNull(reminder);
+        return new Change(Type.ADD_REMINDER, null, null, null, null, reminder);
+    }
+
+    public static Change deleteReminder(Reminder reminder) {
+        requireNonNull(reminder);
+        return new Change(Type.DELETE_REMINDER, null, null, null, null, reminder);
+    }
+
+    /**
+     * Records that the quantity, threshold or price of the given medicine changed.
+     */
+    public static Change updateMedicine(Medicine medicine) {
+        requireNonNull(medicine);
+        return new Change(Type.UPDATE_MEDICINE, null, null, null, null, null, medicine, null, 0);
+    }
+
+    /**
+     * Records that the given medicine was added to the directory at the given path, being created if it is new.
+     */
+    public static Change updateMedicine(Medicine medicine, String[] path) {
+        requireNonNull(medicine);
+        requireNonNull(path);
+        return new Change(Type.UPDATE_MEDICINE, null, null, null, null, null, medicine, path.clone(), 0);
+    }
+
+    /**
+     * Records that a directory was added at the given path, which ends with the name of the new directory.
+     */
+    public static Change addDirectory(String[] path) {
+        requireNonNull(path);
+        return new Change(Type.ADD_DIRECTORY, null, null, null, null, null, null, path.clone(), 0);
+    }
+
+    /**
+     * Records that the threshold of the directory at the given path, and of everything under it, was set.
+     */
+    public static Change setDirectoryThreshold(String[] path, int threshold) {
+        requireNonNull(path);
+        return new Change(Type.SET_DIRECTORY_THRESHOLD, null, null, null, null, null, null, path.clone(), threshold);
+    }
+
+    /**
+     * Records that the medicines were replaced as a whole, such as by an import of a catalogue.
+     */
+    public static Change updateMedicines() {
+        return new Change(Type.UPDATE_MEDICINES, null, null, null, null, null);
+    }
+
+    public static Change updateStatistics() {
+        return new Change(Type.UPDATE_STATISTICS, null, null, null, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the NRIC of the patient replaced or deleted.
+     */
+    public String getNric() {
+        return nric;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+
+    public Consultation getConsultation() {
+        return consultation;
+    }
+
+    public Appointment getAppointment() {
+        return appointment;
+    }
+
+    public Reminder getReminder() {
+        return reminder;
+    }
+
+    public Medicine getMedicine() {
+        return medicine;
+    }
+
+    /**
+     * Returns the path of the directory a medicine was added to, or of the directory added or whose threshold
+     * was set, or null if there is none.
+     */
+    public String[] getPath() {
+        return path == null ? null : path.clone();
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+}
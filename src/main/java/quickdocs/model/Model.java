@@ -2,10 +2,13 @@ package quickdocs.model;
 
 import java.math.BigDecimal;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -17,9 +20,11 @@ import quickdocs.model.consultation.Consultation;
 import quickdocs.model.consultation.Diagnosis;
 import quickdocs.model.consultation.Prescription;
 import quickdocs.model.medicine.Directory;
+import quickdocs.model.medicine.FormularyItem;
 import quickdocs.model.medicine.Medicine;
 import quickdocs.model.patient.Nric;
 import quickdocs.model.patient.Patient;
+import quickdocs.model.patient.PatientPage;
 import quickdocs.model.record.Record;
 import quickdocs.model.record.Statistics;
 import quickdocs.model.reminder.Reminder;
@@ -80,15 +85,19 @@ public interface Model {
 
     void setThreshold(Medicine medicine, int threshold);
 
-    void setThreshold(Directory directory, int threshold);
+    void setDirectoryThreshold(String[] path, int threshold);
 
     void addExistingMedicineToDirectory(Medicine medicine, String[] path);
 
+    Map<Integer, String> importMedicines(List<FormularyItem> items);
+
     void setPrice(Medicine medicine, BigDecimal price);
 
     ArrayList<String> getDirectorySuggestions(String path);
 
     ArrayList<String> getMedicineSuggestions(String path);
+
+    ArrayList<String> getCompletions(String prefix);
     //===========Patient module operations============================
     boolean duplicatePatient(Patient patient);
 
@@ -106,12 +115,20 @@ public interface Model {
 
     String findPatientsByName(String searchSequence);
 
-    String listFiftyPatients();
+    PatientPage findPatientsByName(String searchSequence, int pageSize, String pageToken);
+
+    PatientPage listPatients(int pageSize, String pageToken);
 
     String findPatientsByNric(String searchSequence);
 
+    PatientPage findPatientsByNric(String searchSequence, int pageSize, String pageToken);
+
     String findPatientsByTag(Tag tag);
 
+    String findPatientsByTags(List<Tag> tags, boolean matchAll);
+
+    PatientPage findPatientsByTags(List<Tag> tags, boolean matchAll, int pageSize, String pageToken);
+
     Patient getPatientByNric(String nric);
 
     Optional<Patient> getPatientByNric(Nric nric);
@@ -134,6 +151,8 @@ public interface Model {
 
     ArrayList<Consultation> getConsultationList();
 
+    int getConsultationCount();
+
     void endConsultation();
 
     ArrayList<Consultation> listConsultation(String value);
@@ -148,12 +167,16 @@ public interface Model {
 
     void addApp(Appointment app);
 
+    List<Appointment> addApps(List<Appointment> apps);
+
     String listApp(LocalDate start, LocalDate end);
 
     String listApp(Patient patient);
 
     String freeApp(LocalDate start, LocalDate end);
 
+    String nextApp(LocalDate date, LocalTime time, Duration length, int count);
+
     Optional<Appointment> getAppointment(LocalDate date, LocalTime start);
 
     void deleteAppointment(Appointment appointment);
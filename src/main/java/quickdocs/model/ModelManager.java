@@ -9,11 +9,18 @@ import static quickdocs.commons.util.CollectionUtil.requireAllNonNull;
 
 import java.math.BigDecimal;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 
@@ -30,11 +37,13 @@ import quickdocs.model.consultation.ConsultationManager;
 import quickdocs.model.consultation.Diagnosis;
 import quickdocs.model.consultation.Prescription;
 import quickdocs.model.medicine.Directory;
+import quickdocs.model.medicine.FormularyItem;
 import quickdocs.model.medicine.Medicine;
 import quickdocs.model.medicine.MedicineManager;
 import quickdocs.model.patient.Nric;
 import quickdocs.model.patient.Patient;
 import quickdocs.model.patient.PatientManager;
+import quickdocs.model.patient.PatientPage;
 import quickdocs.model.record.MedicinePurchaseRecord;
 import quickdocs.model.record.Record;
 import quickdocs.model.record.Statistics;
@@ -80,6 +89,7 @@ public class ModelManager implements Model {
         this.appointmentManager = quickDocs.getAppointmentManager();
         this.reminderManager = quickDocs.getReminderManager();
         this.statisticsManager = quickDocs.getStatisticsManager();
+        medicineManager.setPrescriptionCounts(statisticsManager.getMedicinesCount());
         filteredReminders = new FilteredList<>(reminderManager.getObservableReminderList());
     }
 
@@ -120,26 +130,66 @@ public class ModelManager implements Model {
     public void addMedicine(String medicineName, String[] path, BigDecimal price) {
         Medicine medicine = medicineManager.addMedicine(medicineName, path, price);
         reminderForMedicine(medicine);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.updateMedicine(medicine, path));
     }
 
     @Override
     public void addMedicine(String medicineName, int quantity, String[] path, BigDecimal price) {
         Medicine medicine = medicineManager.addMedicine(medicineName, quantity, path, price);
         reminderForMedicine(medicine);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.updateMedicine(medicine, path));
     }
 
     @Override
     public void addExistingMedicineToDirectory(Medicine medicine, String[] path) {
         medicineManager.addExistingMedicineToDirectory(medicine, path);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.updateMedicine(medicine, path));
+    }
+
+    /**
+     * Imports the entries of a formulary catalogue into the medicine storage, and creates the low quantity
+     * {@code Reminder}s of the medicines placed by the import in one batch.
+     *
+     * @param items the entries of the catalogue.
+     * @return the reason each rejected entry cannot be imported, by its position in the list, in which case
+     *         none of the entries are imported.
+     */
+    @Override
+    public Map<Integer, String> importMedicines(List<FormularyItem> items) {
+        Map<Integer, String> rejected = medicineManager.importMedicines(items);
+        if (!rejected.isEmpty()) {
+            return rejected;
+        }
+
+        Set<Medicine> newMedicines = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Medicine> existingMedicines = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (FormularyItem item : items) {
+            if (item.isDirectory()) {
+                continue;
+            }
+            Medicine medicine = medicineManager.findMedicine(item.getMedicineName().get()).get();
+            if (item.isNewMedicine()) {
+                newMedicines.add(medicine);
+            } else {
+                existingMedicines.add(medicine);
+            }
+        }
+        for (Reminder reminder : reminderManager.addMedicineReminders(newMedicines)) {
+            quickDocs.recordChange(Change.addReminder(reminder));
+        }
+        // existing medicines placed in a directory with an alarm level take it up
+        existingMedicines.removeAll(newMedicines);
+        existingMedicines.forEach(this::reminderForMedicine);
+        quickDocs.recordChange(Change.updateMedicines());
+        return rejected;
     }
 
     @Override
     public void addDirectory(String directoryName, String[] path) {
         medicineManager.addDirectory(directoryName, path);
-        quickDocs.indicateModification(true);
+        String[] directoryPath = Arrays.copyOf(path, path.length + 1);
+        directoryPath[path.length] = directoryName;
+        quickDocs.recordChange(Change.addDirectory(directoryPath));
     }
 
     @Override
@@ -157,7 +207,7 @@ public class ModelManager implements Model {
         Medicine medicine = medicineManager.purchaseMedicine(path, quantity);
         reminderForMedicine(medicine);
         addRecord(new MedicinePurchaseRecord(medicine, quantity, cost), Clock.systemDefaultZone());
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.updateMedicine(medicine));
     }
 
     @Override
@@ -165,7 +215,7 @@ public class ModelManager implements Model {
         Medicine medicine = medicineManager.purchaseMedicine(medicineName, quantity);
         reminderForMedicine(medicine);
         addRecord(new MedicinePurchaseRecord(medicine, quantity, cost), Clock.systemDefaultZone());
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.updateMedicine(medicine));
     }
 
     @Override
@@ -177,25 +227,21 @@ public class ModelManager implements Model {
     public void setThreshold(Medicine medicine, int threshold) {
         medicine.setThreshold(threshold);
         reminderForMedicine(medicine);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.updateMedicine(medicine));
     }
 
     @Override
-    public void setThreshold(Directory directory, int threshold) {
-        directory.setThreshold(threshold);
-        for (Medicine medicine : directory.getListOfMedicine()) {
-            setThreshold(medicine, threshold);
-        }
-        for (Directory subDirectory : directory.getListOfDirectory()) {
-            setThreshold(subDirectory, threshold);
+    public void setDirectoryThreshold(String[] path, int threshold) {
+        for (Medicine medicine : medicineManager.setDirectoryThreshold(path, threshold)) {
+            reminderForMedicine(medicine);
         }
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.setDirectoryThreshold(path, threshold));
     }
 
     @Override
     public void setPrice(Medicine medicine, BigDecimal price) {
         medicine.setPrice(price);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.updateMedicine(medicine));
     }
 
     @Override
@@ -207,6 +253,11 @@ public class ModelManager implements Model {
     public ArrayList<String> getMedicineSuggestions(String path) {
         return medicineManager.getMedicineSuggestions(path);
     }
+
+    @Override
+    public ArrayList<String> getCompletions(String prefix) {
+        return medicineManager.getCompletions(prefix);
+    }
     //=========== Filtered Reminder List Accessors ===========================================================
 
     @Override
@@ -237,7 +288,7 @@ public class ModelManager implements Model {
 
     @Override
     public void setSelectedReminder(Reminder reminder) {
-        if (reminder != null && !reminderManager.getReminderList().contains(reminder)) {
+        if (reminder != null && !reminderManager.hasDuplicateReminder(reminder)) {
             throw new ReminderNotFoundException();
         }
         selectedReminder.setValue(reminder);
@@ -272,7 +323,7 @@ public class ModelManager implements Model {
      */
     public void addPatient(Patient patient) {
         this.patientManager.addPatient(patient);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.addPatient(patient));
     }
 
     // for editing
@@ -293,11 +344,30 @@ public class ModelManager implements Model {
     }
 
     /**
-     * Replace the patient at index with the edited version
+     * Replace the patient at index with the edited version.
+     * The patient's appointments, and the reminders created for them, are updated to refer to the edited version.
      */
     public void replacePatient(int index, Patient editedPatient) {
+        Patient patient = this.patientManager.getPatientAtIndex(index);
         this.patientManager.replacePatient(index, editedPatient);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.replacePatient(patient.getNric().toString(), editedPatient));
+
+        for (Appointment app : appointmentManager.getAppointments(patient)) {
+            Appointment editedApp = new Appointment(editedPatient, app.getDate(), app.getStart(), app.getEnd(),
+                    app.getComment());
+            Optional<Reminder> reminder = reminderManager.getReminder(app);
+            appointmentManager.delete(app);
+            appointmentManager.addAppointment(editedApp);
+            quickDocs.recordChange(Change.deleteAppointment(app));
+            quickDocs.recordChange(Change.addAppointment(editedApp));
+            if (reminder.isPresent()) {
+                Reminder editedReminder = createRemFromApp(editedApp);
+                reminderManager.delete(reminder.get());
+                reminderManager.addReminder(editedReminder);
+                quickDocs.recordChange(Change.deleteReminder(reminder.get()));
+                quickDocs.recordChange(Change.addReminder(editedReminder));
+            }
+        }
     }
 
     // for listing
@@ -305,18 +375,34 @@ public class ModelManager implements Model {
         return this.patientManager.findPatientsByName(searchSequence);
     }
 
-    public String listFiftyPatients() {
-        return this.patientManager.listFiftyPatients();
+    public PatientPage findPatientsByName(String searchSequence, int pageSize, String pageToken) {
+        return this.patientManager.findPatientsByName(searchSequence, pageSize, pageToken);
+    }
+
+    public PatientPage listPatients(int pageSize, String pageToken) {
+        return this.patientManager.listPatients(pageSize, pageToken);
     }
 
     public String findPatientsByNric(String searchSequence) {
         return this.patientManager.findPatientsByNric(searchSequence);
     }
 
+    public PatientPage findPatientsByNric(String searchSequence, int pageSize, String pageToken) {
+        return this.patientManager.findPatientsByNric(searchSequence, pageSize, pageToken);
+    }
+
     public String findPatientsByTag(Tag tag) {
         return this.patientManager.findPatientsByTag(tag);
     }
 
+    public String findPatientsByTags(List<Tag> tags, boolean matchAll) {
+        return this.patientManager.findPatientsByTags(tags, matchAll);
+    }
+
+    public PatientPage findPatientsByTags(List<Tag> tags, boolean matchAll, int pageSize, String pageToken) {
+        return this.patientManager.findPatientsByTags(tags, matchAll, pageSize, pageToken);
+    }
+
     public Patient getPatientByNric(String nric) {
         return this.patientManager.getPatientByNric(nric);
     }
@@ -335,7 +421,7 @@ public class ModelManager implements Model {
      */
     public void deletePatientByNric(String nric) {
         this.patientManager.deletePatientByNric(nric);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.deletePatient(nric));
     }
 
     //==========Consultation module============================================================================
@@ -360,8 +446,9 @@ public class ModelManager implements Model {
      * end the current consultation session, no further edits can be made
      */
     public void endConsultation() {
+        Consultation consultation = this.consultationManager.getCurrentConsultation();
         this.consultationManager.endConsultation();
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.addConsultation(consultation));
     }
 
     public Consultation getCurrentConsultation() {
@@ -372,6 +459,10 @@ public class ModelManager implements Model {
         return this.consultationManager.getConsultationList();
     }
 
+    public int getConsultationCount() {
+        return this.consultationManager.getConsultationCount();
+    }
+
     public ArrayList<Consultation> listConsultation(String value) {
         return this.consultationManager.listConsultation(value);
     }
@@ -390,7 +481,9 @@ public class ModelManager implements Model {
      */
     public void executePrescription(Prescription prescription) {
         prescription.getMedicine().subtractQuantity(prescription.getQuantity());
+        medicineManager.recordPrescription(prescription.getMedicine(), prescription.getQuantity());
         reminderForMedicine(prescription.getMedicine());
+        quickDocs.recordChange(Change.updateMedicine(prescription.getMedicine()));
     }
     //==========Appointment module===========================================================================
 
@@ -402,9 +495,39 @@ public class ModelManager implements Model {
      */
     public void addApp(Appointment app) {
         appointmentManager.addAppointment(app);
+        quickDocs.recordChange(Change.addAppointment(app));
         Reminder remToAdd = createRemFromApp(app);
         addRem((remToAdd));
-        quickDocs.indicateModification(true);
+    }
+
+    /**
+     * Adds many {@code Appointment}s at once, leaving out those with time conflicts, and adds the
+     * {@code Reminder}s of the appointments added in one batch.
+     *
+     * @param apps the {@code Appointment}s to add.
+     * @return {@code List} of {@code Appointment}s not added because of time conflicts.
+     */
+    public List<Appointment> addApps(List<Appointment> apps) {
+        List<Appointment> conflicting = appointmentManager.addAppointments(apps);
+        if (conflicting.size() == apps.size()) {
+            return conflicting;
+        }
+
+        // conflicting appointments are never added, so the remaining ones are compared by identity
+        Set<Appointment> notAdded = Collections.newSetFromMap(new IdentityHashMap<>());
+        notAdded.addAll(conflicting);
+        List<Reminder> remsToAdd = new ArrayList<>();
+        for (Appointment app : apps) {
+            if (!notAdded.contains(app)) {
+                quickDocs.recordChange(Change.addAppointment(app));
+                remsToAdd.add(createRemFromApp(app));
+            }
+        }
+        reminderManager.addReminders(remsToAdd);
+        for (Reminder rem : remsToAdd) {
+            quickDocs.recordChange(Change.addReminder(rem));
+        }
+        return conflicting;
     }
 
     /**
@@ -414,9 +537,9 @@ public class ModelManager implements Model {
      */
     public void deleteAppointment(Appointment appointment) {
         Optional<Reminder> reminder = reminderManager.getReminder(appointment);
-        reminder.ifPresent(r -> reminderManager.delete(reminder.get()));
+        reminder.ifPresent(r -> deleteReminder(r));
         appointmentManager.delete(appointment);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.deleteAppointment(appointment));
     }
 
     public Optional<Appointment> getAppointment(LocalDate date, LocalTime start) {
@@ -439,6 +562,10 @@ public class ModelManager implements Model {
         return appointmentManager.listFreeSlots(start, end);
     }
 
+    public String nextApp(LocalDate date, LocalTime time, Duration length, int count) {
+        return appointmentManager.listNextFreeSlots(date, time, length, count);
+    }
+
     //==========Reminder module==============================================================================
 
     /**
@@ -448,7 +575,7 @@ public class ModelManager implements Model {
      */
     public void addRem(Reminder rem) {
         reminderManager.addReminder(rem);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.addReminder(rem));
     }
 
     /**
@@ -458,7 +585,7 @@ public class ModelManager implements Model {
      */
     public void deleteReminder(Reminder reminder) {
         reminderManager.delete(reminder);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.deleteReminder(reminder));
     }
 
     private Reminder createRemFromApp(Appointment app) {
@@ -475,8 +602,9 @@ public class ModelManager implements Model {
      * @param medicine the {@code Medicine} that has quantity below its threshold.
      */
     public void reminderForMedicine(Medicine medicine) {
+        List<Reminder> oldReminders = reminderManager.getMedicineReminders(medicine);
         reminderManager.reminderForMedicine(medicine);
-        quickDocs.indicateModification(true);
+        recordMedicineReminderChanges(oldReminders, reminderManager.getMedicineReminders(medicine));
     }
 
     /**
@@ -485,8 +613,21 @@ public class ModelManager implements Model {
      * @param medicine {@code Medicine} that is no longer in need of the {@code Reminder} previously created.
      */
     public void deleteExistingReminderForMedicine(Medicine medicine) {
+        List<Reminder> oldReminders = reminderManager.getMedicineReminders(medicine);
         if (reminderManager.deleteExistingMedicineReminder(medicine)) {
-            quickDocs.indicateModification(true);
+            recordMedicineReminderChanges(oldReminders, Collections.emptyList());
+        }
+    }
+
+    /**
+     * Records the replacement of the low quantity {@code Reminder}s of a {@code Medicine}.
+     */
+    private void recordMedicineReminderChanges(List<Reminder> oldReminders, List<Reminder> newReminders) {
+        for (Reminder reminder : oldReminders) {
+            quickDocs.recordChange(Change.deleteReminder(reminder));
+        }
+        for (Reminder reminder : newReminders) {
+            quickDocs.recordChange(Change.addReminder(reminder));
         }
     }
 
@@ -500,11 +641,11 @@ public class ModelManager implements Model {
      */
     public void addRecord(Record record, Clock clock) {
         statisticsManager.record(record, clock);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.updateStatistics());
     }
 
     public void setConsultationFee(BigDecimal fee) {
         statisticsManager.setConsultationFee(fee);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(Change.updateStatistics());
     }
 }
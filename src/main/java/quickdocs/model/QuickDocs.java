@@ -1,5 +1,9 @@
 package quickdocs.model;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import quickdocs.model.appointment.AppointmentManager;
 import quickdocs.model.consultation.ConsultationManager;
 import quickdocs.model.medicine.MedicineManager;
@@ -20,6 +24,7 @@ public class QuickDocs {
     private StatisticsManager statisticsManager = new StatisticsManager();
 
     private boolean isModified = false;
+    private final List<Change> changes = new ArrayList<>();
 
     public MedicineManager getMedicineManager() {
         return medicineManager;
@@ -54,8 +59,30 @@ public class QuickDocs {
         return isModified;
     }
 
+    /**
+     * Marks the data as modified or unmodified.
+     * Marking the data as unmodified, which is done once it has been saved, also clears the recorded changes.
+     */
     public void indicateModification(boolean state) {
         isModified = state;
+        if (!state) {
+            changes.clear();
+        }
+    }
+
+    /**
+     * Records a modification of the data since it was last saved, and marks the data as modified.
+     */
+    public void recordChange(Change change) {
+        changes.add(change);
+        isModified = true;
+    }
+
+    /**
+     * Returns the modifications recorded since the data was last saved, in the order they were made.
+     */
+    public List<Change> getChanges() {
+        return Collections.unmodifiableList(changes);
     }
 
     @Override
@@ -1,40 +1,134 @@
 package quickdocs.model.appointment;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
 
 import quickdocs.model.Slot;
+import quickdocs.model.patient.Nric;
 import quickdocs.model.patient.Patient;
 
 /**
  * Manages the list of {@code Appointments} created.
+ * Appointments are kept in a calendar keyed by date, where each day holds its appointments sorted by start time,
+ * so that looking up a day or a range of days does not depend on the number of appointments in other days.
+ * The appointments of each patient are also indexed by the patient's NRIC.
+ * The free time of each day is kept up to date by an {@code AvailabilityCalendar} as appointments are added
+ * and deleted, which allows several appointments to take place at the same time, one for each doctor or room.
  */
 public class AppointmentManager {
     public static final LocalTime OPENING_HOUR = LocalTime.parse("09:00");
     public static final LocalTime CLOSING_HOUR = LocalTime.parse("18:00");
+    public static final int DEFAULT_CAPACITY = 1;
+    public static final int SEARCH_HORIZON_MONTHS = 12;
 
-    private final List<Appointment> appointments;
+    // appointments of each day, sorted by their start time. Days without appointments are not kept
+    private final TreeMap<LocalDate, List<Appointment>> calendar;
+
+    // appointments of each patient, sorted by their date and start time
+    private final HashMap<Nric, List<Appointment>> patientAppointments;
+
+    // free time of each day, given the office hours and the number of appointments that can take place at once
+    private final AvailabilityCalendar availability;
+
+    private LocalTime openingHour;
+    private LocalTime closingHour;
+    private int capacity;
 
     public AppointmentManager() {
-        appointments = new ArrayList<>();
+        calendar = new TreeMap<>();
+        patientAppointments = new HashMap<>();
+        openingHour = OPENING_HOUR;
+        closingHour = CLOSING_HOUR;
+        capacity = DEFAULT_CAPACITY;
+        availability = new AvailabilityCalendar(openingHour, closingHour, capacity);
+    }
+
+    /**
+     * Sets the office hours, and the number of appointments that can take place at the same time,
+     * such as the number of doctors or consultation rooms available.
+     *
+     * @param openingHour the start of the office hours.
+     * @param closingHour the end of the office hours.
+     * @param capacity the number of appointments that can take place at the same time, at least 1.
+     */
+    public void setOfficeHours(LocalTime openingHour, LocalTime closingHour, int capacity) {
+        assert openingHour.isBefore(closingHour);
+        assert capacity > 0;
+        this.openingHour = openingHour;
+        this.closingHour = closingHour;
+        this.capacity = capacity;
+        availability.setOfficeHours(openingHour, closingHour, capacity);
+    }
+
+    public LocalTime getOpeningHour() {
+        return openingHour;
+    }
+
+    public LocalTime getClosingHour() {
+        return closingHour;
+    }
+
+    public int getCapacity() {
+        return capacity;
     }
 
+    /**
+     * Returns all the {@code Appointment}s, sorted by their date and start time.
+     * The list returned is a copy, changes to it do not affect the appointments kept by this manager.
+     */
     public List<Appointment> getAppointmentList() {
+        List<Appointment> appointments = new ArrayList<>();
+        for (List<Appointment> daySchedule : calendar.values()) {
+            appointments.addAll(daySchedule);
+        }
         return appointments;
     }
 
+    /**
+     * Removes the given {@code Appointment}, if it exists.
+     *
+     * @param app the {@code Appointment} to remove.
+     */
     public void delete(Appointment app) {
-        appointments.remove(app);
+        List<Appointment> daySchedule = calendar.get(app.getDate());
+        if (daySchedule == null) {
+            return;
+        }
+
+        if (!daySchedule.remove(app)) {
+            return;
+        }
+        availability.release(app);
+        if (daySchedule.isEmpty()) {
+            calendar.remove(app.getDate());
+        }
+
+        Nric nric = app.getPatient().getNric();
+        List<Appointment> appsOfPatient = patientAppointments.get(nric);
+        appsOfPatient.remove(app);
+        if (appsOfPatient.isEmpty()) {
+            patientAppointments.remove(nric);
+        }
     }
 
     public boolean hasDuplicateAppointment(Appointment app) {
-        return appointments.contains(app);
+        return getDaySchedule(app.getDate()).contains(app);
     }
 
+    /**
+     * Returns the {@code Appointment}s on the given date sorted by their start time,
+     * or an empty list if there are none.
+     */
+    private List<Appointment> getDaySchedule(LocalDate date) {
+        return calendar.getOrDefault(date, List.of());
+    }
 
     /**
      * Finds and returns the {@code Appointment} in the list of appointments with the given date and start time,
@@ -45,20 +139,13 @@ public class AppointmentManager {
      * @return the {@code Appointment} found, if it exists, else returns {@code Optional.empty()}.
      */
     public Optional<Appointment> getAppointment(LocalDate date, LocalTime start) {
-        List<Appointment> filtered = appointments.stream()
-                .filter(a -> a.getDate().equals(date))
-                .filter(a -> a.getStart().equals(start))
-                .collect(Collectors.toList());
-
-        // filtered cannot contain > 1 appointment as each appointment is uniquely identified by its
-        // date and start fields.
-        assert filtered.size() <= 1;
-
-        if (filtered.isEmpty()) {
-            return Optional.empty();
-        } else {
-            return Optional.of(filtered.get(0));
+        // each appointment is uniquely identified by its date and start fields
+        for (Appointment app : getDaySchedule(date)) {
+            if (app.getStart().equals(start)) {
+                return Optional.of(app);
+            }
         }
+        return Optional.empty();
     }
 
     /**
@@ -70,105 +157,108 @@ public class AppointmentManager {
      */
     private List<Appointment> getAppointments(LocalDate start, LocalDate end) {
         List<Appointment> validApps = new ArrayList<>();
-        LocalDate date;
-
-        for (Appointment app : appointments) {
-            date = app.getDate();
-            // Add appointments to validApps only with dates between the given range (inclusive)
-            if (date.compareTo(start) >= 0 && date.compareTo(end) <= 0) {
-                validApps.add(app);
-            }
+        if (start.isAfter(end)) {
+            return validApps;
+        }
 
-            // Stop adding when date of appointment is after given end date, since appointments are already sorted
-            if (date.compareTo(end) > 0) {
-                break;
-            }
+        // only the days within the given range (inclusive) are visited
+        for (List<Appointment> daySchedule : calendar.subMap(start, true, end, true).values()) {
+            validApps.addAll(daySchedule);
         }
         return validApps;
     }
 
     /**
-     * Returns a {@code List} of {@code Appointment}s that were created for the given {@code Patient}.
+     * Returns a {@code List} of {@code Appointment}s that were created for the given {@code Patient},
+     * sorted by their date and start time.
      *
      * @param patient the {@code Patient} whose {@code Appointment}s to be retrieved.
      * @return {@code List} of {@code Appointment}s that were created for {@code Patient patient}.
      */
-    private List<Appointment> getAppointments(Patient patient) {
-        List<Appointment> validApps = new ArrayList<>();
-
-        for (Appointment app : appointments) {
-            // Add appointments to validApps only if they were created for the given patient
-            if (app.getPatient().equals(patient)) {
-                validApps.add(app);
-            }
-        }
-        return validApps;
+    public List<Appointment> getAppointments(Patient patient) {
+        return new ArrayList<>(patientAppointments.getOrDefault(patient.getNric(), List.of()));
     }
 
     /**
-     * Adds an {@code Appointment} to the ordered list of appointments, in the correct position.
+     * Adds an {@code Appointment} to the schedule of its date and to the appointments of its patient,
+     * in the correct positions.
      *
      * @param toAdd the {@code Appointment} to add.
      */
     public void addAppointment(Appointment toAdd) {
         // checking for time conflicts should have happened in AddAppCommand
         assert !this.hasTimeConflicts(toAdd);
-        if (appointments.isEmpty()) {
-            appointments.add(toAdd);
-            return;
-        }
+        insertSorted(calendar.computeIfAbsent(toAdd.getDate(), date -> new ArrayList<>()), toAdd);
+        insertSorted(patientAppointments.computeIfAbsent(toAdd.getPatient().getNric(), nric -> new ArrayList<>()),
+                toAdd);
+        availability.book(toAdd);
+    }
 
-        // place appointment in correct position
-        for (Appointment app : appointments) {
-            if (app.compareTo(toAdd) > 0) {
-                int index = appointments.indexOf(app);
-                appointments.add(index, toAdd);
-                return;
+    /**
+     * Adds many {@code Appointment}s at once, such as when importing the appointments of a practice.
+     * The appointments are sorted once and added in order of date and start time. Each of them is checked
+     * for time conflicts against the appointments already added, including those added earlier in this call,
+     * and is left out if it conflicts. The free time of each day is worked out once after all appointments are added.
+     *
+     * @param toAdd the {@code Appointment}s to add, in any order.
+     * @return {@code List} of {@code Appointment}s left out because of time conflicts, sorted by date and start time.
+     */
+    public List<Appointment> addAppointments(List<Appointment> toAdd) {
+        List<Appointment> sorted = new ArrayList<>(toAdd);
+        Collections.sort(sorted);
+
+        List<Appointment> conflicting = new ArrayList<>();
+        for (Appointment app : sorted) {
+            if (getAppointment(app.getDate(), app.getStart()).isPresent() || !availability.reserve(app)) {
+                conflicting.add(app);
+                continue;
             }
-        }
 
-        // toAdd is to be placed at the end of the list
-        appointments.add(toAdd);
+            // appointments are added in order, so they are usually appended to the end of each list
+            insertSorted(calendar.computeIfAbsent(app.getDate(), date -> new ArrayList<>()), app);
+            insertSorted(patientAppointments.computeIfAbsent(app.getPatient().getNric(), nric -> new ArrayList<>()),
+                    app);
+        }
+        availability.updateReservedDays();
+        return conflicting;
     }
 
     /**
-     * Checks if there are any conflicts in appointment timings between the current list of appointments
-     * and the given {@code Appointment}.
+     * Inserts an {@code Appointment} into a list sorted by date and start time, after every appointment
+     * starting at or before it.
      *
-     * @param otherApp given {@code Appointment} to check timing against the existing list of appointments.
-     * @return {@code true} if there exists a conflict in timing, else return {@code false}.
+     * @param apps the sorted {@code List} of {@code Appointment}s.
+     * @param toAdd the {@code Appointment} to insert.
      */
-    public boolean hasTimeConflicts(Appointment otherApp) {
-        LocalDate date = otherApp.getDate();
-
-        for (Appointment app : appointments) {
-            if (app.getDate().compareTo(date) == 0) {
-                if (hasOverlappingTime(app, otherApp)) {
-                    return true;
-                }
-            } else if (app.getDate().isAfter(date)) {
-                // terminate loop early since appointments are already sorted by date and time
-                break;
+    private static void insertSorted(List<Appointment> apps, Appointment toAdd) {
+        int low = 0;
+        int high = apps.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (apps.get(mid).compareTo(toAdd) > 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
             }
         }
-        return false;
+        apps.add(low, toAdd);
     }
 
     /**
-     * Checks if two {@code Appointment}s have an overlap in timing.
+     * Checks if there are any conflicts in appointment timings between the current list of appointments
+     * and the given {@code Appointment}.
+     * An {@code Appointment} conflicts if as many appointments as the capacity are already taking place at some
+     * point during it, or if another appointment starts at the same date and time.
      *
-     * @param appA first {@code Appointment} given.
-     * @param appB second {@code Appontment} given.
-     * @return {@code true} if there is an overlap in timing, else return {@code false}.
+     * @param otherApp given {@code Appointment} to check timing against the existing list of appointments.
+     * @return {@code true} if there exists a conflict in timing, else return {@code false}.
      */
-    private boolean hasOverlappingTime(Appointment appA, Appointment appB) {
-        LocalTime startA = appA.getStart();
-        LocalTime endA = appA.getEnd();
-        LocalTime startB = appB.getStart();
-        LocalTime endB = appB.getEnd();
-
-        // shortcut to check for overlaps between two intervals
-        return startA.isBefore(endB) && startB.isBefore(endA);
+    public boolean hasTimeConflicts(Appointment otherApp) {
+        // each appointment is uniquely identified by its date and start fields
+        if (getAppointment(otherApp.getDate(), otherApp.getStart()).isPresent()) {
+            return true;
+        }
+        return !availability.hasCapacity(otherApp);
     }
 
     /**
@@ -217,7 +307,7 @@ public class AppointmentManager {
 
     /**
      * Generates a {@code List} of free {@code Slot}s within a given search range of dates.
-     * A {@code Slot} is free if there are no {@code Appointment}s scheduled during that time slot.
+     * A {@code Slot} is free if fewer {@code Appointment}s than the capacity are scheduled during that time slot.
      *
      * @param start the {@code LocalDate start} date of the search range.
      * @param end the {@code LocalDate end} date of the search range.
@@ -225,76 +315,56 @@ public class AppointmentManager {
      */
     private List<Slot> getFreeSlots(LocalDate start, LocalDate end) {
         List<Slot> freeSlots = new ArrayList<>();
-        List<Appointment> toSearch = getAppointments(start, end);
 
-        // all slots are free
-        if (toSearch.isEmpty()) {
-            for (LocalDate date = start; date.compareTo(end) <= 0; date = date.plusDays(1)) {
-                freeSlots.add(new Slot(date, OPENING_HOUR, CLOSING_HOUR));
-            }
-            return freeSlots;
+        // the free slots of each day are kept up to date as appointments are added and deleted
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            freeSlots.addAll(availability.getFreeSlots(date));
         }
+        return freeSlots;
+    }
 
-        Slot slot;
-        LocalDate date = start;
-        int index = 0;
-        Appointment app = toSearch.get(index);
-        Appointment prevApp = new Appointment(
-                app.getPatient(), app.getDate().minusDays(1), app.getStart(), app.getEnd(), app.getComment());
-
-        // loop through all search dates from the start
-        while (date.compareTo(end) <= 0) {
-
-            // no appointments for given date
-            if (!date.isEqual(app.getDate())) {
-                slot = new Slot(date, OPENING_HOUR, CLOSING_HOUR);
-                freeSlots.add(slot);
-            }
+    /**
+     * Finds the earliest free {@code Slot}s of the given length, starting from the given date and time,
+     * up to {@code SEARCH_HORIZON_MONTHS} months after the given date.
+     * The {@code Slot}s found do not overlap, and another {@code Appointment} can be added during each of them.
+     *
+     * @param date the {@code LocalDate} to start searching from.
+     * @param time the earliest {@code LocalTime} the slots can start at on the given date.
+     * @param length the length of each {@code Slot}.
+     * @param count the maximum number of {@code Slot}s to find.
+     * @return {@code List} of free {@code Slot}s found, sorted by their date and start time.
+     */
+    public List<Slot> findFreeSlots(LocalDate date, LocalTime time, Duration length, int count) {
+        return availability.findFreeSlots(date, time, length, count, date.plusMonths(SEARCH_HORIZON_MONTHS));
+    }
 
-            LocalTime startTime;
-            LocalTime endTime;
-            // there are appointments in given date
-            while (date.isEqual(app.getDate())) {
-
-                // start a new slot for the day
-                if (prevApp.getDate().isBefore(date)) {
-                    startTime = OPENING_HOUR;
-                } else {
-                    startTime = prevApp.getEnd();
-                }
-                endTime = app.getStart();
-
-                // do not add a free slot if the start time and end time are the same
-                if (startTime != endTime) {
-                    slot = new Slot(date, startTime, endTime);
-                    freeSlots.add(slot);
-                }
-                prevApp = app;
-
-                // no more next appointment, create last slot for the day
-                if (toSearch.size() == index + 1 || date.isBefore(toSearch.get(index + 1).getDate())) {
-                    startTime = app.getEnd();
-                    endTime = CLOSING_HOUR;
-
-                    // do not add a free slot if the start time and end time are the same
-                    if (startTime != endTime) {
-                        slot = new Slot(date, startTime, endTime);
-                        freeSlots.add(slot);
-                    }
-
-                    // no more appointments in toSearch
-                    if (toSearch.size() == index + 1) {
-                        break;
-                    }
-                }
-                index++;
-                app = toSearch.get(index);
-            }
+    /**
+     * Generates a {@code String} of the earliest free {@code Slot}s of the given length, starting from the given
+     * date and time, as found by {@link #findFreeSlots(LocalDate, LocalTime, Duration, int)}.
+     *
+     * @param date the {@code LocalDate} to start searching from.
+     * @param time the earliest {@code LocalTime} the slots can start at on the given date.
+     * @param length the length of each {@code Slot}.
+     * @param count the maximum number of {@code Slot}s to list.
+     * @return {@code String} of the free {@code Slot}s found, with one numbered {@code Slot} on each line.
+     */
+    public String listNextFreeSlots(LocalDate date, LocalTime time, Duration length, int count) {
+        StringBuilder sb = new StringBuilder();
+        // index of the slot to be displayed
+        int i = 1;
 
-            date = date.plusDays(1);
+        for (Slot slot : findFreeSlots(date, time, length, count)) {
+            sb.append(i)
+                    .append(") ")
+                    .append(slot.getDate())
+                    .append(" ")
+                    .append(slot.getStart())
+                    .append(" to ")
+                    .append(slot.getEnd())
+                    .append("\n");
+            i++;
         }
-
-        return freeSlots;
+        return sb.toString();
     }
 
     /**
@@ -322,7 +392,7 @@ public class AppointmentManager {
             }
 
             // Whole day is free
-            if (slot.getStart().equals(OPENING_HOUR) && slot.getEnd().equals(CLOSING_HOUR)) {
+            if (slot.getStart().equals(openingHour) && slot.getEnd().equals(closingHour)) {
                 sb.append("All slots are free");
             } else {
                 sb.append(slot.getStart())
@@ -344,6 +414,6 @@ public class AppointmentManager {
         }
 
         AppointmentManager otherManager = (AppointmentManager) other;
-        return otherManager.appointments.equals(this.appointments);
+        return otherManager.calendar.equals(this.calendar);
     }
 }
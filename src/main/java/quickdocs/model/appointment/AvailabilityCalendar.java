@@ -0,0 +1,267 @@
+package quickdocs.model.appointment;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import quickdocs.model.Slot;
+
+/**
+ * Keeps track of the free time of each day, given the office hours and the number of appointments
+ * that can take place at the same time, such as the number of doctors or consultation rooms available.
+ * A period of time is free if fewer appointments than the capacity are taking place during it.
+ * The free time of a day is only worked out again when an appointment on that day is booked or released,
+ * so that searching for free slots does not need to go through the appointments of every day searched.
+ */
+class AvailabilityCalendar {
+
+    private LocalTime openingHour;
+    private LocalTime closingHour;
+    private int capacity;
+
+    // availability of each day with appointments. Days without appointments are free for the whole office hours
+    private final TreeMap<LocalDate, DayAvailability> days = new TreeMap<>();
+
+    // days with slots reserved whose free time has not been worked out again
+    private final Set<DayAvailability> reservedDays = new HashSet<>();
+
+    AvailabilityCalendar(LocalTime openingHour, LocalTime closingHour, int capacity) {
+        this.openingHour = openingHour;
+        this.closingHour = closingHour;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Changes the office hours and capacity, and works out the free time of every day with appointments again.
+     */
+    void setOfficeHours(LocalTime openingHour, LocalTime closingHour, int capacity) {
+        this.openingHour = openingHour;
+        this.closingHour = closingHour;
+        this.capacity = capacity;
+        for (DayAvailability day : days.values()) {
+            day.updateFreeSlots();
+        }
+    }
+
+    /**
+     * Records that the given slot has been booked by an appointment.
+     */
+    void book(Slot slot) {
+        DayAvailability day = days.computeIfAbsent(slot.getDate(), DayAvailability::new);
+        day.changeUsage(slot.getStart(), slot.getEnd(), 1);
+    }
+
+    /**
+     * Books the given slot if it can be booked, without working out the free time of its day again.
+     * Used to book many slots at once, {@link #updateReservedDays()} must be called after the last slot is reserved.
+     *
+     * @return true if the slot was booked, false if the capacity is reached at some point during it.
+     */
+    boolean reserve(Slot slot) {
+        if (!hasCapacity(slot)) {
+            return false;
+        }
+
+        DayAvailability day = days.computeIfAbsent(slot.getDate(), DayAvailability::new);
+        day.addUsage(slot.getStart(), slot.getEnd(), 1);
+        reservedDays.add(day);
+        return true;
+    }
+
+    /**
+     * Works out the free time of every day with slots reserved since this was last called.
+     */
+    void updateReservedDays() {
+        for (DayAvailability day : reservedDays) {
+            day.updateFreeSlots();
+        }
+        reservedDays.clear();
+    }
+
+    /**
+     * Records that the appointment booking the given slot has been removed.
+     */
+    void release(Slot slot) {
+        DayAvailability day = days.get(slot.getDate());
+        if (day == null) {
+            return;
+        }
+
+        day.changeUsage(slot.getStart(), slot.getEnd(), -1);
+        if (day.usageChanges.isEmpty()) {
+            days.remove(slot.getDate());
+        }
+    }
+
+    /**
+     * Returns true if another appointment can be booked during the given slot, that is, if fewer appointments
+     * than the capacity are taking place at every moment of the slot.
+     */
+    boolean hasCapacity(Slot slot) {
+        DayAvailability day = days.get(slot.getDate());
+        return day == null || day.getMaxUsage(slot.getStart(), slot.getEnd()) < capacity;
+    }
+
+    /**
+     * Returns the free slots of the given date, sorted by their start time.
+     * Each slot returned is as long as possible, consecutive free slots are not split.
+     */
+    List<Slot> getFreeSlots(LocalDate date) {
+        DayAvailability day = days.get(date);
+        if (day == null) {
+            List<Slot> wholeDay = new ArrayList<>();
+            wholeDay.add(new Slot(date, openingHour, closingHour));
+            return wholeDay;
+        }
+        return new ArrayList<>(day.freeSlots);
+    }
+
+    /**
+     * Finds the earliest free slots of the given length, starting from the given date and time up to the given
+     * last date. The slots found do not overlap, and each of them can be booked by another appointment.
+     *
+     * @param date the date to start searching from.
+     * @param time the earliest start time of the slots on the first date searched.
+     * @param length the length of each slot.
+     * @param count the maximum number of slots to find.
+     * @param lastDate the last date to search, inclusive.
+     * @return the free slots found, sorted by their date and start time.
+     */
+    List<Slot> findFreeSlots(LocalDate date, LocalTime time, Duration length, int count, LocalDate lastDate) {
+        assert !length.isNegative() && !length.isZero();
+        List<Slot> found = new ArrayList<>();
+        LocalTime earliestStart = time;
+
+        for (LocalDate current = date; !current.isAfter(lastDate) && found.size() < count;
+                current = current.plusDays(1)) {
+            DayAvailability day = days.get(current);
+
+            // skip days that are too busy without going through their free slots
+            if (day == null || day.longestFreeSlot.compareTo(length) >= 0) {
+                for (Slot free : getFreeSlots(current)) {
+                    splitSlot(free, earliestStart, length, count, found);
+                }
+            }
+            earliestStart = LocalTime.MIN;
+        }
+        return found;
+    }
+
+    /**
+     * Splits a free slot into consecutive slots of the given length starting no earlier than the given time,
+     * and adds them to {@code found} until it has {@code count} slots.
+     */
+    private void splitSlot(Slot free, LocalTime earliestStart, Duration length, int count, List<Slot> found) {
+        LocalTime start = free.getStart().isBefore(earliestStart) ? earliestStart : free.getStart();
+        while (found.size() < count && canFit(start, free.getEnd(), length)) {
+            LocalTime end = start.plus(length);
+            found.add(new Slot(free.getDate(), start, end));
+            start = end;
+        }
+    }
+
+    /**
+     * Returns true if a slot of the given length starting at {@code start} ends no later than {@code end}.
+     */
+    private static boolean canFit(LocalTime start, LocalTime end, Duration length) {
+        return start.isBefore(end) && Duration.between(start, end).compareTo(length) >= 0;
+    }
+
+    /**
+     * Availability of a single day, kept as the change in the number of appointments taking place
+     * at each start and end time of the appointments of the day.
+     */
+    private class DayAvailability {
+        private final LocalDate date;
+        private final TreeMap<LocalTime, Integer> usageChanges = new TreeMap<>();
+        private final List<Slot> freeSlots = new ArrayList<>();
+        private Duration longestFreeSlot = Duration.ZERO;
+
+        DayAvailability(LocalDate date) {
+            this.date = date;
+        }
+
+        /**
+         * Changes the number of appointments taking place from start to end by the given amount,
+         * and works out the free slots of the day again.
+         */
+        void changeUsage(LocalTime start, LocalTime end, int change) {
+            addUsage(start, end, change);
+            updateFreeSlots();
+        }
+
+        /**
+         * Changes the number of appointments taking place from start to end by the given amount,
+         * without working out the free slots of the day again.
+         */
+        void addUsage(LocalTime start, LocalTime end, int change) {
+            usageChanges.merge(start, change, (a, b) -> a + b == 0 ? null : a + b);
+            usageChanges.merge(end, -change, (a, b) -> a + b == 0 ? null : a + b);
+        }
+
+        /**
+         * Returns the highest number of appointments taking place at the same time between start and end.
+         */
+        int getMaxUsage(LocalTime start, LocalTime end) {
+            int usage = 0;
+            for (int change : usageChanges.headMap(start, true).values()) {
+                usage += change;
+            }
+
+            int maxUsage = usage;
+            for (int change : usageChanges.subMap(start, false, end, false).values()) {
+                usage += change;
+                maxUsage = Math.max(maxUsage, usage);
+            }
+            return maxUsage;
+        }
+
+        /**
+         * Works out the free slots within the office hours, and the length of the longest of them.
+         */
+        void updateFreeSlots() {
+            freeSlots.clear();
+            longestFreeSlot = Duration.ZERO;
+
+            int usage = 0;
+            LocalTime freeFrom = openingHour;
+            for (Map.Entry<LocalTime, Integer> change : usageChanges.entrySet()) {
+                LocalTime time = change.getKey();
+                int newUsage = usage + change.getValue();
+                if (usage < capacity && newUsage >= capacity) {
+                    addFreeSlot(freeFrom, time);
+                } else if (usage >= capacity && newUsage < capacity) {
+                    freeFrom = time;
+                }
+                usage = newUsage;
+            }
+
+            if (usage < capacity) {
+                addFreeSlot(freeFrom, closingHour);
+            }
+        }
+
+        /**
+         * Adds the free slot from start to end, cut to the office hours, if it is not empty.
+         */
+        private void addFreeSlot(LocalTime start, LocalTime end) {
+            LocalTime from = start.isBefore(openingHour) ? openingHour : start;
+            LocalTime to = end.isAfter(closingHour) ? closingHour : end;
+            if (!from.isBefore(to)) {
+                return;
+            }
+
+            freeSlots.add(new Slot(date, from, to));
+            Duration length = Duration.between(from, to);
+            if (length.compareTo(longestFreeSlot) > 0) {
+                longestFreeSlot = length;
+            }
+        }
+    }
+}
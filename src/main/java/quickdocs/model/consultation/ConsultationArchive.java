@@ -0,0 +1,35 @@
+package quickdocs.model.consultation;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Holds the oldest consultations outside of memory, so that they are only read when listed.
+ * Consultations are only ever appended, in the order of their indexes: the archive holds the consultations
+ * with indexes 0 to {@code size() - 1}, and the {@code ConsultationManager} keeps the rest in memory.
+ */
+public interface ConsultationArchive {
+
+    /**
+     * Returns the number of consultations archived.
+     */
+    int size();
+
+    /**
+     * Returns the archived consultation with the given index, which is less than {@code size()}.
+     */
+    Consultation get(int index);
+
+    /**
+     * Returns the archived consultations of the patient with the given NRIC, in the order they were archived.
+     */
+    List<Consultation> findByNric(String nric);
+
+    /**
+     * Appends the given consultations, whose indexes follow on from the consultations already archived.
+     * The consultations are stored before this method returns.
+     *
+     * @throws IOException if the consultations could not be stored, in which case none of them are archived.
+     */
+    void append(List<Consultation> consultations) throws IOException;
+}
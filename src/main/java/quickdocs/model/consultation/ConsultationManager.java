@@ -1,16 +1,36 @@
 package quickdocs.model.consultation;
 
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import quickdocs.model.patient.Patient;
 
 /**
- * Handle all model operations involving the steps in consultation
+ * Handle all model operations involving the steps in consultation.
+ * Consultations older than the archiving horizon can be moved into a {@code ConsultationArchive}, in which case
+ * only the consultations after them are kept in the consultationList.
+ * The consultations in the consultationList are also indexed by the NRIC of their patient, so that listing the
+ * consultations of a patient only goes through the consultations of that patient.
  */
 public class ConsultationManager {
 
+    public static final String MESSAGE_ARCHIVE_UNAVAILABLE =
+            "Consultation %1$d is archived, but the consultation archive could not be read\n";
+
     private ArrayList<Consultation> consultationList;
     private Consultation currentConsultation;
+    private ConsultationArchive archive;
+    // the number of consultations archived, which come before the consultationList, stored along with it so that
+    // new consultations are numbered after them even if the archive cannot be read
+    private int archivedCount;
+    private final Map<String, List<Consultation>> consultationsByNric = new HashMap<>();
 
     public ConsultationManager() {
         this.consultationList = new ArrayList<Consultation>();
@@ -30,6 +50,20 @@ public class ConsultationManager {
      */
     public void addConsultation(Consultation consultation) {
         this.consultationList.add(consultation);
+        indexByNric(consultation);
+    }
+
+    private void indexByNric(Consultation consultation) {
+        consultationsByNric.computeIfAbsent(consultation.getPatient().getNric().getNric(), nric -> new ArrayList<>())
+                .add(consultation);
+    }
+
+    /**
+     * Rebuilds the index of the consultations by NRIC, after consultations were removed from the consultationList.
+     */
+    private void reindexByNric() {
+        consultationsByNric.clear();
+        consultationList.forEach(this::indexByNric);
     }
 
     /**
@@ -59,17 +93,88 @@ public class ConsultationManager {
         return currentConsultation;
     }
 
+    /**
+     * Returns the consultations kept in memory, which are all consultations that are not archived.
+     */
     public ArrayList<Consultation> getConsultationList() {
         return consultationList;
     }
 
+    /**
+     * Returns the number of consultations stored, including the archived ones.
+     */
+    public int getConsultationCount() {
+        return archivedCount + consultationList.size();
+    }
+
+    /**
+     * Returns the number of consultations archived, which come before the consultations in the consultationList.
+     */
+    public int getArchivedCount() {
+        return archivedCount;
+    }
+
+    /**
+     * Sets the number of consultations archived, as read from storage along with the consultationList.
+     */
+    public void setArchivedCount(int archivedCount) {
+        if (archivedCount < 0) {
+            throw new IllegalArgumentException("Number of archived consultations cannot be negative");
+        }
+        this.archivedCount = archivedCount;
+    }
+
+    /**
+     * Sets the archive holding the oldest consultations, and removes the consultations it holds from the
+     * consultationList, in case they were read again from storage.
+     */
+    public void setArchive(ConsultationArchive archive) {
+        requireNonNull(archive);
+        this.archive = archive;
+        archivedCount = Math.max(archivedCount, archive.size());
+        if (consultationList.removeIf(consultation -> consultation.getIndex() < archive.size())) {
+            reindexByNric();
+        }
+    }
+
+    /**
+     * Moves the consultations that took place before {@code horizon} from the consultationList into the archive.
+     * Consultations are archived in the order of their indexes, so archiving stops at the first consultation
+     * that took place after {@code horizon}.
+     *
+     * @return the number of consultations archived
+     * @throws IOException if the consultations could not be archived, in which case they are kept in memory
+     */
+    public int archiveConsultationsBefore(LocalDateTime horizon) throws IOException {
+        requireNonNull(horizon);
+        if (archive == null) {
+            throw new IllegalStateException("There is no archive to move consultations into");
+        }
+
+        int movedCount = 0;
+        while (movedCount < consultationList.size()
+                && consultationList.get(movedCount).getSession().isBefore(horizon)) {
+            movedCount++;
+        }
+        if (movedCount == 0) {
+            return 0;
+        }
+
+        archive.append(new ArrayList<>(consultationList.subList(0, movedCount)));
+        consultationList.subList(0, movedCount).clear();
+        reindexByNric();
+        archivedCount += movedCount;
+        return movedCount;
+    }
+
     /**
      * Stores current consultation record into consultationList and ends the current
      * session
      */
     public void endConsultation() {
-        currentConsultation.setIndex(consultationList.size());
+        currentConsultation.setIndex(getConsultationCount());
         consultationList.add(currentConsultation);
+        indexByNric(currentConsultation);
         currentConsultation = null;
     }
 
@@ -77,19 +182,48 @@ public class ConsultationManager {
      * List past consultation records belonging to a single patient
      */
     public ArrayList<Consultation> listConsultation(String value) {
+        return listConsultation(value, LocalDateTime.MIN, LocalDateTime.MAX);
+    }
 
-        ArrayList<Consultation> consultationsFound = new ArrayList<>();
+    /**
+     * List past consultation records belonging to a single patient, which took place from {@code from}
+     * to {@code to} inclusive
+     */
+    public ArrayList<Consultation> listConsultation(String value, LocalDateTime from, LocalDateTime to) {
+        requireNonNull(from);
+        requireNonNull(to);
 
-        for (Consultation consult : consultationList) {
-            if (consult.getPatient().getNric().getNric().equals(value)) {
-                consultationsFound.add(consult);
-            }
+        ArrayList<Consultation> consultationsFound = new ArrayList<>();
+        if (archive != null) {
+            addConsultationsBetween(archive.findByNric(value), from, to, consultationsFound);
         }
+        addConsultationsBetween(consultationsByNric.getOrDefault(value, Collections.emptyList()), from, to,
+                consultationsFound);
         return consultationsFound;
     }
 
+    /**
+     * Returns the consultation with the given one-based index, reading it from the archive if it is archived.
+     *
+     * @throws IllegalArgumentException if the consultation is archived, but the archive could not be read.
+     */
     public Consultation listConsultation(int index) {
-        return consultationList.get(index - 1);
+        if (index <= archivedCount) {
+            if (archive == null || index > archive.size()) {
+                throw new IllegalArgumentException(String.format(MESSAGE_ARCHIVE_UNAVAILABLE, index));
+            }
+            return archive.get(index - 1);
+        }
+        return consultationList.get(index - 1 - archivedCount);
+    }
+
+    private static void addConsultationsBetween(List<Consultation> consultations, LocalDateTime from,
+                                                LocalDateTime to, List<Consultation> consultationsFound) {
+        for (Consultation consult : consultations) {
+            if (!consult.getSession().isBefore(from) && !consult.getSession().isAfter(to)) {
+                consultationsFound.add(consult);
+            }
+        }
     }
 
     public void abortConsultation() {
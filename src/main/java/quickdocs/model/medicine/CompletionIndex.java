@@ -0,0 +1,172 @@
+package quickdocs.model.medicine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * A prefix trie over the names of the medicines and the paths of the directories, regardless of case, which
+ * completes a prefix to the entries most often prescribed.
+ * Each node keeps the highest ranked entries below it, so that a prefix is completed by walking down its
+ * characters and copying the entries of the node reached, however many entries there are below it.
+ * As entries are never removed and their prescription counts only grow, the entries kept by the nodes on
+ * the key of an entry are updated in place whenever the entry is added or prescribed.
+ */
+class CompletionIndex {
+
+    /**
+     * Entries with higher prescription counts come first, then shorter keys, then keys in alphabetical order.
+     */
+    private static final Comparator<Entry> RANK_ORDER = Comparator.comparingLong((Entry entry) -> -entry.count)
+            .thenComparingInt(entry -> entry.key.length())
+            .thenComparing(entry -> entry.key);
+
+    private final int maxCompletions;
+    private final Node root = new Node();
+    private final HashMap<String, Entry> medicineEntries = new HashMap<>();
+
+    CompletionIndex(int maxCompletions) {
+        this.maxCompletions = maxCompletions;
+    }
+
+    /**
+     * Adds the medicine with the given name, which has been prescribed the given number of times.
+     */
+    void addMedicine(String medicineName, long prescriptionCount) {
+        Entry entry = new Entry(MedicineManager.getNameKey(medicineName), medicineName, prescriptionCount);
+        medicineEntries.put(entry.key, entry);
+        rank(entry, true);
+    }
+
+    /**
+     * Adds the directory at the given path, which holds the names of the directories from the root.
+     */
+    void addDirectory(String path) {
+        rank(new Entry(MedicineManager.getNameKey(path), path, 0), true);
+    }
+
+    /**
+     * Adds the given number to the prescription count of the medicine with the given name key, if it is indexed.
+     */
+    void recordPrescription(String nameKey, long count) {
+        Entry entry = medicineEntries.get(nameKey);
+        if (entry == null) {
+            return;
+        }
+        entry.count += count;
+        rank(entry, false);
+    }
+
+    /**
+     * Returns the names of the medicines and the paths of the directories that start with the given prefix,
+     * regardless of case, highest ranked first.
+     */
+    ArrayList<String> complete(String prefix) {
+        String key = MedicineManager.getNameKey(prefix);
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.getChild(key.charAt(i));
+        }
+        ArrayList<String> completions = new ArrayList<>();
+        if (node != null) {
+            for (int i = 0; i < node.topCount; i++) {
+                completions.add(node.top[i].text);
+            }
+        }
+        return completions;
+    }
+
+    /**
+     * Offers the entry to every node on its key, from the root down, creating the missing nodes if the entry
+     * is new.
+     */
+    private void rank(Entry entry, boolean isNew) {
+        Node node = root;
+        node.offer(entry);
+        for (int i = 0; i < entry.key.length(); i++) {
+            node = isNew ? node.getOrAddChild(entry.key.charAt(i)) : node.getChild(entry.key.charAt(i));
+            node.offer(entry);
+        }
+    }
+
+    /**
+     * A medicine or a directory in the index.
+     */
+    private static class Entry {
+        private final String key;
+        private final String text;
+        private long count;
+
+        private Entry(String key, String text, long count) {
+            this.key = key;
+            this.text = text;
+            this.count = count;
+        }
+    }
+
+    /**
+     * A node of the trie, with its children sorted by their characters and the highest ranked entries below it.
+     */
+    private class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private Entry[] top = new Entry[1];
+        private int topCount;
+
+        private Node getChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index < 0 ? null : children[index];
+        }
+
+        private Node getOrAddChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newLabels[index] = label;
+            newChildren[index] = new Node();
+            System.arraycopy(labels, index, newLabels, index + 1, labels.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[index];
+        }
+
+        /**
+         * Keeps the entry among the highest ranked entries of the node if it ranks high enough, moving it up
+         * past the entries it now ranks above if it is already kept.
+         */
+        private void offer(Entry entry) {
+            int index = 0;
+            while (index < topCount && top[index] != entry) {
+                index++;
+            }
+            if (index == topCount) {
+                if (topCount == maxCompletions) {
+                    if (RANK_ORDER.compare(entry, top[topCount - 1]) >= 0) {
+                        return;
+                    }
+                    index = topCount - 1;
+                } else {
+                    if (topCount == top.length) {
+                        top = Arrays.copyOf(top, Math.min(top.length * 2, maxCompletions));
+                    }
+                    topCount++;
+                }
+                top[index] = entry;
+            }
+            while (index > 0 && RANK_ORDER.compare(top[index], top[index - 1]) < 0) {
+                Entry above = top[index - 1];
+                top[index - 1] = top[index];
+                top[index] = above;
+                index--;
+            }
+        }
+    }
+}
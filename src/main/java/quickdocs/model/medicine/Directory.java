@@ -2,15 +2,18 @@ package quickdocs.model.medicine;
 
 import static java.util.Objects.requireNonNull;
 import static quickdocs.commons.util.AppUtil.checkArgument;
-import static quickdocs.commons.util.CollectionUtil.binarySearch;
 
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 
 /**
- * A model representing a folder-like directory storing subdirectories and medicines
+ * A model representing a folder-like directory storing subdirectories and medicines.
+ * The subdirectories and medicines are kept in maps sorted by their names regardless of case,
+ * so that they are added and found in logarithmic time.
  */
 public class Directory {
 
@@ -20,16 +23,14 @@ public class Directory {
             "Medicine or Directory with same name already exist under the same directory";
 
     public final String name;
-    private ArrayList<Medicine> listOfMedicine;
-    private ArrayList<Directory> listOfDirectory;
+    private final TreeMap<String, Medicine> medicines = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final TreeMap<String, Directory> directories = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
     private Optional<Integer> threshold;
 
     public Directory(String name) {
         requireNonNull(name);
         checkArgument(ifFitsDirectoryFormat(name), MESSAGE_CONSTRAINTS);
         this.name = name;
-        this.listOfDirectory = new ArrayList<>();
-        this.listOfMedicine = new ArrayList<>();
         this.threshold = Optional.empty();
     }
 
@@ -45,11 +46,33 @@ public class Directory {
         requireNonNull(medicine);
         checkArgument(isValidNewNameToBeAdded(medicine.name),
                 ERROR_MESSAGE_MEDICINE_ALREADY_EXISTS_UNDER_SAME_DIRECTORY);
+        putMedicine(medicine);
+    }
+
+    /**
+     * Adds all the given medicines to this directory, such as the medicines of a catalogue being imported.
+     * None of the medicines are added if any of them cannot be added.
+     *
+     * @param medicinesToAdd the medicines to add, which have distinct names
+     * @throws IllegalArgumentException if a medicine has the same name as another medicine to add,
+     *                                  or as a medicine or sub-directory already in this directory
+     */
+    public void addAllMedicines(Collection<Medicine> medicinesToAdd) {
+        requireNonNull(medicinesToAdd);
+        TreeSet<String> namesToAdd = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (Medicine medicine : medicinesToAdd) {
+            requireNonNull(medicine);
+            checkArgument(isValidNewNameToBeAdded(medicine.name) && namesToAdd.add(medicine.name),
+                    ERROR_MESSAGE_MEDICINE_ALREADY_EXISTS_UNDER_SAME_DIRECTORY);
+        }
+        medicinesToAdd.forEach(this::putMedicine);
+    }
+
+    private void putMedicine(Medicine medicine) {
         if (threshold.isPresent()) {
             medicine.setThreshold(threshold.get());
         }
-        listOfMedicine.add(medicine);
-        listOfMedicine.sort(Comparator.comparing((Medicine med) -> (med.name.toLowerCase())));
+        medicines.put(medicine.name, medicine);
     }
 
     /**
@@ -63,8 +86,7 @@ public class Directory {
         if (threshold.isPresent()) {
             newDirectory.setThreshold(threshold.get());
         }
-        listOfDirectory.add(newDirectory);
-        listOfDirectory.sort(Comparator.comparing((Directory directory) -> (directory.name).toLowerCase()));
+        directories.put(name, newDirectory);
         return newDirectory;
     }
 
@@ -77,41 +99,16 @@ public class Directory {
         requireNonNull(subDirectory);
         checkArgument(isValidNewNameToBeAdded(subDirectory.name),
                 ERROR_MESSAGE_MEDICINE_ALREADY_EXISTS_UNDER_SAME_DIRECTORY);
-        listOfDirectory.add(subDirectory);
-        listOfDirectory.sort(Comparator.comparing((Directory directory) -> (directory.name.toLowerCase())));
+        directories.put(subDirectory.name, subDirectory);
         return subDirectory;
     }
 
-    private boolean isValidNewNameToBeAdded(String newName) {
-        return isNotExistingDirectoryName(newName) && isNotExistingMedicineName(newName);
-    }
-
     /**
-     * Check whether there is no medicine with identical name in the directory
+     * Checks whether there is no medicine or sub-directory with the same name, regardless of case
      * @param newName the name that needs checking
-     * @return if there is no existing medicine with the identical name
      */
-    private boolean isNotExistingMedicineName(String newName) {
-        for (Medicine medicine : listOfMedicine) {
-            if (medicine.name.equalsIgnoreCase(newName)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    /**
-     * Checks whether there is no existing directory with identical name
-     * @param directoryName the directory name that need checking
-     * @return if there is no existing sub-directory with identical name
-     */
-    private boolean isNotExistingDirectoryName(String directoryName) {
-        for (Directory directory : listOfDirectory) {
-            if (directory.name.equalsIgnoreCase(directoryName)) {
-                return false;
-            }
-        }
-        return true;
+    private boolean isValidNewNameToBeAdded(String newName) {
+        return !directories.containsKey(newName) && !medicines.containsKey(newName);
     }
 
     /**
@@ -122,19 +119,13 @@ public class Directory {
      * else return Optional.empty()
      */
     public Optional<Medicine> findMedicine(String[] path, int pointer) {
-        if (!path[pointer].equalsIgnoreCase(this.name)) {
+        if (path.length < pointer + 2) {
             return Optional.empty();
         }
-        if (path.length == pointer + 2) {
-            return searchAmongMedicine(path[pointer + 1]);
-        } else {
-            Optional<Directory> directory = searchAmongDirectory(path[pointer + 1]);
-            if (!directory.isPresent()) {
-                return Optional.empty();
-            }
-            return directory.get().findMedicine(path, pointer + 1);
-        }
+        Directory directory = resolve(path, pointer, path.length - 1);
+        return directory == null ? Optional.empty() : directory.searchAmongMedicine(path[path.length - 1]);
     }
+
     /**
      * To find a directory given the path
      * @param path the path of the medicine in the form of String[]
@@ -143,31 +134,38 @@ public class Directory {
      * else return Optional.empty()
      */
     public Optional<Directory> findDirectory(String[] path, int pointer) {
-        if (!path[pointer].equalsIgnoreCase(this.name)) {
-            return Optional.empty();
+        return Optional.ofNullable(resolve(path, pointer, path.length));
+    }
+
+    /**
+     * Walks down from this directory along the names in {@code path[pointer]} to {@code path[end - 1]},
+     * where {@code path[pointer]} is the name of this directory, one level per name instead of one call.
+     *
+     * @return the directory at the end of the walk, or {@code null} if there is no directory at that path
+     */
+    Directory resolve(String[] path, int pointer, int end) {
+        if (pointer >= end || !path[pointer].equalsIgnoreCase(this.name)) {
+            return null;
         }
-        if (path.length == pointer + 1) {
-            return Optional.of(this);
-        } else {
-            Optional<Directory> directory = searchAmongDirectory(path[pointer + 1]);
-            if (!directory.isPresent()) {
-                return Optional.empty();
-            } else {
-                return directory.get().findDirectory(path, pointer + 1);
-            }
+        Directory directory = this;
+        for (int i = pointer + 1; i < end && directory != null; i++) {
+            directory = directory.directories.get(path[i]);
         }
+        return directory;
     }
 
-    private Optional<Medicine> searchAmongMedicine(String name) {
-        Comparator<String> comparator = Comparator.naturalOrder();
-        return binarySearch(listOfMedicine, (Medicine med) -> (
-                comparator.compare(med.name.toLowerCase(), name.toLowerCase())));
+    /**
+     * Returns the medicine in this directory with the given name, regardless of case.
+     */
+    Optional<Medicine> searchAmongMedicine(String name) {
+        return Optional.ofNullable(medicines.get(name));
     }
 
-    private Optional<Directory> searchAmongDirectory(String name) {
-        Comparator<String> comparator = Comparator.naturalOrder();
-        return binarySearch(listOfDirectory, (Directory directory) -> (
-                comparator.compare(directory.name.toLowerCase(), name.toLowerCase())));
+    /**
+     * Returns the sub-directory of this directory with the given name, regardless of case.
+     */
+    Optional<Directory> searchAmongDirectory(String name) {
+        return Optional.ofNullable(directories.get(name));
     }
 
     @Override
@@ -181,19 +179,19 @@ public class Directory {
      */
     public String viewDetail() {
         StringBuilder sb = new StringBuilder();
-        if (!listOfDirectory.isEmpty()) {
+        if (!directories.isEmpty()) {
             sb.append("List of sub-directories: \n");
-            for (Directory directory : listOfDirectory) {
+            for (Directory directory : directories.values()) {
                 sb.append(directory.toString() + "\n");
             }
         }
-        if (!listOfMedicine.isEmpty()) {
+        if (!medicines.isEmpty()) {
             sb.append("List of Medicine under this directory: \n");
-            for (Medicine medicine : listOfMedicine) {
+            for (Medicine medicine : medicines.values()) {
                 sb.append(medicine.viewDetail() + "\n");
             }
         }
-        if (listOfMedicine.isEmpty() && listOfDirectory.isEmpty()) {
+        if (medicines.isEmpty() && directories.isEmpty()) {
             sb.append("Empty directory\n");
         }
         return sb.toString();
@@ -212,11 +210,17 @@ public class Directory {
         return threshold;
     }
 
-    public ArrayList<Medicine> getListOfMedicine() {
-        return listOfMedicine;
+    /**
+     * Returns the medicines in this directory, sorted by name regardless of case.
+     */
+    public Collection<Medicine> getListOfMedicine() {
+        return Collections.unmodifiableCollection(medicines.values());
     }
 
-    public ArrayList<Directory> getListOfDirectory() {
-        return listOfDirectory;
+    /**
+     * Returns the sub-directories of this directory, sorted by name regardless of case.
+     */
+    public Collection<Directory> getListOfDirectory() {
+        return Collections.unmodifiableCollection(directories.values());
     }
 }
@@ -0,0 +1,107 @@
+package quickdocs.model.medicine;
+
+import static java.util.Objects.requireNonNull;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * One entry of a formulary catalogue imported into the {@code MedicineManager}.
+ * An entry without a medicine name describes the directory at its path, and may set its alarm level.
+ * An entry with a medicine name places the medicine in the directory at its path: a new medicine needs both
+ * its price and quantity, while an entry without them places a medicine that already exists, or that is
+ * added by an earlier entry, in another directory.
+ */
+public class FormularyItem {
+    private final String[] path;
+    private final Optional<String> medicineName;
+    private final Optional<BigDecimal> price;
+    private final Optional<Integer> quantity;
+    private final Optional<Integer> threshold;
+
+    /**
+     * Every field must be present and not null. The medicine name, price, quantity and alarm level may be empty.
+     */
+    public FormularyItem(String[] path, Optional<String> medicineName, Optional<BigDecimal> price,
+                         Optional<Integer> quantity, Optional<Integer> threshold) {
+        requireNonNull(path);
+        requireNonNull(medicineName);
+        requireNonNull(price);
+        requireNonNull(quantity);
+        requireNonNull(threshold);
+        this.path = path;
+        this.medicineName = medicineName;
+        this.price = price;
+        this.quantity = quantity;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns an entry describing the directory at the given path.
+     */
+    public static FormularyItem ofDirectory(String[] path, Optional<Integer> threshold) {
+        return new FormularyItem(path, Optional.empty(), Optional.empty(), Optional.empty(), threshold);
+    }
+
+    /**
+     * Returns an entry placing a new medicine in the directory at the given path.
+     */
+    public static FormularyItem ofMedicine(String[] path, String medicineName, BigDecimal price, int quantity,
+                                           Optional<Integer> threshold) {
+        return new FormularyItem(path, Optional.of(medicineName), Optional.of(price), Optional.of(quantity),
+                threshold);
+    }
+
+    /**
+     * Returns an entry placing an existing medicine in the directory at the given path.
+     */
+    public static FormularyItem ofExistingMedicine(String[] path, String medicineName) {
+        return new FormularyItem(path, Optional.of(medicineName), Optional.empty(), Optional.empty(),
+                Optional.empty());
+    }
+
+    public String[] getPath() {
+        return path;
+    }
+
+    public Optional<String> getMedicineName() {
+        return medicineName;
+    }
+
+    public Optional<BigDecimal> getPrice() {
+        return price;
+    }
+
+    public Optional<Integer> getQuantity() {
+        return quantity;
+    }
+
+    public Optional<Integer> getThreshold() {
+        return threshold;
+    }
+
+    public boolean isDirectory() {
+        return !medicineName.isPresent();
+    }
+
+    public boolean isNewMedicine() {
+        return price.isPresent() || quantity.isPresent();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this
+                || (other instanceof FormularyItem
+                && Arrays.equals(path, ((FormularyItem) other).path)
+                && medicineName.equals(((FormularyItem) other).medicineName)
+                && price.equals(((FormularyItem) other).price)
+                && quantity.equals(((FormularyItem) other).quantity)
+                && threshold.equals(((FormularyItem) other).threshold));
+    }
+
+    @Override
+    public String toString() {
+        return String.join("\\", path) + medicineName.map(name -> " " + name).orElse("");
+    }
+}
@@ -1,15 +1,29 @@
 package quickdocs.model.medicine;
 
-import static quickdocs.commons.util.CollectionUtil.binarySearch;
-
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
- * An model for overall storage of medicine
+ * An model for overall storage of medicine.
+ * Medicine names are case-insensitive: the medicines are indexed by their name key, the name in lower case,
+ * and the list of medicines is sorted by it.
+ * Directories found by path are cached by their path in lower case, so that the paths typed again and again,
+ * such as while suggestions are shown, are resolved with a single lookup.
+ * The names of the medicines and the paths of the directories are completed from any prefix by a
+ * {@code CompletionIndex}, which ranks the medicines by how many of them have been prescribed. The index is
+ * built when it is first needed after the storage is replaced, and kept up to date as medicines and
+ * directories are added.
  */
 public class MedicineManager {
 
@@ -23,15 +37,46 @@ public class MedicineManager {
             "No Medicine is found by the given name.";
     public static final String ERROR_MESSAGE_NO_EXISTING_MED_FOUND =
             "No existing medicine with name %1$s found in the storage.";
+    public static final String ERROR_MESSAGE_PATH_NOT_FROM_ROOT =
+            "The path should start from the %1$s directory.";
+    public static final String ERROR_MESSAGE_PRICE_AND_QUANTITY_REQUIRED =
+            "Both the price and the quantity of a new medicine are needed.";
+    public static final String ERROR_MESSAGE_NEGATIVE_THRESHOLD =
+            "Alarm level should not be negative.";
+    public static final String ERROR_MESSAGE_THRESHOLD_OF_DIRECTORY_NOT_EMPTY =
+            "The alarm level of an existing directory that is not empty can only be set by the alarm command.";
+    public static final String ERROR_MESSAGE_THRESHOLD_OF_EXISTING_MEDICINE =
+            "The alarm level of an existing medicine can only be set by the alarm command.";
+
+    private static final Comparator<Medicine> NAME_KEY_ORDER =
+            Comparator.comparing((Medicine medicine) -> getNameKey(medicine.name));
+
+    public static final int MAX_COMPLETIONS = 10;
+
+    private static final String PATH_SEPARATOR = "\\";
 
     private Directory root;
     private ArrayList<Medicine> listOfMedicine;
+    private final HashMap<String, Medicine> medicinesByNameKey = new HashMap<>();
+    // directories found by path, which stay valid until the root is replaced as directories are never removed
+    private final HashMap<String, Directory> directoriesByPathKey = new HashMap<>();
+    // quantities of the medicines prescribed, by their name key, which are kept when the storage is replaced
+    private final HashMap<String, Long> prescriptionCounts = new HashMap<>();
+    // null until completions are first asked for after the storage is replaced
+    private CompletionIndex completionIndex;
 
     public MedicineManager() {
         root = new Directory("root");
         listOfMedicine = new ArrayList<>();
     }
 
+    /**
+     * Returns the key that identifies a medicine by the given name, regardless of case.
+     */
+    public static String getNameKey(String medicineName) {
+        return medicineName.toLowerCase(Locale.ROOT);
+    }
+
     /**
      * To add a medicine into a directory. If medicine with same name already exist, add that medicine to the directory.
      * If no medicine with same name exists, add a new medicine
@@ -58,18 +103,75 @@ public class MedicineManager {
         if (findMedicine.isPresent()) {
             throw new IllegalArgumentException(ERROR_MESSAGE_MEDICINE_WITH_SAME_NAME_EXISTS_IN_LIST);
         }
-        Optional<Directory> directory = root.findDirectory(path, 0);
+        Optional<Directory> directory = findDirectory(path);
         if (!directory.isPresent()) {
             throw new IllegalArgumentException(ERROR_MESSAGE_NO_DIRECTORY_FOUND);
         }
         Medicine medicine = new Medicine(medicineName, quantity);
         medicine.setPrice(price);
-        listOfMedicine.add(medicine);
-        listOfMedicine.sort(Comparator.comparing((Medicine x) -> (x.name)));
+        int insertionPoint = -Collections.binarySearch(listOfMedicine, medicine, NAME_KEY_ORDER) - 1;
+        listOfMedicine.add(insertionPoint, medicine);
+        medicinesByNameKey.put(getNameKey(medicineName), medicine);
         directory.get().addMedicine(medicine);
+        indexMedicine(medicine);
         return medicine;
     }
 
+    /**
+     * Adds all the given medicines, such as the medicines of a catalogue being imported, to the directory
+     * specified by the path. The list of medicines is sorted once for all of them.
+     * None of the medicines are added if any of them cannot be added.
+     *
+     * @param medicines the new medicines to add
+     * @param path      the path of the directory to add them to
+     * @throws IllegalArgumentException if the directory does not exist, or a medicine has the same name as another
+     *                                  medicine, or as a sub-directory of the directory
+     */
+    public void addAllMedicines(List<Medicine> medicines, String[] path) {
+        Optional<Directory> directory = findDirectory(path);
+        if (!directory.isPresent()) {
+            throw new IllegalArgumentException(ERROR_MESSAGE_NO_DIRECTORY_FOUND);
+        }
+        HashMap<String, Medicine> medicinesToAdd = new HashMap<>();
+        for (Medicine medicine : medicines) {
+            String nameKey = getNameKey(medicine.name);
+            if (medicinesByNameKey.containsKey(nameKey) || medicinesToAdd.put(nameKey, medicine) != null) {
+                throw new IllegalArgumentException(ERROR_MESSAGE_MEDICINE_WITH_SAME_NAME_EXISTS_IN_LIST);
+            }
+        }
+
+        directory.get().addAllMedicines(medicines);
+        listOfMedicine.addAll(medicines);
+        listOfMedicine.sort(NAME_KEY_ORDER);
+        medicinesByNameKey.putAll(medicinesToAdd);
+        medicines.forEach(this::indexMedicine);
+    }
+
+    /**
+     * Imports the given entries of a formulary catalogue, creating the directories on their paths as needed.
+     * The entries are checked in one pass, each against the storage and the entries before it, and none of them
+     * are applied if any of them is rejected. The list of medicines is sorted once for all the new medicines.
+     *
+     * @param items the entries of the catalogue, in the order they are listed
+     * @return the reason each rejected entry cannot be imported, by the position of the entry in the list;
+     * empty if all the entries were imported
+     */
+    public Map<Integer, String> importMedicines(List<FormularyItem> items) {
+        ImportPlan plan = new ImportPlan();
+        Map<Integer, String> rejected = new TreeMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                plan.add(items.get(i));
+            } catch (IllegalArgumentException e) {
+                rejected.put(i, e.getMessage());
+            }
+        }
+        if (rejected.isEmpty()) {
+            plan.apply();
+        }
+        return rejected;
+    }
+
     /**
      * Add a new directory under a directory specified by the path
      *
@@ -78,34 +180,86 @@ public class MedicineManager {
      * @return the new directory added
      */
     public Directory addDirectory(String directoryName, String[] path) {
-        Optional<Directory> directory = root.findDirectory(path, 0);
+        Optional<Directory> directory = findDirectory(path);
         if (!directory.isPresent()) {
             throw new IllegalArgumentException(ERROR_MESSAGE_NO_DIRECTORY_FOUND);
         }
         Directory newDirectory = directory.get().addDirectory(directoryName);
+        if (completionIndex != null) {
+            completionIndex.addDirectory(getDirectoryPath(path) + PATH_SEPARATOR + newDirectory.name);
+        }
         return newDirectory;
     }
 
     /**
-     * find a medicine by its name
+     * find a medicine by its name, regardless of case
      *
      * @param medicineName the medicine name to search for
      * @return Optional.empty() if there is no medicine with the desired name;
      * Optional.of(E) if E's name matches the key
      */
     public Optional<Medicine> findMedicine(String medicineName) {
-        Comparator comparator = Comparator.naturalOrder();
-        return binarySearch(
-                listOfMedicine, (Medicine med) -> (
-                        comparator.compare(med.name.toLowerCase(), medicineName.toLowerCase())));
+        return Optional.ofNullable(medicinesByNameKey.get(getNameKey(medicineName)));
     }
 
+    /**
+     * Finds a medicine by its path, whose directory is found through the cache of directories by path.
+     */
     public Optional<Medicine> findMedicine(String[] path) {
-        return root.findMedicine(path, 0);
+        if (path.length < 2) {
+            return Optional.empty();
+        }
+        Directory directory = resolveDirectory(path, path.length - 1);
+        return directory == null ? Optional.empty() : directory.searchAmongMedicine(path[path.length - 1]);
     }
 
     public Optional<Directory> findDirectory(String[] path) {
-        return root.findDirectory(path, 0);
+        return Optional.ofNullable(resolveDirectory(path, path.length));
+    }
+
+    /**
+     * Returns the directory at the first {@code length} names of the path, or {@code null} if there is none.
+     * Directories found by walking down from the root are cached by their path key.
+     */
+    private Directory resolveDirectory(String[] path, int length) {
+        String pathKey = getPathKey(path, length);
+        Directory directory = directoriesByPathKey.get(pathKey);
+        if (directory == null) {
+            directory = root.resolve(path, 0, length);
+            if (directory != null) {
+                directoriesByPathKey.put(pathKey, directory);
+            }
+        }
+        return directory;
+    }
+
+    /**
+     * Returns the key of the directory at the first {@code length} names of the path, which is the same for
+     * the path in any case: the names in lower case, separated by backslashes as they are typed.
+     */
+    private static String getPathKey(String[] path, int length) {
+        StringBuilder pathKey = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                pathKey.append(PATH_SEPARATOR);
+            }
+            pathKey.append(path[i]);
+        }
+        return getNameKey(pathKey.toString());
+    }
+
+    /**
+     * Returns the path of the directory at the given path as the names of the directories are stored,
+     * separated by backslashes.
+     */
+    private String getDirectoryPath(String[] path) {
+        StringBuilder directoryPath = new StringBuilder(root.name);
+        Directory directory = root;
+        for (int i = 1; i < path.length; i++) {
+            directory = directory.searchAmongDirectory(path[i]).get();
+            directoryPath.append(PATH_SEPARATOR).append(directory.name);
+        }
+        return directoryPath.toString();
     }
 
     /**
@@ -144,12 +298,32 @@ public class MedicineManager {
         return root;
     }
 
+    /**
+     * Replaces the root directory, and forgets the directories cached under the previous root.
+     */
     public void setRoot(Directory root) {
         this.root = root;
+        directoriesByPathKey.clear();
+        completionIndex = null;
     }
 
+    /**
+     * Replaces the list of medicines, which is sorted by the name key of the medicines and indexed.
+     *
+     * @throws IllegalArgumentException if two medicines have the same name, regardless of case.
+     */
     public void setListOfMedicine(ArrayList<Medicine> listOfMedicine) {
+        HashMap<String, Medicine> newMedicinesByNameKey = new HashMap<>();
+        for (Medicine medicine : listOfMedicine) {
+            if (newMedicinesByNameKey.put(getNameKey(medicine.name), medicine) != null) {
+                throw new IllegalArgumentException(ERROR_MESSAGE_MEDICINE_WITH_SAME_NAME_EXISTS_IN_LIST);
+            }
+        }
+        listOfMedicine.sort(NAME_KEY_ORDER);
         this.listOfMedicine = listOfMedicine;
+        medicinesByNameKey.clear();
+        medicinesByNameKey.putAll(newMedicinesByNameKey);
+        completionIndex = null;
     }
 
     public ArrayList<Medicine> getListOfMedicine() {
@@ -173,39 +347,333 @@ public class MedicineManager {
         directory.get().addMedicine(medicine);
     }
 
+    /**
+     * Sets the threshold of the directory specified by path, and of every medicine and directory under it.
+     *
+     * @param path      the path of the directory
+     * @param threshold the alarm level
+     * @return the medicines under the directory, each of them once
+     * @throws IllegalArgumentException if the directory does not exist, or the threshold is negative
+     */
+    public List<Medicine> setDirectoryThreshold(String[] path, int threshold) {
+        Optional<Directory> directory = findDirectory(path);
+        if (!directory.isPresent()) {
+            throw new IllegalArgumentException(ERROR_MESSAGE_NO_DIRECTORY_FOUND);
+        }
+        Set<Medicine> medicines = Collections.newSetFromMap(new IdentityHashMap<>());
+        setThreshold(directory.get(), threshold, medicines);
+        return new ArrayList<>(medicines);
+    }
+
+    /**
+     * Sets the threshold of the given directory, and of every medicine and directory under it, and adds the
+     * medicines under it to {@code medicines}.
+     */
+    private static void setThreshold(Directory directory, int threshold, Set<Medicine> medicines) {
+        directory.setThreshold(threshold);
+        for (Medicine medicine : directory.getListOfMedicine()) {
+            medicine.setThreshold(threshold);
+            medicines.add(medicine);
+        }
+        for (Directory subDirectory : directory.getListOfDirectory()) {
+            setThreshold(subDirectory, threshold, medicines);
+        }
+    }
+
+    /**
+     * Returns the directory the last name of the raw path is typed in. As the path up to that name is the same
+     * at every keystroke, the directory is looked up in the cache by the path as typed, and the path is only
+     * split into names when it is not cached yet.
+     */
     private Directory getDirectoryForSuggestions(String rawPath) {
-        if (!rawPath.contains("\\")) {
+        if (!rawPath.contains(PATH_SEPARATOR)) {
             throw new IllegalArgumentException("Not in path format.");
         }
         rawPath = rawPath.trim();
-        rawPath = rawPath.substring(0, rawPath.lastIndexOf("\\"));
-        String[] path = rawPath.split("\\\\");
-        Optional<Directory> foundDirectory = findDirectory(path);
-        if (!foundDirectory.isPresent()) {
-            throw new IllegalArgumentException(ERROR_MESSAGE_NO_DIRECTORY_FOUND);
+        rawPath = rawPath.substring(0, rawPath.lastIndexOf(PATH_SEPARATOR));
+        Directory foundDirectory = directoriesByPathKey.get(getNameKey(rawPath));
+        if (foundDirectory == null) {
+            foundDirectory = findDirectory(rawPath.split("\\\\")).orElseThrow(() ->
+                    new IllegalArgumentException(ERROR_MESSAGE_NO_DIRECTORY_FOUND));
         }
-        return foundDirectory.get();
+        return foundDirectory;
     }
 
+    /**
+     * Returns the names of the sub-directories of the directory the last name of the raw path is typed in,
+     * capitalised. The sub-directories are kept sorted by name regardless of case, so they are listed as kept.
+     */
     public ArrayList<String> getDirectorySuggestions(String rawPath) {
-        Directory foundDirectory = getDirectoryForSuggestions(rawPath);
-        ArrayList<String> suggestions = new ArrayList<>();
-        suggestions.addAll(foundDirectory.getListOfDirectory().stream()
-                .map((Directory directory) -> (directory.name))
-                .map((String string) -> (string.substring(0, 1).toUpperCase() + string.substring(1)))
-                .collect(Collectors.toList()));
-        suggestions.sort(Comparator.comparing((String::toLowerCase)));
+        Collection<Directory> directories = getDirectoryForSuggestions(rawPath).getListOfDirectory();
+        ArrayList<String> suggestions = new ArrayList<>(directories.size());
+        for (Directory directory : directories) {
+            suggestions.add(directory.name.substring(0, 1).toUpperCase() + directory.name.substring(1));
+        }
         return suggestions;
     }
 
+    /**
+     * Returns the names of the medicines in the directory the last name of the raw path is typed in, starting in
+     * lower case. The medicines are kept sorted by name regardless of case, so they are listed as kept.
+     */
     public ArrayList<String> getMedicineSuggestions(String rawPath) {
-        Directory foundDirectory = getDirectoryForSuggestions(rawPath);
-        ArrayList<String> suggestions = new ArrayList<>();
-        suggestions.addAll(foundDirectory.getListOfMedicine().stream()
-                .map((Medicine medicine) -> (medicine.name))
-                .map((String string) -> (string.substring(0, 1).toLowerCase() + string.substring(1)))
-                .collect(Collectors.toList()));
-        suggestions.sort(Comparator.comparing((String::toLowerCase)));
+        Collection<Medicine> medicines = getDirectoryForSuggestions(rawPath).getListOfMedicine();
+        ArrayList<String> suggestions = new ArrayList<>(medicines.size());
+        for (Medicine medicine : medicines) {
+            suggestions.add(medicine.name.substring(0, 1).toLowerCase() + medicine.name.substring(1));
+        }
         return suggestions;
     }
+
+    /**
+     * Returns up to {@code MAX_COMPLETIONS} names of medicines and paths of directories anywhere in the storage
+     * that start with the given prefix, regardless of case. The medicines most prescribed come first, followed
+     * by the shorter names and paths.
+     */
+    public ArrayList<String> getCompletions(String prefix) {
+        if (completionIndex == null) {
+            completionIndex = new CompletionIndex(MAX_COMPLETIONS);
+            indexDirectory(root, root.name);
+            listOfMedicine.forEach(this::indexMedicine);
+        }
+        return completionIndex.complete(prefix);
+    }
+
+    /**
+     * Records that the given quantity of the medicine has been prescribed, which ranks it higher among the
+     * completions.
+     */
+    public void recordPrescription(Medicine medicine, int quantity) {
+        String nameKey = getNameKey(medicine.name);
+        prescriptionCounts.merge(nameKey, (long) quantity, Long::sum);
+        if (completionIndex != null) {
+            completionIndex.recordPrescription(nameKey, quantity);
+        }
+    }
+
+    /**
+     * Replaces the quantities prescribed of the medicines, by the names of the medicines in any case.
+     */
+    public void setPrescriptionCounts(Map<String, Integer> quantitiesByMedicineName) {
+        prescriptionCounts.clear();
+        quantitiesByMedicineName.forEach((medicineName, quantity) ->
+                prescriptionCounts.merge(getNameKey(medicineName), (long) quantity, Long::sum));
+        completionIndex = null;
+    }
+
+    /**
+     * Adds the given medicine to the completion index, if it has been built.
+     */
+    private void indexMedicine(Medicine medicine) {
+        if (completionIndex != null) {
+            completionIndex.addMedicine(medicine.name, prescriptionCounts.getOrDefault(getNameKey(medicine.name), 0L));
+        }
+    }
+
+    /**
+     * Adds the sub-directories under the directory at the given path to the completion index, depth first.
+     * The root directory itself is not added, as every path starts with it.
+     */
+    private void indexDirectory(Directory directory, String path) {
+        for (Directory subDirectory : directory.getListOfDirectory()) {
+            String subDirectoryPath = path + PATH_SEPARATOR + subDirectory.name;
+            completionIndex.addDirectory(subDirectoryPath);
+            indexDirectory(subDirectory, subDirectoryPath);
+        }
+    }
+
+    /**
+     * A directory of the storage, or a directory to be created by an import, with the sub-directories and
+     * medicines the import adds to it.
+     */
+    private static class PlannedDirectory {
+        private final String name;
+        private final Optional<Directory> existing;
+        private final TreeMap<String, PlannedDirectory> directories = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final TreeMap<String, Medicine> medicines = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private Optional<Integer> threshold = Optional.empty();
+
+        private PlannedDirectory(String name, Optional<Directory> existing) {
+            this.name = name;
+            this.existing = existing;
+        }
+
+        /**
+         * Returns the sub-directory with the given name, which either exists or is created by the import.
+         */
+        private Optional<PlannedDirectory> findDirectory(String directoryName) {
+            PlannedDirectory planned = directories.get(directoryName);
+            if (planned != null || !existing.isPresent()) {
+                return Optional.ofNullable(planned);
+            }
+            Optional<Directory> directory = existing.get().searchAmongDirectory(directoryName);
+            directory.ifPresent(found -> directories.put(found.name, new PlannedDirectory(found.name, directory)));
+            return directory.map(found -> directories.get(found.name));
+        }
+
+        private boolean hasMedicine(String medicineName) {
+            return medicines.containsKey(medicineName)
+                    || (existing.isPresent() && existing.get().searchAmongMedicine(medicineName).isPresent());
+        }
+
+        private boolean isEmpty() {
+            return !existing.isPresent()
+                    || (existing.get().getListOfMedicine().isEmpty() && existing.get().getListOfDirectory().isEmpty());
+        }
+    }
+
+    /**
+     * The changes of an import, which are checked entry by entry against the storage and against the changes of
+     * the entries before, and applied together.
+     */
+    private class ImportPlan {
+        private final PlannedDirectory plannedRoot = new PlannedDirectory(root.name, Optional.of(root));
+        private final HashMap<String, Medicine> newMedicinesByNameKey = new HashMap<>();
+        private final List<Medicine> newMedicines = new ArrayList<>();
+        private final Map<Medicine, Integer> newMedicineThresholds = new IdentityHashMap<>();
+
+        /**
+         * Checks the given entry, and adds its changes to the plan if it can be imported.
+         *
+         * @throws IllegalArgumentException if the entry cannot be imported, in which case the plan is unchanged.
+         */
+        private void add(FormularyItem item) {
+            String[] path = item.getPath();
+            if (path.length == 0 || !path[0].equalsIgnoreCase(root.name)) {
+                throw new IllegalArgumentException(String.format(ERROR_MESSAGE_PATH_NOT_FROM_ROOT, root.name));
+            }
+
+            // finds the deepest directory on the path, and checks the names of the directories to create below it
+            PlannedDirectory deepest = plannedRoot;
+            int depth = 1;
+            while (depth < path.length) {
+                Optional<PlannedDirectory> next = deepest.findDirectory(path[depth]);
+                if (!next.isPresent()) {
+                    break;
+                }
+                deepest = next.get();
+                depth++;
+            }
+            if (depth < path.length && deepest.hasMedicine(path[depth])) {
+                throw new IllegalArgumentException(
+                        Directory.ERROR_MESSAGE_MEDICINE_ALREADY_EXISTS_UNDER_SAME_DIRECTORY);
+            }
+            for (int i = depth; i < path.length; i++) {
+                if (!path[i].matches(Directory.VALIDATION_REGEX)) {
+                    throw new IllegalArgumentException(Directory.MESSAGE_CONSTRAINTS);
+                }
+            }
+
+            if (item.isDirectory()) {
+                addDirectory(item, path, deepest, depth);
+            } else {
+                addMedicine(item, path, deepest, depth);
+            }
+        }
+
+        /**
+         * Plans the directories on the path of an entry without a medicine name, and sets the alarm level
+         * of the last of them if the entry gives one.
+         */
+        private void addDirectory(FormularyItem item, String[] path, PlannedDirectory deepest, int depth) {
+            if (item.getThreshold().isPresent()) {
+                if (item.getThreshold().get() < 0) {
+                    throw new IllegalArgumentException(ERROR_MESSAGE_NEGATIVE_THRESHOLD);
+                }
+                if (depth == path.length && !deepest.isEmpty()) {
+                    throw new IllegalArgumentException(ERROR_MESSAGE_THRESHOLD_OF_DIRECTORY_NOT_EMPTY);
+                }
+            }
+            PlannedDirectory directory = createDirectories(path, deepest, depth);
+            if (item.getThreshold().isPresent()) {
+                directory.threshold = item.getThreshold();
+            }
+        }
+
+        /**
+         * Plans the directories on the path of an entry with a medicine name, and places the medicine, which is
+         * new or found by its name, in the last of them.
+         */
+        private void addMedicine(FormularyItem item, String[] path, PlannedDirectory deepest, int depth) {
+            String medicineName = item.getMedicineName().get();
+            String nameKey = getNameKey(medicineName);
+            Medicine medicine;
+            if (item.isNewMedicine()) {
+                if (!item.getPrice().isPresent() || !item.getQuantity().isPresent()) {
+                    throw new IllegalArgumentException(ERROR_MESSAGE_PRICE_AND_QUANTITY_REQUIRED);
+                }
+                if (medicinesByNameKey.containsKey(nameKey) || newMedicinesByNameKey.containsKey(nameKey)) {
+                    throw new IllegalArgumentException(ERROR_MESSAGE_MEDICINE_WITH_SAME_NAME_EXISTS_IN_LIST);
+                }
+                medicine = new Medicine(medicineName, item.getQuantity().get());
+                medicine.setPrice(item.getPrice().get());
+                item.getThreshold().ifPresent(medicine::setThreshold);
+            } else {
+                if (item.getThreshold().isPresent()) {
+                    throw new IllegalArgumentException(ERROR_MESSAGE_THRESHOLD_OF_EXISTING_MEDICINE);
+                }
+                medicine = newMedicinesByNameKey.getOrDefault(nameKey, medicinesByNameKey.get(nameKey));
+                if (medicine == null) {
+                    throw new IllegalArgumentException(String.format(ERROR_MESSAGE_NO_EXISTING_MED_FOUND,
+                            medicineName));
+                }
+            }
+            if (depth == path.length && (deepest.hasMedicine(medicineName)
+                    || deepest.findDirectory(medicineName).isPresent())) {
+                throw new IllegalArgumentException(
+                        Directory.ERROR_MESSAGE_MEDICINE_ALREADY_EXISTS_UNDER_SAME_DIRECTORY);
+            }
+
+            if (item.isNewMedicine()) {
+                newMedicinesByNameKey.put(nameKey, medicine);
+                newMedicines.add(medicine);
+                item.getThreshold().ifPresent(threshold -> newMedicineThresholds.put(medicine, threshold));
+            }
+            createDirectories(path, deepest, depth).medicines.put(medicine.name, medicine);
+        }
+
+        /**
+         * Plans the directories on the path below the deepest directory found, and returns the last of them.
+         */
+        private PlannedDirectory createDirectories(String[] path, PlannedDirectory deepest, int depth) {
+            PlannedDirectory directory = deepest;
+            for (int i = depth; i < path.length; i++) {
+                PlannedDirectory subDirectory = new PlannedDirectory(path[i], Optional.empty());
+                directory.directories.put(path[i], subDirectory);
+                directory = subDirectory;
+            }
+            return directory;
+        }
+
+        /**
+         * Applies the changes of all the entries to the storage.
+         */
+        private void apply() {
+            apply(plannedRoot, root, root.name);
+            newMedicineThresholds.forEach(Medicine::setThreshold);
+            listOfMedicine.addAll(newMedicines);
+            listOfMedicine.sort(NAME_KEY_ORDER);
+            medicinesByNameKey.putAll(newMedicinesByNameKey);
+            newMedicines.forEach(MedicineManager.this::indexMedicine);
+        }
+
+        /**
+         * Sets the alarm level of the directory before adding its sub-directories and medicines,
+         * so that they take it up as they are added.
+         *
+         * @param path the path of the directory, by which the directories created under it are indexed
+         */
+        private void apply(PlannedDirectory planned, Directory directory, String path) {
+            planned.threshold.ifPresent(directory::setThreshold);
+            for (PlannedDirectory subDirectory : planned.directories.values()) {
+                String subDirectoryPath = path + PATH_SEPARATOR + subDirectory.name;
+                if (!subDirectory.existing.isPresent() && completionIndex != null) {
+                    completionIndex.addDirectory(subDirectoryPath);
+                }
+                apply(subDirectory, subDirectory.existing.orElseGet(() -> directory.addDirectory(subDirectory.name)),
+                        subDirectoryPath);
+            }
+            directory.addAllMedicines(planned.medicines.values());
+        }
+    }
 }
@@ -39,4 +39,9 @@ public class Nric {
                 || (other instanceof Nric // instanceof handles nulls
                 && nric.equals(((Nric) other).getNric())); // state check
     }
+
+    @Override
+    public int hashCode() {
+        return nric.hashCode();
+    }
 }
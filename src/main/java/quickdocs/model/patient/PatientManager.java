@@ -1,7 +1,17 @@
 package quickdocs.model.patient;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
 
 import quickdocs.model.tag.Tag;
 
@@ -11,10 +21,52 @@ import quickdocs.model.tag.Tag;
  */
 public class PatientManager {
 
+    // patient records in the order they were added; a deleted record leaves its slot null until the list is
+    // compacted, so that deleting a record does not shift the records after it
     private ArrayList<Patient> patientList;
+    private int deletedCount;
+
+    // positions of the patient records among the records held in patientList, which are the indexes users see
+    private PatientPositions positions;
+
+    // the patient records held, in order, as seen outside of this manager
+    private final List<Patient> heldPatients = new AbstractList<Patient>() {
+        @Override
+        public Patient get(int index) {
+            Objects.checkIndex(index, positions.size());
+            return patientList.get(toSlot(index));
+        }
+
+        @Override
+        public int size() {
+            return positions.size();
+        }
+    };
+
+    // maps a normalized NRIC to the slot of its patient record in patientList,
+    // so that NRIC lookups do not have to scan through every patient record
+    private HashMap<String, Integer> nricIndex;
+
+    // normalized NRICs in sorted order, so that NRIC prefix searches are a range scan
+    private TreeSet<String> sortedNrics;
+
+    private PatientNameIndex nameIndex;
+
+    // maps each tag to the normalized NRICs of the patients tagged with it
+    private HashMap<Tag, HashSet<String>> tagIndex;
+
+    // the sorted slots of the patient records found by the last paged search, kept until the records are modified,
+    // so that retrieving the later pages of the same search only costs the size of the page
+    private List<Object> cachedSearch;
+    private int[] cachedSearchSlots;
 
     public PatientManager() {
         this.patientList = new ArrayList<Patient>();
+        this.positions = new PatientPositions();
+        this.nricIndex = new HashMap<>();
+        this.sortedNrics = new TreeSet<>();
+        this.nameIndex = new PatientNameIndex();
+        this.tagIndex = new HashMap<>();
     }
 
 
@@ -28,26 +80,37 @@ public class PatientManager {
      * @return boolean value of the NRIC check
      */
     public boolean isDuplicatePatient(Patient patient) {
-        for (int i = 0; i < patientList.size(); i++) {
-            if (patientList.get(i).getNric().equals(patient.getNric())) {
-                return true;
-            }
-        }
-        return false;
+        return nricIndex.containsKey(normalizeNric(patient.getNric().toString()));
     }
 
+    /**
+     * Adds the patient record to the end of the patientList and indexes it by its NRIC.
+     * If another record already holds the same NRIC, lookups will still return the earlier record.
+     *
+     * @param patient the record to be added
+     */
     public void addPatient(Patient patient) {
+        String nric = normalizeNric(patient.getNric().toString());
+        nricIndex.putIfAbsent(nric, patientList.size());
+        sortedNrics.add(nric);
+        nameIndex.add(nric, patient.getName());
+        addToTagIndex(nric, patient);
         patientList.add(patient);
+        positions.append();
+        cachedSearch = null;
     }
 
-    public ArrayList<Patient> getPatientList() {
-        return patientList;
+    /**
+     * Returns the patient records in the order they are stored, as a list that cannot be modified
+     */
+    public List<Patient> getPatientList() {
+        return heldPatients;
     }
 
     //==========Patient edit methods=================================================
 
     public boolean isPatientListEmpty() {
-        return patientList.size() < 1;
+        return positions.size() < 1;
     }
 
     /**
@@ -58,7 +121,7 @@ public class PatientManager {
      * @param index index entered by user to view patient record
      */
     public boolean checkValidIndex(int index) {
-        if (index >= patientList.size()) {
+        if (index >= positions.size()) {
             return false;
         }
 
@@ -70,7 +133,7 @@ public class PatientManager {
     }
 
     public Patient getPatientAtIndex(int index) {
-        return patientList.get(index);
+        return heldPatients.get(index);
     }
 
     /**
@@ -83,20 +146,42 @@ public class PatientManager {
      * @return true if NRIC of the selected patient can be edited without causing a conflict
      */
     public boolean checkDuplicatePatientAfterEdit(int index, Patient editedPatient) {
-        for (int i = 0; i < patientList.size(); i++) {
-            if (i == index) {
-                continue;
-            }
-
-            if (patientList.get(i).getNric().equals(editedPatient.getNric())) {
-                return true;
-            }
-        }
-        return false;
+        Integer existingSlot = nricIndex.get(normalizeNric(editedPatient.getNric().toString()));
+        return existingSlot != null && existingSlot != toSlot(index);
     }
 
+    /**
+     * Replaces the patient record at the index with the edited record,
+     * updating the NRIC index if the NRIC of the record was edited
+     *
+     * @param index         index of the patient record to be replaced
+     * @param editedPatient the edited patient record
+     */
     public void replacePatient(int index, Patient editedPatient) {
-        patientList.set(index, editedPatient);
+        int slot = toSlot(index);
+        Patient oldPatient = patientList.get(slot);
+        String oldNric = normalizeNric(oldPatient.getNric().toString());
+        String newNric = normalizeNric(editedPatient.getNric().toString());
+        patientList.set(slot, editedPatient);
+        cachedSearch = null;
+
+        nameIndex.remove(oldNric);
+        nameIndex.add(newNric, editedPatient.getName());
+        removeFromTagIndex(oldNric, oldPatient);
+        addToTagIndex(newNric, editedPatient);
+
+        if (oldNric.equals(newNric)) {
+            return;
+        }
+
+        if (nricIndex.remove(oldNric, slot)) {
+            sortedNrics.remove(oldNric);
+        }
+        sortedNrics.add(newNric);
+        Integer existingSlot = nricIndex.get(newNric);
+        if (existingSlot == null || existingSlot > slot) {
+            nricIndex.put(newNric, slot);
+        }
     }
 
 
@@ -112,87 +197,155 @@ public class PatientManager {
      * @return either the full patient record of a single patient, or a list of patients
      */
     public String findPatientsByName(String searchSequence) {
+        return formatFoundPatients(nameIndex.search(searchSequence));
+    }
 
-        // the foundPatients are used to store all
-        // the patient records whose name contains the searchSequence.
-        ArrayList<Patient> foundPatients = new ArrayList<>();
+    /**
+     * Returns a page of the patient records whose name contains the search sequence
+     *
+     * @param searchSequence full name or part of a name to narrow down searching of patient records
+     * @param pageSize       maximum number of patient records on the page
+     * @param pageToken      token of the page to retrieve, or null to retrieve the first page
+     */
+    public PatientPage findPatientsByName(String searchSequence, int pageSize, String pageToken) {
+        return getSearchPage(Arrays.asList("name", searchSequence), () -> nameIndex.search(searchSequence),
+                pageSize, pageToken);
+    }
 
-        // store the index of the patient records that are found
-        ArrayList<Integer> foundPatientsIndexes = new ArrayList<>();
-        for (int i = 0; i < patientList.size(); i++) {
-            Patient patient = patientList.get(i);
+    /**
+     * Returns the details of a single patient record whose NRIC matches the searchSequence
+     * or a list of patients along with their indexes, name and NRIC if their NRIC matches
+     * the searchSequence
+     *
+     * @param searchSequence A part or the full NRIC sequence
+     * @return either the full patient record of a single patient, or a list of patients
+     */
+    public String findPatientsByNric(String searchSequence) {
+        return formatFoundPatients(getNricsWithPrefix(searchSequence));
+    }
 
-            if (patient.getName().toString().toLowerCase().contains(searchSequence.toLowerCase())) {
-                foundPatients.add(patient);
-                foundPatientsIndexes.add(i + 1);
-            }
+    /**
+     * Returns a page of the patient records whose NRIC starts with the search sequence
+     *
+     * @param searchSequence A part or the full NRIC sequence
+     * @param pageSize       maximum number of patient records on the page
+     * @param pageToken      token of the page to retrieve, or null to retrieve the first page
+     */
+    public PatientPage findPatientsByNric(String searchSequence, int pageSize, String pageToken) {
+        return getSearchPage(Arrays.asList("nric", searchSequence), () -> getNricsWithPrefix(searchSequence),
+                pageSize, pageToken);
+    }
 
-        }
+    private Collection<String> getNricsWithPrefix(String searchSequence) {
+        String prefix = normalizeNric(searchSequence);
 
-        if (foundPatients.size() == 0) {
-            return "No patient record found";
-        }
+        // every NRIC starting with the prefix sorts between the prefix itself
+        // and the prefix followed by the largest possible character
+        return sortedNrics.subSet(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
 
-        // if there are more than 1 patients, then list all the patients
-        // whose name matches the searchSequence for the user to narrow down
-        // the search even more
-        if (foundPatients.size() > 1) {
-            return formatMultiplePatients(foundPatients, foundPatientsIndexes);
+    /**
+     * Returns a page of all the patient records, in the order they are stored in the patientList.
+     * Only the patient records on the page are retrieved.
+     *
+     * @param pageSize  maximum number of patient records on the page
+     * @param pageToken token of the page to retrieve, or null to retrieve the first page
+     */
+    public PatientPage listPatients(int pageSize, String pageToken) {
+        return getPage(positions.size(), this::toSlot, pageSize, pageToken);
+    }
+
+    /**
+     * Returns the page of patient records found by a listing or search
+     *
+     * @param totalPatients number of patient records found
+     * @param slotAt        gives the slot in the patientList of the n-th patient record found
+     * @param pageSize      maximum number of patient records on the page
+     * @param pageToken     token of the page to retrieve, or null to retrieve the first page
+     * @throws IllegalArgumentException if the page token is invalid
+     */
+    private PatientPage getPage(int totalPatients, IntUnaryOperator slotAt, int pageSize, String pageToken) {
+        int offset = PatientPage.decodePageToken(pageToken);
+        ArrayList<Patient> patients = new ArrayList<>();
+        ArrayList<Integer> patientIndexes = new ArrayList<>();
+        for (int i = offset; i < totalPatients && i < offset + pageSize; i++) {
+            int slot = slotAt.applyAsInt(i);
+            patients.add(patientList.get(slot));
+            patientIndexes.add(positions.positionOf(slot) + 1);
         }
+        return new PatientPage(patients, patientIndexes, offset, totalPatients);
+    }
 
-        return foundPatients.get(0).toString();
+    /**
+     * Returns the page of patient records found by a search, in the order they are stored in the patientList.
+     * The records found are only searched for and sorted again if the search differs from the last paged search,
+     * or if the patient records were modified since.
+     *
+     * @param search    identifies the search and its parameters
+     * @param nrics     gives the normalized NRICs of the patient records found by the search
+     * @param pageSize  maximum number of patient records on the page
+     * @param pageToken token of the page to retrieve, or null to retrieve the first page
+     * @throws IllegalArgumentException if the page token is invalid
+     */
+    private PatientPage getSearchPage(List<Object> search, Supplier<Collection<String>> nrics, int pageSize,
+                                      String pageToken) {
+        if (!search.equals(cachedSearch)) {
+            cachedSearchSlots = toSortedSlots(nrics.get());
+            cachedSearch = search;
+        }
+        int[] slots = cachedSearchSlots;
+        return getPage(slots.length, i -> slots[i], pageSize, pageToken);
+    }
 
+    /**
+     * Returns the slots in the patientList of the patients with the given NRICs, in ascending order
+     *
+     * @param nrics normalized NRICs of the patient records found by a search
+     */
+    private int[] toSortedSlots(Collection<String> nrics) {
+        int[] slots = new int[nrics.size()];
+        int i = 0;
+        for (String nric : nrics) {
+            slots[i++] = nricIndex.get(nric);
+        }
+        Arrays.sort(slots);
+        return slots;
     }
 
     /**
-     * Returns the details of a single patient record whose NRIC matches the searchSequence
-     * or a list of patients along with their indexes, name and NRIC if their NRIC matches
-     * the searchSequence
+     * Returns the full record of the patient if only one NRIC is given, or the list of the patients
+     * with the given NRICs in the order they are stored in the patientList
      *
-     * @param searchSequence A part or the full NRIC sequence
+     * @param nrics normalized NRICs of the patient records found by a search
      * @return either the full patient record of a single patient, or a list of patients
      */
-    public String findPatientsByNric(String searchSequence) {
+    private String formatFoundPatients(Collection<String> nrics) {
+        // the indexes only give the nric of the found patients,
+        // sort their slots so that they are listed in the order they were added
+        int[] slots = toSortedSlots(nrics);
+
+        // the foundPatients are used to store all
+        // the patient records that fulfill the search criteria.
         ArrayList<Patient> foundPatients = new ArrayList<>();
-        ArrayList<Integer> foundPatientsIndexes = new ArrayList<>();
-        for (int i = 0; i < patientList.size(); i++) {
-            Patient patient = patientList.get(i);
 
-            if (patient.getNric().toString().toLowerCase()
-                    .matches("^" + searchSequence.toLowerCase() + ".*")) {
-                foundPatients.add(patient);
-                foundPatientsIndexes.add(i + 1);
-            }
+        // store the index of the patient records that are found
+        ArrayList<Integer> foundPatientsIndexes = new ArrayList<>();
+        for (int slot : slots) {
+            foundPatients.add(patientList.get(slot));
+            foundPatientsIndexes.add(positions.positionOf(slot) + 1);
         }
 
         if (foundPatients.size() == 0) {
             return "No patient record found";
         }
 
+        // if there are more than 1 patients, then list all the patients
+        // found for the user to narrow down the search even more
         if (foundPatients.size() > 1) {
             return formatMultiplePatients(foundPatients, foundPatientsIndexes);
         }
 
         return foundPatients.get(0).toString();
-
-    }
-
-    /**
-     * Returns the first fifty patient's index, nric and name
-     * when a patient search have no parameters
-     */
-    public String listFiftyPatients() {
-        ArrayList<Patient> foundPatients = new ArrayList<>();
-        ArrayList<Integer> foundPatientsIndexes = new ArrayList<>();
-        for (int i = 0; i < 49; i++) {
-            if (i >= patientList.size()) {
-                break;
-            }
-            Patient patient = patientList.get(i);
-            foundPatients.add(patient);
-            foundPatientsIndexes.add(i + 1);
-        }
-        return formatMultiplePatients(foundPatients, foundPatientsIndexes);
     }
 
     /**
@@ -226,67 +379,175 @@ public class PatientManager {
      * if it is the only one that have the specified tag
      */
     public String findPatientsByTag(Tag tag) {
-        ArrayList<Patient> foundPatients = new ArrayList<>();
-        ArrayList<Integer> foundPatientsIndexes = new ArrayList<>();
+        return formatFoundPatients(tagIndex.getOrDefault(tag, new HashSet<>()));
+    }
+
+    /**
+     * Returns a list of patients that have all, or any, of the tags defined by the user
+     *
+     * @param tags     to filter patient records with
+     * @param matchAll true if the patients must have every one of the tags,
+     *                 false if having any one of the tags is sufficient
+     * @return either a list of patients with the specified tags, or a single patient record
+     * if it is the only one that have the specified tags
+     */
+    public String findPatientsByTags(List<Tag> tags, boolean matchAll) {
+        return formatFoundPatients(getNricsWithTags(tags, matchAll));
+    }
 
-        for (int i = 0; i < patientList.size(); i++) {
-            Patient currentPatient = patientList.get(i);
-            if (currentPatient.getTagList().contains(tag)) {
-                foundPatients.add(currentPatient);
-                foundPatientsIndexes.add(i + 1);
+    /**
+     * Returns a page of the patient records that have all, or any, of the tags defined by the user
+     *
+     * @param tags      to filter patient records with
+     * @param matchAll  true if the patients must have every one of the tags,
+     *                  false if having any one of the tags is sufficient
+     * @param pageSize  maximum number of patient records on the page
+     * @param pageToken token of the page to retrieve, or null to retrieve the first page
+     */
+    public PatientPage findPatientsByTags(List<Tag> tags, boolean matchAll, int pageSize, String pageToken) {
+        return getSearchPage(Arrays.asList("tags", new ArrayList<>(tags), matchAll),
+                () -> getNricsWithTags(tags, matchAll), pageSize, pageToken);
+    }
+
+    /**
+     * Returns the normalized NRICs of the patients that have all, or any, of the tags
+     */
+    private HashSet<String> getNricsWithTags(List<Tag> tags, boolean matchAll) {
+        HashSet<String> foundNrics = new HashSet<>();
+
+        if (!matchAll) {
+            for (Tag tag : tags) {
+                foundNrics.addAll(tagIndex.getOrDefault(tag, new HashSet<>()));
             }
+            return foundNrics;
         }
 
-        if (foundPatients.size() == 0) {
-            return "No patient record found";
+        // patients having every tag must be among the patients of the least used tag
+        HashSet<String> smallestPostings = null;
+        for (Tag tag : tags) {
+            HashSet<String> postings = tagIndex.getOrDefault(tag, new HashSet<>());
+            if (smallestPostings == null || postings.size() < smallestPostings.size()) {
+                smallestPostings = postings;
+            }
         }
 
-        if (foundPatients.size() > 1) {
-            return formatMultiplePatients(foundPatients, foundPatientsIndexes);
+        if (smallestPostings != null) {
+            for (String nric : smallestPostings) {
+                if (tags.stream().allMatch(tag -> tagIndex.get(tag).contains(nric))) {
+                    foundNrics.add(nric);
+                }
+            }
         }
+        return foundNrics;
+    }
 
-        return foundPatients.get(0).toString();
+    private void addToTagIndex(String nric, Patient patient) {
+        for (Tag tag : patient.getTagList()) {
+            tagIndex.computeIfAbsent(tag, key -> new HashSet<>()).add(nric);
+        }
     }
 
-    public Patient getPatientByNric(String nric) {
-        for (int i = 0; i < patientList.size(); i++) {
-            if (patientList.get(i).getNric().toString().equals(nric)) {
-                return patientList.get(i);
+    /**
+     * Removes the patient with the given normalized NRIC from the postings of all of the patient's tags
+     */
+    private void removeFromTagIndex(String nric, Patient patient) {
+        for (Tag tag : patient.getTagList()) {
+            HashSet<String> nrics = tagIndex.get(tag);
+            if (nrics == null) {
+                continue;
+            }
+            nrics.remove(nric);
+            if (nrics.isEmpty()) {
+                tagIndex.remove(tag);
             }
         }
-        return null;
     }
 
-    public Optional<Patient> getPatientByNric(Nric nric) {
-        for (Patient patient : patientList) {
-            if (patient.getNric().equals(nric)) {
-                return Optional.of(patient);
-            }
+    /**
+     * Returns the patient record with the given NRIC, or null if there is no such record
+     *
+     * @param nric NRIC of the patient record to retrieve
+     */
+    public Patient getPatientByNric(String nric) {
+        Integer slot = nricIndex.get(normalizeNric(nric));
+        if (slot == null) {
+            return null;
         }
-        return Optional.empty();
+        return patientList.get(slot);
+    }
+
+    public Optional<Patient> getPatientByNric(Nric nric) {
+        return Optional.ofNullable(getPatientByNric(nric.toString()));
     }
 
     public int getIndexByNric(Nric nric) {
-        for (int i = 0; i < patientList.size(); i++) {
-            if (patientList.get(i).getNric().toString().equals(nric.toString())) {
-                return i;
-            }
-        }
-        return -1;
+        Integer slot = nricIndex.get(normalizeNric(nric.toString()));
+        return slot == null ? -1 : positions.positionOf(slot);
     }
 
     /**
-     * Remove patient with nric specified
+     * Remove patient with nric specified.
+     * The slot of the record is emptied rather than shifting every record after it, and the patientList is
+     * compacted once most of its slots are empty, so that deleting a record takes logarithmic time on average.
      *
      * @param nric of the patient to be deleted
      */
     public void deletePatientByNric(String nric) {
-        for (int i = 0; i < patientList.size(); i++) {
-            if (patientList.get(i).getNric().toString().equals(nric)) {
-                patientList.remove(i);
-                break;
+        String normalizedNric = normalizeNric(nric);
+        Integer slot = nricIndex.remove(normalizedNric);
+        if (slot == null) {
+            return;
+        }
+
+        sortedNrics.remove(normalizedNric);
+        nameIndex.remove(normalizedNric);
+        removeFromTagIndex(normalizedNric, patientList.get(slot));
+
+        patientList.set(slot, null);
+        positions.remove(slot);
+        cachedSearch = null;
+        deletedCount++;
+        if (deletedCount > positions.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns the slot in the patientList of the patient record at the given position among the records held
+     */
+    private int toSlot(int position) {
+        return deletedCount == 0 ? position : positions.slotAt(position);
+    }
+
+    /**
+     * Removes the empty slots of the deleted records from the patientList, moving the slots of the records
+     * after them forward in the NRIC index
+     */
+    private void compact() {
+        ArrayList<Patient> heldList = new ArrayList<>(positions.size());
+        PatientPositions heldPositions = new PatientPositions();
+        int[] compactedSlots = new int[patientList.size()];
+        for (int slot = 0; slot < patientList.size(); slot++) {
+            Patient patient = patientList.get(slot);
+            if (patient != null) {
+                compactedSlots[slot] = heldList.size();
+                heldList.add(patient);
+                heldPositions.append();
             }
         }
+        nricIndex.replaceAll((nric, slot) -> compactedSlots[slot]);
+
+        patientList = heldList;
+        positions = heldPositions;
+        deletedCount = 0;
+    }
+
+    /**
+     * Returns the NRIC in the form used as the key of the NRIC index,
+     * so that NRICs differing only in letter case refer to the same patient record
+     */
+    private static String normalizeNric(String nric) {
+        return nric.trim().toUpperCase();
     }
 
     @Override
@@ -303,7 +564,7 @@ public class PatientManager {
 
         // state check
         PatientManager other = (PatientManager) obj;
-        return this.patientList.equals(other.patientList);
+        return this.heldPatients.equals(other.heldPatients);
 
     }
 }
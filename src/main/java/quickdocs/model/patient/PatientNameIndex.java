@@ -0,0 +1,109 @@
+package quickdocs.model.patient;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from the trigrams of patient names to the NRICs of the patients whose
+ * names contain them, so that name searches only need to check the patients sharing
+ * the search sequence's trigrams instead of every patient record.
+ */
+class PatientNameIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    // trigram of a lowercased name -> NRICs of the patients whose names contain it
+    private final HashMap<String, HashSet<String>> trigramIndex = new HashMap<>();
+
+    // NRIC -> lowercased name, used to confirm candidates actually contain the search sequence
+    private final HashMap<String, String> indexedNames = new HashMap<>();
+
+    // NRICs of patients whose names are too short to have any trigram
+    private final HashSet<String> shortNameNrics = new HashSet<>();
+
+    /**
+     * Indexes the name of the patient with the given NRIC
+     */
+    void add(String nric, Name name) {
+        String lowerCaseName = name.toString().toLowerCase();
+        indexedNames.put(nric, lowerCaseName);
+
+        if (lowerCaseName.length() < GRAM_LENGTH) {
+            shortNameNrics.add(nric);
+            return;
+        }
+
+        for (String trigram : getTrigrams(lowerCaseName)) {
+            trigramIndex.computeIfAbsent(trigram, key -> new HashSet<>()).add(nric);
+        }
+    }
+
+    /**
+     * Removes the name of the patient with the given NRIC from the index
+     */
+    void remove(String nric) {
+        String lowerCaseName = indexedNames.remove(nric);
+        if (lowerCaseName == null) {
+            return;
+        }
+
+        shortNameNrics.remove(nric);
+        for (String trigram : getTrigrams(lowerCaseName)) {
+            HashSet<String> nrics = trigramIndex.get(trigram);
+            nrics.remove(nric);
+            if (nrics.isEmpty()) {
+                trigramIndex.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Returns the NRICs of the patients whose names contain the search sequence, ignoring case.
+     * The returned NRICs are in no particular order.
+     *
+     * @param searchSequence full name or part of a name
+     */
+    Set<String> search(String searchSequence) {
+        String lowerCaseSequence = searchSequence.toLowerCase();
+        if (lowerCaseSequence.isEmpty()) {
+            return new HashSet<>(indexedNames.keySet());
+        }
+
+        HashSet<String> candidates = new HashSet<>();
+        if (lowerCaseSequence.length() < GRAM_LENGTH) {
+            // too short to be looked up by trigram, so gather every trigram containing it instead
+            for (Map.Entry<String, HashSet<String>> entry : trigramIndex.entrySet()) {
+                if (entry.getKey().contains(lowerCaseSequence)) {
+                    candidates.addAll(entry.getValue());
+                }
+            }
+            candidates.addAll(shortNameNrics);
+        } else {
+            HashSet<String> smallestPostings = null;
+            for (String trigram : getTrigrams(lowerCaseSequence)) {
+                HashSet<String> postings = trigramIndex.get(trigram);
+                if (postings == null) {
+                    return new HashSet<>();
+                }
+                if (smallestPostings == null || postings.size() < smallestPostings.size()) {
+                    smallestPostings = postings;
+                }
+            }
+            candidates.addAll(smallestPostings);
+        }
+
+        // sharing trigrams does not guarantee that the name contains the whole sequence
+        candidates.removeIf(nric -> !indexedNames.get(nric).contains(lowerCaseSequence));
+        return candidates;
+    }
+
+    private static Set<String> getTrigrams(String text) {
+        HashSet<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+}
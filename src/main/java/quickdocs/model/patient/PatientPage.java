@@ -0,0 +1,120 @@
+package quickdocs.model.patient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Represents one page of the patient records found by a listing or a search, along with the
+ * token needed to retrieve the next page.
+ * Only the patient records on the page are held, and they are only formatted for display
+ * when {@link #format()} is called.
+ */
+public class PatientPage {
+
+    public static final String INVALID_PAGE_TOKEN = "Page token is invalid, please list the patients again";
+
+    // page tokens are the offset of the page within the results, prefixed to
+    // detect tokens that were mistyped, and encoded so that users do not rely on their content
+    private static final String TOKEN_PREFIX = "p";
+
+    private final ArrayList<Patient> patients;
+    private final ArrayList<Integer> patientIndexes;
+    private final int offset;
+    private final int totalPatients;
+
+    public PatientPage(ArrayList<Patient> patients, ArrayList<Integer> patientIndexes, int offset,
+                       int totalPatients) {
+        this.patients = patients;
+        this.patientIndexes = patientIndexes;
+        this.offset = offset;
+        this.totalPatients = totalPatients;
+    }
+
+    public ArrayList<Patient> getPatients() {
+        return patients;
+    }
+
+    public ArrayList<Integer> getPatientIndexes() {
+        return patientIndexes;
+    }
+
+    /**
+     * Returns the position of the first patient record of this page among all the records found, starting from 0
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getTotalPatients() {
+        return totalPatients;
+    }
+
+    public boolean isEmpty() {
+        return patients.isEmpty();
+    }
+
+    /**
+     * Returns the token to retrieve the page after this one,
+     * or {@code Optional.empty()} if this is the last page
+     */
+    public Optional<String> getNextPageToken() {
+        int nextOffset = offset + patients.size();
+        if (patients.isEmpty() || nextOffset >= totalPatients) {
+            return Optional.empty();
+        }
+        return Optional.of(encodePageToken(nextOffset));
+    }
+
+    /**
+     * Returns the index, name, nric, gender and dob of every patient record on this page
+     */
+    public String format() {
+        return PatientManager.formatMultiplePatients(patients, patientIndexes);
+    }
+
+    /**
+     * Returns the opaque page token for the page starting at the given offset
+     */
+    public static String encodePageToken(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((TOKEN_PREFIX + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the offset of the page that the page token refers to.
+     * A null token refers to the first page.
+     *
+     * @throws IllegalArgumentException if the token is not a valid page token
+     */
+    public static int decodePageToken(String pageToken) {
+        if (pageToken == null) {
+            return 0;
+        }
+
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_PAGE_TOKEN);
+        }
+
+        if (!decoded.matches(TOKEN_PREFIX + "\\d{1,9}")) {
+            throw new IllegalArgumentException(INVALID_PAGE_TOKEN);
+        }
+        return Integer.parseInt(decoded.substring(TOKEN_PREFIX.length()));
+    }
+
+    /**
+     * Returns true if the given string can be decoded as a page token
+     */
+    public static boolean isValidPageToken(String pageToken) {
+        try {
+            decodePageToken(pageToken);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
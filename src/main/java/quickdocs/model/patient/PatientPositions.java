@@ -0,0 +1,81 @@
+package quickdocs.model.patient;
+
+import java.util.Arrays;
+
+/**
+ * Counts the patient records still held in the slots of the patient list, where a deleted record leaves its slot
+ * empty, so that the position of a record among the held records, and the record at a position, are both found
+ * without shifting or scanning every slot after a deletion.
+ */
+class PatientPositions {
+
+    // Fenwick tree over the one-based slots, in which a slot counts one while it holds a record:
+    // tree[i] is the number of records held in the slots after i - (i & -i), up to and including i
+    private int[] tree = new int[16];
+    private int slotCount;
+    private int size;
+
+    /**
+     * Adds a slot holding a record after the last slot
+     */
+    void append() {
+        slotCount++;
+        if (slotCount >= tree.length) {
+            tree = Arrays.copyOf(tree, tree.length * 2);
+        }
+        tree[slotCount] = 1 + countBefore(slotCount - 1) - countBefore(slotCount - (slotCount & -slotCount));
+        size++;
+    }
+
+    /**
+     * Empties the given zero-based slot, which must be holding a record
+     */
+    void remove(int slot) {
+        for (int i = slot + 1; i <= slotCount; i += i & -i) {
+            tree[i]--;
+        }
+        size--;
+    }
+
+    /**
+     * Returns the zero-based position among the records held of the record in the given zero-based slot
+     */
+    int positionOf(int slot) {
+        return countBefore(slot);
+    }
+
+    /**
+     * Returns the zero-based slot of the record at the given zero-based position among the records held
+     */
+    int slotAt(int position) {
+        // finds the last slot with at most position records held up to it, the record is in the slot after it
+        int slot = 0;
+        int remaining = position;
+        for (int step = Integer.highestOneBit(Math.max(slotCount, 1)); step > 0; step >>= 1) {
+            int next = slot + step;
+            if (next <= slotCount && tree[next] <= remaining) {
+                slot = next;
+                remaining -= tree[next];
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the number of records held
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of records held in the given number of first slots
+     */
+    private int countBefore(int slots) {
+        int count = 0;
+        for (int i = slots; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+}
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 
 /**
@@ -97,6 +98,17 @@ public class StatisticsManager {
         return stats;
     }
 
+    /**
+     * Returns the quantity of each medicine prescribed over all the months, by the name of the medicine.
+     */
+    public HashMap<String, Integer> getMedicinesCount() {
+        HashMap<String, Integer> medicinesCount = new HashMap<>();
+        for (MonthStatistics month : monthStatistics) {
+            month.getStatistics().getMedicinesCount().forEach((k, v) -> medicinesCount.merge(k, v, Integer::sum));
+        }
+        return medicinesCount;
+    }
+
     public List<MonthStatistics> getMonthStatisticsList() {
         return this.monthStatistics;
     }
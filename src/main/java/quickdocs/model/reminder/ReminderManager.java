@@ -3,9 +3,12 @@ package quickdocs.model.reminder;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -14,20 +17,36 @@ import quickdocs.model.medicine.Medicine;
 
 /**
  * Manages the list of {@code Reminders} created.
+ * Reminders are kept in a single list sorted by date and start time, where positions are found by binary search.
+ * Reminders are also indexed by their title, date and start time, which identify the reminder of an
+ * {@code Appointment}, and low quantity reminders are indexed by their title, which identifies their {@code Medicine}.
  */
 public class ReminderManager {
-    private final List<Reminder> reminders;
+    // low quantity reminder titles are the medicine name between this prefix and suffix
+    private static final String MEDICINE_NAME_FORMAT = "%1$s";
+    private static final String MEDICINE_TITLE_PREFIX = Medicine.REMINDER_TITLE_IF_INSUFFICIENT.substring(0,
+            Medicine.REMINDER_TITLE_IF_INSUFFICIENT.indexOf(MEDICINE_NAME_FORMAT));
+    private static final String MEDICINE_TITLE_SUFFIX = Medicine.REMINDER_TITLE_IF_INSUFFICIENT.substring(
+            Medicine.REMINDER_TITLE_IF_INSUFFICIENT.indexOf(MEDICINE_NAME_FORMAT) + MEDICINE_NAME_FORMAT.length());
+
     private final ObservableList<Reminder> internalList;
     private final ObservableList<Reminder> internalUnmodifiableList;
 
+    // reminders with each title, date and start time, in the order they were added
+    private final HashMap<ReminderKey, List<Reminder>> remindersByKey;
+
+    // low quantity reminders of each medicine, by their title
+    private final HashMap<String, List<Reminder>> medicineReminders;
+
     public ReminderManager() {
-        reminders = new ArrayList<>();
         internalList = FXCollections.observableArrayList();
         internalUnmodifiableList = FXCollections.unmodifiableObservableList(internalList);
+        remindersByKey = new HashMap<>();
+        medicineReminders = new HashMap<>();
     }
 
     public List<Reminder> getReminderList() {
-        return reminders;
+        return internalUnmodifiableList;
     }
 
     public ObservableList<Reminder> getObservableReminderList() {
@@ -42,25 +61,10 @@ public class ReminderManager {
      * @return the {@code Reminder} found, if it exists, else returns {@code Optional.empty()}.
      */
     public Optional<Reminder> getReminder(Appointment appointment) {
-        String title = appointment.createTitle();
-        LocalDate date = appointment.getDate();
-        LocalTime start = appointment.getStart();
-
-        List<Reminder> filtered = reminders.stream()
-                .filter(r -> r.getTitle().equals(title))
-                .filter(r -> r.getDate().equals(date))
-                .filter(a -> a.getStart().equals(start))
-                .collect(Collectors.toList());
-
-        // filtered cannot contain > 1 reminder as each reminder for an appointment is uniquely identified by its
-        // title, date, and start fields.
-        assert filtered.size() <= 1;
-
-        if (filtered.isEmpty()) {
-            return Optional.empty();
-        } else {
-            return Optional.of(filtered.get(0));
-        }
+        // each reminder for an appointment is uniquely identified by its title, date, and start fields
+        ReminderKey key = new ReminderKey(appointment.createTitle(), appointment.getDate(), appointment.getStart());
+        List<Reminder> remsOfKey = remindersByKey.get(key);
+        return remsOfKey == null ? Optional.empty() : Optional.of(remsOfKey.get(0));
     }
 
     /**
@@ -71,29 +75,38 @@ public class ReminderManager {
     public void addReminder(Reminder toAdd) {
         assert !hasDuplicateReminder(toAdd);
 
-        if (reminders.isEmpty()) {
-            reminders.add(toAdd);
-            internalList.add(toAdd);
-            return;
-        }
-
-        // place reminder in correct position
-        for (Reminder rem : reminders) {
-            if (rem.compareTo(toAdd) > 0) {
-                int index = reminders.indexOf(rem);
-                reminders.add(index, toAdd);
-                internalList.add(index, toAdd);
-                return;
+        // place reminder after every reminder starting at or before it
+        int low = 0;
+        int high = internalList.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (internalList.get(mid).compareTo(toAdd) > 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
             }
         }
+        internalList.add(low, toAdd);
+        addToIndexes(toAdd);
+    }
 
-        // toAdd is to be placed at the end of the list
-        reminders.add(toAdd);
-        internalList.add(toAdd);
+    /**
+     * Adds many {@code Reminder}s at once, sorting the list of reminders once instead of placing each of them.
+     *
+     * @param toAdd the {@code Reminder}s to be added, in any order.
+     */
+    public void addReminders(List<Reminder> toAdd) {
+        List<Reminder> reminders = new ArrayList<>(internalList);
+        reminders.addAll(toAdd);
+        Collections.sort(reminders);
+        internalList.setAll(reminders);
+        for (Reminder rem : toAdd) {
+            addToIndexes(rem);
+        }
     }
 
     public boolean hasDuplicateReminder(Reminder rem) {
-        return reminders.contains(rem);
+        return indexOf(rem) >= 0;
     }
 
     /**
@@ -102,8 +115,60 @@ public class ReminderManager {
      * @param reminder the {@code Reminder} to be deleted.
      */
     public void delete(Reminder reminder) {
-        reminders.remove(reminder);
-        internalList.remove(reminder);
+        int index = indexOf(reminder);
+        if (index < 0) {
+            return;
+        }
+
+        Reminder removed = internalList.remove(index);
+        ReminderKey key = new ReminderKey(removed);
+        List<Reminder> remsOfKey = remindersByKey.get(key);
+        remsOfKey.remove(removed);
+        if (remsOfKey.isEmpty()) {
+            remindersByKey.remove(key);
+        }
+        List<Reminder> remsOfMedicine = medicineReminders.get(removed.getTitle());
+        if (remsOfMedicine != null) {
+            remsOfMedicine.remove(removed);
+            if (remsOfMedicine.isEmpty()) {
+                medicineReminders.remove(removed.getTitle());
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the given {@code Reminder} in the list of reminders, or -1 if it is not found.
+     * The reminders with the same date and start time are found by binary search, and only those are compared.
+     */
+    private int indexOf(Reminder rem) {
+        int low = 0;
+        int high = internalList.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (internalList.get(mid).compareTo(rem) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        for (int i = low; i < internalList.size() && internalList.get(i).compareTo(rem) == 0; i++) {
+            if (internalList.get(i).equals(rem)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the given {@code Reminder} to the indexes by key and by medicine.
+     */
+    private void addToIndexes(Reminder rem) {
+        remindersByKey.computeIfAbsent(new ReminderKey(rem), k -> new ArrayList<>()).add(rem);
+        String title = rem.getTitle();
+        if (title.startsWith(MEDICINE_TITLE_PREFIX) && title.endsWith(MEDICINE_TITLE_SUFFIX)) {
+            medicineReminders.computeIfAbsent(title, t -> new ArrayList<>()).add(rem);
+        }
     }
 
     /**
@@ -115,18 +180,57 @@ public class ReminderManager {
         if (medicine.isSufficient()) {
             deleteExistingMedicineReminder(medicine);
         } else {
-            String title = String.format(Medicine.REMINDER_TITLE_IF_INSUFFICIENT, medicine.name);
-            String comment = String.format(Medicine.REMINDER_COMMENT_IF_INSUFFICIENT,
-                    medicine.getQuantity(), medicine.getThreshold());
-            LocalDate date = LocalDate.now();
-            LocalTime startTime = LocalTime.of(LocalTime.now().getHour(), LocalTime.now().getMinute(),
-                    LocalTime.now().getSecond());
-            Reminder reminder = new Reminder(title, comment, date, startTime, null);
+            Reminder reminder = createMedicineReminder(medicine);
             deleteExistingMedicineReminder(medicine);
             addReminder(reminder);
         }
     }
 
+    /**
+     * Adds a new {@code Reminder} for each of the given {@code Medicine}s whose quantity is below its threshold,
+     * such as the medicines of an imported catalogue, sorting the list of reminders once for all of them.
+     *
+     * @param medicines the {@code Medicine}s to create {@code Reminder}s for, which have none yet.
+     * @return the {@code Reminder}s added.
+     */
+    public List<Reminder> addMedicineReminders(Collection<Medicine> medicines) {
+        List<Reminder> toAdd = new ArrayList<>();
+        for (Medicine medicine : medicines) {
+            if (!medicine.isSufficient()) {
+                toAdd.add(createMedicineReminder(medicine));
+            }
+        }
+        if (!toAdd.isEmpty()) {
+            addReminders(toAdd);
+        }
+        return toAdd;
+    }
+
+    /**
+     * Creates the {@code Reminder} of a {@code Medicine} whose quantity is below its threshold, starting now.
+     */
+    private static Reminder createMedicineReminder(Medicine medicine) {
+        String title = String.format(Medicine.REMINDER_TITLE_IF_INSUFFICIENT, medicine.name);
+        String comment = String.format(Medicine.REMINDER_COMMENT_IF_INSUFFICIENT,
+                medicine.getQuantity(), medicine.getThreshold());
+        LocalDate date = LocalDate.now();
+        LocalTime startTime = LocalTime.of(LocalTime.now().getHour(), LocalTime.now().getMinute(),
+                LocalTime.now().getSecond());
+        return new Reminder(title, comment, date, startTime, null);
+    }
+
+    /**
+     * Returns a copy of the {@code Reminder}s created when the given {@code Medicine}'s quantity fell below
+     * its threshold.
+     *
+     * @param medicine the {@code Medicine} whose {@code Reminder}s to search for.
+     */
+    public List<Reminder> getMedicineReminders(Medicine medicine) {
+        String title = String.format(Medicine.REMINDER_TITLE_IF_INSUFFICIENT, medicine.name);
+        List<Reminder> remsOfMedicine = medicineReminders.get(title);
+        return remsOfMedicine == null ? new ArrayList<>() : new ArrayList<>(remsOfMedicine);
+    }
+
     /**
      * Deletes any existing {@code Reminder} corresponding to the given {@code Medicine}, which was created
      * when the {@code Medicine}'s quantity fell below its threshold.
@@ -136,18 +240,16 @@ public class ReminderManager {
      */
     public boolean deleteExistingMedicineReminder(Medicine medicine) {
         String title = String.format(Medicine.REMINDER_TITLE_IF_INSUFFICIENT, medicine.name);
-        boolean changed = false;
-        int i = 0;
-        while (i < reminders.size()) {
-            Reminder exReminder = reminders.get(i);
-            if (exReminder.getTitle().equals(title)) {
-                delete(exReminder);
-                changed = true;
-                i--;
-            }
-            i++;
+        List<Reminder> remsOfMedicine = medicineReminders.get(title);
+        if (remsOfMedicine == null) {
+            return false;
         }
-        return changed;
+
+        // copied as deleting a reminder removes it from the list of its medicine
+        for (Reminder exReminder : new ArrayList<>(remsOfMedicine)) {
+            delete(exReminder);
+        }
+        return true;
     }
 
     @Override
@@ -161,6 +263,44 @@ public class ReminderManager {
         }
 
         ReminderManager otherManager = (ReminderManager) other;
-        return otherManager.reminders.equals(this.reminders);
+        return otherManager.internalList.equals(this.internalList);
+    }
+
+    /**
+     * Identifies a {@code Reminder} by its title, date and start time.
+     */
+    private static class ReminderKey {
+        private final String title;
+        private final LocalDate date;
+        private final LocalTime start;
+
+        ReminderKey(String title, LocalDate date, LocalTime start) {
+            this.title = title;
+            this.date = date;
+            this.start = start;
+        }
+
+        ReminderKey(Reminder rem) {
+            this(rem.getTitle(), rem.getDate(), rem.getStart());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this) {
+                return true;
+            }
+
+            if (!(other instanceof ReminderKey)) {
+                return false;
+            }
+
+            ReminderKey otherKey = (ReminderKey) other;
+            return title.equals(otherKey.title) && date.equals(otherKey.date) && start.equals(otherKey.start);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(title, date, start);
+        }
     }
 }
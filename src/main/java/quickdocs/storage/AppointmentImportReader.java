@@ -0,0 +1,81 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the rows of an appointment import file, without checking their values.
+ * Files ending with {@code .json} hold an array of objects with the fields {@code nric}, {@code date},
+ * {@code start}, {@code end} and {@code comment}. Any other file is read as CSV, one appointment per line
+ * in the order {@code nric,date,start,end,comment}, with an optional header line. Values containing
+ * commas or double quotes are enclosed in double quotes, with the double quotes inside them doubled,
+ * though commas are also allowed unquoted in the comment, which is the last column.
+ */
+public class AppointmentImportReader {
+    public static final String CSV_HEADER_FIRST_COLUMN = "nric";
+
+    private static final int NRIC = 0;
+    private static final int DATE = 1;
+    private static final int START = 2;
+    private static final int END = 3;
+    private static final int COMMENT = 4;
+
+    private final Path filePath;
+
+    public AppointmentImportReader(Path filePath) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+    }
+
+    /**
+     * Reads all the rows of the file, in the order they appear.
+     *
+     * @throws IOException if the file cannot be read or is not valid JSON.
+     */
+    public List<Row> readRows() throws IOException {
+        ImportFileReader reader =
+                new ImportFileReader(filePath, CSV_HEADER_FIRST_COLUMN, "date", "start", "end", "comment");
+        return reader.readRows().stream()
+                .map(Row::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The raw values of one appointment in an import file. Missing and blank values are {@code null}.
+     */
+    public static class Row {
+        private final ImportFileReader.Row values;
+
+        private Row(ImportFileReader.Row values) {
+            this.values = values;
+        }
+
+        public int getRowNumber() {
+            return values.getRowNumber();
+        }
+
+        public String getNric() {
+            return values.getValue(NRIC);
+        }
+
+        public String getDate() {
+            return values.getValue(DATE);
+        }
+
+        public String getStart() {
+            return values.getValue(START);
+        }
+
+        public String getEnd() {
+            return values.getValue(END);
+        }
+
+        public String getComment() {
+            return values.getValue(COMMENT);
+        }
+    }
+}
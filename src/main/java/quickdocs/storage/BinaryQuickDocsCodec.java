@@ -0,0 +1,580 @@
+package quickdocs.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.appointment.Appointment;
+import quickdocs.model.consultation.Assessment;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.Diagnosis;
+import quickdocs.model.consultation.Prescription;
+import quickdocs.model.consultation.Symptom;
+import quickdocs.model.medicine.Directory;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.model.patient.Patient;
+import quickdocs.model.record.MonthStatistics;
+import quickdocs.model.record.Statistics;
+import quickdocs.model.reminder.Reminder;
+import quickdocs.model.tag.Tag;
+
+/**
+ * Encodes QuickDocs data in a compact binary format, which is read much faster than json.
+ *
+ * The data starts with a magic number and the version of the format, followed by a table of every distinct
+ * string in the data. Strings are then written as their index in the table, or -1 for null, so that each of
+ * them is stored and decoded only once. The records follow in one block for each {@link DataSection}, made of
+ * the index of its name and the length of its content, so that a reader can skip the blocks it does not know.
+ * Strings are prefixed with their length in bytes, and lists with their number of elements, or -1 for null.
+ * Data may hold the blocks of only some of the sections, as the section files of {@link JournalQuickDocsStorage} do.
+ * Since version 2 of the format, the consultations are followed by the number of consultations archived before them.
+ *
+ * The data is decoded into a {@link JsonSerializableQuickDocs}, so that it is checked and converted into the
+ * model in the same way as the json data. Records refer to their patient by NRIC in the same cases as in json.
+ */
+class BinaryQuickDocsCodec {
+
+    static final int MAGIC_NUMBER = 0x51444F43;
+    static final int FORMAT_VERSION = 2;
+
+    private static final byte PATIENT_REFERRED = 0;
+    private static final byte PATIENT_EMBEDDED = 1;
+
+    private BinaryQuickDocsCodec() {}
+
+    /**
+     * Returns the given {@code QuickDocs} in the binary format.
+     */
+    static byte[] encode(QuickDocs source) {
+        return encode(source, EnumSet.allOf(DataSection.class));
+    }
+
+    /**
+     * Returns the given sections of a {@code QuickDocs} in the binary format, without the blocks of the others.
+     */
+    static byte[] encode(QuickDocs source, Set<DataSection> sections) {
+        return encode(QuickDocsRecords.of(source), sections);
+    }
+
+    /**
+     * Returns the given sections of the given {@code QuickDocsRecords} in the binary format, without the blocks of
+     * the others.
+     */
+    static byte[] encode(QuickDocsRecords source, Set<DataSection> sections) {
+        Encoder encoder = new Encoder();
+        try {
+            encoder.writeSections(source, sections);
+            return encoder.toByteArray();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Writing to a byte array cannot fail", ioe);
+        }
+    }
+
+    /**
+     * Returns the QuickDocs data in the given bytes of the binary format.
+     *
+     * @throws DataConversionException if the bytes are not in the binary format, are in a newer version of it,
+     *                                 or hold values that violate data constraints.
+     */
+    static JsonSerializableQuickDocs decode(byte[] data) throws DataConversionException {
+        return decode(data, EnumSet.allOf(DataSection.class));
+    }
+
+    /**
+     * Returns the given sections of the QuickDocs data in the given bytes of the binary format, leaving the lists
+     * of the other sections empty, and their root directory and consultation fee null.
+     *
+     * @throws DataConversionException if the bytes are not in the binary format, are in a newer version of it,
+     *                                 lack the block of one of the given sections, or hold values that violate
+     *                                 data constraints.
+     */
+    static JsonSerializableQuickDocs decode(byte[] data, Set<DataSection> sections) throws DataConversionException {
+        try {
+            return new Decoder(ByteBuffer.wrap(data)).readSections(sections);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new DataConversionException(new IllegalValueException("Binary data is truncated or corrupted"));
+        } catch (IllegalValueException | IllegalArgumentException | DateTimeParseException e) {
+            throw new DataConversionException(e);
+        }
+    }
+
+    /**
+     * Writes the records of each section, collecting the strings into the table as they are first written.
+     */
+    private static class Encoder {
+        private final Map<String, Integer> stringIndices = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final ByteArrayOutputStream sections = new ByteArrayOutputStream();
+
+        private final ByteArrayOutputStream section = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(section);
+
+        private void writeSections(QuickDocsRecords source, Set<DataSection> dataSections) throws IOException {
+            DataOutputStream sectionsOut = new DataOutputStream(sections);
+            for (DataSection dataSection : EnumSet.copyOf(dataSections)) {
+                section.reset();
+                writeSection(dataSection, source);
+                sectionsOut.writeInt(indexOf(dataSection.getFileName()));
+                sectionsOut.writeInt(section.size());
+                section.writeTo(sectionsOut);
+            }
+            sectionsOut.flush();
+        }
+
+        private void writeSection(DataSection dataSection, QuickDocsRecords source) throws IOException {
+            switch (dataSection) {
+            case PATIENTS:
+                out.writeInt(source.getPatients().size());
+                for (Patient patient : source.getPatients()) {
+                    writePatient(patient);
+                }
+                break;
+
+            case CONSULTATIONS:
+                List<Consultation> consultations = source.getConsultations();
+                out.writeInt(consultations.size());
+                for (Consultation consultation : consultations) {
+                    writeConsultation(consultation, source);
+                }
+                out.writeInt(source.getArchivedConsultationCount());
+                break;
+
+            case APPOINTMENTS:
+                List<Appointment> appointments = source.getAppointments();
+                out.writeInt(appointments.size());
+                for (Appointment appointment : appointments) {
+                    writePatientOf(appointment.getPatient(), source);
+                    writeString(appointment.getDate().toString());
+                    writeString(appointment.getStart().toString());
+                    writeString(appointment.getEnd().toString());
+                    writeString(appointment.getComment());
+                }
+                break;
+
+            case REMINDERS:
+                List<Reminder> reminders = source.getReminders();
+                out.writeInt(reminders.size());
+                for (Reminder reminder : reminders) {
+                    writeString(reminder.getTitle());
+                    writeString(reminder.getComment());
+                    writeString(reminder.getDate().toString());
+                    writeString(reminder.getStart().toString());
+                    writeString(reminder.getEnd() == null ? null : reminder.getEnd().toString());
+                }
+                break;
+
+            case MEDICINES:
+                List<Medicine> medicines = source.getMedicineManager().getListOfMedicine();
+                out.writeInt(medicines.size());
+                for (Medicine medicine : medicines) {
+                    writeMedicine(medicine);
+                }
+                writeDirectory(source.getMedicineManager().getRoot());
+                break;
+
+            case STATISTICS:
+                List<MonthStatistics> monthStatisticsList = source.getStatisticsManager().getMonthStatisticsList();
+                out.writeInt(monthStatisticsList.size());
+                for (MonthStatistics monthStatistics : monthStatisticsList) {
+                    Statistics statistics = monthStatistics.getStatistics();
+                    writeString(monthStatistics.getYearMonth().toString());
+                    out.writeInt(statistics.getNoOfConsultations());
+                    writeDecimal(statistics.getRevenue());
+                    writeDecimal(statistics.getExpenditure());
+                    writeCounts(statistics.getMedicinesCount());
+                    writeCounts(statistics.getSymptomsCount());
+                }
+                writeDecimal(source.getStatisticsManager().getConsultationFee());
+                break;
+
+            default:
+                throw new AssertionError("Unknown section " + dataSection);
+            }
+            out.flush();
+        }
+
+        private void writePatient(Patient patient) throws IOException {
+            writeString(patient.getName().getName());
+            writeString(patient.getNric().getNric());
+            writeString(patient.getEmail().getEmail());
+            writeString(patient.getAddress().getAddress());
+            writeString(patient.getContact().getContact());
+            writeString(patient.getGender().getGender());
+            writeString(patient.getDob().toString());
+            out.writeInt(patient.getTagList().size());
+            for (Tag tag : patient.getTagList()) {
+                writeString(tag.tagName);
+            }
+        }
+
+        /**
+         * Writes the NRIC of the given patient if it is in the patient list of {@code source}, or the whole patient.
+         */
+        private void writePatientOf(Patient patient, QuickDocsRecords source) throws IOException {
+            if (source.isListed(patient)) {
+                out.writeByte(PATIENT_REFERRED);
+                writeString(patient.getNric().toString());
+            } else {
+                out.writeByte(PATIENT_EMBEDDED);
+                writePatient(patient);
+            }
+        }
+
+        private void writeConsultation(Consultation consultation, QuickDocsRecords source) throws IOException {
+            out.writeInt(consultation.getIndex());
+            writeString(consultation.getSession() == null ? null : consultation.getSession().toString());
+            writePatientOf(consultation.getPatient(), source);
+
+            Diagnosis diagnosis = consultation.getDiagnosis();
+            out.writeBoolean(diagnosis != null);
+            if (diagnosis != null) {
+                writeString(diagnosis.getAssessment() == null ? null : diagnosis.getAssessment().getAssessment());
+                List<Symptom> symptoms = diagnosis.getSymptoms();
+                out.writeInt(symptoms == null ? -1 : symptoms.size());
+                if (symptoms != null) {
+                    for (Symptom symptom : symptoms) {
+                        writeString(symptom.getSymptom());
+                    }
+                }
+            }
+
+            List<Prescription> prescriptions = consultation.getPrescriptions();
+            out.writeInt(prescriptions == null ? -1 : prescriptions.size());
+            if (prescriptions != null) {
+                for (Prescription prescription : prescriptions) {
+                    writeMedicine(prescription.getMedicine());
+                    out.writeInt(prescription.getQuantity());
+                }
+            }
+        }
+
+        private void writeMedicine(Medicine medicine) throws IOException {
+            writeString(medicine.name);
+            out.writeInt(medicine.getQuantity());
+            out.writeInt(medicine.getThreshold());
+            writeDecimal(medicine.getPrice());
+        }
+
+        private void writeDirectory(Directory directory) throws IOException {
+            writeString(directory.name);
+            Optional<Integer> threshold = directory.getThreshold();
+            out.writeBoolean(threshold.isPresent());
+            if (threshold.isPresent()) {
+                out.writeInt(threshold.get());
+            }
+            out.writeInt(directory.getListOfMedicine().size());
+            for (Medicine medicine : directory.getListOfMedicine()) {
+                writeString(medicine.name);
+            }
+            out.writeInt(directory.getListOfDirectory().size());
+            for (Directory subDirectory : directory.getListOfDirectory()) {
+                writeDirectory(subDirectory);
+            }
+        }
+
+        private void writeCounts(Map<String, Integer> counts) throws IOException {
+            out.writeInt(counts == null ? -1 : counts.size());
+            if (counts != null) {
+                for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                    writeString(count.getKey());
+                    out.writeInt(count.getValue());
+                }
+            }
+        }
+
+        private void writeDecimal(BigDecimal decimal) throws IOException {
+            writeString(decimal == null ? null : decimal.toString());
+        }
+
+        private void writeString(String string) throws IOException {
+            out.writeInt(string == null ? -1 : indexOf(string));
+        }
+
+        private int indexOf(String string) {
+            return stringIndices.computeIfAbsent(string, s -> {
+                strings.add(s);
+                return strings.size() - 1;
+            });
+        }
+
+        /**
+         * Returns the header, the string table and the sections written.
+         */
+        private byte[] toByteArray() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(sections.size() + strings.size() * 16);
+            DataOutputStream bytesOut = new DataOutputStream(bytes);
+            bytesOut.writeInt(MAGIC_NUMBER);
+            bytesOut.writeInt(FORMAT_VERSION);
+            bytesOut.writeInt(strings.size());
+            for (String string : strings) {
+                byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+                bytesOut.writeInt(utf8.length);
+                bytesOut.write(utf8);
+            }
+            sections.writeTo(bytesOut);
+            bytesOut.flush();
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Reads the string table, and then the records of each section into their json-friendly form.
+     */
+    private static class Decoder {
+        private final ByteBuffer in;
+        private int version;
+        private String[] strings;
+
+        private Decoder(ByteBuffer in) {
+            this.in = in;
+        }
+
+        private JsonSerializableQuickDocs readSections(Set<DataSection> dataSections) throws IllegalValueException {
+            if (in.remaining() < Integer.BYTES || in.getInt() != MAGIC_NUMBER) {
+                throw new IllegalValueException("Data is not in the binary QuickDocs format");
+            }
+            version = in.getInt();
+            if (version > FORMAT_VERSION) {
+                throw new IllegalValueException("Binary data is in version " + version
+                        + " of the format, which is newer than this version of QuickDocs");
+            }
+
+            strings = new String[readCount()];
+            byte[] data = in.array();
+            for (int i = 0; i < strings.length; i++) {
+                int length = readCount();
+                strings[i] = new String(data, in.position(), length, StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+            }
+
+            Map<DataSection, ByteBuffer> sections = new EnumMap<>(DataSection.class);
+            while (in.hasRemaining()) {
+                String name = readString();
+                int length = readCount();
+                ByteBuffer content = in.slice();
+                content.limit(length);
+                in.position(in.position() + length);
+                for (DataSection dataSection : DataSection.values()) {
+                    if (dataSection.getFileName().equals(name)) {
+                        sections.put(dataSection, content);
+                    }
+                }
+            }
+            for (DataSection dataSection : dataSections) {
+                if (!sections.containsKey(dataSection)) {
+                    throw new IllegalValueException("Binary data has no " + dataSection.getFileName());
+                }
+            }
+
+            List<JsonAdaptedPatient> patients = new ArrayList<>();
+            List<JsonAdaptedConsultation> consultations = new ArrayList<>();
+            List<JsonAdaptedAppointment> appointments = new ArrayList<>();
+            List<JsonAdaptedReminder> reminders = new ArrayList<>();
+            List<JsonAdaptedMedicine> medicines = new ArrayList<>();
+            List<JsonAdaptedMonthStatistics> monthStatisticsList = new ArrayList<>();
+
+            int archivedConsultationCount = 0;
+            JsonAdaptedDirectory rootDirectory = null;
+            BigDecimal consultationFee = null;
+            if (dataSections.contains(DataSection.PATIENTS)) {
+                ByteBuffer section = sections.get(DataSection.PATIENTS);
+                for (int i = readCount(section); i > 0; i--) {
+                    patients.add(readPatient(section));
+                }
+            }
+
+            if (dataSections.contains(DataSection.CONSULTATIONS)) {
+                ByteBuffer section = sections.get(DataSection.CONSULTATIONS);
+                for (int i = readCount(section); i > 0; i--) {
+                    consultations.add(readConsultation(section));
+                }
+                if (version >= 2) {
+                    archivedConsultationCount = section.getInt();
+                }
+            }
+
+            if (dataSections.contains(DataSection.APPOINTMENTS)) {
+                ByteBuffer section = sections.get(DataSection.APPOINTMENTS);
+                for (int i = readCount(section); i > 0; i--) {
+                    String nric = null;
+                    Patient patient = null;
+                    if (section.get() == PATIENT_REFERRED) {
+                        nric = readString(section);
+                    } else {
+                        patient = readPatient(section).toModelType();
+                    }
+                    appointments.add(new JsonAdaptedAppointment(patient, nric, readString(section), readString(section),
+                            readString(section), readString(section)));
+                }
+            }
+
+            if (dataSections.contains(DataSection.REMINDERS)) {
+                ByteBuffer section = sections.get(DataSection.REMINDERS);
+                for (int i = readCount(section); i > 0; i--) {
+                    String title = readString(section);
+                    String comment = readString(section);
+                    reminders.add(new JsonAdaptedReminder(title, comment, readString(section), readString(section),
+                            readString(section)));
+                }
+            }
+
+            if (dataSections.contains(DataSection.MEDICINES)) {
+                ByteBuffer section = sections.get(DataSection.MEDICINES);
+                for (int i = readCount(section); i > 0; i--) {
+                    medicines.add(new JsonAdaptedMedicine(readString(section), section.getInt(), section.getInt(),
+                            readDecimal(section)));
+                }
+                rootDirectory = readDirectory(section);
+            }
+
+            if (dataSections.contains(DataSection.STATISTICS)) {
+                ByteBuffer section = sections.get(DataSection.STATISTICS);
+                for (int i = readCount(section); i > 0; i--) {
+                    YearMonth yearMonth = YearMonth.parse(readString(section));
+                    monthStatisticsList.add(new JsonAdaptedMonthStatistics(yearMonth, new JsonAdaptedStatistics(
+                            section.getInt(), readDecimal(section), readDecimal(section), readCounts(section),
+                            readCounts(section))));
+                }
+                consultationFee = readDecimal(section);
+            }
+
+            return new JsonSerializableQuickDocs(JsonSerializableQuickDocs.FORMAT_VERSION, patients, consultations,
+                    archivedConsultationCount, appointments, reminders, medicines, rootDirectory, monthStatisticsList,
+                    consultationFee);
+        }
+
+        private JsonAdaptedPatient readPatient(ByteBuffer section) {
+            String name = readString(section);
+            String nric = readString(section);
+            String email = readString(section);
+            String address = readString(section);
+            String contact = readString(section);
+            String gender = readString(section);
+            String dob = readString(section);
+            List<JsonAdaptedTag> tags = new ArrayList<>();
+            for (int i = readCount(section); i > 0; i--) {
+                tags.add(new JsonAdaptedTag(readString(section)));
+            }
+            return new JsonAdaptedPatient(name, nric, email, address, contact, gender, dob, tags);
+        }
+
+        private JsonAdaptedConsultation readConsultation(ByteBuffer section) throws IllegalValueException {
+            int index = section.getInt();
+            String session = readString(section);
+            String nric = null;
+            Patient patient = null;
+            if (section.get() == PATIENT_REFERRED) {
+                nric = readString(section);
+            } else {
+                patient = readPatient(section).toModelType();
+            }
+
+            Diagnosis diagnosis = null;
+            if (section.get() != 0) {
+                String assessment = readString(section);
+                int symptomCount = section.getInt();
+                if (symptomCount < 0) {
+                    diagnosis = new Diagnosis();
+                } else {
+                    ArrayList<Symptom> symptoms = new ArrayList<>();
+                    for (int i = 0; i < symptomCount; i++) {
+                        symptoms.add(new Symptom(readString(section)));
+                    }
+                    diagnosis = new Diagnosis(assessment == null ? null : new Assessment(assessment), symptoms);
+                }
+            }
+
+            List<Prescription> prescriptions = null;
+            int prescriptionCount = section.getInt();
+            if (prescriptionCount >= 0) {
+                prescriptions = new ArrayList<>();
+                for (int i = 0; i < prescriptionCount; i++) {
+                    Medicine medicine = new Medicine(readString(section), section.getInt());
+                    medicine.setThreshold(section.getInt());
+                    BigDecimal price = readDecimal(section);
+                    if (price != null) {
+                        medicine.setPrice(price);
+                    }
+                    prescriptions.add(new Prescription(medicine, section.getInt()));
+                }
+            }
+
+            return new JsonAdaptedConsultation(index, session == null ? null : LocalDateTime.parse(session),
+                    patient, nric, diagnosis, prescriptions);
+        }
+
+        private JsonAdaptedDirectory readDirectory(ByteBuffer section) {
+            String name = readString(section);
+            Optional<Integer> threshold = section.get() != 0 ? Optional.of(section.getInt()) : Optional.empty();
+            List<String> medicineNames = new ArrayList<>();
+            for (int i = readCount(section); i > 0; i--) {
+                medicineNames.add(readString(section));
+            }
+            List<JsonAdaptedDirectory> subDirectories = new ArrayList<>();
+            for (int i = readCount(section); i > 0; i--) {
+                subDirectories.add(readDirectory(section));
+            }
+            return new JsonAdaptedDirectory(name, threshold, medicineNames, subDirectories);
+        }
+
+        private HashMap<String, Integer> readCounts(ByteBuffer section) {
+            int size = section.getInt();
+            if (size < 0) {
+                return null;
+            }
+            HashMap<String, Integer> counts = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                counts.put(readString(section), section.getInt());
+            }
+            return counts;
+        }
+
+        private BigDecimal readDecimal(ByteBuffer section) {
+            String decimal = readString(section);
+            return decimal == null ? null : new BigDecimal(decimal);
+        }
+
+        private String readString() {
+            return readString(in);
+        }
+
+        private String readString(ByteBuffer buffer) {
+            int index = buffer.getInt();
+            return index < 0 ? null : strings[index];
+        }
+
+        private int readCount() {
+            return readCount(in);
+        }
+
+        /**
+         * Reads a number of elements or bytes, which cannot be negative.
+         */
+        private int readCount(ByteBuffer buffer) {
+            int count = buffer.getInt();
+            if (count < 0 || count > in.capacity()) {
+                throw new IndexOutOfBoundsException("Invalid count " + count);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package quickdocs.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import quickdocs.commons.core.LogsCenter;
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.util.FileUtil;
+
+/**
+ * Keeps the previous versions of a data file as backups, which are rotated each time the data file is replaced,
+ * and reads the data back from the newest file that can be read if the data file cannot.
+ * Backups are named after the data file, from {@code .bak1} for the newest to {@code .bak<count>} for the oldest.
+ */
+class DataFileBackups {
+    static final String BACKUP_FILE_SUFFIX = ".bak";
+
+    private static final Logger logger = LogsCenter.getLogger(DataFileBackups.class);
+
+    private final Path filePath;
+    private final int count;
+
+    DataFileBackups(Path filePath, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Backup count cannot be negative");
+        }
+        this.filePath = filePath;
+        this.count = count;
+    }
+
+    /**
+     * Returns the paths of the backups, from the newest to the oldest.
+     */
+    List<Path> getBackupFilePaths() {
+        List<Path> backupFilePaths = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            backupFilePaths.add(filePath.resolveSibling(filePath.getFileName() + BACKUP_FILE_SUFFIX + i));
+        }
+        return backupFilePaths;
+    }
+
+    /**
+     * Keeps the data file as the newest backup, shifting each backup to the next older one and deleting the
+     * oldest. The data file is hard linked to the newest backup, or copied to it and forced to the disk if it
+     * cannot be linked, so that it stays in place. This is to be done once the new data file is written to its
+     * temporary file, so that a failed write neither rotates the backups out nor leaves no data file.
+     * Nothing is done if the data file does not exist.
+     */
+    void rotate() throws IOException {
+        if (count == 0 || !Files.exists(filePath)) {
+            return;
+        }
+
+        List<Path> backupFilePaths = getBackupFilePaths();
+        Files.deleteIfExists(backupFilePaths.get(count - 1));
+        for (int i = count - 1; i > 0; i--) {
+            if (Files.exists(backupFilePaths.get(i - 1))) {
+                Files.move(backupFilePaths.get(i - 1), backupFilePaths.get(i), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        Path newestBackup = backupFilePaths.get(0);
+        Files.deleteIfExists(newestBackup);
+        try {
+            Files.createLink(newestBackup, filePath);
+        } catch (UnsupportedOperationException | IOException e) {
+            logger.fine("Could not link " + filePath + " to " + newestBackup + ", copying it instead: " + e);
+            Files.copy(filePath, newestBackup, StandardCopyOption.REPLACE_EXISTING);
+            try (FileChannel channel = FileChannel.open(newestBackup, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Reads the data from the newest file that can be read, trying the data file, then the temporary file of a
+     * write that was interrupted after it completed, and then the backups from the newest.
+     *
+     * @return {@code Optional.empty()} if none of these files exist.
+     * @throws DataConversionException if none of the files that exist can be read, with the error of the newest.
+     */
+    <T> Optional<T> readNewest(Reader<T> reader) throws DataConversionException {
+        List<Path> candidates = new ArrayList<>();
+        candidates.add(filePath);
+        candidates.add(FileUtil.getTempFilePath(filePath));
+        candidates.addAll(getBackupFilePaths());
+
+        DataConversionException newestError = null;
+        for (Path candidate : candidates) {
+            if (!Files.exists(candidate)) {
+                continue;
+            }
+            try {
+                T data = reader.read(candidate);
+                if (!candidate.equals(filePath)) {
+                    logger.warning("Recovered data from " + candidate + " as " + filePath + " could not be read");
+                }
+                return Optional.of(data);
+            } catch (DataConversionException dce) {
+                logger.warning("Could not read data from " + candidate + ": " + dce.getMessage());
+                if (newestError == null) {
+                    newestError = dce;
+                }
+            }
+        }
+
+        if (newestError != null) {
+            throw newestError;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Represents the reading of the data in a file that exists.
+     */
+    @FunctionalInterface
+    interface Reader<T> {
+        T read(Path file) throws DataConversionException;
+    }
+}
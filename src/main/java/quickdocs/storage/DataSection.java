@@ -0,0 +1,77 @@
+package quickdocs.storage;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import quickdocs.model.Change;
+
+/**
+ * Sections of the QuickDocs data that are stored in files of their own, one for each manager,
+ * so that a section is only written again when it is modified.
+ */
+enum DataSection {
+    PATIENTS("patients"),
+    CONSULTATIONS("consultations"),
+    APPOINTMENTS("appointments"),
+    REMINDERS("reminders"),
+    MEDICINES("medicines"),
+    STATISTICS("statistics");
+
+    private final String fileName;
+
+    DataSection(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Returns the name of the section as used in the names of its files.
+     */
+    String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Returns the sections whose stored data is outdated by the given change.
+     * Consultations and appointments refer to their patient by NRIC, so removing a patient from the list, or
+     * changing its NRIC, also outdates them: their records are written again with the patient embedded.
+     */
+    static Set<DataSection> affectedBy(Change change) {
+        switch (change.getType()) {
+        case ADD_PATIENT:
+            return EnumSet.of(PATIENTS);
+
+        case REPLACE_PATIENT:
+            if (change.getNric().equals(change.getPatient().getNric().toString())) {
+                return EnumSet.of(PATIENTS);
+            }
+            return EnumSet.of(PATIENTS, CONSULTATIONS, APPOINTMENTS);
+
+        case DELETE_PATIENT:
+            return EnumSet.of(PATIENTS, CONSULTATIONS, APPOINTMENTS);
+
+        case ADD_CONSULTATION:
+        case ARCHIVE_CONSULTATIONS:
+            return EnumSet.of(CONSULTATIONS);
+
+        case ADD_APPOINTMENT:
+        case DELETE_APPOINTMENT:
+            return EnumSet.of(APPOINTMENTS);
+
+        case ADD_REMINDER:
+        case DELETE_REMINDER:
+            return EnumSet.of(REMINDERS);
+
+        case UPDATE_MEDICINE:
+        case ADD_DIRECTORY:
+        case SET_DIRECTORY_THRESHOLD:
+        case UPDATE_MEDICINES:
+            return EnumSet.of(MEDICINES);
+
+        case UPDATE_STATISTICS:
+            return EnumSet.of(STATISTICS);
+
+        default:
+            return EnumSet.allOf(DataSection.class);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import quickdocs.commons.util.FileUtil;
+import quickdocs.model.medicine.Directory;
+import quickdocs.model.medicine.Medicine;
+
+/**
+ * Writes the medicine storage to a formulary catalogue file, in the format read by {@link FormularyImportReader}.
+ * The directories are written depth first, each directory followed by its medicines and then its
+ * sub-directories, one row at a time without holding the rows in memory.
+ * A directory is written as a row without a medicine name, and is left out if it is the root directory
+ * without an alarm level. A medicine is written with its price, quantity and alarm level where it first
+ * appears, and by its name alone in any other directory it is in.
+ */
+public class FormularyExportWriter {
+    public static final String CSV_HEADER = "path,name,price,quantity,threshold";
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private final Path filePath;
+    private final boolean isJson;
+    private final Set<Medicine> medicinesWritten = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int rowCount;
+    private BufferedWriter csvWriter;
+    private JsonGenerator jsonGenerator;
+
+    public FormularyExportWriter(Path filePath) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+        this.isJson = filePath.toString().toLowerCase().endsWith(".json");
+    }
+
+    /**
+     * Writes the given root directory and everything under it to the file, replacing the file if it exists.
+     *
+     * @return the number of rows written.
+     * @throws IOException if the file cannot be written.
+     */
+    public int write(Directory root) throws IOException {
+        requireNonNull(root);
+        FileUtil.createParentDirsOfFile(filePath);
+        medicinesWritten.clear();
+        rowCount = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
+            if (isJson) {
+                jsonGenerator = jsonFactory.createGenerator(writer).useDefaultPrettyPrinter();
+                jsonGenerator.writeStartArray();
+                writeDirectory(root, new ArrayList<>(), true);
+                jsonGenerator.writeEndArray();
+                jsonGenerator.close();
+            } else {
+                csvWriter = writer;
+                csvWriter.write(CSV_HEADER);
+                csvWriter.newLine();
+                writeDirectory(root, new ArrayList<>(), true);
+            }
+        } finally {
+            csvWriter = null;
+            jsonGenerator = null;
+        }
+        return rowCount;
+    }
+
+    /**
+     * Writes the row of the directory, the rows of its medicines, and then its sub-directories.
+     *
+     * @param path the names of the directories above the directory, which the directory's name is added to
+     *             while its rows are written.
+     */
+    private void writeDirectory(Directory directory, List<String> path, boolean isRoot) throws IOException {
+        path.add(directory.name);
+        String pathString = String.join("\\", path);
+        if (!isRoot || directory.getThreshold().isPresent()) {
+            writeRow(pathString, null, null, Optional.empty(), directory.getThreshold());
+        }
+        for (Medicine medicine : directory.getListOfMedicine()) {
+            if (medicinesWritten.add(medicine)) {
+                writeRow(pathString, medicine.name, medicine.getPrice(), Optional.of(medicine.getQuantity()),
+                        Optional.of(medicine.getThreshold()));
+            } else {
+                writeRow(pathString, medicine.name, null, Optional.empty(), Optional.empty());
+            }
+        }
+        for (Directory subDirectory : directory.getListOfDirectory()) {
+            writeDirectory(subDirectory, path, false);
+        }
+        path.remove(path.size() - 1);
+    }
+
+    /**
+     * Writes one row, leaving out the values that are {@code null} or empty.
+     */
+    private void writeRow(String path, String name, BigDecimal price, Optional<Integer> quantity,
+                          Optional<Integer> threshold) throws IOException {
+        rowCount++;
+        if (isJson) {
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeStringField("path", path);
+            if (name != null) {
+                jsonGenerator.writeStringField("name", name);
+            }
+            if (price != null) {
+                jsonGenerator.writeStringField("price", price.toPlainString());
+            }
+            if (quantity.isPresent()) {
+                jsonGenerator.writeNumberField("quantity", quantity.get());
+            }
+            if (threshold.isPresent()) {
+                jsonGenerator.writeNumberField("threshold", threshold.get());
+            }
+            jsonGenerator.writeEndObject();
+            return;
+        }
+
+        csvWriter.write(toCsvValue(path));
+        csvWriter.write(',');
+        csvWriter.write(name == null ? "" : toCsvValue(name));
+        csvWriter.write(',');
+        csvWriter.write(price == null ? "" : price.toPlainString());
+        csvWriter.write(',');
+        csvWriter.write(quantity.map(String::valueOf).orElse(""));
+        csvWriter.write(',');
+        csvWriter.write(threshold.map(String::valueOf).orElse(""));
+        csvWriter.newLine();
+    }
+
+    /**
+     * Encloses the value in double quotes if it contains commas or double quotes, doubling the double quotes.
+     */
+    static String toCsvValue(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
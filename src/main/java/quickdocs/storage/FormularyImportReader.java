@@ -0,0 +1,80 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the rows of a formulary catalogue file, without checking their values.
+ * Files ending with {@code .json} hold an array of objects with the fields {@code path}, {@code name},
+ * {@code price}, {@code quantity} and {@code threshold}. Any other file is read as CSV, one row per line
+ * in the order {@code path,name,price,quantity,threshold}, with an optional header line. Values containing
+ * commas or double quotes are enclosed in double quotes, with the double quotes inside them doubled.
+ */
+public class FormularyImportReader {
+    public static final String CSV_HEADER_FIRST_COLUMN = "path";
+
+    private static final int PATH = 0;
+    private static final int NAME = 1;
+    private static final int PRICE = 2;
+    private static final int QUANTITY = 3;
+    private static final int THRESHOLD = 4;
+
+    private final Path filePath;
+
+    public FormularyImportReader(Path filePath) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+    }
+
+    /**
+     * Reads all the rows of the file, in the order they appear.
+     *
+     * @throws IOException if the file cannot be read or is not valid JSON.
+     */
+    public List<Row> readRows() throws IOException {
+        ImportFileReader reader =
+                new ImportFileReader(filePath, CSV_HEADER_FIRST_COLUMN, "name", "price", "quantity", "threshold");
+        return reader.readRows().stream()
+                .map(Row::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The raw values of one row of a formulary catalogue file. Missing and blank values are {@code null}.
+     */
+    public static class Row {
+        private final ImportFileReader.Row values;
+
+        private Row(ImportFileReader.Row values) {
+            this.values = values;
+        }
+
+        public int getRowNumber() {
+            return values.getRowNumber();
+        }
+
+        public String getPath() {
+            return values.getValue(PATH);
+        }
+
+        public String getName() {
+            return values.getValue(NAME);
+        }
+
+        public String getPrice() {
+            return values.getValue(PRICE);
+        }
+
+        public String getQuantity() {
+            return values.getValue(QUANTITY);
+        }
+
+        public String getThreshold() {
+            return values.getValue(THRESHOLD);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads the rows of an import file with the given columns, without checking their values.
+ * Files ending with {@code .json} hold an array of objects with a field for each column. Any other file is read
+ * as CSV, one row per line with the columns in order, and an optional header line starting with the first column.
+ * Values containing commas or double quotes are enclosed in double quotes, with the double quotes inside them
+ * doubled, except that commas are also allowed unquoted in the last column.
+ */
+class ImportFileReader {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Path filePath;
+    private final String[] columns;
+
+    ImportFileReader(Path filePath, String... columns) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+        this.columns = columns.clone();
+    }
+
+    /**
+     * Reads all the rows of the file, in the order they appear.
+     *
+     * @throws IOException if the file cannot be read or is not valid JSON.
+     */
+    List<Row> readRows() throws IOException {
+        if (filePath.toString().toLowerCase(Locale.ROOT).endsWith(".json")) {
+            return readJsonRows();
+        }
+        return readCsvRows();
+    }
+
+    /**
+     * Reads the file line by line, numbering each row by its line in the file.
+     * Blank lines and the header line are skipped.
+     */
+    private List<Row> readCsvRows() throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+
+                List<String> values = splitCsvLine(line, columns.length);
+                if (lineNumber == 1 && values.get(0).trim().equalsIgnoreCase(columns[0])) {
+                    continue;
+                }
+                String[] rowValues = new String[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    rowValues[i] = i < values.size() ? toValue(values.get(i)) : null;
+                }
+                rows.add(new Row(lineNumber, rowValues));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Splits a CSV line into at most {@code columnCount} values, removing the double quotes enclosing a value.
+     * The commas after the start of the last value are kept in it.
+     */
+    static List<String> splitCsvLine(String line, int columnCount) {
+        List<String> values = new ArrayList<>(columnCount);
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append(c);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && value.toString().trim().isEmpty()) {
+                // only a double quote starting a value encloses it
+                value.setLength(0);
+                quoted = true;
+            } else if (c == ',' && values.size() < columnCount - 1) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * Reads the objects of the top-level JSON array one at a time, numbering each row by its position in the array.
+     */
+    private List<Row> readJsonRows() throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8);
+             MappingIterator<JsonNode> nodes = objectMapper.readerFor(JsonNode.class).readValues(reader)) {
+            int rowNumber = 0;
+            while (nodes.hasNextValue()) {
+                JsonNode node = nodes.nextValue();
+                rowNumber++;
+                String[] rowValues = new String[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    JsonNode value = node.get(columns[i]);
+                    rowValues[i] = value == null || value.isNull() ? null : toValue(value.asText());
+                }
+                rows.add(new Row(rowNumber, rowValues));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the given value without surrounding whitespace, or null if it is blank.
+     */
+    private static String toValue(String text) {
+        String value = text.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * The raw values of one row of an import file, in the order of the columns. Missing and blank values are
+     * {@code null}.
+     */
+    static class Row {
+        private final int rowNumber;
+        private final String[] values;
+
+        Row(int rowNumber, String[] values) {
+            this.rowNumber = rowNumber;
+            this.values = values;
+        }
+
+        int getRowNumber() {
+            return rowNumber;
+        }
+
+        /**
+         * Returns the value of the column with the given index.
+         */
+        String getValue(int column) {
+            return values[column];
+        }
+    }
+}
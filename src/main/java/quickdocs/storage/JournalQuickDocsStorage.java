@@ -0,0 +1,650 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import quickdocs.commons.core.Config.DataFormat;
+import quickdocs.commons.core.LogsCenter;
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.commons.util.FileUtil;
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.model.Change;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.medicine.Medicine;
+
+/**
+ * A class to access QuickDocs data stored as a json snapshot and a journal of the changes made since.
+ * Each save appends the recorded {@link Change}s of the {@code QuickDocs} to the journal as one json object
+ * per line, so that it writes only what was modified. Once the journal holds enough entries, it is compacted:
+ * the snapshot is updated and the journal is deleted. Reading the data loads the snapshot and replays the
+ * journal over it.
+ *
+ * The snapshot is split into one json file for each {@link DataSection}, which are listed by a manifest stored
+ * in the data file. Compaction only writes new files for the sections modified since the last compaction, and
+ * then replaces the manifest, so the snapshot switches to all of them at once. The manifest is replaced
+ * atomically and backed up in the same way as the file written by {@link JsonQuickDocsStorage}, and the section
+ * files are kept for as long as the manifest or one of its backups lists them. A data file written by
+ * {@link JsonQuickDocsStorage}, which holds all data, is still read, and is split at the next save.
+ *
+ * Section files are written in json, or in the format of {@link BinaryQuickDocsCodec}, which is loaded faster.
+ * Each section file is read in the format given by its extension, so the manifest and the journal stay the same
+ * whichever format is used, and the sections are written again in the format of this storage at the next save.
+ */
+public class JournalQuickDocsStorage implements QuickDocsStorage {
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+    public static final String JOURNAL_FILE_SUFFIX = ".journal";
+    public static final String UNREPLAYED_JOURNAL_SUFFIX = ".unreplayed";
+    private static final String JSON_FILE_EXTENSION = ".json";
+    private static final String BINARY_FILE_EXTENSION = ".bin";
+
+    private static final Logger logger = LogsCenter.getLogger(JournalQuickDocsStorage.class);
+
+    private final Path filePath;
+    private final Path journalFilePath;
+    private final int compactionThreshold;
+    private final DataFileBackups backups;
+    private final DataFormat sectionFormat;
+    private final String sectionFilePrefix;
+    private final Pattern sectionFilePattern;
+
+    // the QuickDocs whose data is on disk, which the recorded changes of the next save are relative to,
+    // cleared by a failed write, which may run on another thread
+    private volatile QuickDocs persistedQuickDocs;
+    private int journalEntries;
+    // appends entries to the journal written against the generation of the manifest on disk, one for each
+    // generation, so that the saves appending to the same journal are written together
+    private PendingSave.Append journalAppend = appendToJournalOf(0);
+    // the section files listed by the manifest last read or prepared, and the sections modified since
+    private final Map<DataSection, String> sectionFiles = new EnumMap<>(DataSection.class);
+    private final EnumSet<DataSection> modifiedSections = EnumSet.noneOf(DataSection.class);
+    private int generation;
+
+    public JournalQuickDocsStorage(Path filePath) {
+        this(filePath, DataFormat.JSON);
+    }
+
+    /**
+     * Creates a journal storage that writes the section files in the given format.
+     */
+    public JournalQuickDocsStorage(Path filePath, DataFormat sectionFormat) {
+        this(filePath, DEFAULT_COMPACTION_THRESHOLD, JsonQuickDocsStorage.DEFAULT_BACKUP_COUNT, sectionFormat);
+    }
+
+    /**
+     * Creates a journal storage that compacts the journal once it holds {@code compactionThreshold} entries.
+     */
+    public JournalQuickDocsStorage(Path filePath, int compactionThreshold) {
+        this(filePath, compactionThreshold, JsonQuickDocsStorage.DEFAULT_BACKUP_COUNT);
+    }
+
+    /**
+     * Creates a journal storage that compacts the journal once it holds {@code compactionThreshold} entries,
+     * and keeps {@code backupCount} backups of the snapshot file.
+     */
+    public JournalQuickDocsStorage(Path filePath, int compactionThreshold, int backupCount) {
+        this(filePath, compactionThreshold, backupCount, DataFormat.JSON);
+    }
+
+    /**
+     * Creates a journal storage that compacts the journal once it holds {@code compactionThreshold} entries,
+     * keeps {@code backupCount} backups of the snapshot file, and writes the section files in the given format.
+     */
+    public JournalQuickDocsStorage(Path filePath, int compactionThreshold, int backupCount,
+                                   DataFormat sectionFormat) {
+        requireNonNull(filePath);
+        requireNonNull(sectionFormat);
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Compaction threshold must be positive");
+        }
+        this.filePath = filePath;
+        this.journalFilePath = filePath.resolveSibling(filePath.getFileName() + JOURNAL_FILE_SUFFIX);
+        this.compactionThreshold = compactionThreshold;
+        this.backups = new DataFileBackups(filePath, backupCount);
+        this.sectionFormat = sectionFormat;
+
+        String fileName = filePath.getFileName().toString();
+        this.sectionFilePrefix = fileName.endsWith(JSON_FILE_EXTENSION)
+                ? fileName.substring(0, fileName.length() - JSON_FILE_EXTENSION.length())
+                : fileName;
+        this.sectionFilePattern = Pattern.compile(Pattern.quote(sectionFilePrefix) + "\\.[a-z]+\\.(\\d+)("
+                + Pattern.quote(JSON_FILE_EXTENSION) + "|" + Pattern.quote(BINARY_FILE_EXTENSION) + ")("
+                + Pattern.quote(FileUtil.TEMP_FILE_SUFFIX) + ")?");
+    }
+
+    @Override
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    public Path getJournalFilePath() {
+        return journalFilePath;
+    }
+
+    /**
+     * Returns the number of entries in the journal since it was last compacted.
+     */
+    public int getJournalEntries() {
+        return journalEntries;
+    }
+
+    /**
+     * Returns the file the given section is stored in, as listed by the manifest last read or saved.
+     */
+    Optional<Path> getSectionFilePath(DataSection section) {
+        return Optional.ofNullable(sectionFiles.get(section)).map(filePath::resolveSibling);
+    }
+
+    /**
+     * Returns the data in the snapshot file, with the changes in the journal applied in order.
+     * If the snapshot file cannot be read, the newest of its backups that can be read is used instead.
+     * An incomplete last entry, left behind when QuickDocs stopped while appending to the journal, is ignored,
+     * and the journal is compacted at the next save so that no entry follows it. The journal is only replayed over
+     * the snapshot it was written against: it is ignored if it was already compacted into the snapshot read, and
+     * set aside with a warning if it was written against a newer snapshot that could not be read, as replaying it
+     * would skip the changes in that snapshot. A snapshot in an older format,
+     * not split into sections, with sections in another format than this storage writes, or read from a backup,
+     * is also written again at the next save.
+     *
+     * @throws DataConversionException if either file is not in the correct format.
+     * @throws IOException if there was an error reading the journal.
+     */
+    @Override
+    public Optional<QuickDocs> readQuickDocs() throws DataConversionException, IOException {
+        Optional<Snapshot> snapshot = backups.readNewest(Snapshot::read);
+        if (!snapshot.isPresent() && !Files.exists(journalFilePath)) {
+            return Optional.empty();
+        }
+
+        QuickDocs quickDocs = snapshot.isPresent() ? snapshot.get().quickDocs : new QuickDocs();
+        boolean isJournalComplete = replayJournal(quickDocs, snapshot.orElse(null));
+        boolean isCurrentSnapshot = !snapshot.isPresent() || (snapshot.get().file.equals(filePath)
+                && snapshot.get().sectionFiles != null
+                && snapshot.get().sectionFiles.values().stream().allMatch(this::isInSectionFormat)
+                && snapshot.get().version == JsonSerializableQuickDocs.FORMAT_VERSION);
+
+        sectionFiles.clear();
+        modifiedSections.clear();
+        journalAppend = appendToJournalOf(snapshot.isPresent() ? snapshot.get().generation : 0);
+        generation = 0;
+        if (snapshot.isPresent() && snapshot.get().sectionFiles != null) {
+            sectionFiles.putAll(snapshot.get().sectionFiles);
+            generation = snapshot.get().generation;
+        }
+        // files of a newer snapshot that could not be read are never written over
+        for (Path sectionFile : getSectionFilesOnDisk()) {
+            generation = Math.max(generation, getGeneration(sectionFile));
+        }
+        persistedQuickDocs = isJournalComplete && isCurrentSnapshot ? quickDocs : null;
+        return Optional.of(quickDocs);
+    }
+
+    /**
+     * Applies the entries of the journal to the given {@code QuickDocs}, if the journal exists and was written
+     * against the given snapshot, which is null if there is none.
+     *
+     * @return false if the journal was not replayed, or if its last entry is incomplete, true otherwise.
+     */
+    private boolean replayJournal(QuickDocs quickDocs, Snapshot snapshot) throws DataConversionException,
+            IOException {
+        journalEntries = 0;
+        if (!Files.exists(journalFilePath)) {
+            return true;
+        }
+
+        int loadedGeneration = snapshot == null ? 0 : snapshot.generation;
+        Optional<JsonSerializableJournalHeader> header = readJournalHeader();
+        if (header.isPresent() && header.get().getSnapshotGeneration() < loadedGeneration) {
+            logger.info("Ignoring " + journalFilePath + ", which is already compacted into the snapshot");
+            return false;
+        } else if ((header.isPresent() && header.get().getSnapshotGeneration() > loadedGeneration)
+                || (!header.isPresent() && snapshot != null && !snapshot.file.equals(filePath))) {
+            Path unreplayedJournalFilePath = journalFilePath.resolveSibling(journalFilePath.getFileName()
+                    + UNREPLAYED_JOURNAL_SUFFIX);
+            Files.move(journalFilePath, unreplayedJournalFilePath, StandardCopyOption.REPLACE_EXISTING);
+            logger.warning("Changes in " + unreplayedJournalFilePath + " were not applied, as they were made after"
+                    + " a newer snapshot than the one recovered");
+            return false;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(journalFilePath, StandardCharsets.UTF_8)) {
+            boolean isHeaderSkipped = !header.isPresent();
+            String line = reader.readLine();
+            while (line != null) {
+                String nextLine = reader.readLine();
+                if (line.trim().isEmpty()) {
+                    line = nextLine;
+                    continue;
+                }
+                if (!isHeaderSkipped) {
+                    isHeaderSkipped = true;
+                    line = nextLine;
+                    continue;
+                }
+
+                JsonAdaptedChange change;
+                try {
+                    change = JsonUtil.fromJsonString(line, JsonAdaptedChange.class);
+                } catch (IOException ioe) {
+                    if (nextLine == null) {
+                        logger.warning("Ignoring incomplete last entry of " + journalFilePath + ": " + ioe);
+                        return false;
+                    }
+                    throw new DataConversionException(ioe);
+                }
+
+                try {
+                    change.applyTo(quickDocs);
+                } catch (IllegalValueException | IllegalArgumentException ie) {
+                    logger.info("Illegal values found in " + journalFilePath + ": " + ie.getMessage());
+                    throw new DataConversionException(ie);
+                }
+                journalEntries++;
+                line = nextLine;
+            }
+        }
+        logger.fine("Replayed " + journalEntries + " entries of " + journalFilePath);
+        return true;
+    }
+
+    /**
+     * Returns the header on the first line of the journal, which exists. A journal written before headers were
+     * added, or whose first line is incomplete, has none.
+     */
+    private Optional<JsonSerializableJournalHeader> readJournalHeader() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(journalFilePath, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (line != null && line.trim().isEmpty()) {
+                line = reader.readLine();
+            }
+            if (line == null) {
+                return Optional.empty();
+            }
+            return Optional.of(JsonUtil.fromJsonString(line, JsonSerializableJournalHeader.class))
+                    .filter(JsonSerializableJournalHeader::isHeader);
+        } catch (JsonProcessingException jpe) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Appends the changes recorded in {@code quickDocs} to the journal, compacting it if it holds enough entries.
+     * The whole {@code quickDocs} is written to the snapshot instead if it is not the {@code QuickDocs}
+     * last read or saved by this storage, or if it was modified without recording its changes. The sections
+     * modified since the last compaction are written instead if consultations were archived.
+     */
+    @Override
+    public void saveQuickDocs(QuickDocs quickDocs) throws IOException {
+        prepareSave(quickDocs).write();
+    }
+
+    /**
+     * Captures the journal entries of the changes recorded in {@code quickDocs}, or the whole {@code quickDocs}
+     * in the same cases as {@link #saveQuickDocs(QuickDocs)}. If the write of a save fails, the next save
+     * prepared writes the whole {@code QuickDocs}, as the journal may be missing entries.
+     */
+    @Override
+    public PendingSave prepareSave(QuickDocs quickDocs) {
+        requireNonNull(quickDocs);
+
+        List<Change> changes = quickDocs.getChanges();
+        if (quickDocs != persistedQuickDocs || changes.isEmpty() || !Files.exists(filePath)) {
+            return prepareCompaction(quickDocs, EnumSet.allOf(DataSection.class));
+        }
+        if (changes.stream().anyMatch(change -> change.getType() == Change.Type.ARCHIVE_CONSULTATIONS)) {
+            // archived consultations are to be removed from the consultations section, which a journal entry cannot
+            // do, so the modified sections are written again at this save
+            for (Change change : changes) {
+                modifiedSections.addAll(DataSection.affectedBy(change));
+            }
+            return prepareCompaction(quickDocs, modifiedSections);
+        }
+
+        // entries that only update a medicine, or the statistics, hold them as they are now, so the last of them
+        // is enough for each medicine and for the statistics
+        Set<Medicine> updatedMedicines = Collections.newSetFromMap(new IdentityHashMap<>());
+        boolean hasStatisticsEntry = false;
+        List<JsonAdaptedChange> entries = new ArrayList<>();
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            Change change = changes.get(i);
+            if (change.getType() == Change.Type.UPDATE_MEDICINE && change.getPath() == null
+                    && !updatedMedicines.add(change.getMedicine())) {
+                continue;
+            } else if (change.getType() == Change.Type.UPDATE_STATISTICS) {
+                if (hasStatisticsEntry) {
+                    continue;
+                }
+                hasStatisticsEntry = true;
+            }
+            entries.add(new JsonAdaptedChange(change, quickDocs));
+        }
+        Collections.reverse(entries);
+        for (Change change : changes) {
+            modifiedSections.addAll(DataSection.affectedBy(change));
+        }
+
+        journalEntries += entries.size();
+        if (journalEntries >= compactionThreshold) {
+            return prepareCompaction(quickDocs, modifiedSections);
+        }
+        return PendingSave.ofChanges(entries, journalAppend);
+    }
+
+    /**
+     * Returns an append of entries to the journal written against the snapshot of the given generation, which
+     * writes the header of the journal first if the journal is empty. If the append fails, the next save
+     * prepared writes the whole {@code QuickDocs}, as the journal may be missing entries.
+     */
+    private PendingSave.Append appendToJournalOf(int snapshotGeneration) {
+        return entries -> {
+            try {
+                StringBuilder lines = new StringBuilder();
+                if (!Files.exists(journalFilePath) || Files.size(journalFilePath) == 0) {
+                    lines.append(JsonUtil.toJsonLine(new JsonSerializableJournalHeader(snapshotGeneration)))
+                            .append(System.lineSeparator());
+                }
+                for (Object entry : entries) {
+                    lines.append(JsonUtil.toJsonLine(entry)).append(System.lineSeparator());
+                }
+                appendToJournal(lines.toString());
+            } catch (IOException ioe) {
+                persistedQuickDocs = null;
+                throw ioe;
+            }
+        };
+    }
+
+    /**
+     * Appends the given lines to the journal, creating it if it does not exist, and forces them to the disk
+     * before returning, so that a save reported as written survives QuickDocs stopping or the power failing.
+     */
+    private void appendToJournal(String lines) throws IOException {
+        boolean isNewJournal = !Files.exists(journalFilePath);
+        ByteBuffer buffer = ByteBuffer.wrap(lines.getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(journalFilePath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        if (isNewJournal) {
+            FileUtil.forceDirectoryOf(journalFilePath);
+        }
+    }
+
+    /**
+     * Writes the whole {@code quickDocs} to the snapshot and deletes the journal.
+     * If QuickDocs stops before the journal is deleted, replaying it over the new snapshot has no effect.
+     */
+    public void compact(QuickDocs quickDocs) throws IOException {
+        prepareCompaction(quickDocs, EnumSet.allOf(DataSection.class)).write();
+    }
+
+    /**
+     * Captures the given sections of {@code quickDocs}, to be written to new section files listed by a new manifest
+     * along with the files of the other sections, and the journal to be deleted. Every section is captured if the
+     * snapshot is not split into sections yet. Unless every section is captured, the save has to be written after
+     * the saves prepared before it, as the new manifest lists the section files they write.
+     */
+    private PendingSave prepareCompaction(QuickDocs quickDocs, EnumSet<DataSection> sections) {
+        requireNonNull(quickDocs);
+
+        EnumSet<DataSection> sectionsToWrite = sectionFiles.size() == DataSection.values().length
+                ? EnumSet.copyOf(sections)
+                : EnumSet.allOf(DataSection.class);
+        generation++;
+        EnumSet<DataSection> copiedSections = EnumSet.copyOf(sectionsToWrite);
+        copiedSections.removeIf(section -> !QuickDocsRecords.isCopied(EnumSet.of(section)));
+        QuickDocsRecords copiedRecords = QuickDocsRecords.copyOf(quickDocs, copiedSections);
+        List<PendingSave.Write> sectionWrites = new ArrayList<>();
+        for (DataSection section : sectionsToWrite) {
+            String sectionFileName = sectionFilePrefix + "." + section.getFileName() + "." + generation
+                    + (sectionFormat == DataFormat.BINARY ? BINARY_FILE_EXTENSION : JSON_FILE_EXTENSION);
+            sectionFiles.put(section, sectionFileName);
+            sectionWrites.add(prepareSectionWrite(quickDocs, copiedRecords, section,
+                    filePath.resolveSibling(sectionFileName)));
+        }
+        JsonSerializableManifest manifest = new JsonSerializableManifest(generation, sectionFiles);
+        journalAppend = appendToJournalOf(generation);
+
+        int compactedEntries = journalEntries;
+        journalEntries = 0;
+        modifiedSections.clear();
+        persistedQuickDocs = quickDocs;
+        PendingSave.Write write = () -> {
+            try {
+                FileUtil.createParentDirsOfFile(filePath);
+                for (PendingSave.Write sectionWrite : sectionWrites) {
+                    sectionWrite.run();
+                }
+                JsonUtil.saveJsonFile(manifest, filePath, backups::rotate);
+                Files.deleteIfExists(journalFilePath);
+            } catch (IOException ioe) {
+                persistedQuickDocs = null;
+                throw ioe;
+            }
+            logger.fine("Compacted " + compactedEntries + " journal entries into sections " + sectionsToWrite
+                    + " of " + filePath);
+            deleteUnlistedSectionFiles();
+        };
+        return sectionsToWrite.size() == DataSection.values().length
+                ? PendingSave.ofSnapshot(write)
+                : PendingSave.ofChanges(write);
+    }
+
+    /**
+     * Captures the given section of {@code quickDocs}, to be written to the given section file in the format of
+     * this storage. A section whose records are copied to {@code copiedRecords} is serialized when it is written,
+     * off the thread that modifies {@code quickDocs}, while the medicines and statistics are serialized now.
+     */
+    private PendingSave.Write prepareSectionWrite(QuickDocs quickDocs, QuickDocsRecords copiedRecords,
+                                                  DataSection section, Path sectionFile) {
+        Set<DataSection> sections = EnumSet.of(section);
+        if (QuickDocsRecords.isCopied(sections)) {
+            return () -> writeSection(copiedRecords, sections, sectionFile);
+        }
+        if (sectionFormat == DataFormat.BINARY) {
+            byte[] data = BinaryQuickDocsCodec.encode(quickDocs, sections);
+            return () -> FileUtil.writeToFileAtomically(sectionFile, out -> out.write(data));
+        }
+        JsonSerializableQuickDocs jsonSection = new JsonSerializableQuickDocs(quickDocs, sections);
+        return () -> JsonUtil.saveJsonFile(jsonSection, sectionFile);
+    }
+
+    /**
+     * Serializes the given sections of {@code records}, and writes them to {@code sectionFile}.
+     */
+    private void writeSection(QuickDocsRecords records, Set<DataSection> sections, Path sectionFile)
+            throws IOException {
+        if (sectionFormat == DataFormat.BINARY) {
+            byte[] data = BinaryQuickDocsCodec.encode(records, sections);
+            FileUtil.writeToFileAtomically(sectionFile, out -> out.write(data));
+        } else {
+            JsonUtil.saveJsonFile(new JsonSerializableQuickDocs(records, sections), sectionFile);
+        }
+    }
+
+    /**
+     * Returns true if the given section file is in the format this storage writes.
+     */
+    private boolean isInSectionFormat(String sectionFileName) {
+        return sectionFileName.endsWith(sectionFormat == DataFormat.BINARY
+                ? BINARY_FILE_EXTENSION
+                : JSON_FILE_EXTENSION);
+    }
+
+    /**
+     * Deletes the section files that are neither listed by the manifest nor by any of its backups.
+     * Failing to delete them is only logged, as the snapshot is complete without them.
+     */
+    private void deleteUnlistedSectionFiles() {
+        Set<String> listedFileNames = new HashSet<>();
+        List<Path> manifestFiles = new ArrayList<>();
+        manifestFiles.add(filePath);
+        manifestFiles.addAll(backups.getBackupFilePaths());
+        for (Path manifestFile : manifestFiles) {
+            try {
+                JsonUtil.readJsonFile(manifestFile, JsonSerializableManifest.class)
+                        .filter(manifest -> !manifest.isUnsplitSnapshot())
+                        .ifPresent(manifest -> listedFileNames.addAll(manifest.getSections().values()));
+            } catch (DataConversionException dce) {
+                logger.fine("Could not read " + manifestFile + ": " + dce.getMessage());
+            }
+        }
+
+        try {
+            for (Path sectionFile : getSectionFilesOnDisk()) {
+                if (!listedFileNames.contains(sectionFile.getFileName().toString())) {
+                    Files.delete(sectionFile);
+                }
+            }
+        } catch (IOException ioe) {
+            logger.warning("Could not delete section files no longer used: " + ioe);
+        }
+    }
+
+    /**
+     * Returns the section files, and their temporary files, in the directory of the data file.
+     */
+    private List<Path> getSectionFilesOnDisk() throws IOException {
+        List<Path> sectionFilesOnDisk = new ArrayList<>();
+        Path directory = filePath.toAbsolutePath().getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return sectionFilesOnDisk;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (sectionFilePattern.matcher(file.getFileName().toString()).matches()) {
+                    sectionFilesOnDisk.add(file);
+                }
+            }
+        }
+        return sectionFilesOnDisk;
+    }
+
+    /**
+     * Returns the generation of the snapshot the given section file was written in.
+     */
+    private int getGeneration(Path sectionFile) {
+        Matcher matcher = sectionFilePattern.matcher(sectionFile.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(sectionFile + " is not a section file");
+        }
+        try {
+            return Integer.parseInt(matcher.group(1));
+        } catch (NumberFormatException nfe) {
+            return 0;
+        }
+    }
+
+    /**
+     * Represents the data read from a snapshot file or one of its backups.
+     */
+    private static class Snapshot {
+        private final Path file;
+        private final int version;
+        private final int generation;
+        // null for a snapshot file that holds all data
+        private final Map<DataSection, String> sectionFiles;
+        private final QuickDocs quickDocs;
+
+        private Snapshot(Path file, int version, int generation, Map<DataSection, String> sectionFiles,
+                         QuickDocs quickDocs) {
+            this.file = file;
+            this.version = version;
+            this.generation = generation;
+            this.sectionFiles = sectionFiles;
+            this.quickDocs = quickDocs;
+        }
+
+        /**
+         * Returns the data of the given snapshot file, which exists, read from the section files it lists,
+         * or from the snapshot file itself if it holds all data.
+         *
+         * @throws DataConversionException if a file is missing or not in the correct format.
+         */
+        private static Snapshot read(Path file) throws DataConversionException {
+            JsonSerializableManifest manifest = readJsonFile(file, JsonSerializableManifest.class);
+            if (manifest.isUnsplitSnapshot()) {
+                return new Snapshot(file, manifest.getVersion(), 0, null,
+                        toModelType(file, readJsonFile(file, JsonSerializableQuickDocs.class)));
+            }
+
+            Map<DataSection, JsonSerializableQuickDocs> sections = new EnumMap<>(DataSection.class);
+            for (DataSection section : DataSection.values()) {
+                String sectionFileName = manifest.getSections().get(section);
+                if (sectionFileName == null) {
+                    throw new DataConversionException(new IllegalValueException(
+                            "Snapshot " + file + " lists no file for the " + section.getFileName()));
+                }
+                sections.put(section, readSectionFile(file.resolveSibling(sectionFileName), section));
+            }
+            JsonSerializableQuickDocs jsonQuickDocs = JsonSerializableQuickDocs.combine(sections);
+            return new Snapshot(file, jsonQuickDocs.getVersion(), manifest.getGeneration(), manifest.getSections(),
+                    toModelType(file, jsonQuickDocs));
+        }
+
+        /**
+         * Returns the given section of the data in the given section file, read in the format of its extension.
+         *
+         * @throws DataConversionException if the file is missing or not in the correct format.
+         */
+        private static JsonSerializableQuickDocs readSectionFile(Path sectionFile, DataSection section)
+                throws DataConversionException {
+            if (!sectionFile.getFileName().toString().endsWith(BINARY_FILE_EXTENSION)) {
+                return readJsonFile(sectionFile, JsonSerializableQuickDocs.class);
+            }
+            try {
+                return BinaryQuickDocsCodec.decode(Files.readAllBytes(sectionFile), EnumSet.of(section));
+            } catch (IOException ioe) {
+                throw new DataConversionException(ioe);
+            }
+        }
+
+        private static <T> T readJsonFile(Path file, Class<T> classOfObject) throws DataConversionException {
+            Optional<T> jsonObject = JsonUtil.readJsonFile(file, classOfObject);
+            if (!jsonObject.isPresent()) {
+                throw new DataConversionException(new NoSuchFileException(file.toString()));
+            }
+            return jsonObject.get();
+        }
+
+        private static QuickDocs toModelType(Path file, JsonSerializableQuickDocs jsonQuickDocs)
+                throws DataConversionException {
+            try {
+                return jsonQuickDocs.toModelType();
+            } catch (IllegalValueException | IllegalArgumentException ie) {
+                logger.info("Illegal values found in " + file + ": " + ie.getMessage());
+                throw new DataConversionException(ie);
+            }
+        }
+    }
+}
@@ -5,18 +5,25 @@ import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import quickdocs.model.appointment.Appointment;
+import quickdocs.model.patient.Nric;
 import quickdocs.model.patient.Patient;
+import quickdocs.model.patient.PatientManager;
 
 /**
  * Jackson-friendly version of {@link Appointment}.
+ * The patient is either referred to by NRIC, or embedded in full when it is not in the list of patients.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class JsonAdaptedAppointment {
     public static final String APP_MISSING_FIELD_MESSAGE_FORMAT = "Appointment's %s field is missing!";
+    public static final String APP_UNKNOWN_PATIENT_MESSAGE_FORMAT = "Appointment's patient %s is not found!";
 
     private Patient patient;
+    private String nric;
     private String date;
     private String start;
     private String end;
@@ -27,11 +34,13 @@ public class JsonAdaptedAppointment {
      */
     @JsonCreator
     public JsonAdaptedAppointment(@JsonProperty("patient") Patient patient,
+                                   @JsonProperty("nric") String nric,
                                    @JsonProperty("date") String date,
                                    @JsonProperty("start") String start,
                                    @JsonProperty("end") String end,
                                    @JsonProperty("comment") String comment) {
         this.patient = patient;
+        this.nric = nric;
         this.date = date;
         this.start = start;
         this.end = end;
@@ -39,7 +48,14 @@ public class JsonAdaptedAppointment {
     }
 
     /**
-     * Converts a given {@code Appointment} into this class for Jackson use.
+     * Constructs a {@code JsonAdaptedAppointment} with the given {@code Appointment} details and embedded patient.
+     */
+    public JsonAdaptedAppointment(Patient patient, String date, String start, String end, String comment) {
+        this(patient, null, date, start, end, comment);
+    }
+
+    /**
+     * Converts a given {@code Appointment} into this class for Jackson use, embedding its patient.
      */
     public JsonAdaptedAppointment(Appointment source) {
         patient = source.getPatient();
@@ -49,16 +65,62 @@ public class JsonAdaptedAppointment {
         comment = source.getComment();
     }
 
+    /**
+     * Converts a given {@code Appointment} into this class for Jackson use, referring to its patient by NRIC
+     * if a patient with that NRIC is in the {@code PatientManager}.
+     */
+    public JsonAdaptedAppointment(Appointment source, PatientManager patientManager) {
+        this(source, patientManager.getPatientByNric(source.getPatient().getNric()).isPresent());
+    }
+
+    /**
+     * Converts a given {@code Appointment} into this class for Jackson use, referring to its patient by NRIC
+     * if {@code isPatientListed}, which is whether a patient with that NRIC is in the patient list.
+     */
+    public JsonAdaptedAppointment(Appointment source, boolean isPatientListed) {
+        this(source);
+        if (isPatientListed) {
+            nric = patient.getNric().toString();
+            patient = null;
+        }
+    }
+
     /**
      * Converts this Jackson-friendly adapted {@code Appointment} object into the model's {@code Appointment} object.
+     * The patient must be embedded.
      *
      * @throws IllegalArgumentException if there were any data constraints violated for {@code Appointment} fields.
      */
     public Appointment toModelType() throws IllegalArgumentException {
-        // check if any fields are missing
         if (patient == null) {
             throw new IllegalArgumentException(String.format(APP_MISSING_FIELD_MESSAGE_FORMAT, "Patient"));
         }
+        return createAppointment(patient);
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted {@code Appointment} object into the model's {@code Appointment} object,
+     * linked to the patient with the same NRIC in the {@code PatientManager}.
+     * An embedded patient is kept only if there is no such patient.
+     *
+     * @throws IllegalArgumentException if there were any data constraints violated for {@code Appointment} fields,
+     *                                  or the NRIC referred to is not in the {@code PatientManager}.
+     */
+    public Appointment toModelType(PatientManager patientManager) throws IllegalArgumentException {
+        if (nric != null) {
+            Patient linkedPatient = patientManager.getPatientByNric(new Nric(nric))
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            String.format(APP_UNKNOWN_PATIENT_MESSAGE_FORMAT, nric)));
+            return createAppointment(linkedPatient);
+        }
+        if (patient == null) {
+            throw new IllegalArgumentException(String.format(APP_MISSING_FIELD_MESSAGE_FORMAT, "Patient"));
+        }
+        return createAppointment(patientManager.getPatientByNric(patient.getNric()).orElse(patient));
+    }
+
+    private Appointment createAppointment(Patient modelPatient) throws IllegalArgumentException {
+        // check if any fields are missing
         if (date == null) {
             throw new IllegalArgumentException(String.format(APP_MISSING_FIELD_MESSAGE_FORMAT, "Date"));
         }
@@ -72,7 +134,6 @@ public class JsonAdaptedAppointment {
             throw new IllegalArgumentException(String.format(APP_MISSING_FIELD_MESSAGE_FORMAT, "Comment"));
         }
 
-        Patient modelPatient = patient;
         String modelComment = comment;
         LocalDate modelDate;
         LocalTime modelStart;
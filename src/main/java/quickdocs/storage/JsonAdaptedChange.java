@@ -0,0 +1,275 @@
+package quickdocs.storage;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.model.Change;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.appointment.Appointment;
+import quickdocs.model.appointment.AppointmentManager;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.ConsultationManager;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.model.medicine.MedicineManager;
+import quickdocs.model.patient.Nric;
+import quickdocs.model.patient.Patient;
+import quickdocs.model.patient.PatientManager;
+import quickdocs.model.record.StatisticsManager;
+import quickdocs.model.reminder.Reminder;
+import quickdocs.model.reminder.ReminderManager;
+
+/**
+ * Jackson-friendly version of {@link Change}, written as one entry of the QuickDocs journal.
+ * Changes to a medicine hold the medicine as it was when the entry was written, while imports of medicines and
+ * changes to the statistics hold the whole section.
+ * Consultations and appointments embed their patient, so that each entry can be read on its own.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class JsonAdaptedChange {
+
+    public static final String MISSING_FIELD_MESSAGE_FORMAT = "Journal entry's %s field is missing!";
+
+    private final Change.Type type;
+    private final String nric;
+    private final JsonAdaptedPatient patient;
+    private final JsonAdaptedConsultation consultation;
+    private final JsonAdaptedAppointment appointment;
+    private final JsonAdaptedReminder reminder;
+    private final JsonAdaptedMedicine medicine;
+    private final List<String> path;
+    private final Integer threshold;
+    private final List<JsonAdaptedMedicine> medicineList;
+    private final JsonAdaptedDirectory rootDirectory;
+    private final List<JsonAdaptedMonthStatistics> monthStatisticsList;
+    private final BigDecimal consultationFee;
+
+    @JsonCreator
+    public JsonAdaptedChange(@JsonProperty("type") Change.Type type,
+                             @JsonProperty("nric") String nric,
+                             @JsonProperty("patient") JsonAdaptedPatient patient,
+                             @JsonProperty("consultation") JsonAdaptedConsultation consultation,
+                             @JsonProperty("appointment") JsonAdaptedAppointment appointment,
+                             @JsonProperty("reminder") JsonAdaptedReminder reminder,
+                             @JsonProperty("medicine") JsonAdaptedMedicine medicine,
+                             @JsonProperty("path") List<String> path,
+                             @JsonProperty("threshold") Integer threshold,
+                             @JsonProperty("medicineList") List<JsonAdaptedMedicine> medicineList,
+                             @JsonProperty("rootDirectory") JsonAdaptedDirectory rootDirectory,
+                             @JsonProperty("monthStatisticsList") List<JsonAdaptedMonthStatistics> monthStatisticsList,
+                             @JsonProperty("consultationFee") BigDecimal consultationFee) {
+        this.type = type;
+        this.nric = nric;
+        this.patient = patient;
+        this.consultation = consultation;
+        this.appointment = appointment;
+        this.reminder = reminder;
+        this.medicine = medicine;
+        this.path = path;
+        this.threshold = threshold;
+        this.medicineList = medicineList;
+        this.rootDirectory = rootDirectory;
+        this.monthStatisticsList = monthStatisticsList;
+        this.consultationFee = consultationFee;
+    }
+
+    /**
+     * Converts a given {@code Change} of the given {@code QuickDocs} into this class for Jackson use.
+     * The medicines or statistics are read from {@code source} when the change is to one of these sections.
+     */
+    public JsonAdaptedChange(Change change, QuickDocs source) {
+        type = change.getType();
+        nric = change.getNric();
+        patient = change.getPatient() == null ? null : new JsonAdaptedPatient(change.getPatient());
+        consultation = change.getConsultation() == null ? null : new JsonAdaptedConsultation(change.getConsultation());
+        appointment = change.getAppointment() == null ? null : new JsonAdaptedAppointment(change.getAppointment());
+        reminder = change.getReminder() == null ? null : new JsonAdaptedReminder(change.getReminder());
+        medicine = change.getMedicine() == null ? null : new JsonAdaptedMedicine(change.getMedicine());
+        path = change.getPath() == null ? null : Arrays.asList(change.getPath());
+        threshold = type == Change.Type.SET_DIRECTORY_THRESHOLD ? change.getThreshold() : null;
+
+        if (type == Change.Type.UPDATE_MEDICINES) {
+            medicineList = source.getMedicineManager().getListOfMedicine()
+                    .stream().map(JsonAdaptedMedicine::new).collect(Collectors.toList());
+            rootDirectory = new JsonAdaptedDirectory(source.getMedicineManager().getRoot());
+        } else {
+            medicineList = null;
+            rootDirectory = null;
+        }
+
+        if (type == Change.Type.UPDATE_STATISTICS) {
+            monthStatisticsList = source.getStatisticsManager().getMonthStatisticsList()
+                    .stream().map(JsonAdaptedMonthStatistics::new).collect(Collectors.toList());
+            consultationFee = source.getStatisticsManager().getConsultationFee();
+        } else {
+            monthStatisticsList = null;
+            consultationFee = null;
+        }
+    }
+
+    public Change.Type getType() {
+        return type;
+    }
+
+    /**
+     * Applies this change to the given {@code QuickDocs}.
+     * A record that is already added is not added again, and a record that is already deleted is left deleted,
+     * so that replaying an entry which is already part of the data has no effect.
+     *
+     * @throws IllegalValueException if there were any data constraints violated, or a field is missing.
+     * @throws IllegalArgumentException if there were any data constraints violated for any class fields.
+     */
+    public void applyTo(QuickDocs quickDocs) throws IllegalValueException, IllegalArgumentException {
+        if (type == null) {
+            throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, "type"));
+        }
+
+        PatientManager patientManager = quickDocs.getPatientManager();
+        MedicineManager medicineManager = quickDocs.getMedicineManager();
+        AppointmentManager appointmentManager = quickDocs.getAppointmentManager();
+        ReminderManager reminderManager = quickDocs.getReminderManager();
+        switch (type) {
+        case ADD_PATIENT:
+            Patient patientToAdd = requireField(patient, "patient").toModelType();
+            if (!patientManager.isDuplicatePatient(patientToAdd)) {
+                patientManager.addPatient(patientToAdd);
+            }
+            break;
+
+        case REPLACE_PATIENT:
+            Patient editedPatient = requireField(patient, "patient").toModelType();
+            int index = patientManager.getIndexByNric(new Nric(requireField(nric, "nric")));
+            if (index < 0) {
+                break;
+            }
+            Patient oldPatient = patientManager.getPatientAtIndex(index);
+            patientManager.replacePatient(index, editedPatient);
+            // appointments are linked to the patients in the list, so they are moved to the edited patient
+            for (Appointment app : appointmentManager.getAppointments(oldPatient)) {
+                appointmentManager.delete(app);
+                appointmentManager.addAppointment(new Appointment(editedPatient, app.getDate(), app.getStart(),
+                        app.getEnd(), app.getComment()));
+            }
+            break;
+
+        case DELETE_PATIENT:
+            patientManager.deletePatientByNric(requireField(nric, "nric"));
+            break;
+
+        case ADD_CONSULTATION:
+            Consultation consultationToAdd = requireField(consultation, "consultation").toModelType(patientManager);
+            ConsultationManager consultationManager = quickDocs.getConsultationManager();
+            // consultations are only ever appended, so each one is identified by its position, which counts the
+            // archived consultations stored with the data even before the archive is attached
+            if (consultationToAdd.getIndex() >= consultationManager.getConsultationCount()) {
+                consultationManager.addConsultation(consultationToAdd);
+            }
+            break;
+
+        case ADD_APPOINTMENT:
+            Appointment appToAdd = requireField(appointment, "appointment").toModelType(patientManager);
+            // also covers the appointment being added already, as it conflicts with itself
+            if (!appointmentManager.hasTimeConflicts(appToAdd)) {
+                appointmentManager.addAppointment(appToAdd);
+            }
+            break;
+
+        case DELETE_APPOINTMENT:
+            appointmentManager.delete(requireField(appointment, "appointment").toModelType(patientManager));
+            break;
+
+        case ADD_REMINDER:
+            Reminder remToAdd = requireField(reminder, "reminder").toModelType();
+            if (!reminderManager.hasDuplicateReminder(remToAdd)) {
+                reminderManager.addReminder(remToAdd);
+            }
+            break;
+
+        case DELETE_REMINDER:
+            reminderManager.delete(requireField(reminder, "reminder").toModelType());
+            break;
+
+        case UPDATE_MEDICINE:
+            applyToMedicine(medicineManager, requireField(medicine, "medicine").toModelType());
+            break;
+
+        case ADD_DIRECTORY:
+            String[] directoryPath = requireField(path, "path").toArray(new String[0]);
+            if (directoryPath.length < 2) {
+                throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, "path"));
+            }
+            if (!medicineManager.findDirectory(directoryPath).isPresent()) {
+                medicineManager.addDirectory(directoryPath[directoryPath.length - 1],
+                        Arrays.copyOf(directoryPath, directoryPath.length - 1));
+            }
+            break;
+
+        case SET_DIRECTORY_THRESHOLD:
+            medicineManager.setDirectoryThreshold(requireField(path, "path").toArray(new String[0]),
+                    requireField(threshold, "threshold"));
+            break;
+
+        case UPDATE_MEDICINES:
+            JsonSerializableQuickDocs.toModelTypeMedicines(medicineManager,
+                    new ArrayList<>(requireField(medicineList, "medicineList")),
+                    requireField(rootDirectory, "rootDirectory"));
+            break;
+
+        case UPDATE_STATISTICS:
+            StatisticsManager statisticsManager = new StatisticsManager();
+            JsonSerializableQuickDocs.toModelTypeStatistics(statisticsManager,
+                    requireField(monthStatisticsList, "monthStatisticsList"),
+                    requireField(consultationFee, "consultationFee"));
+            quickDocs.setStatisticsManager(statisticsManager);
+            break;
+
+        default:
+            throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, "type"));
+        }
+    }
+
+    /**
+     * Sets the quantity, threshold and price of the medicine with the same name as {@code changed} to its own,
+     * creating the medicine in the directory of this change if there is none. The medicine is also added to
+     * the directory of this change if it is not in it yet.
+     *
+     * @throws IllegalValueException if the medicine does not exist and this change has no directory.
+     */
+    private void applyToMedicine(MedicineManager medicineManager, Medicine changed) throws IllegalValueException {
+        String[] directoryPath = path == null ? null : path.toArray(new String[0]);
+        Optional<Medicine> existing = medicineManager.findMedicine(changed.name);
+        if (!existing.isPresent()) {
+            if (directoryPath == null) {
+                throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, "path"));
+            }
+            medicineManager.addMedicine(changed.name, changed.getQuantity(), directoryPath, changed.getPrice());
+            existing = medicineManager.findMedicine(changed.name);
+        } else if (directoryPath != null) {
+            String[] medicinePath = Arrays.copyOf(directoryPath, directoryPath.length + 1);
+            medicinePath[directoryPath.length] = changed.name;
+            if (!medicineManager.findMedicine(medicinePath).isPresent()) {
+                medicineManager.addExistingMedicineToDirectory(existing.get(), directoryPath);
+            }
+        }
+
+        Medicine target = existing.get();
+        target.setQuantity(changed.getQuantity());
+        target.setThreshold(changed.getThreshold());
+        target.setPrice(changed.getPrice());
+    }
+
+    private static <T> T requireField(T value, String field) throws IllegalValueException {
+        if (value == null) {
+            throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, field));
+        }
+        return value;
+    }
+}
@@ -3,25 +3,34 @@ package quickdocs.storage;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import quickdocs.commons.exceptions.IllegalValueException;
 import quickdocs.model.consultation.Consultation;
 import quickdocs.model.consultation.Diagnosis;
 import quickdocs.model.consultation.Prescription;
+import quickdocs.model.patient.Nric;
 import quickdocs.model.patient.Patient;
+import quickdocs.model.patient.PatientManager;
 
 /**
  * Jackson-friendly version of {@link Consultation}.
+ * The patient is either referred to by NRIC, or embedded in full when it is not in the list of patients.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class JsonAdaptedConsultation {
+    public static final String MISSING_PATIENT_MESSAGE = "Consultation's patient field is missing!";
+    public static final String UNKNOWN_PATIENT_MESSAGE_FORMAT = "Consultation's patient %s is not found!";
 
     private int index;
     private LocalDateTime session;
 
     private Patient patient;
+    private String nric;
     private Diagnosis diagnosis;
 
     private ArrayList<Prescription> prescriptions;
@@ -33,11 +42,13 @@ public class JsonAdaptedConsultation {
     public JsonAdaptedConsultation(@JsonProperty("index") int index,
                                    @JsonProperty("session") LocalDateTime session,
                                    @JsonProperty("patient") Patient patient,
+                                   @JsonProperty("nric") String nric,
                                    @JsonProperty("diagnosis") Diagnosis diagnosis,
                                    @JsonProperty("prescriptions") List<Prescription> prescriptions) {
         this.index = index;
         this.session = session;
         this.patient = patient;
+        this.nric = nric;
         this.diagnosis = diagnosis;
 
         this.prescriptions = new ArrayList<>();
@@ -47,7 +58,15 @@ public class JsonAdaptedConsultation {
     }
 
     /**
-     * Converts a given {@code Consultation} into this class for Jackson use.
+     * Constructs a {@code JsonAdaptedConsultation} with the given details and embedded patient.
+     */
+    public JsonAdaptedConsultation(int index, LocalDateTime session, Patient patient, Diagnosis diagnosis,
+                                   List<Prescription> prescriptions) {
+        this(index, session, patient, null, diagnosis, prescriptions);
+    }
+
+    /**
+     * Converts a given {@code Consultation} into this class for Jackson use, embedding its patient.
      */
     public JsonAdaptedConsultation(Consultation source) {
 
@@ -59,6 +78,26 @@ public class JsonAdaptedConsultation {
         this.prescriptions.addAll(source.getPrescriptions());
     }
 
+    /**
+     * Converts a given {@code Consultation} into this class for Jackson use, referring to its patient by NRIC
+     * if a patient with that NRIC is in the {@code PatientManager}.
+     */
+    public JsonAdaptedConsultation(Consultation source, PatientManager patientManager) {
+        this(source, patientManager.getPatientByNric(source.getPatient().getNric()).isPresent());
+    }
+
+    /**
+     * Converts a given {@code Consultation} into this class for Jackson use, referring to its patient by NRIC
+     * if {@code isPatientListed}, which is whether a patient with that NRIC is in the patient list.
+     */
+    public JsonAdaptedConsultation(Consultation source, boolean isPatientListed) {
+        this(source);
+        if (isPatientListed) {
+            nric = patient.getNric().toString();
+            patient = null;
+        }
+    }
+
     /**
      * Converts this Jackson-friendly adapted person object into the model's {@code Person} object.
      *
@@ -67,9 +106,39 @@ public class JsonAdaptedConsultation {
      * @throws IllegalArgumentException if there were any data constraints violated for patient fields.
      */
     public Consultation toModelType() throws IllegalValueException, IllegalArgumentException {
+        if (patient == null) {
+            throw new IllegalValueException(MISSING_PATIENT_MESSAGE);
+        }
+        return createConsultation(patient);
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted consultation object into the model's {@code Consultation} object,
+     * linked to the patient with the same NRIC in the {@code PatientManager}.
+     * An embedded patient is kept only if there is no such patient.
+     *
+     * @throws IllegalValueException if the patient is missing, or the NRIC referred to is not in the
+     *                               {@code PatientManager}.
+     * @throws IllegalArgumentException if there were any data constraints violated for patient fields.
+     */
+    public Consultation toModelType(PatientManager patientManager)
+            throws IllegalValueException, IllegalArgumentException {
+        if (nric != null) {
+            Optional<Patient> linkedPatient = patientManager.getPatientByNric(new Nric(nric));
+            if (!linkedPatient.isPresent()) {
+                throw new IllegalValueException(String.format(UNKNOWN_PATIENT_MESSAGE_FORMAT, nric));
+            }
+            return createConsultation(linkedPatient.get());
+        }
+        if (patient == null) {
+            throw new IllegalValueException(MISSING_PATIENT_MESSAGE);
+        }
+        return createConsultation(patientManager.getPatientByNric(patient.getNric()).orElse(patient));
+    }
+
+    private Consultation createConsultation(Patient modelPatient) {
         int modelIndex = this.index;
         LocalDateTime modelSession = this.session;
-        Patient modelPatient = this.patient;
         Diagnosis modelDiagnosis = this.diagnosis;
         ArrayList<Prescription> prescriptions = new ArrayList<>();
         prescriptions.addAll(this.prescriptions);
@@ -3,6 +3,7 @@ package quickdocs.storage;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.logging.Logger;
@@ -16,13 +17,29 @@ import quickdocs.model.QuickDocs;
 
 /**
  * A class to access QuickDocs data stored as a json file on the hard disk.
+ * The file is replaced atomically on each save, and its previous versions are kept as rotated backups,
+ * which the data is read from if the file cannot be read.
  */
 public class JsonQuickDocsStorage implements QuickDocsStorage {
+    public static final int DEFAULT_BACKUP_COUNT = 3;
+
     private static final Logger logger = LogsCenter.getLogger(JsonQuickDocsStorage.class);
     private Path filePath;
+    private final int backupCount;
 
     public JsonQuickDocsStorage(Path filePath) {
+        this(filePath, DEFAULT_BACKUP_COUNT);
+    }
+
+    /**
+     * Creates a storage that keeps the given number of backups of the data file.
+     */
+    public JsonQuickDocsStorage(Path filePath, int backupCount) {
+        if (backupCount < 0) {
+            throw new IllegalArgumentException("Backup count cannot be negative");
+        }
         this.filePath = filePath;
+        this.backupCount = backupCount;
     }
 
     public Path getFilePath() {
@@ -36,24 +53,34 @@ public class JsonQuickDocsStorage implements QuickDocsStorage {
 
     /**
      * Similar to {@link #readQuickDocs()}.
+     * If the file cannot be read, the data is read from the newest of its backups that can be read.
      *
      * @param filePath location of the data. Cannot be null.
      * @return an {@code Optional<QuickDocs>} object that contains all objects read from the json file.
-     * @throws DataConversionException if the file is not in the correct format.
+     * @throws DataConversionException if the file is not in the correct format, and neither are its backups.
      */
     public Optional<QuickDocs> readQuickDocs(Path filePath) throws DataConversionException {
         requireNonNull(filePath);
 
+        return new DataFileBackups(filePath, backupCount).readNewest(JsonQuickDocsStorage::readQuickDocsFile);
+    }
+
+    /**
+     * Returns the data in the given json file, which exists.
+     *
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    static QuickDocs readQuickDocsFile(Path file) throws DataConversionException {
         Optional<JsonSerializableQuickDocs> jsonQuickDocs = JsonUtil.readJsonFile(
-                filePath, JsonSerializableQuickDocs.class);
+                file, JsonSerializableQuickDocs.class);
         if (!jsonQuickDocs.isPresent()) {
-            return Optional.empty();
+            throw new DataConversionException(new NoSuchFileException(file.toString()));
         }
 
         try {
-            return Optional.of(jsonQuickDocs.get().toModelType());
+            return jsonQuickDocs.get().toModelType();
         } catch (IllegalValueException | IllegalArgumentException ie) {
-            logger.info("Illegal values found in " + filePath + ": " + ie.getMessage());
+            logger.info("Illegal values found in " + file + ": " + ie.getMessage());
             throw new DataConversionException(ie);
         }
     }
@@ -69,10 +96,23 @@ public class JsonQuickDocsStorage implements QuickDocsStorage {
      * @param filePath location of the data. Cannot be null.
      */
     public void saveQuickDocs(QuickDocs quickDocs, Path filePath) throws IOException {
-        requireNonNull(quickDocs);
         requireNonNull(filePath);
+        prepareSave(quickDocs, filePath).write();
+    }
+
+    @Override
+    public PendingSave prepareSave(QuickDocs quickDocs) {
+        return prepareSave(quickDocs, filePath);
+    }
+
+    private PendingSave prepareSave(QuickDocs quickDocs, Path filePath) {
+        requireNonNull(quickDocs);
 
-        FileUtil.createIfMissing(filePath);
-        JsonUtil.saveJsonFile(new JsonSerializableQuickDocs(quickDocs), filePath);
+        JsonSerializableQuickDocs jsonQuickDocs = new JsonSerializableQuickDocs(quickDocs);
+        DataFileBackups backups = new DataFileBackups(filePath, backupCount);
+        return PendingSave.ofSnapshot(() -> {
+            FileUtil.createParentDirsOfFile(filePath);
+            JsonUtil.saveJsonFile(jsonQuickDocs, filePath, backups::rotate);
+        });
     }
 }
@@ -0,0 +1,30 @@
+package quickdocs.storage;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The first line of a journal, holding the generation of the snapshot whose manifest the journal was written
+ * against, so that the journal is only replayed over that snapshot.
+ * Read from a line holding a journal entry instead, it has no generation.
+ */
+class JsonSerializableJournalHeader {
+
+    private final Integer snapshotGeneration;
+
+    @JsonCreator
+    public JsonSerializableJournalHeader(@JsonProperty("snapshotGeneration") Integer snapshotGeneration) {
+        this.snapshotGeneration = snapshotGeneration;
+    }
+
+    /**
+     * Returns true if the line read holds a header, rather than a journal entry.
+     */
+    public boolean isHeader() {
+        return snapshotGeneration != null;
+    }
+
+    public int getSnapshotGeneration() {
+        return snapshotGeneration;
+    }
+}
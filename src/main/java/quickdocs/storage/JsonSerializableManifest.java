@@ -0,0 +1,58 @@
+package quickdocs.storage;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Lists the file each {@link DataSection} of a QuickDocs snapshot is stored in, as file names relative to the
+ * manifest. The files of a section are numbered with the generation of the snapshot they were first written in,
+ * so that writing the manifest switches to the new files of all modified sections at once.
+ * Snapshot files written before the data was split into sections have no {@code sections} field.
+ */
+class JsonSerializableManifest {
+
+    private final int version;
+    private final int generation;
+    private final Map<DataSection, String> sections;
+
+    @JsonCreator
+    public JsonSerializableManifest(@JsonProperty("version") Integer version,
+                                    @JsonProperty("generation") int generation,
+                                    @JsonProperty("sections") Map<DataSection, String> sections) {
+        this.version = version == null ? JsonSerializableQuickDocs.LEGACY_FORMAT_VERSION : version;
+        this.generation = generation;
+        this.sections = sections == null ? null : new EnumMap<>(sections);
+    }
+
+    public JsonSerializableManifest(int generation, Map<DataSection, String> sections) {
+        this(JsonSerializableQuickDocs.FORMAT_VERSION, generation, sections);
+    }
+
+    /**
+     * Returns true if the file read is a snapshot holding all data, written before the data was split.
+     */
+    public boolean isUnsplitSnapshot() {
+        return sections == null;
+    }
+
+    /**
+     * Returns the format version the sections are written in.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the names of the section files, which is null for a snapshot holding all data.
+     */
+    public Map<DataSection, String> getSections() {
+        return sections;
+    }
+}
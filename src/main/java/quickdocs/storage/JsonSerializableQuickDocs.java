@@ -2,10 +2,13 @@ package quickdocs.storage;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -30,9 +33,22 @@ import quickdocs.model.reminder.ReminderManager;
  * This class allows QuickDocs to be saved into the external storage file in the json format.
  * Using json data from the external storage file, the QuickDocs object can be reconstructed
  * for use when QuickDocs is started
+ *
+ * Since version 2 of the format, consultations and appointments refer to their patient by NRIC instead of
+ * embedding a copy of the patient. Files of version 1, which have no version field, are still read, and their
+ * embedded patients are replaced with the patients of the same NRIC in the patient list.
+ *
+ * The data can also be split by {@link DataSection}, each part holding the records of one section only,
+ * so that the sections can be stored in separate files and combined again when they are read.
  */
 public class JsonSerializableQuickDocs {
 
+    public static final int LEGACY_FORMAT_VERSION = 1;
+    public static final int FORMAT_VERSION = 2;
+
+    // lists shorter than this are converted on the calling thread, as splitting them costs more than it saves
+    static final int PARALLEL_CONVERSION_THRESHOLD = 1000;
+
     public static final String MESSAGE_DUPLICATE_PATIENT = "Patients list contains duplicate patient(s).";
     public static final String MESSAGE_DUPLICATE_APPOINTMENT = "Appointment list contains duplicate appointment(s).";
     public static final String MESSAGE_DUPLICATE_REMINDER = "Reminder list contains duplicate reminder(s).";
@@ -41,8 +57,10 @@ public class JsonSerializableQuickDocs {
             "A Directory contains a medicine not found in the list of medicines.";
     public static final String MESSAGE_INVALID_CONSULTATION_FEE = "Consultation Fee is not a non-negative number.";
 
+    private final int version;
     private final List<JsonAdaptedPatient> patientList = new ArrayList<>();
     private final List<JsonAdaptedConsultation> consultationList = new ArrayList<>();
+    private int archivedConsultationCount;
     private final List<JsonAdaptedAppointment> appointmentList = new ArrayList<>();
     private final List<JsonAdaptedReminder> reminderList = new ArrayList<>();
     private final List<JsonAdaptedMedicine> medicineList = new ArrayList<>();
@@ -51,8 +69,10 @@ public class JsonSerializableQuickDocs {
     private BigDecimal consultationFee = StatisticsManager.DEFAULT_CONSULTATION_FEE;
 
     @JsonCreator
-    public JsonSerializableQuickDocs(@JsonProperty("patientList") List<JsonAdaptedPatient> patients,
+    public JsonSerializableQuickDocs(@JsonProperty("version") Integer version,
+                                     @JsonProperty("patientList") List<JsonAdaptedPatient> patients,
                                      @JsonProperty("consultationList") List<JsonAdaptedConsultation> consultations,
+                                     @JsonProperty("archivedConsultationCount") Integer archivedConsultationCount,
                                      @JsonProperty("appointmentList") List<JsonAdaptedAppointment> appointments,
                                      @JsonProperty("reminderList") List<JsonAdaptedReminder> reminders,
                                      @JsonProperty("medicineList") List<JsonAdaptedMedicine> medicines,
@@ -60,8 +80,10 @@ public class JsonSerializableQuickDocs {
                                      @JsonProperty("monthStatisticsList")
                                              List<JsonAdaptedMonthStatistics> monthStatisticsList,
                                      @JsonProperty("consultationFee") BigDecimal consultationFee) {
+        this.version = version == null ? LEGACY_FORMAT_VERSION : version;
         this.patientList.addAll(patients);
         this.consultationList.addAll(consultations);
+        this.archivedConsultationCount = archivedConsultationCount == null ? 0 : archivedConsultationCount;
         this.appointmentList.addAll(appointments);
         this.reminderList.addAll(reminders);
         this.medicineList.addAll(medicines);
@@ -70,6 +92,11 @@ public class JsonSerializableQuickDocs {
         this.consultationFee = consultationFee;
     }
 
+    private JsonSerializableQuickDocs(int version) {
+        this.version = version;
+        this.consultationFee = null;
+    }
+
     /**
      * Converts a given {@code QuickDocs} into a JsonSerializableQuickDocs to save into
      * an external Json file using Jackson
@@ -78,24 +105,91 @@ public class JsonSerializableQuickDocs {
      *               all five modules
      */
     public JsonSerializableQuickDocs(QuickDocs source) {
-        patientList.addAll(source.getPatientManager().getPatientList()
-                .stream().map(JsonAdaptedPatient::new).collect(Collectors.toList()));
-        consultationList.addAll(source.getConsultationManager().getConsultationList()
-                .stream().map(JsonAdaptedConsultation::new).collect(Collectors.toList()));
-        appointmentList.addAll(source.getAppointmentManager().getAppointmentList()
-                .stream().map(JsonAdaptedAppointment::new).collect(Collectors.toList()));
-        reminderList.addAll(source.getReminderManager().getReminderList()
-                .stream().map(JsonAdaptedReminder::new).collect(Collectors.toList()));
-        medicineList.addAll(source.getMedicineManager().getListOfMedicine()
-                .stream().map(JsonAdaptedMedicine::new).collect(Collectors.toList()));
-        rootDirectory = new JsonAdaptedDirectory(source.getMedicineManager().getRoot());
-        monthStatisticsList.addAll(source.getStatisticsManager().getMonthStatisticsList()
-                .stream().map(JsonAdaptedMonthStatistics::new).collect(Collectors.toList()));
-        consultationFee = source.getStatisticsManager().getConsultationFee();
+        this(source, EnumSet.allOf(DataSection.class));
+    }
+
+    /**
+     * Converts the given sections of a {@code QuickDocs} into a JsonSerializableQuickDocs, leaving the lists of
+     * the other sections empty, and their root directory and consultation fee null.
+     */
+    JsonSerializableQuickDocs(QuickDocs source, Set<DataSection> sections) {
+        this(QuickDocsRecords.of(source), sections);
+    }
+
+    /**
+     * Converts the given sections of the given {@code QuickDocsRecords} into a JsonSerializableQuickDocs, leaving the
+     * lists of the other sections empty, and their root directory and consultation fee null.
+     */
+    JsonSerializableQuickDocs(QuickDocsRecords source, Set<DataSection> sections) {
+        this(FORMAT_VERSION);
+        if (sections.contains(DataSection.PATIENTS)) {
+            patientList.addAll(source.getPatients()
+                    .stream().map(JsonAdaptedPatient::new).collect(Collectors.toList()));
+        }
+        if (sections.contains(DataSection.CONSULTATIONS)) {
+            consultationList.addAll(source.getConsultations().stream()
+                    .map(consultation -> new JsonAdaptedConsultation(consultation,
+                            source.isListed(consultation.getPatient())))
+                    .collect(Collectors.toList()));
+            archivedConsultationCount = source.getArchivedConsultationCount();
+        }
+        if (sections.contains(DataSection.APPOINTMENTS)) {
+            appointmentList.addAll(source.getAppointments().stream()
+                    .map(app -> new JsonAdaptedAppointment(app, source.isListed(app.getPatient())))
+                    .collect(Collectors.toList()));
+        }
+        if (sections.contains(DataSection.REMINDERS)) {
+            reminderList.addAll(source.getReminders()
+                    .stream().map(JsonAdaptedReminder::new).collect(Collectors.toList()));
+        }
+        if (sections.contains(DataSection.MEDICINES)) {
+            medicineList.addAll(source.getMedicineManager().getListOfMedicine()
+                    .stream().map(JsonAdaptedMedicine::new).collect(Collectors.toList()));
+            rootDirectory = new JsonAdaptedDirectory(source.getMedicineManager().getRoot());
+        }
+        if (sections.contains(DataSection.STATISTICS)) {
+            monthStatisticsList.addAll(source.getStatisticsManager().getMonthStatisticsList()
+                    .stream().map(JsonAdaptedMonthStatistics::new).collect(Collectors.toList()));
+            consultationFee = source.getStatisticsManager().getConsultationFee();
+        }
+    }
+
+    /**
+     * Combines the data of each section, taken from the JsonSerializableQuickDocs it is mapped to, into one
+     * JsonSerializableQuickDocs. The combined data is in the oldest format version among the given ones.
+     *
+     * @param sections the data of every section.
+     */
+    static JsonSerializableQuickDocs combine(Map<DataSection, JsonSerializableQuickDocs> sections) {
+        assert sections.keySet().containsAll(EnumSet.allOf(DataSection.class));
+
+        int oldestVersion = sections.values().stream().mapToInt(JsonSerializableQuickDocs::getVersion)
+                .min().orElse(FORMAT_VERSION);
+        JsonSerializableQuickDocs combined = new JsonSerializableQuickDocs(oldestVersion);
+        combined.patientList.addAll(sections.get(DataSection.PATIENTS).patientList);
+        combined.consultationList.addAll(sections.get(DataSection.CONSULTATIONS).consultationList);
+        combined.archivedConsultationCount = sections.get(DataSection.CONSULTATIONS).archivedConsultationCount;
+        combined.appointmentList.addAll(sections.get(DataSection.APPOINTMENTS).appointmentList);
+        combined.reminderList.addAll(sections.get(DataSection.REMINDERS).reminderList);
+        combined.medicineList.addAll(sections.get(DataSection.MEDICINES).medicineList);
+        combined.rootDirectory = sections.get(DataSection.MEDICINES).rootDirectory;
+        combined.monthStatisticsList.addAll(sections.get(DataSection.STATISTICS).monthStatisticsList);
+        combined.consultationFee = sections.get(DataSection.STATISTICS).consultationFee;
+        return combined;
+    }
+
+    /**
+     * Returns the version of the format the data was read in, or {@link #FORMAT_VERSION} if it was converted
+     * from a {@code QuickDocs}.
+     */
+    public int getVersion() {
+        return version;
     }
 
     /**
      * Converts the JsonSerializableQuickDocs into the model's {@code QuickDocs} object.
+     * The records of each list are converted in parallel once the list holds enough of them, and are then
+     * added in the order they were stored.
      *
      * @throws IllegalValueException    if there were any data constraints violated.
      * @throws IllegalArgumentException if there were any data constraints violated for any class fields
@@ -104,9 +198,7 @@ public class JsonSerializableQuickDocs {
         QuickDocs quickDocs = new QuickDocs();
 
         PatientManager patientManager = quickDocs.getPatientManager();
-        for (JsonAdaptedPatient jsonAdaptedPatient : patientList) {
-            Patient patient = jsonAdaptedPatient.toModelType();
-
+        for (Patient patient : convertAll(patientList, JsonAdaptedPatient::toModelType)) {
             // handle duplicates
             if (patientManager.isDuplicatePatient(patient)) {
                 throw new IllegalValueException(MESSAGE_DUPLICATE_PATIENT);
@@ -114,16 +206,21 @@ public class JsonSerializableQuickDocs {
             patientManager.addPatient(patient);
         }
 
+        // the patient list is only read from here on, so the records can be linked to patients in parallel
         ConsultationManager consultationManager = quickDocs.getConsultationManager();
-        for (JsonAdaptedConsultation jsonAdaptedConsultation : consultationList) {
-            Consultation consultation = jsonAdaptedConsultation.toModelType();
+        List<Consultation> consultations = convertAll(consultationList,
+                jsonAdaptedConsultation -> jsonAdaptedConsultation.toModelType(patientManager));
+        // the consultations before the first one stored were archived, even in data that does not count them
+        consultationManager.setArchivedCount(consultations.isEmpty()
+                ? archivedConsultationCount
+                : Math.max(archivedConsultationCount, consultations.get(0).getIndex()));
+        for (Consultation consultation : consultations) {
             consultationManager.addConsultation(consultation);
         }
 
         AppointmentManager appointmentManager = quickDocs.getAppointmentManager();
-        for (JsonAdaptedAppointment jsonAdaptedAppointment : appointmentList) {
-            Appointment appointment = jsonAdaptedAppointment.toModelType();
-
+        for (Appointment appointment : convertAll(appointmentList,
+                jsonAdaptedAppointment -> jsonAdaptedAppointment.toModelType(patientManager))) {
             // handle duplicates
             if (appointmentManager.hasDuplicateAppointment(appointment)) {
                 throw new IllegalValueException(MESSAGE_DUPLICATE_APPOINTMENT);
@@ -132,9 +229,7 @@ public class JsonSerializableQuickDocs {
         }
 
         ReminderManager reminderManager = quickDocs.getReminderManager();
-        for (JsonAdaptedReminder jsonAdaptedReminder : reminderList) {
-            Reminder reminder = jsonAdaptedReminder.toModelType();
-
+        for (Reminder reminder : convertAll(reminderList, JsonAdaptedReminder::toModelType)) {
             // handle duplicates
             if (reminderManager.hasDuplicateReminder(reminder)) {
                 throw new IllegalValueException(MESSAGE_DUPLICATE_REMINDER);
@@ -142,48 +237,93 @@ public class JsonSerializableQuickDocs {
             reminderManager.addReminder(reminder);
         }
 
-        MedicineManager medicineManager = quickDocs.getMedicineManager();
-        ArrayList<Medicine> listOfMedicine = new ArrayList<>();
-        listOfMedicine.addAll(medicineList
-                .stream()
-                .map((JsonAdaptedMedicine::toModelType))
-                .collect(Collectors.toList()));
-        listOfMedicine.sort(Comparator.comparing((Medicine medicine) -> (medicine.name.toLowerCase())));
+        toModelTypeMedicines(quickDocs.getMedicineManager(), medicineList, rootDirectory);
+        toModelTypeStatistics(quickDocs.getStatisticsManager(), monthStatisticsList, consultationFee);
+
+        return quickDocs;
+    }
+
+    /**
+     * Replaces the medicines and directories of the {@code MedicineManager} with the given json medicines and
+     * json root directory.
+     *
+     * @throws IllegalValueException if there are duplicate medicines, or a directory contains medicine not
+     *                               found in the list of medicines.
+     */
+    static void toModelTypeMedicines(MedicineManager medicineManager, List<JsonAdaptedMedicine> medicineList,
+                                     JsonAdaptedDirectory rootDirectory) throws IllegalValueException {
+        ArrayList<Medicine> listOfMedicine = new ArrayList<>(
+                convertAll(medicineList, JsonAdaptedMedicine::toModelType));
         HashMap<String, Medicine> medicineHashMap = new HashMap<>();
         for (Medicine medicine : listOfMedicine) {
-            String medicineName = medicine.name;
-            if (medicineHashMap.containsKey(medicineName)) {
+            String medicineNameKey = MedicineManager.getNameKey(medicine.name);
+            if (medicineHashMap.containsKey(medicineNameKey)) {
                 throw new IllegalValueException(MESSAGE_DUPLICATE_MEDICINE);
             } else {
-                medicineHashMap.put(medicineName, medicine);
+                medicineHashMap.put(medicineNameKey, medicine);
             }
         }
         Directory modelTypeRoot = toModelTypeDirectory(medicineHashMap, rootDirectory);
         medicineManager.setRoot(modelTypeRoot);
         medicineManager.setListOfMedicine(listOfMedicine);
+    }
 
-        StatisticsManager statisticsManager = quickDocs.getStatisticsManager();
+    /**
+     * Adds the given json month statistics and consultation fee to an empty {@code StatisticsManager}.
+     *
+     * @throws IllegalValueException if the consultation fee is negative.
+     */
+    static void toModelTypeStatistics(StatisticsManager statisticsManager,
+                                      List<JsonAdaptedMonthStatistics> monthStatisticsList,
+                                      BigDecimal consultationFee) throws IllegalValueException {
         for (JsonAdaptedMonthStatistics jsonAdaptedMonthStatistics : monthStatisticsList) {
             MonthStatistics monthStatistics = jsonAdaptedMonthStatistics.toModelType();
             statisticsManager.addMonthStatistics(monthStatistics);
         }
-        if (this.consultationFee.compareTo(BigDecimal.ZERO) == -1) {
+        if (consultationFee.compareTo(BigDecimal.ZERO) == -1) {
             throw new IllegalValueException(MESSAGE_INVALID_CONSULTATION_FEE);
         }
-        statisticsManager.setConsultationFee(this.consultationFee);
+        statisticsManager.setConsultationFee(consultationFee);
+    }
 
-        return quickDocs;
+    /**
+     * Converts each json record with the given converter, keeping their order.
+     * Lists of at least {@link #PARALLEL_CONVERSION_THRESHOLD} records are converted in parallel.
+     *
+     * @throws IllegalValueException    if a record violates data constraints.
+     * @throws IllegalArgumentException if a record violates data constraints for any class fields.
+     */
+    static <J, M> List<M> convertAll(List<J> jsonRecords, Converter<J, M> converter)
+            throws IllegalValueException, IllegalArgumentException {
+        Stream<J> stream = jsonRecords.size() >= PARALLEL_CONVERSION_THRESHOLD
+                ? jsonRecords.parallelStream()
+                : jsonRecords.stream();
+        try {
+            return stream.map(jsonRecord -> {
+                try {
+                    return converter.convert(jsonRecord);
+                } catch (IllegalValueException | IllegalArgumentException e) {
+                    throw new ConversionFailure(e);
+                }
+            }).collect(Collectors.toList());
+        } catch (ConversionFailure cf) {
+            // rethrown as it was thrown by the record, rather than as rethrown across threads
+            if (cf.getCause() instanceof IllegalValueException) {
+                throw (IllegalValueException) cf.getCause();
+            }
+            throw (IllegalArgumentException) cf.getCause();
+        }
     }
 
     /**
      * Convert a {@link JsonAdaptedDirectory} to a Directory using information from medicineHashMap
      *
-     * @param map           A hashmap of medicine name mapping to medicine
+     * @param map           A hashmap of medicine name key mapping to medicine
      * @param jsonDirectory the JsonAdaptedDirectory to convert from
      * @return The converted directory
      * @throws IllegalValueException if a directory contains medicine not from map
      */
-    private Directory toModelTypeDirectory(HashMap<String, Medicine> map, JsonAdaptedDirectory jsonDirectory)
+    private static Directory toModelTypeDirectory(HashMap<String, Medicine> map, JsonAdaptedDirectory jsonDirectory)
             throws IllegalValueException {
         Directory directory = new Directory(jsonDirectory.getName());
         if (jsonDirectory.getThreshold().isPresent()) {
@@ -191,10 +331,11 @@ public class JsonSerializableQuickDocs {
         }
         ArrayList<String> medicineNames = jsonDirectory.getListOfMedicineNames();
         for (String medicineName : medicineNames) {
-            if (!map.containsKey(medicineName)) {
+            Medicine medicine = map.get(MedicineManager.getNameKey(medicineName));
+            if (medicine == null) {
                 throw new IllegalValueException(MESSAGE_NONEXISTING_MEDICINE);
             }
-            directory.addMedicine(map.get(medicineName));
+            directory.addMedicine(medicine);
         }
         ArrayList<JsonAdaptedDirectory> jsonAdaptedDirectories = jsonDirectory.getListOfDirectories();
         for (JsonAdaptedDirectory jsonAdaptedDirectory : jsonAdaptedDirectories) {
@@ -202,4 +343,21 @@ public class JsonSerializableQuickDocs {
         }
         return directory;
     }
+
+    /**
+     * Represents the conversion of a json record into its model type.
+     */
+    @FunctionalInterface
+    interface Converter<J, M> {
+        M convert(J jsonRecord) throws IllegalValueException, IllegalArgumentException;
+    }
+
+    /**
+     * Carries the exception of a record that failed to convert out of a stream.
+     */
+    private static class ConversionFailure extends RuntimeException {
+        private ConversionFailure(Exception cause) {
+            super(cause);
+        }
+    }
 }
@@ -0,0 +1,263 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+import quickdocs.commons.core.LogsCenter;
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.commons.util.FileUtil;
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.ConsultationArchive;
+
+/**
+ * A {@link ConsultationArchive} stored in an append-only file, which is memory-mapped so that an archived
+ * consultation is only read from the file when it is listed.
+ * The file starts with a magic number and a format version, followed by one record for each consultation:
+ * its length, its index, the NRIC of its patient, and the consultation as json, with its patient embedded.
+ * Only the offset of each record and the indexes of the records of each NRIC are kept in memory.
+ * An incomplete record at the end of the file, left behind when QuickDocs was closed while archiving, is removed
+ * when the archive is opened.
+ */
+public class MappedConsultationArchive implements ConsultationArchive {
+    public static final String ARCHIVE_FILE_SUFFIX = ".consultations.archive";
+
+    static final int MAGIC_NUMBER = 0x51444341;
+    static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_LENGTH = 2 * Integer.BYTES;
+    // the index and the length of the NRIC, which come before the NRIC and the json of each record
+    private static final int RECORD_FIELDS_LENGTH = Integer.BYTES + Short.BYTES;
+
+    private static final Logger logger = LogsCenter.getLogger(MappedConsultationArchive.class);
+
+    private final Path filePath;
+    private final Map<String, List<Integer>> indexesByNric = new HashMap<>();
+    private long[] recordOffsets = new long[16];
+    private int size;
+    private long fileLength;
+    private MappedByteBuffer mappedFile;
+
+    /**
+     * Opens the archive stored in the given file, which is created when consultations are first archived.
+     *
+     * @throws DataConversionException if the file is not a consultation archive, or its records are corrupted.
+     * @throws IOException if there was an error reading the file.
+     */
+    public MappedConsultationArchive(Path filePath) throws DataConversionException, IOException {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+        if (Files.exists(filePath)) {
+            open();
+        }
+    }
+
+    /**
+     * Returns the path of the archive kept next to the given data file.
+     */
+    public static Path getArchiveFilePath(Path dataFilePath) {
+        String fileName = dataFilePath.getFileName().toString();
+        int extensionStart = fileName.lastIndexOf('.');
+        String baseName = extensionStart > 0 ? fileName.substring(0, extensionStart) : fileName;
+        return dataFilePath.resolveSibling(baseName + ARCHIVE_FILE_SUFFIX);
+    }
+
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Maps the file, and reads the offset, index and NRIC of each record.
+     */
+    private void open() throws DataConversionException, IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long length = channel.size();
+            if (length < HEADER_LENGTH) {
+                // the header itself was not written completely
+                truncate(channel, 0);
+                return;
+            }
+            if (length > Integer.MAX_VALUE) {
+                throw new DataConversionException(new IllegalValueException(filePath + " is too large to be mapped"));
+            }
+
+            MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (file.getInt(0) != MAGIC_NUMBER || file.getInt(Integer.BYTES) != FORMAT_VERSION) {
+                throw new DataConversionException(new IllegalValueException(
+                        filePath + " is not a consultation archive of a supported version"));
+            }
+
+            int offset = HEADER_LENGTH;
+            while (offset + Integer.BYTES <= length) {
+                int recordLength = file.getInt(offset);
+                if (recordLength < RECORD_FIELDS_LENGTH || recordLength > length - offset - Integer.BYTES) {
+                    break;
+                }
+                int index = file.getInt(offset + Integer.BYTES);
+                if (index != size) {
+                    throw new DataConversionException(new IllegalValueException(String.format(
+                            "Consultation %d of %s is archived as consultation %d", size, filePath, index)));
+                }
+                addRecord(offset, readNric(file, offset));
+                offset += Integer.BYTES + recordLength;
+            }
+
+            if (offset < length) {
+                logger.warning("Removing an incomplete consultation at the end of " + filePath);
+                truncate(channel, offset);
+                file = channel.map(FileChannel.MapMode.READ_ONLY, 0, offset);
+            }
+            fileLength = offset;
+            mappedFile = file;
+        }
+    }
+
+    private static void truncate(FileChannel channel, long length) throws IOException {
+        channel.truncate(length);
+        channel.force(true);
+    }
+
+    private static String readNric(ByteBuffer file, int recordOffset) {
+        int nricOffset = recordOffset + Integer.BYTES + RECORD_FIELDS_LENGTH;
+        byte[] nric = new byte[file.getShort(nricOffset - Short.BYTES)];
+        ByteBuffer record = file.duplicate();
+        record.position(nricOffset);
+        record.get(nric);
+        return new String(nric, StandardCharsets.UTF_8);
+    }
+
+    private void addRecord(long offset, String nric) {
+        if (size == recordOffsets.length) {
+            recordOffsets = Arrays.copyOf(recordOffsets, size * 2);
+        }
+        recordOffsets[size] = offset;
+        indexesByNric.computeIfAbsent(nric, key -> new ArrayList<>()).add(size);
+        size++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reads the archived consultation with the given index from the file.
+     *
+     * @throws IllegalStateException if the record of the consultation is not in the correct format.
+     */
+    @Override
+    public Consultation get(int index) {
+        Objects.checkIndex(index, size);
+        int offset = (int) recordOffsets[index];
+        ByteBuffer record = mappedFile.duplicate();
+        int nricOffset = offset + Integer.BYTES + RECORD_FIELDS_LENGTH;
+        int jsonOffset = nricOffset + record.getShort(nricOffset - Short.BYTES);
+        byte[] json = new byte[offset + Integer.BYTES + record.getInt(offset) - jsonOffset];
+        record.position(jsonOffset);
+        record.get(json);
+
+        try {
+            return JsonUtil.fromJsonString(new String(json, StandardCharsets.UTF_8), JsonAdaptedConsultation.class)
+                    .toModelType();
+        } catch (IOException | IllegalValueException e) {
+            throw new IllegalStateException("Archived consultation " + index + " in " + filePath
+                    + " cannot be read", e);
+        }
+    }
+
+    @Override
+    public List<Consultation> findByNric(String nric) {
+        List<Consultation> consultations = new ArrayList<>();
+        for (int index : indexesByNric.getOrDefault(nric, Collections.emptyList())) {
+            consultations.add(get(index));
+        }
+        return consultations;
+    }
+
+    /**
+     * Writes the records of the given consultations at the end of the file, forces them to the disk,
+     * and maps the file again to include them.
+     *
+     * @throws IllegalArgumentException if the indexes of the consultations do not follow on from the archive.
+     */
+    @Override
+    public void append(List<Consultation> consultations) throws IOException {
+        requireNonNull(consultations);
+        if (consultations.isEmpty()) {
+            return;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        if (fileLength == 0) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(FORMAT_VERSION);
+        }
+
+        long[] offsets = new long[consultations.size()];
+        String[] nrics = new String[consultations.size()];
+        for (int i = 0; i < consultations.size(); i++) {
+            Consultation consultation = consultations.get(i);
+            if (consultation.getIndex() != size + i) {
+                throw new IllegalArgumentException(String.format("Consultation %d cannot be archived after %d",
+                        consultation.getIndex(), size + i - 1));
+            }
+            nrics[i] = consultation.getPatient().getNric().toString();
+            byte[] nric = nrics[i].getBytes(StandardCharsets.UTF_8);
+            byte[] json = JsonUtil.toJsonLine(new JsonAdaptedConsultation(consultation))
+                    .getBytes(StandardCharsets.UTF_8);
+
+            offsets[i] = fileLength + bytes.size();
+            out.writeInt(RECORD_FIELDS_LENGTH + nric.length + json.length);
+            out.writeInt(consultation.getIndex());
+            out.writeShort(nric.length);
+            out.write(nric);
+            out.write(json);
+        }
+
+        long newFileLength = fileLength + bytes.size();
+        if (newFileLength > Integer.MAX_VALUE) {
+            throw new IOException(filePath + " is too large to archive more consultations");
+        }
+
+        FileUtil.createParentDirsOfFile(filePath);
+        MappedByteBuffer file;
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // drops the records of an earlier append that failed
+            channel.truncate(fileLength);
+            channel.position(fileLength);
+            ByteBuffer records = ByteBuffer.wrap(bytes.toByteArray());
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+            channel.force(true);
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, newFileLength);
+        }
+
+        for (int i = 0; i < offsets.length; i++) {
+            addRecord(offsets[i], nrics[i]);
+        }
+        fileLength = newFileLength;
+        mappedFile = file;
+    }
+}
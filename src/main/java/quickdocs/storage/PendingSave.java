@@ -0,0 +1,117 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import quickdocs.model.QuickDocs;
+
+/**
+ * Represents data captured from a {@link QuickDocs} that is yet to be written to storage.
+ * The data is captured when the save is prepared, so the write can run on another thread
+ * while the {@code QuickDocs} is modified further.
+ */
+public class PendingSave {
+
+    private final Write write;
+    private final boolean isSnapshot;
+    // the entries appended by a save of changes that only appends entries, and what it appends them to
+    private final List<?> entries;
+    private final Append append;
+
+    private PendingSave(Write write, boolean isSnapshot) {
+        requireNonNull(write);
+        this.write = write;
+        this.isSnapshot = isSnapshot;
+        this.entries = null;
+        this.append = null;
+    }
+
+    private PendingSave(List<?> entries, Append append) {
+        requireNonNull(entries);
+        requireNonNull(append);
+        this.write = () -> append.run(entries);
+        this.isSnapshot = false;
+        this.entries = entries;
+        this.append = append;
+    }
+
+    /**
+     * Returns a save that writes the whole {@code QuickDocs}.
+     */
+    public static PendingSave ofSnapshot(Write write) {
+        return new PendingSave(write, true);
+    }
+
+    /**
+     * Returns a save that writes the changes made since the previous save, which has to be written before it.
+     */
+    public static PendingSave ofChanges(Write write) {
+        return new PendingSave(write, false);
+    }
+
+    /**
+     * Returns a save that writes the changes made since the previous save by appending the given entries,
+     * so that it can be written together with the next saves that append to the same {@code Append}.
+     */
+    public static PendingSave ofChanges(List<?> entries, Append append) {
+        return new PendingSave(entries, append);
+    }
+
+    /**
+     * Returns true if this save writes the whole {@code QuickDocs},
+     * so that the saves prepared before it do not have to be written.
+     */
+    public boolean isSnapshot() {
+        return isSnapshot;
+    }
+
+    /**
+     * Returns true if {@code next} can be written together with this save, as both append entries to the same
+     * {@code Append}.
+     */
+    public boolean canBeFollowedBy(PendingSave next) {
+        requireNonNull(next);
+        return append != null && append == next.append;
+    }
+
+    /**
+     * Returns a save that appends the entries of this save and then those of {@code next} in a single write.
+     *
+     * @throws IllegalArgumentException if {@code next} cannot be written together with this save.
+     */
+    public PendingSave followedBy(PendingSave next) {
+        if (!canBeFollowedBy(next)) {
+            throw new IllegalArgumentException("The saves do not append to the same storage");
+        }
+        List<Object> combinedEntries = new ArrayList<>(entries);
+        combinedEntries.addAll(next.entries);
+        return new PendingSave(combinedEntries, append);
+    }
+
+    /**
+     * Writes the captured data to storage.
+     * @throws IOException if there was any problem writing to the file.
+     */
+    public void write() throws IOException {
+        write.run();
+    }
+
+    /**
+     * Represents a write of captured data to storage.
+     */
+    @FunctionalInterface
+    public interface Write {
+        void run() throws IOException;
+    }
+
+    /**
+     * Represents an append of entries to storage, such as to a journal.
+     */
+    @FunctionalInterface
+    public interface Append {
+        void run(List<?> entries) throws IOException;
+    }
+}
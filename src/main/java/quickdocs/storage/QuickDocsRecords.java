@@ -0,0 +1,163 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import quickdocs.model.QuickDocs;
+import quickdocs.model.appointment.Appointment;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.medicine.MedicineManager;
+import quickdocs.model.patient.Nric;
+import quickdocs.model.patient.Patient;
+import quickdocs.model.patient.PatientManager;
+import quickdocs.model.record.StatisticsManager;
+import quickdocs.model.reminder.Reminder;
+
+/**
+ * The records of a {@code QuickDocs} that are written to its sections, read from the {@code QuickDocs} itself,
+ * or copied from it so that they can be serialized on another thread while the {@code QuickDocs} is modified further.
+ * Patients, consultations, appointments and reminders are replaced rather than modified once they are stored,
+ * so only their lists are copied. Medicines and statistics are modified in place, and are never copied.
+ */
+class QuickDocsRecords {
+
+    private static final Set<DataSection> COPIED_SECTIONS = EnumSet.of(DataSection.PATIENTS,
+            DataSection.CONSULTATIONS, DataSection.APPOINTMENTS, DataSection.REMINDERS);
+
+    private final List<Patient> patients;
+    private final List<Consultation> consultations;
+    private final int archivedConsultationCount;
+    private final List<Appointment> appointments;
+    private final List<Reminder> reminders;
+
+    // the QuickDocs read from, or null for a copy
+    private final QuickDocs source;
+    // the NRICs of the copied patients, built when first needed, on the thread that serializes the copy
+    private Set<Nric> listedNrics;
+
+    private QuickDocsRecords(List<Patient> patients, List<Consultation> consultations, int archivedConsultationCount,
+                             List<Appointment> appointments, List<Reminder> reminders, QuickDocs source) {
+        this.patients = patients;
+        this.consultations = consultations;
+        this.archivedConsultationCount = archivedConsultationCount;
+        this.appointments = appointments;
+        this.reminders = reminders;
+        this.source = source;
+    }
+
+    /**
+     * Returns the records of the given {@code QuickDocs}, read from it as they are when they are serialized.
+     */
+    static QuickDocsRecords of(QuickDocs source) {
+        requireNonNull(source);
+        return new QuickDocsRecords(source.getPatientManager().getPatientList(),
+                source.getConsultationManager().getConsultationList(),
+                source.getConsultationManager().getArchivedCount(),
+                source.getAppointmentManager().getAppointmentList(),
+                source.getReminderManager().getReminderList(),
+                source);
+    }
+
+    /**
+     * Returns a copy of the records of the given sections of {@code source}. The patients are also copied for
+     * the consultations and appointments, which refer to the patients in the list by NRIC.
+     *
+     * @throws IllegalArgumentException if the sections include the medicines or the statistics.
+     */
+    static QuickDocsRecords copyOf(QuickDocs source, Set<DataSection> sections) {
+        requireNonNull(source);
+        if (!isCopied(sections)) {
+            throw new IllegalArgumentException("Medicines and statistics are modified in place and cannot be copied");
+        }
+
+        boolean hasPatients = sections.contains(DataSection.PATIENTS)
+                || sections.contains(DataSection.CONSULTATIONS) || sections.contains(DataSection.APPOINTMENTS);
+        return new QuickDocsRecords(
+                hasPatients ? new ArrayList<>(source.getPatientManager().getPatientList()) : Collections.emptyList(),
+                sections.contains(DataSection.CONSULTATIONS)
+                        ? new ArrayList<>(source.getConsultationManager().getConsultationList())
+                        : Collections.emptyList(),
+                source.getConsultationManager().getArchivedCount(),
+                sections.contains(DataSection.APPOINTMENTS)
+                        ? source.getAppointmentManager().getAppointmentList()
+                        : Collections.emptyList(),
+                sections.contains(DataSection.REMINDERS)
+                        ? new ArrayList<>(source.getReminderManager().getReminderList())
+                        : Collections.emptyList(),
+                null);
+    }
+
+    /**
+     * Returns true if the records of all the given sections can be copied by {@link #copyOf(QuickDocs, Set)}.
+     */
+    static boolean isCopied(Set<DataSection> sections) {
+        return COPIED_SECTIONS.containsAll(sections);
+    }
+
+    List<Patient> getPatients() {
+        return patients;
+    }
+
+    List<Consultation> getConsultations() {
+        return consultations;
+    }
+
+    int getArchivedConsultationCount() {
+        return archivedConsultationCount;
+    }
+
+    List<Appointment> getAppointments() {
+        return appointments;
+    }
+
+    List<Reminder> getReminders() {
+        return reminders;
+    }
+
+    /**
+     * Returns true if a patient with the same NRIC as {@code patient} is in the patient list,
+     * in which case the records of the patient refer to it by NRIC.
+     */
+    boolean isListed(Patient patient) {
+        if (source != null) {
+            PatientManager patientManager = source.getPatientManager();
+            return patientManager.getPatientByNric(patient.getNric()).isPresent();
+        }
+        if (listedNrics == null) {
+            listedNrics = new HashSet<>();
+            patients.forEach(listedPatient -> listedNrics.add(listedPatient.getNric()));
+        }
+        return listedNrics.contains(patient.getNric());
+    }
+
+    /**
+     * Returns the medicines of the {@code QuickDocs} read from.
+     *
+     * @throws IllegalStateException if these records are a copy.
+     */
+    MedicineManager getMedicineManager() {
+        return requireSource().getMedicineManager();
+    }
+
+    /**
+     * Returns the statistics of the {@code QuickDocs} read from.
+     *
+     * @throws IllegalStateException if these records are a copy.
+     */
+    StatisticsManager getStatisticsManager() {
+        return requireSource().getStatisticsManager();
+    }
+
+    private QuickDocs requireSource() {
+        if (source == null) {
+            throw new IllegalStateException("Medicines and statistics are not copied");
+        }
+        return source;
+    }
+}
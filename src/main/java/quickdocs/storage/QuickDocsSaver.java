@@ -0,0 +1,163 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import quickdocs.commons.core.LogsCenter;
+import quickdocs.commons.util.StringUtil;
+import quickdocs.model.QuickDocs;
+
+/**
+ * Saves {@code QuickDocs} data on a background thread, so that commands do not wait for the data file to be written.
+ * The data of each save is captured on the calling thread, which has to be the thread that modifies the
+ * {@code QuickDocs}. Saves requested while earlier ones are being written are written together: the saves
+ * prepared before the last snapshot of the whole {@code QuickDocs} among them are skipped, and consecutive saves
+ * that append to the same journal are appended, and forced to the disk, at once.
+ */
+public class QuickDocsSaver {
+    private static final Logger logger = LogsCenter.getLogger(QuickDocsSaver.class);
+
+    private final QuickDocsStorage storage;
+    private final ExecutorService executor;
+
+    private final List<PendingSave> pendingSaves = new ArrayList<>();
+    private boolean isWriteScheduled;
+
+    // set when a write fails, until a snapshot of the whole QuickDocs is written,
+    // as the saves of the changes prepared before the failure cannot be written on top of it
+    private volatile boolean hasFailed;
+    private volatile Consumer<IOException> failureHandler = ioe -> { };
+
+    public QuickDocsSaver(QuickDocsStorage storage) {
+        requireNonNull(storage);
+        this.storage = storage;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "QuickDocs saver");
+            // a write that never completes must not keep QuickDocs from exiting
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sets the handler that is given the exception of each failed write, on the thread that writes the saves.
+     */
+    public void setFailureHandler(Consumer<IOException> failureHandler) {
+        requireNonNull(failureHandler);
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Captures the data of {@code quickDocs} to save, marks it as unmodified, and writes the data in the background.
+     */
+    public void save(QuickDocs quickDocs) {
+        requireNonNull(quickDocs);
+
+        PendingSave save = storage.prepareSave(quickDocs);
+        quickDocs.indicateModification(false);
+        synchronized (pendingSaves) {
+            pendingSaves.add(save);
+            if (!isWriteScheduled) {
+                isWriteScheduled = true;
+                executor.execute(this::writePendingSaves);
+            }
+        }
+    }
+
+    /**
+     * Writes the saves prepared since the last call, from the last snapshot among them on, combining the
+     * consecutive saves that can be written together.
+     */
+    private void writePendingSaves() {
+        List<PendingSave> saves;
+        synchronized (pendingSaves) {
+            saves = new ArrayList<>(pendingSaves);
+            pendingSaves.clear();
+            isWriteScheduled = false;
+        }
+
+        int firstSave = 0;
+        for (int i = saves.size() - 1; i > 0; i--) {
+            if (saves.get(i).isSnapshot()) {
+                firstSave = i;
+                break;
+            }
+        }
+        if (firstSave > 0) {
+            logger.fine("Skipping " + firstSave + " saves written over by a later snapshot");
+        }
+
+        List<PendingSave> combinedSaves = new ArrayList<>();
+        for (PendingSave save : saves.subList(firstSave, saves.size())) {
+            int last = combinedSaves.size() - 1;
+            if (last >= 0 && combinedSaves.get(last).canBeFollowedBy(save)) {
+                combinedSaves.set(last, combinedSaves.get(last).followedBy(save));
+            } else {
+                combinedSaves.add(save);
+            }
+        }
+
+        for (PendingSave save : combinedSaves) {
+            if (hasFailed && !save.isSnapshot()) {
+                continue;
+            }
+            try {
+                save.write();
+                hasFailed = false;
+            } catch (IOException ioe) {
+                hasFailed = true;
+                logger.warning("Failed to save data " + StringUtil.getDetails(ioe));
+                failureHandler.accept(ioe);
+            }
+        }
+    }
+
+    /**
+     * Saves {@code quickDocs} if it has unsaved modifications, and waits until every save is written.
+     * If a write fails, the whole {@code quickDocs} is saved once more.
+     *
+     * @return true if all data of {@code quickDocs} was written.
+     */
+    public boolean flush(QuickDocs quickDocs) {
+        requireNonNull(quickDocs);
+
+        if (quickDocs.isModified() || hasFailed) {
+            save(quickDocs);
+        }
+        awaitPendingSaves();
+        if (hasFailed) {
+            save(quickDocs);
+            awaitPendingSaves();
+        }
+        return !hasFailed;
+    }
+
+    /**
+     * Waits until the saves prepared so far are written.
+     */
+    private void awaitPendingSaves() {
+        try {
+            executor.submit(() -> { }).get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ee) {
+            throw new AssertionError("An empty task cannot fail", ee);
+        }
+    }
+
+    /**
+     * Stops the thread that writes the saves, once the saves prepared so far are written.
+     * No saves can be made afterwards.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
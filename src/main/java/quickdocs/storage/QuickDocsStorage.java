@@ -32,4 +32,12 @@ public interface QuickDocsStorage {
      * @throws IOException if there was any problem writing to the file.
      */
     void saveQuickDocs(QuickDocs quickDocs) throws IOException;
+
+    /**
+     * Captures the data of the given {@link QuickDocs} that {@link #saveQuickDocs(QuickDocs)} would write,
+     * and returns the save of that data, which can be written on another thread.
+     * Saves have to be written in the order they were prepared.
+     * @param quickDocs cannot be null.
+     */
+    PendingSave prepareSave(QuickDocs quickDocs);
 }
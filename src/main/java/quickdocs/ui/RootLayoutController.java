@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
@@ -23,6 +24,8 @@ public class RootLayoutController {
     private boolean suggestionOn = false;
     private boolean isMedicineAllowed = false;
     private ArrayList<String> suggestions;
+    private ArrayList<String> completions = new ArrayList<>();
+    private int completionPointer;
     private Logic logicManager;
     private ReminderListPanel reminderListPanel;
     private List<String> history;
@@ -60,6 +63,9 @@ public class RootLayoutController {
      */
     public void initialiseRootLayout(Logic logicManager) {
         this.logicManager = logicManager;
+        // saves are written in the background, so their failures are shown once known, without blocking input
+        this.logicManager.setSaveFailureHandler(message ->
+                Platform.runLater(() -> inputFeedbackArea.setText(message)));
         this.history = this.logicManager.getHistory();
         this.historySnapshot = new ListElementPointer(history);
         this.helpWindow = new HelpWindow();
@@ -174,6 +180,10 @@ public class RootLayoutController {
             }
             userInputField.positionCaret(userInputField.getText().length());
             break;
+        case TAB:
+            event.consume();
+            completeLastWord();
+            break;
         case UP:
             event.consume();
             navigateToPreviousInput();
@@ -217,6 +227,36 @@ public class RootLayoutController {
         return current;
     }
 
+    /**
+     * Completes the medicine name or directory path at the end of the user input, from anywhere in the storage.
+     * Pressing Tab again replaces the completion with the next one, and the completions are listed in the
+     * feedback area, the medicines most prescribed first.
+     * A path may have spaces in its directory names, so it is completed from the start of the word it begins with.
+     */
+    private void completeLastWord() {
+        String input = userInputField.getText();
+        int pathStart = input.indexOf('\\');
+        int wordStart = input.lastIndexOf(' ', pathStart < 0 ? input.length() : pathStart) + 1;
+        String word = input.substring(wordStart);
+        if (word.isEmpty()) {
+            return;
+        }
+
+        if (!completions.isEmpty() && completions.get(completionPointer).equalsIgnoreCase(word)) {
+            completionPointer = (completionPointer + 1) % completions.size();
+        } else {
+            completions = logicManager.getCompletions(word);
+            completionPointer = 0;
+            if (completions.isEmpty()) {
+                inputFeedbackArea.setText("No medicine or directory starts with " + word);
+                return;
+            }
+            inputFeedbackArea.setText("Completions: " + String.join(", ", completions));
+        }
+        userInputField.setText(input.substring(0, wordStart) + completions.get(completionPointer));
+        userInputField.positionCaret(userInputField.getText().length());
+    }
+
     private String processPath(String input, String idealName) {
         String remain = input.substring(0, input.lastIndexOf("\\") + 1);
         return remain + idealName;
@@ -15,7 +15,10 @@ public class ConfigTest {
     @Test
     public void toString_defaultObject_stringReturned() {
         String defaultConfigAsString = "Current log level : INFO\n"
-                + "Preference file Location : preferences.json";
+                + "Preference file Location : preferences.json\n"
+                + "Data format : JSON\n"
+                + "Consultation archive horizon : 365 days\n"
+                + "Appointment capacity : 1";
 
         assertEquals(defaultConfigAsString, new Config().toString());
     }
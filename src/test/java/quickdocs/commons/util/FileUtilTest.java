@@ -1,14 +1,24 @@
 package quickdocs.commons.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import quickdocs.testutil.Assert;
 
 public class FileUtilTest {
 
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
     @Test
     public void isValidPath() {
         // valid path
@@ -21,4 +31,31 @@ public class FileUtilTest {
         Assert.assertThrows(NullPointerException.class, () -> FileUtil.isValidPath(null));
     }
 
+    @Test
+    public void writeToFileAtomically_existingFile_replacedWithoutTempFileLeft() throws Exception {
+        Path file = testFolder.getRoot().toPath().resolve("file.txt");
+        FileUtil.writeToFile(file, "old content");
+
+        FileUtil.writeToFile(file, "new content");
+        assertEquals("new content", FileUtil.readFromFile(file));
+        assertFalse(Files.exists(FileUtil.getTempFilePath(file)));
+    }
+
+    @Test
+    public void writeToFileAtomically_writeFails_fileUnchanged() throws Exception {
+        Path file = testFolder.getRoot().toPath().resolve("file.txt");
+        FileUtil.writeToFile(file, "old content");
+
+        Assert.assertThrows(IOException.class, () -> FileUtil.writeToFileAtomically(file, out -> {
+            out.write("partial".getBytes());
+            throw new IOException("dummy exception");
+        }));
+        assertEquals("old content", FileUtil.readFromFile(file));
+    }
+
+    @Test
+    public void forceDirectoryOf_missingDirectory_ignored() {
+        // forcing the directory is best effort, so a directory that cannot be opened is not an error
+        FileUtil.forceDirectoryOf(testFolder.getRoot().toPath().resolve("missing").resolve("file.json"));
+    }
 }
@@ -22,11 +22,23 @@ public class JsonUtilTest {
         SerializableTestClass serializableTestClass = new SerializableTestClass();
         serializableTestClass.setTestValues();
 
-        JsonUtil.serializeObjectToJsonFile(SERIALIZATION_FILE, serializableTestClass);
+        JsonUtil.serializeObjectToJsonFile(SERIALIZATION_FILE, serializableTestClass, true);
 
         assertEquals(FileUtil.readFromFile(SERIALIZATION_FILE), SerializableTestClass.JSON_STRING_REPRESENTATION);
     }
 
+    @Test
+    public void saveJsonFile_notPrettyPrinted_writtenOnOneLine() throws Exception {
+        SerializableTestClass serializableTestClass = new SerializableTestClass();
+        serializableTestClass.setTestValues();
+
+        JsonUtil.saveJsonFile(serializableTestClass, SERIALIZATION_FILE);
+
+        assertEquals(FileUtil.readFromFile(SERIALIZATION_FILE), JsonUtil.toJsonLine(serializableTestClass));
+        assertEquals(serializableTestClass.getName(), JsonUtil
+                .deserializeObjectFromJsonFile(SERIALIZATION_FILE, SerializableTestClass.class).getName());
+    }
+
     @Test
     public void deserializeObjectFromJsonFile_noExceptionThrown() throws IOException {
         FileUtil.writeToFile(SERIALIZATION_FILE, SerializableTestClass.JSON_STRING_REPRESENTATION);
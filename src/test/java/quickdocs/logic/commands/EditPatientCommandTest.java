@@ -1,8 +1,12 @@
 package quickdocs.logic.commands;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -11,6 +15,7 @@ import org.junit.Test;
 import quickdocs.logic.CommandHistory;
 import quickdocs.logic.commands.exceptions.CommandException;
 import quickdocs.model.ModelManager;
+import quickdocs.model.appointment.Appointment;
 import quickdocs.model.patient.Address;
 import quickdocs.model.patient.Contact;
 import quickdocs.model.patient.Dob;
@@ -103,6 +108,29 @@ public class EditPatientCommandTest {
     }
 
 
+    @Test
+    public void editPatient_withAppointments_appointmentsAndRemindersFollowEdit() throws CommandException {
+        Appointment app = new Appointment(patient1, LocalDate.parse("2019-10-23"), LocalTime.parse("12:00"),
+                LocalTime.parse("13:00"), "Weekly Checkup");
+        modelManager.addApp(app);
+
+        PatientEditedFields editedFields = new PatientEditedFields();
+        editedFields.setName(new Name("Bob Toh"));
+        editedFields.setNric(new Nric("S9123456C"));
+        new EditPatientCommand(patient1.getNric(), editedFields).execute(modelManager, history);
+
+        Patient patientAfterEdit = modelManager.getPatientByNric(new Nric("S9123456C")).get();
+        Appointment appAfterEdit = new Appointment(patientAfterEdit, app.getDate(), app.getStart(), app.getEnd(),
+                app.getComment());
+        assertEquals(modelManager.getQuickDocs().getAppointmentManager().listAppointments(Arrays.asList(appAfterEdit)),
+                modelManager.listApp(patientAfterEdit));
+        assertEquals("", modelManager.listApp(patient1));
+
+        // the appointment's reminder now refers to the edited patient
+        assertTrue(modelManager.getQuickDocs().getReminderManager().getReminder(appAfterEdit).isPresent());
+        assertEquals(1, modelManager.getQuickDocs().getReminderManager().getReminderList().size());
+    }
+
     @Test
     public void executeValidEditPatient() {
         Name name = new Name("Bob Toh");
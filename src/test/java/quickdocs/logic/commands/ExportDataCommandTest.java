@@ -0,0 +1,84 @@
+package quickdocs.logic.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static quickdocs.testutil.TypicalPatients.getTypicalPatientQuickDocs;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.commons.core.Config.DataFormat;
+import quickdocs.logic.CommandHistory;
+import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.model.Model;
+import quickdocs.model.ModelManager;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.UserPrefs;
+import quickdocs.storage.JournalQuickDocsStorage;
+import quickdocs.storage.JsonQuickDocsStorage;
+
+/**
+ * Contains integration tests (interaction with the Model) and unit tests for {@code ExportDataCommand}.
+ */
+public class ExportDataCommandTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private CommandHistory commandHistory = new CommandHistory();
+
+    @Test
+    public void execute_dataStoredInBinary_allDataWrittenAsJson() throws Exception {
+        Path dataFilePath = testFolder.getRoot().toPath().resolve("quickdocs.json");
+        JournalQuickDocsStorage binaryStorage = new JournalQuickDocsStorage(dataFilePath, DataFormat.BINARY);
+        binaryStorage.saveQuickDocs(getTypicalPatientQuickDocs());
+        QuickDocs stored = binaryStorage.readQuickDocs().get();
+        Model model = new ModelManager(stored, new UserPrefs());
+
+        Path filePath = testFolder.getRoot().toPath().resolve("export").resolve("quickdocs.json");
+        CommandResult commandResult = new ExportDataCommand(filePath).execute(model, commandHistory);
+        assertEquals(String.format(ExportDataCommand.MESSAGE_SUCCESS, filePath), commandResult.getFeedbackToUser());
+
+        // the file holds all the data in a single json file, without backups
+        assertEquals(stored, new JsonQuickDocsStorage(filePath).readQuickDocs().get());
+        assertEquals(1, filePath.getParent().toFile().list().length);
+        assertFalse(model.getQuickDocs().isModified());
+    }
+
+    @Test
+    public void execute_fileCannotBeWritten_throwsCommandException() throws Exception {
+        Path filePath = testFolder.newFile("file").toPath().resolve("quickdocs.json");
+        thrown.expect(CommandException.class);
+        thrown.expectMessage("Could not write data to");
+        new ExportDataCommand(filePath).execute(new ModelManager(), commandHistory);
+    }
+
+    @Test
+    public void equals() {
+        ExportDataCommand exportDataCommand = new ExportDataCommand(Paths.get("export.json"));
+
+        // same object -> returns true
+        assertEquals(exportDataCommand, exportDataCommand);
+
+        // same values -> returns true
+        assertEquals(exportDataCommand, new ExportDataCommand(Paths.get("export.json")));
+
+        // different types -> returns false
+        assertNotEquals(exportDataCommand, 1);
+
+        // null -> returns false
+        assertNotEquals(exportDataCommand, null);
+
+        // different file -> returns false
+        assertNotEquals(exportDataCommand, new ExportDataCommand(Paths.get("backup.json")));
+    }
+}
@@ -0,0 +1,99 @@
+package quickdocs.logic.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.logic.CommandHistory;
+import quickdocs.model.Model;
+import quickdocs.model.ModelManager;
+import quickdocs.storage.FormularyExportWriter;
+
+/**
+ * Contains integration tests (interaction with the Model) and unit tests for {@code ExportMedicineCommand}.
+ */
+public class ExportMedicineCommandTest {
+    private static final Path TEST_DATA_FOLDER = Paths.get("src", "test", "data", "ImportMedicineCommandTest");
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private CommandHistory commandHistory = new CommandHistory();
+
+    /**
+     * Returns a model with the given formulary catalogue imported.
+     */
+    private Model importFormulary(Path filePath) throws Exception {
+        Model model = new ModelManager();
+        new ImportMedicineCommand(filePath).execute(model, commandHistory);
+        return model;
+    }
+
+    @Test
+    public void execute_csvFile_eachDirectoryAndMedicineWritten() throws Exception {
+        Model model = importFormulary(TEST_DATA_FOLDER.resolve("formulary.csv"));
+        Path filePath = testFolder.getRoot().toPath().resolve("formulary.csv");
+        CommandResult commandResult = new ExportMedicineCommand(filePath).execute(model, commandHistory);
+        assertTrue(commandResult.getFeedbackToUser().startsWith(
+                String.format(ExportMedicineCommand.MESSAGE_SUCCESS, 10, filePath)));
+
+        // the medicines are sorted by name in each directory, and a medicine in several directories is written
+        // with its price, quantity and alarm level only where it first appears
+        List<String> expected = Arrays.asList(FormularyExportWriter.CSV_HEADER,
+                "root\\Pain,,,,",
+                "root\\Pain\\Strong,,,,",
+                "root\\Pain\\Strong,\"Med\"\"s\",1,0,0",
+                "\"root\\Pain, fever\",,,,",
+                "\"root\\Pain, fever\",Ginseng,10,5,30",
+                "\"root\\Pain, fever\",Paracetamol,0.50,200,20",
+                "root\\TCM,,,,30",
+                "root\\TCM\\herbs,,,,30",
+                "root\\TCM\\herbs,Ginseng,,,",
+                "root\\TCM\\herbs,Healroot,3.41,50,30");
+        assertEquals(expected, Files.readAllLines(filePath, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void execute_exportedThenImported_sameStorage() throws Exception {
+        for (String fileName : Arrays.asList("formulary.csv", "formulary.json")) {
+            Path exported = testFolder.getRoot().toPath().resolve("exported-" + fileName);
+            new ExportMedicineCommand(exported).execute(importFormulary(TEST_DATA_FOLDER.resolve(fileName)),
+                    commandHistory);
+
+            Path exportedAgain = testFolder.getRoot().toPath().resolve("exported-again-" + fileName);
+            new ExportMedicineCommand(exportedAgain).execute(importFormulary(exported), commandHistory);
+            assertEquals(Files.readAllLines(exported), Files.readAllLines(exportedAgain));
+        }
+    }
+
+    @Test
+    public void equals() {
+        ExportMedicineCommand exportMedicineCommand = new ExportMedicineCommand(Paths.get("formulary.csv"));
+
+        // same object -> returns true
+        assertEquals(exportMedicineCommand, exportMedicineCommand);
+
+        // same values -> returns true
+        assertEquals(exportMedicineCommand, new ExportMedicineCommand(Paths.get("formulary.csv")));
+
+        // different types -> returns false
+        assertNotEquals(exportMedicineCommand, 1);
+
+        // null -> returns false
+        assertNotEquals(exportMedicineCommand, null);
+
+        // different file -> returns false
+        assertNotEquals(exportMedicineCommand, new ExportMedicineCommand(Paths.get("formulary.json")));
+    }
+}
@@ -0,0 +1,125 @@
+package quickdocs.logic.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static quickdocs.testutil.TypicalAppointments.APP_A;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import quickdocs.logic.CommandHistory;
+import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.logic.parser.ParserUtil;
+import quickdocs.model.Model;
+import quickdocs.model.ModelManager;
+import quickdocs.model.UserPrefs;
+import quickdocs.model.appointment.Appointment;
+import quickdocs.model.reminder.Reminder;
+import quickdocs.testutil.TypicalPatients;
+
+/**
+ * Contains integration tests (interaction with the Model) and unit tests for {@code ImportAppCommand}.
+ */
+public class ImportAppCommandTest {
+    private static final Path TEST_DATA_FOLDER = Paths.get("src", "test", "data", "ImportAppCommandTest");
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private Model model = new ModelManager(TypicalPatients.getTypicalPatientQuickDocs(), new UserPrefs());
+    private CommandHistory commandHistory = new CommandHistory();
+
+    @Test
+    public void executeCsvFile_validRowsImportedAndInvalidRowsRejected() throws Exception {
+        Path filePath = TEST_DATA_FOLDER.resolve("appointments.csv");
+        CommandResult commandResult = new ImportAppCommand(filePath).execute(model, commandHistory);
+
+        // the row starting at 12:00 is added first, even though the clashing row starting at 12:30 comes before it
+        String expected = String.format(ImportAppCommand.MESSAGE_SUCCESS, 3, filePath)
+                + String.format(ImportAppCommand.MESSAGE_REJECTED, 6)
+                + String.format(ImportAppCommand.MESSAGE_REJECTED_ROW, 3, ImportAppCommand.MESSAGE_CONFLICTING_APP)
+                + String.format(ImportAppCommand.MESSAGE_REJECTED_ROW, 5, AddAppCommand.MESSAGE_PATIENT_NOT_FOUND)
+                + String.format(ImportAppCommand.MESSAGE_REJECTED_ROW, 6, AddAppCommand.MESSAGE_NON_OFFICE_HOURS)
+                + String.format(ImportAppCommand.MESSAGE_REJECTED_ROW, 7,
+                        String.format(ImportAppCommand.MESSAGE_MISSING_FIELD, "end time"))
+                + String.format(ImportAppCommand.MESSAGE_REJECTED_ROW, 8, ParserUtil.MESSAGE_INVALID_DATE)
+                + String.format(ImportAppCommand.MESSAGE_REJECTED_ROW, 10, AddAppCommand.MESSAGE_START_AFTER_END);
+        assertEquals(expected, commandResult.getFeedbackToUser());
+
+        // commas in the comment are kept
+        Appointment followUp = model.getAppointment(LocalDate.parse("2019-10-24"), LocalTime.parse("10:00")).get();
+        assertEquals("Follow up, bring blood test report", followUp.getComment());
+        // quoted values may hold commas and doubled double quotes
+        assertEquals("Bring \"old\" records, and scans",
+                model.getAppointment(LocalDate.parse("2019-10-25"), LocalTime.parse("10:00")).get().getComment());
+        assertTrue(model.getAppointment(APP_A.getDate(), LocalTime.parse("12:00")).isPresent());
+        assertFalse(model.getAppointment(APP_A.getDate(), LocalTime.parse("12:30")).isPresent());
+
+        // a reminder is created for each appointment imported
+        assertTrue(model.duplicateRem(createRemFromApp(followUp)));
+        assertTrue(model.getQuickDocs().isModified());
+    }
+
+    @Test
+    public void executeJsonFile_clashWithExistingAppointmentRejected() throws Exception {
+        model.addApp(APP_A);
+        Path filePath = TEST_DATA_FOLDER.resolve("appointments.json");
+        CommandResult commandResult = new ImportAppCommand(filePath).execute(model, commandHistory);
+
+        String expected = String.format(ImportAppCommand.MESSAGE_SUCCESS, 2, filePath)
+                + String.format(ImportAppCommand.MESSAGE_REJECTED, 1)
+                + String.format(ImportAppCommand.MESSAGE_REJECTED_ROW, 2, ImportAppCommand.MESSAGE_CONFLICTING_APP);
+        assertEquals(expected, commandResult.getFeedbackToUser());
+
+        // the comment is optional
+        Appointment withoutComment = model.getAppointment(LocalDate.parse("2019-10-25"), LocalTime.parse("09:00"))
+                .get();
+        assertEquals("", withoutComment.getComment());
+    }
+
+    @Test
+    public void executeInvalidJsonFile_throwsCommandException() throws Exception {
+        thrown.expect(CommandException.class);
+        thrown.expectMessage("Could not read appointments from");
+        new ImportAppCommand(TEST_DATA_FOLDER.resolve("invalid.json")).execute(model, commandHistory);
+    }
+
+    @Test
+    public void executeMissingFile_throwsCommandException() throws Exception {
+        thrown.expect(CommandException.class);
+        thrown.expectMessage("Could not read appointments from");
+        new ImportAppCommand(TEST_DATA_FOLDER.resolve("missing.csv")).execute(model, commandHistory);
+    }
+
+    @Test
+    public void equals() {
+        ImportAppCommand importAppCommand = new ImportAppCommand(Paths.get("appointments.csv"));
+
+        // same object -> returns true
+        assertEquals(importAppCommand, importAppCommand);
+
+        // same values -> returns true
+        assertEquals(importAppCommand, new ImportAppCommand(Paths.get("appointments.csv")));
+
+        // different types -> returns false
+        assertNotEquals(importAppCommand, 1);
+
+        // null -> returns false
+        assertNotEquals(importAppCommand, null);
+
+        // different file -> returns false
+        assertNotEquals(importAppCommand, new ImportAppCommand(Paths.get("appointments.json")));
+    }
+
+    private Reminder createRemFromApp(Appointment app) {
+        return new Reminder(app.createTitle(), app.getComment(), app.getDate(), app.getStart(), app.getEnd());
+    }
+}
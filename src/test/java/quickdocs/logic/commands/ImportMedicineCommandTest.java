@@ -0,0 +1,159 @@
+package quickdocs.logic.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import quickdocs.logic.CommandHistory;
+import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.model.Model;
+import quickdocs.model.ModelManager;
+import quickdocs.model.medicine.Directory;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.model.medicine.MedicineManager;
+
+/**
+ * Contains integration tests (interaction with the Model) and unit tests for {@code ImportMedicineCommand}.
+ */
+public class ImportMedicineCommandTest {
+    private static final Path TEST_DATA_FOLDER = Paths.get("src", "test", "data", "ImportMedicineCommandTest");
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private Model model = new ModelManager();
+    private CommandHistory commandHistory = new CommandHistory();
+
+    /**
+     * Returns the titles of all the reminders in the model.
+     */
+    private List<String> getReminderTitles() {
+        model.updateFilteredReminderList(reminder -> true);
+        return model.getFilteredReminderList().stream().map(reminder -> reminder.getTitle())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void executeCsvFile_directoriesCreatedAndMedicinesAdded() throws Exception {
+        Path filePath = TEST_DATA_FOLDER.resolve("formulary.csv");
+        CommandResult commandResult = new ImportMedicineCommand(filePath).execute(model, commandHistory);
+        assertTrue(commandResult.getFeedbackToUser().startsWith(
+                String.format(ImportMedicineCommand.MESSAGE_SUCCESS, 6, filePath)));
+        assertTrue(commandResult.getFeedbackToUser().contains(" rows/sec"));
+
+        // quoted values keep their commas and double quotes
+        Medicine ginseng = model.findMedicine("Ginseng").get();
+        assertTrue(ginseng == model.findMedicine(new String[] {"root", "Pain, fever", "Ginseng"}).get());
+        assertEquals(new BigDecimal("0.50"), model.findMedicine(new String[] {"root", "pain, fever", "paracetamol"})
+                .get().getPrice());
+        assertTrue(model.findMedicine(new String[] {"root", "Pain", "Strong", "Med\"s"}).isPresent());
+
+        // the alarm level of a directory is taken up by the directories and medicines created under it
+        Directory herbs = model.findDirectory(new String[] {"root", "TCM", "herbs"}).get();
+        assertEquals(30, herbs.getThreshold().get().intValue());
+        assertEquals(30, ginseng.getThreshold());
+        assertEquals(20, model.findMedicine("Paracetamol").get().getThreshold());
+
+        // a reminder is created for each new medicine below its alarm level
+        assertEquals(1, getReminderTitles().size());
+        assertTrue(getReminderTitles().contains(String.format(Medicine.REMINDER_TITLE_IF_INSUFFICIENT, "Ginseng")));
+        assertTrue(model.getQuickDocs().isModified());
+    }
+
+    @Test
+    public void executeJsonFile_importedAgain_existingRowsRejected() throws Exception {
+        Path filePath = TEST_DATA_FOLDER.resolve("formulary.json");
+        CommandResult commandResult = new ImportMedicineCommand(filePath).execute(model, commandHistory);
+        assertTrue(commandResult.getFeedbackToUser().startsWith(
+                String.format(ImportMedicineCommand.MESSAGE_SUCCESS, 3, filePath)));
+        assertEquals(8, model.findMedicine(new String[] {"root", "Syrups", "CoughMixture"}).get().getQuantity());
+        assertEquals(5, model.findMedicine(new String[] {"root", "Syrups", "Kids", "Calpol"}).get().getThreshold());
+        assertEquals(1, getReminderTitles().size());
+
+        String expected = String.format(ImportMedicineCommand.MESSAGE_REJECTED, filePath, 3)
+                + String.format(ImportMedicineCommand.MESSAGE_REJECTED_ROW, 1,
+                        MedicineManager.ERROR_MESSAGE_THRESHOLD_OF_DIRECTORY_NOT_EMPTY)
+                + String.format(ImportMedicineCommand.MESSAGE_REJECTED_ROW, 2,
+                        MedicineManager.ERROR_MESSAGE_MEDICINE_WITH_SAME_NAME_EXISTS_IN_LIST)
+                + String.format(ImportMedicineCommand.MESSAGE_REJECTED_ROW, 3,
+                        MedicineManager.ERROR_MESSAGE_MEDICINE_WITH_SAME_NAME_EXISTS_IN_LIST);
+        try {
+            new ImportMedicineCommand(filePath).execute(model, commandHistory);
+            fail();
+        } catch (CommandException ce) {
+            assertEquals(expected, ce.getMessage());
+        }
+        assertEquals(2, model.getQuickDocs().getMedicineManager().getListOfMedicine().size());
+    }
+
+    @Test
+    public void executeInvalidRows_noneImported() throws Exception {
+        Path filePath = TEST_DATA_FOLDER.resolve("invalid.csv");
+        String expected = String.format(ImportMedicineCommand.MESSAGE_REJECTED, filePath, 4)
+                + String.format(ImportMedicineCommand.MESSAGE_REJECTED_ROW, 2,
+                        String.format(ImportMedicineCommand.MESSAGE_INVALID_NUMBER, "quantity", "abc"))
+                + String.format(ImportMedicineCommand.MESSAGE_REJECTED_ROW, 3,
+                        AddMedicineCommand.ERRORMESSAGE_INSUFFICIENTINFO_NEWMEDICINE)
+                + String.format(ImportMedicineCommand.MESSAGE_REJECTED_ROW, 4,
+                        String.format(ImportMedicineCommand.MESSAGE_MISSING_FIELD, "path"))
+                + String.format(ImportMedicineCommand.MESSAGE_REJECTED_ROW, 5,
+                        String.format(ImportMedicineCommand.MESSAGE_MISSING_FIELD, "medicine name"));
+        try {
+            new ImportMedicineCommand(filePath).execute(model, commandHistory);
+            fail();
+        } catch (CommandException ce) {
+            assertEquals(expected, ce.getMessage());
+        }
+
+        // the valid row is not imported either
+        assertFalse(model.findMedicine("Allergy").isPresent());
+        assertFalse(model.findDirectory(new String[] {"root", "Syrups"}).isPresent());
+        assertFalse(model.getQuickDocs().isModified());
+    }
+
+    @Test
+    public void executeInvalidJsonFile_throwsCommandException() throws Exception {
+        thrown.expect(CommandException.class);
+        thrown.expectMessage("Could not read medicines from");
+        new ImportMedicineCommand(TEST_DATA_FOLDER.resolve("invalid.json")).execute(model, commandHistory);
+    }
+
+    @Test
+    public void executeMissingFile_throwsCommandException() throws Exception {
+        thrown.expect(CommandException.class);
+        thrown.expectMessage("Could not read medicines from");
+        new ImportMedicineCommand(TEST_DATA_FOLDER.resolve("missing.csv")).execute(model, commandHistory);
+    }
+
+    @Test
+    public void equals() {
+        ImportMedicineCommand importMedicineCommand = new ImportMedicineCommand(Paths.get("formulary.csv"));
+
+        // same object -> returns true
+        assertEquals(importMedicineCommand, importMedicineCommand);
+
+        // same values -> returns true
+        assertEquals(importMedicineCommand, new ImportMedicineCommand(Paths.get("formulary.csv")));
+
+        // different types -> returns false
+        assertNotEquals(importMedicineCommand, 1);
+
+        // null -> returns false
+        assertNotEquals(importMedicineCommand, null);
+
+        // different file -> returns false
+        assertNotEquals(importMedicineCommand, new ImportMedicineCommand(Paths.get("formulary.json")));
+    }
+}
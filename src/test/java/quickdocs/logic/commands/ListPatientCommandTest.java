@@ -17,6 +17,7 @@ import quickdocs.model.patient.Gender;
 import quickdocs.model.patient.Name;
 import quickdocs.model.patient.Nric;
 import quickdocs.model.patient.Patient;
+import quickdocs.model.patient.PatientPage;
 import quickdocs.model.tag.Tag;
 
 public class ListPatientCommandTest {
@@ -247,6 +248,55 @@ public class ListPatientCommandTest {
         }
     }
 
+    @Test
+    public void listPatient_multipleTags_success() {
+        ArrayList<Tag> tags = new ArrayList<>();
+        tags.add(new Tag("Diabetes"));
+        tags.add(new Tag("Highbloodpressure"));
+
+        try {
+            // only the third patient has both tags
+            ListPatientCommand listPatientCommand = new ListPatientCommand(tags, true);
+            StringBuilder sb = new StringBuilder();
+            sb.append("Listing patients:\n");
+            sb.append("==============================\n");
+            sb.append(patient3.toString());
+            Assert.assertEquals(sb.toString(),
+                    listPatientCommand.execute(modelManager, history).getFeedbackToUser());
+
+            // every patient has either tag
+            listPatientCommand = new ListPatientCommand(tags, false);
+            sb = new StringBuilder();
+            sb.append("Listing patients:\n");
+            sb.append("==============================\n");
+            sb.append(1 + ") " + "John Tan"
+                    + " " + "S9123456A"
+                    + " " + "M"
+                    + " " + "1991-01-01"
+                    + "\n");
+            sb.append(2 + ") " + "Jack Tan"
+                    + " " + "S9142356B"
+                    + " " + "M"
+                    + " " + "1991-01-01"
+                    + "\n");
+            sb.append(3 + ") " + "Jeremy Toh"
+                    + " " + "S9132456C"
+                    + " " + "M"
+                    + " " + "1991-01-01"
+                    + "\n");
+            sb.append("\n");
+            Assert.assertEquals(sb.toString(),
+                    listPatientCommand.execute(modelManager, history).getFeedbackToUser());
+        } catch (CommandException ce) {
+            Assert.fail();
+        }
+
+        tags.add(new Tag("Gout"));
+        ListPatientCommand noMatchCommand = new ListPatientCommand(tags, true);
+        quickdocs.testutil.Assert.assertThrows(CommandException.class, () ->
+                noMatchCommand.execute(modelManager, history));
+    }
+
     @Test
     public void listPatient_noArgs_success() {
 
@@ -280,6 +330,35 @@ public class ListPatientCommandTest {
         }
     }
 
+    @Test
+    public void listPatient_morePatientsThanPageSize_listsNextPageWithToken() throws CommandException {
+        modelManager = new ModelManager();
+        for (int i = 0; i < ListPatientCommand.PAGE_SIZE + 10; i++) {
+            modelManager.addPatient(new Patient(new Name("Patient " + i), new Nric(String.format("S%07dA", i)),
+                    patient1.getEmail(), patient1.getAddress(), patient1.getContact(), patient1.getGender(),
+                    patient1.getDob(), new ArrayList<Tag>()));
+        }
+
+        String pageToken = PatientPage.encodePageToken(ListPatientCommand.PAGE_SIZE);
+        String firstPage = new ListPatientCommand().execute(modelManager, history).getFeedbackToUser();
+        Assert.assertTrue(firstPage.endsWith(String.format(ListPatientCommand.MORE_PATIENTS, 1,
+                ListPatientCommand.PAGE_SIZE, ListPatientCommand.PAGE_SIZE + 10, pageToken)));
+
+        ListPatientCommand nextPageCommand = new ListPatientCommand();
+        nextPageCommand.setPageToken(pageToken);
+        String secondPage = nextPageCommand.execute(modelManager, history).getFeedbackToUser();
+        Assert.assertTrue(secondPage.startsWith("Listing patients:\n"
+                + "==============================\n"
+                + (ListPatientCommand.PAGE_SIZE + 1) + ") Patient " + ListPatientCommand.PAGE_SIZE));
+        Assert.assertFalse(secondPage.contains("c/"));
+
+        // no patient records after the last page
+        ListPatientCommand pastLastPageCommand = new ListPatientCommand();
+        pastLastPageCommand.setPageToken(PatientPage.encodePageToken(ListPatientCommand.PAGE_SIZE + 10));
+        quickdocs.testutil.Assert.assertThrows(CommandException.class, () ->
+                pastLastPageCommand.execute(modelManager, history));
+    }
+
     @Test
     public void equals() {
         ListPatientCommand lpc = new ListPatientCommand();
@@ -318,5 +397,13 @@ public class ListPatientCommandTest {
         Assert.assertEquals(lpc, lpc2);
         lpc2 = new ListPatientCommand(new Tag("b"));
         Assert.assertNotEquals(lpc, lpc2);
+
+        // tag matching check
+        ArrayList<Tag> tags = new ArrayList<>();
+        tags.add(new Tag("a"));
+        lpc2 = new ListPatientCommand(tags, true);
+        Assert.assertEquals(lpc, lpc2);
+        lpc2 = new ListPatientCommand(tags, false);
+        Assert.assertNotEquals(lpc, lpc2);
     }
 }
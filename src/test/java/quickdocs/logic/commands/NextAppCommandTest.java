@@ -0,0 +1,118 @@
+package quickdocs.logic.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import static quickdocs.testutil.TypicalAppointments.APP_A;
+import static quickdocs.testutil.TypicalAppointments.APP_E;
+import static quickdocs.testutil.TypicalAppointments.getTypicalAppointmentsQuickDocs;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.Test;
+
+import quickdocs.logic.CommandHistory;
+import quickdocs.model.Model;
+import quickdocs.model.ModelManager;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.UserPrefs;
+
+/**
+ * Contains integration tests (interaction with the Model) and unit tests for {@code NextAppCommand}.
+ */
+public class NextAppCommandTest {
+    private QuickDocs quickDocs = getTypicalAppointmentsQuickDocs();
+    private Model model = new ModelManager(quickDocs, new UserPrefs());
+    private CommandHistory commandHistory = new CommandHistory();
+
+    @Test
+    public void executeNextApp() {
+        // the slot of APP_A is skipped
+        LocalDate date = APP_A.getDate();
+        LocalTime time = LocalTime.parse("11:00");
+        Duration length = Duration.ofHours(1);
+        CommandResult result = new NextAppCommand(date, time, length, 3).execute(model, commandHistory);
+        String expected = String.format(NextAppCommand.MESSAGE_SUCCESS, 60, date, time)
+                + "1) 2019-10-23 11:00 to 12:00\n"
+                + "2) 2019-10-23 13:00 to 14:00\n"
+                + "3) 2019-10-23 14:00 to 15:00\n";
+
+        assertEquals(expected, result.getFeedbackToUser());
+    }
+
+    @Test
+    public void executeNextApp_capacity() {
+        // the slot of APP_A can take another appointment
+        quickDocs.getAppointmentManager().setOfficeHours(quickDocs.getAppointmentManager().getOpeningHour(),
+                quickDocs.getAppointmentManager().getClosingHour(), 2);
+        LocalDate date = APP_A.getDate();
+        LocalTime time = LocalTime.parse("11:00");
+        CommandResult result = new NextAppCommand(date, time, Duration.ofHours(1), 2).execute(model, commandHistory);
+        String expected = String.format(NextAppCommand.MESSAGE_SUCCESS, 60, date, time)
+                + "1) 2019-10-23 11:00 to 12:00\n"
+                + "2) 2019-10-23 12:00 to 13:00\n";
+
+        assertEquals(expected, result.getFeedbackToUser());
+    }
+
+    @Test
+    public void executeNextApp_skipsFullDay() {
+        // the whole day of APP_E is taken
+        model.addApp(APP_E);
+        LocalDate date = APP_E.getDate();
+        LocalTime time = LocalTime.MIDNIGHT;
+        CommandResult result = new NextAppCommand(date, time, Duration.ofMinutes(30), 1)
+                .execute(model, commandHistory);
+        String expected = String.format(NextAppCommand.MESSAGE_SUCCESS, 30, date, time)
+                + "1) 2019-10-27 09:00 to 09:30\n";
+
+        assertEquals(expected, result.getFeedbackToUser());
+    }
+
+    @Test
+    public void executeNextAppNoFree() {
+        // slots longer than the office hours never fit
+        LocalDate date = APP_A.getDate();
+        LocalTime time = LocalTime.MIDNIGHT;
+        Duration length = Duration.ofHours(10);
+        CommandResult result = new NextAppCommand(date, time, length, 1).execute(model, commandHistory);
+        String expected = String.format(NextAppCommand.MESSAGE_NO_FREE_SLOTS, 600, date, time);
+
+        assertEquals(expected, result.getFeedbackToUser());
+    }
+
+    @Test
+    public void equals() {
+        LocalDate date = APP_A.getDate();
+        LocalTime time = APP_A.getStart();
+        Duration length = Duration.ofMinutes(30);
+        NextAppCommand nextAppA = new NextAppCommand(date, time, length, 3);
+
+        // same object -> returns true
+        assertEquals(nextAppA, nextAppA);
+
+        // same values -> returns true
+        NextAppCommand nextAppCopy = new NextAppCommand(date, time, length, 3);
+        assertEquals(nextAppA, nextAppCopy);
+
+        // different types -> returns false
+        assertNotEquals(nextAppA, 1);
+
+        // null -> returns false
+        assertNotEquals(nextAppA, null);
+
+        // different date -> returns false
+        assertNotEquals(nextAppA, new NextAppCommand(date.plusDays(1), time, length, 3));
+
+        // different time -> returns false
+        assertNotEquals(nextAppA, new NextAppCommand(date, time.plusHours(1), length, 3));
+
+        // different length -> returns false
+        assertNotEquals(nextAppA, new NextAppCommand(date, time, length.plusMinutes(30), 3));
+
+        // different count -> returns false
+        assertNotEquals(nextAppA, new NextAppCommand(date, time, length, 4));
+    }
+}
@@ -0,0 +1,30 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseSuccess;
+
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+import quickdocs.logic.commands.ExportDataCommand;
+
+/**
+ * Contains unit tests for {@code ExportDataCommandParser}.
+ */
+public class ExportDataCommandParserTest {
+    private ExportDataCommandParser parser = new ExportDataCommandParser();
+
+    @Test
+    public void parse_filePathPresent_success() {
+        assertParseSuccess(parser, "   data/export.json  ",
+                new ExportDataCommand(Paths.get("data", "export.json")));
+    }
+
+    @Test
+    public void parse_filePathMissing_failure() {
+        assertParseFailure(parser, "   ",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, ExportDataCommand.MESSAGE_USAGE));
+    }
+}
@@ -0,0 +1,30 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseSuccess;
+
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+import quickdocs.logic.commands.ExportMedicineCommand;
+
+/**
+ * Contains unit tests for {@code ExportMedicineCommandParser}.
+ */
+public class ExportMedicineCommandParserTest {
+    private ExportMedicineCommandParser parser = new ExportMedicineCommandParser();
+
+    @Test
+    public void parse_filePathPresent_success() {
+        assertParseSuccess(parser, "   data/formulary.json  ",
+                new ExportMedicineCommand(Paths.get("data", "formulary.json")));
+    }
+
+    @Test
+    public void parse_filePathMissing_failure() {
+        assertParseFailure(parser, "   ",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, ExportMedicineCommand.MESSAGE_USAGE));
+    }
+}
@@ -0,0 +1,30 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseSuccess;
+
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+import quickdocs.logic.commands.ImportAppCommand;
+
+/**
+ * Contains unit tests for {@code ImportAppCommandParser}.
+ */
+public class ImportAppCommandParserTest {
+    private ImportAppCommandParser parser = new ImportAppCommandParser();
+
+    @Test
+    public void parse_filePathPresent_success() {
+        assertParseSuccess(parser, "   data/appointments.csv  ",
+                new ImportAppCommand(Paths.get("data", "appointments.csv")));
+    }
+
+    @Test
+    public void parse_filePathMissing_failure() {
+        assertParseFailure(parser, "   ",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, ImportAppCommand.MESSAGE_USAGE));
+    }
+}
@@ -0,0 +1,30 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseSuccess;
+
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+import quickdocs.logic.commands.ImportMedicineCommand;
+
+/**
+ * Contains unit tests for {@code ImportMedicineCommandParser}.
+ */
+public class ImportMedicineCommandParserTest {
+    private ImportMedicineCommandParser parser = new ImportMedicineCommandParser();
+
+    @Test
+    public void parse_filePathPresent_success() {
+        assertParseSuccess(parser, "   data/formulary.csv  ",
+                new ImportMedicineCommand(Paths.get("data", "formulary.csv")));
+    }
+
+    @Test
+    public void parse_filePathMissing_failure() {
+        assertParseFailure(parser, "   ",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, ImportMedicineCommand.MESSAGE_USAGE));
+    }
+}
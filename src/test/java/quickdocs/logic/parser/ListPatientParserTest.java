@@ -4,12 +4,15 @@ import static quickdocs.logic.parser.CommandParserTestUtil.assertParseFailure;
 import static quickdocs.logic.parser.CommandParserTestUtil.assertParseSuccess;
 import static quickdocs.testutil.Assert.assertThrows;
 
+import java.util.ArrayList;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import quickdocs.logic.commands.ListPatientCommand;
 import quickdocs.logic.parser.exceptions.ParseException;
+import quickdocs.model.patient.PatientPage;
 import quickdocs.model.tag.Tag;
 
 public class ListPatientParserTest {
@@ -83,6 +86,39 @@ public class ListPatientParserTest {
         assertParseSuccess(parser, userInput, new ListPatientCommand(tag));
     }
 
+    @Test
+    public void parseListPatient_listByMultipleTags_success() {
+        ArrayList<Tag> tags = new ArrayList<>();
+        tags.add(new Tag("Diabetes"));
+        tags.add(new Tag("Gout"));
+        assertParseSuccess(parser, " t/Diabetes t/Gout", new ListPatientCommand(tags, true));
+        assertParseSuccess(parser, " t/Diabetes t/Gout m/all", new ListPatientCommand(tags, true));
+        assertParseSuccess(parser, " t/Diabetes t/Gout m/ANY", new ListPatientCommand(tags, false));
+    }
+
+    @Test
+    public void parseListPatient_invalidTagMatch_failure() {
+        assertParseFailure(parser, " t/Diabetes t/Gout m/some", ListPatientParser.INVALID_TAG_MATCH);
+    }
+
+    @Test
+    public void parseListPatient_pageToken_success() {
+        String pageToken = PatientPage.encodePageToken(50);
+        ListPatientCommand expectedCommand = new ListPatientCommand("Be", true);
+        expectedCommand.setPageToken(pageToken);
+        assertParseSuccess(parser, " n/Be c/" + pageToken, expectedCommand);
+
+        expectedCommand = new ListPatientCommand();
+        expectedCommand.setPageToken(pageToken);
+        assertParseSuccess(parser, " c/" + pageToken, expectedCommand);
+    }
+
+    @Test
+    public void parseListPatient_invalidPageToken_failure() {
+        assertParseFailure(parser, " n/Be c/50", PatientPage.INVALID_PAGE_TOKEN);
+        assertParseFailure(parser, " c/!!", PatientPage.INVALID_PAGE_TOKEN);
+    }
+
     @Test
     public void parseListPatient_invalidTag_failure() {
         String userInput = " t/D1@b3t35";
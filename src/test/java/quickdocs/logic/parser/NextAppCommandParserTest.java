@@ -0,0 +1,108 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseSuccess;
+import static quickdocs.logic.parser.NextAppCommandParser.PREFIX_COUNT;
+import static quickdocs.logic.parser.NextAppCommandParser.PREFIX_DATE;
+import static quickdocs.logic.parser.NextAppCommandParser.PREFIX_LENGTH;
+import static quickdocs.logic.parser.NextAppCommandParser.PREFIX_TIME;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.Test;
+
+import quickdocs.logic.commands.NextAppCommand;
+
+/**
+ * Contains unit tests for {@code NextAppCommandParser}.
+ */
+public class NextAppCommandParserTest {
+    private NextAppCommandParser parser = new NextAppCommandParser();
+
+    private String lengthString = "30";
+    private String countString = "3";
+    private String dateString = "2019-10-23";
+    private String timeString = "14:00";
+
+    private Duration length = Duration.ofMinutes(30);
+    private LocalDate date = LocalDate.parse(dateString);
+    private LocalTime time = LocalTime.parse(timeString);
+
+    @Test
+    public void parse_allFieldsPresent_success() {
+        // whitespace only preamble
+        assertParseSuccess(parser,
+                "              "
+                        + PREFIX_LENGTH + lengthString + " "
+                        + PREFIX_COUNT + countString + " "
+                        + PREFIX_DATE + dateString + " "
+                        + PREFIX_TIME + timeString,
+                new NextAppCommand(date, time, length, 3));
+    }
+
+    @Test
+    public void parse_optionalFieldsMissing_success() {
+        // missing count prefix
+        assertParseSuccess(parser,
+                " " + PREFIX_LENGTH + lengthString + " "
+                        + PREFIX_DATE + dateString + " "
+                        + PREFIX_TIME + timeString,
+                new NextAppCommand(date, time, length, NextAppCommandParser.DEFAULT_COUNT));
+
+        // missing time prefix, search from the start of the given date
+        assertParseSuccess(parser,
+                " " + PREFIX_LENGTH + lengthString + " "
+                        + PREFIX_COUNT + countString + " "
+                        + PREFIX_DATE + dateString,
+                new NextAppCommand(date, LocalTime.MIDNIGHT, length, 3));
+    }
+
+    @Test
+    public void parse_compulsoryPrefixMissing_failure() {
+        String expectedMessage = String.format(MESSAGE_INVALID_COMMAND_FORMAT, NextAppCommand.MESSAGE_USAGE);
+
+        // no arguments
+        assertParseFailure(parser, "", expectedMessage);
+
+        // missing length prefix
+        assertParseFailure(parser,
+                lengthString + " "
+                        + PREFIX_DATE + dateString,
+                expectedMessage);
+
+        // non-empty preamble
+        assertParseFailure(parser,
+                "slots "
+                        + PREFIX_LENGTH + lengthString,
+                expectedMessage);
+    }
+
+    @Test
+    public void parse_invalidValue_failure() {
+        // length is not a positive integer
+        assertParseFailure(parser, " " + PREFIX_LENGTH + "0", NextAppCommandParser.MESSAGE_INVALID_LENGTH);
+        assertParseFailure(parser, " " + PREFIX_LENGTH + "half", NextAppCommandParser.MESSAGE_INVALID_LENGTH);
+
+        // count is not a positive integer
+        assertParseFailure(parser,
+                " " + PREFIX_LENGTH + lengthString + " "
+                        + PREFIX_COUNT + "-1",
+                NextAppCommandParser.MESSAGE_INVALID_COUNT);
+
+        // invalid date
+        assertParseFailure(parser,
+                " " + PREFIX_LENGTH + lengthString + " "
+                        + PREFIX_DATE + "23-10-2019",
+                ParserUtil.MESSAGE_INVALID_DATE);
+
+        // invalid time
+        assertParseFailure(parser,
+                " " + PREFIX_LENGTH + lengthString + " "
+                        + PREFIX_DATE + dateString + " "
+                        + PREFIX_TIME + "25:00",
+                ParserUtil.MESSAGE_INVALID_TIME);
+    }
+}
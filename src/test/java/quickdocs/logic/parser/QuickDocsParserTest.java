@@ -7,6 +7,8 @@ import static quickdocs.commons.core.Messages.MESSAGE_UNKNOWN_COMMAND;
 import static quickdocs.commons.util.StringUtil.fromPathToString;
 
 import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
@@ -28,13 +30,18 @@ import quickdocs.logic.commands.DiagnosePatientCommand;
 import quickdocs.logic.commands.EditPatientCommand;
 import quickdocs.logic.commands.EndConsultationCommand;
 import quickdocs.logic.commands.ExitCommand;
+import quickdocs.logic.commands.ExportDataCommand;
+import quickdocs.logic.commands.ExportMedicineCommand;
 import quickdocs.logic.commands.FreeAppCommand;
 import quickdocs.logic.commands.HelpCommand;
 import quickdocs.logic.commands.HistoryCommand;
+import quickdocs.logic.commands.ImportAppCommand;
+import quickdocs.logic.commands.ImportMedicineCommand;
 import quickdocs.logic.commands.ListAppCommand;
 import quickdocs.logic.commands.ListConsultationCommand;
 import quickdocs.logic.commands.ListPatientCommand;
 import quickdocs.logic.commands.ListRemCommand;
+import quickdocs.logic.commands.NextAppCommand;
 import quickdocs.logic.commands.PrescriptionCommand;
 import quickdocs.logic.parser.exceptions.ParseException;
 import quickdocs.model.consultation.Assessment;
@@ -356,6 +363,75 @@ public class QuickDocsParserTest {
         assertTrue(parser.parseCommand(FreeAppCommand.COMMAND_ALIAS) instanceof FreeAppCommand);
     }
 
+    @Test
+    public void parseCommand_nextApp() throws Exception {
+        String dateString = "2019-03-15";
+        String timeString = "14:00";
+        NextAppCommand expected = new NextAppCommand(LocalDate.parse(dateString), LocalTime.parse(timeString),
+                Duration.ofMinutes(30), 3);
+
+        String userInput = NextAppCommand.COMMAND_WORD
+                + " l/30"
+                + " n/3"
+                + " d/" + dateString
+                + " t/" + timeString;
+        NextAppCommand command = (NextAppCommand) parser.parseCommand(userInput);
+        assertEquals(expected, command);
+
+        // alias test
+        userInput = userInput.replace(NextAppCommand.COMMAND_WORD, NextAppCommand.COMMAND_ALIAS);
+        command = (NextAppCommand) parser.parseCommand(userInput);
+        assertEquals(expected, command);
+    }
+
+    @Test
+    public void parseCommand_importApp() throws Exception {
+        String userInput = ImportAppCommand.COMMAND_WORD + " appointments.csv";
+        ImportAppCommand command = (ImportAppCommand) parser.parseCommand(userInput);
+        assertEquals(new ImportAppCommand(Paths.get("appointments.csv")), command);
+
+        // alias test
+        userInput = userInput.replace(ImportAppCommand.COMMAND_WORD, ImportAppCommand.COMMAND_ALIAS);
+        command = (ImportAppCommand) parser.parseCommand(userInput);
+        assertEquals(new ImportAppCommand(Paths.get("appointments.csv")), command);
+    }
+
+    @Test
+    public void parseCommand_importMedicine() throws Exception {
+        String userInput = ImportMedicineCommand.COMMAND_WORD + " formulary.csv";
+        ImportMedicineCommand command = (ImportMedicineCommand) parser.parseCommand(userInput);
+        assertEquals(new ImportMedicineCommand(Paths.get("formulary.csv")), command);
+
+        // alias test
+        userInput = userInput.replace(ImportMedicineCommand.COMMAND_WORD, ImportMedicineCommand.COMMAND_ALIAS);
+        command = (ImportMedicineCommand) parser.parseCommand(userInput);
+        assertEquals(new ImportMedicineCommand(Paths.get("formulary.csv")), command);
+    }
+
+    @Test
+    public void parseCommand_exportMedicine() throws Exception {
+        String userInput = ExportMedicineCommand.COMMAND_WORD + " formulary.json";
+        ExportMedicineCommand command = (ExportMedicineCommand) parser.parseCommand(userInput);
+        assertEquals(new ExportMedicineCommand(Paths.get("formulary.json")), command);
+
+        // alias test
+        userInput = userInput.replace(ExportMedicineCommand.COMMAND_WORD, ExportMedicineCommand.COMMAND_ALIAS);
+        command = (ExportMedicineCommand) parser.parseCommand(userInput);
+        assertEquals(new ExportMedicineCommand(Paths.get("formulary.json")), command);
+    }
+
+    @Test
+    public void parseCommand_exportData() throws Exception {
+        String userInput = ExportDataCommand.COMMAND_WORD + " export.json";
+        ExportDataCommand command = (ExportDataCommand) parser.parseCommand(userInput);
+        assertEquals(new ExportDataCommand(Paths.get("export.json")), command);
+
+        // alias test
+        userInput = userInput.replace(ExportDataCommand.COMMAND_WORD, ExportDataCommand.COMMAND_ALIAS);
+        command = (ExportDataCommand) parser.parseCommand(userInput);
+        assertEquals(new ExportDataCommand(Paths.get("export.json")), command);
+    }
+
     @Test
     public void parseCommand_deleteAppointment() throws Exception {
         String dateString = "2019-03-15";
@@ -1,19 +1,30 @@
 package quickdocs.model.appointment;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 import static quickdocs.testutil.TypicalAppointments.APP_A;
+import static quickdocs.testutil.TypicalAppointments.APP_B;
 import static quickdocs.testutil.TypicalAppointments.APP_C;
 import static quickdocs.testutil.TypicalAppointments.APP_E;
 import static quickdocs.testutil.TypicalAppointments.getTypicalAppointments;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Test;
 
+import quickdocs.model.Slot;
+
 /**
  * Contains unit tests for {@code AppointmentManager}. Most methods are already tested by commands related
- * to {@code Appointment}s. Hence {@code AppointmentManagerTest} will only test for equals() method.
+ * to {@code Appointment}s. Hence {@code AppointmentManagerTest} only tests equals() and how appointments
+ * are kept in the calendar.
  */
 public class AppointmentManagerTest {
     @Test
@@ -56,4 +67,169 @@ public class AppointmentManagerTest {
         appManB = new AppointmentManager();
         assertNotEquals(appManA, appManB);
     }
+
+    @Test
+    public void addAppointment_outOfOrder_listedByDateAndTime() {
+        AppointmentManager appMan = new AppointmentManager();
+        Appointment earlier = createAppointment(APP_A.getDate(), "09:00", "10:00");
+        appMan.addAppointment(APP_C);
+        appMan.addAppointment(APP_A);
+        appMan.addAppointment(APP_B);
+        appMan.addAppointment(earlier);
+
+        assertEquals(Arrays.asList(earlier, APP_A, APP_B, APP_C), appMan.getAppointmentList());
+        assertEquals(appMan.listAppointments(Arrays.asList(APP_B, APP_C)),
+                appMan.listAppointments(APP_B.getDate(), APP_C.getDate()));
+        assertEquals(Optional.of(earlier), appMan.getAppointment(APP_A.getDate(), LocalTime.parse("09:00")));
+        assertEquals(Optional.empty(), appMan.getAppointment(APP_A.getDate(), LocalTime.parse("10:00")));
+    }
+
+    @Test
+    public void hasTimeConflicts() {
+        AppointmentManager appMan = new AppointmentManager();
+        appMan.addAppointment(APP_A);
+        LocalDate date = APP_A.getDate();
+
+        // overlapping with the start, the end or the whole of APP_A (12:00 to 13:00) -> returns true
+        assertTrue(appMan.hasTimeConflicts(createAppointment(date, "11:30", "12:30")));
+        assertTrue(appMan.hasTimeConflicts(createAppointment(date, "12:30", "13:30")));
+        assertTrue(appMan.hasTimeConflicts(createAppointment(date, "09:00", "18:00")));
+
+        // touching APP_A, or on another date -> returns false
+        assertFalse(appMan.hasTimeConflicts(createAppointment(date, "11:00", "12:00")));
+        assertFalse(appMan.hasTimeConflicts(createAppointment(date, "13:00", "14:00")));
+        assertFalse(appMan.hasTimeConflicts(createAppointment(date.plusDays(1), "12:00", "13:00")));
+    }
+
+    @Test
+    public void delete() {
+        AppointmentManager appMan = new AppointmentManager();
+        appMan.addAppointment(APP_A);
+        appMan.addAppointment(APP_B);
+        appMan.delete(APP_A);
+
+        assertFalse(appMan.hasDuplicateAppointment(APP_A));
+        assertFalse(appMan.hasTimeConflicts(APP_A));
+        assertEquals(Arrays.asList(APP_B), appMan.getAppointmentList());
+
+        // deleting every appointment of a day leaves an empty calendar
+        appMan.delete(APP_B);
+        assertEquals(new AppointmentManager(), appMan);
+    }
+
+    @Test
+    public void getAppointments_byPatient() {
+        AppointmentManager appMan = new AppointmentManager();
+        Appointment laterApp = createAppointment(APP_A.getDate().plusDays(7), "09:00", "10:00");
+        appMan.addAppointment(laterApp);
+        appMan.addAppointment(APP_B);
+        appMan.addAppointment(APP_A);
+
+        // appointments of the patient are sorted by date and time
+        assertEquals(Arrays.asList(APP_A, laterApp), appMan.getAppointments(APP_A.getPatient()));
+        assertEquals(Arrays.asList(APP_B), appMan.getAppointments(APP_B.getPatient()));
+        assertEquals(Arrays.asList(), appMan.getAppointments(APP_C.getPatient()));
+
+        appMan.delete(APP_A);
+        assertEquals(Arrays.asList(laterApp), appMan.getAppointments(APP_A.getPatient()));
+        appMan.delete(laterApp);
+        assertEquals(Arrays.asList(), appMan.getAppointments(APP_A.getPatient()));
+    }
+
+    @Test
+    public void listFreeSlots() {
+        AppointmentManager appMan = new AppointmentManager();
+        LocalDate date = APP_A.getDate();
+        appMan.addAppointment(createAppointment(date, "09:00", "10:30"));
+        appMan.addAppointment(createAppointment(date, "10:30", "11:15"));
+        appMan.addAppointment(APP_A);
+        appMan.addAppointment(createAppointment(date.plusDays(1), "09:00", "18:00"));
+
+        String expected = "\n" + date + ": 11:15 to 12:00, 13:00 to 18:00"
+                + "\n" + date.plusDays(2) + ": All slots are free";
+        assertEquals(expected, appMan.listFreeSlots(date, date.plusDays(2)));
+    }
+
+    @Test
+    public void hasTimeConflicts_multipleResources() {
+        AppointmentManager appMan = new AppointmentManager();
+        appMan.setOfficeHours(LocalTime.parse("09:00"), LocalTime.parse("18:00"), 2);
+        appMan.addAppointment(APP_A);
+        LocalDate date = APP_A.getDate();
+
+        // one more appointment can take place alongside APP_A (12:00 to 13:00)
+        Appointment overlapping = createAppointment(date, "12:30", "13:30");
+        assertFalse(appMan.hasTimeConflicts(overlapping));
+        appMan.addAppointment(overlapping);
+
+        // two appointments are already taking place from 12:30 to 13:00 -> returns true
+        assertTrue(appMan.hasTimeConflicts(createAppointment(date, "11:00", "12:45")));
+        assertFalse(appMan.hasTimeConflicts(createAppointment(date, "11:00", "12:30")));
+
+        // same date and start time as an existing appointment -> returns true
+        assertTrue(appMan.hasTimeConflicts(createAppointment(date, "12:00", "12:15")));
+
+        String expected = "\n" + date + ": 09:00 to 12:30, 13:00 to 18:00";
+        assertEquals(expected, appMan.listFreeSlots(date, date));
+
+        // reducing the capacity works out the free time again
+        appMan.setOfficeHours(LocalTime.parse("09:00"), LocalTime.parse("18:00"), 1);
+        expected = "\n" + date + ": 09:00 to 12:00, 13:30 to 18:00";
+        assertEquals(expected, appMan.listFreeSlots(date, date));
+    }
+
+    @Test
+    public void addAppointments_conflictsLeftOut() {
+        AppointmentManager appMan = new AppointmentManager();
+        appMan.addAppointment(APP_A);
+        LocalDate date = APP_A.getDate();
+        Appointment clashWithExisting = createAppointment(date, "12:30", "13:30");
+        Appointment later = createAppointment(date, "15:00", "16:00");
+        Appointment clashWithLater = createAppointment(date, "15:30", "16:30");
+        Appointment earlier = createAppointment(date, "09:00", "10:00");
+
+        // appointments are added in order of start time, so the later of two clashing appointments is left out
+        List<Appointment> conflicting = appMan.addAppointments(
+                Arrays.asList(clashWithLater, clashWithExisting, later, earlier, APP_B));
+        assertEquals(Arrays.asList(clashWithExisting, clashWithLater), conflicting);
+        assertEquals(Arrays.asList(earlier, APP_A, later, APP_B), appMan.getAppointmentList());
+        assertEquals(Arrays.asList(earlier, APP_A, later), appMan.getAppointments(APP_A.getPatient()));
+
+        // free slots are worked out again for the days added to
+        String expected = "\n" + date + ": 10:00 to 12:00, 13:00 to 15:00, 16:00 to 18:00";
+        assertEquals(expected, appMan.listFreeSlots(date, date));
+    }
+
+    @Test
+    public void findFreeSlots() {
+        AppointmentManager appMan = new AppointmentManager();
+        LocalDate date = APP_A.getDate();
+        appMan.addAppointment(createAppointment(date, "09:00", "11:30"));
+        appMan.addAppointment(APP_A);
+        appMan.addAppointment(createAppointment(date, "13:30", "18:00"));
+        appMan.addAppointment(createAppointment(date.plusDays(1), "09:00", "17:00"));
+
+        // gaps shorter than the length asked for are skipped
+        List<Slot> expected = Arrays.asList(
+                new Slot(date, LocalTime.parse("11:30"), LocalTime.parse("12:00")),
+                new Slot(date, LocalTime.parse("13:00"), LocalTime.parse("13:30")),
+                new Slot(date.plusDays(1), LocalTime.parse("17:00"), LocalTime.parse("17:30")),
+                new Slot(date.plusDays(1), LocalTime.parse("17:30"), LocalTime.parse("18:00")),
+                new Slot(date.plusDays(2), LocalTime.parse("09:00"), LocalTime.parse("09:30")));
+        assertEquals(expected, appMan.findFreeSlots(date, LocalTime.parse("09:00"), Duration.ofMinutes(30), 5));
+
+        // slots before the given time on the first date are not found
+        expected = Arrays.asList(new Slot(date.plusDays(1), LocalTime.parse("17:00"), LocalTime.parse("18:00")));
+        assertEquals(expected, appMan.findFreeSlots(date, LocalTime.parse("12:30"), Duration.ofHours(1), 1));
+
+        // freed slots can be found again after deleting an appointment
+        appMan.delete(APP_A);
+        expected = Arrays.asList(new Slot(date, LocalTime.parse("11:30"), LocalTime.parse("13:30")));
+        assertEquals(expected, appMan.findFreeSlots(date, LocalTime.parse("09:00"), Duration.ofHours(2), 1));
+    }
+
+    private Appointment createAppointment(LocalDate date, String start, String end) {
+        return new Appointment(APP_A.getPatient(), date, LocalTime.parse(start), LocalTime.parse(end),
+                APP_A.getComment());
+    }
 }
@@ -1,7 +1,10 @@
 package quickdocs.model.consultation;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -122,4 +125,120 @@ public class ConsultationManagerTest {
         org.junit.Assert.assertTrue(consultationManager.getConsultationList().size() == 1);
     }
 
+    private Consultation newConsultation(int index, LocalDateTime session) {
+        Diagnosis diagnosis = new Diagnosis(new Assessment("Assessment " + index),
+                new ArrayList<>(Arrays.asList(new Symptom("Symptom 1"))));
+        return new Consultation(index, patient1, session, diagnosis, new ArrayList<>());
+    }
+
+    @Test
+    public void archiveConsultationsBefore_olderConsultations_listedFromArchive() throws Exception {
+        LocalDateTime horizon = LocalDateTime.parse("2019-01-01T00:00:00");
+        consultationManager.addConsultation(newConsultation(0, horizon.minusDays(10)));
+        consultationManager.addConsultation(newConsultation(1, horizon.minusDays(1)));
+        consultationManager.addConsultation(newConsultation(2, horizon.plusDays(1)));
+        ConsultationArchiveStub archive = new ConsultationArchiveStub();
+        consultationManager.setArchive(archive);
+
+        org.junit.Assert.assertEquals(2, consultationManager.archiveConsultationsBefore(horizon));
+        org.junit.Assert.assertEquals(2, archive.size());
+        org.junit.Assert.assertEquals(1, consultationManager.getConsultationList().size());
+        org.junit.Assert.assertEquals(3, consultationManager.getConsultationCount());
+
+        org.junit.Assert.assertSame(archive.get(1), consultationManager.listConsultation(2));
+        org.junit.Assert.assertEquals(2, consultationManager.listConsultation(3).getIndex());
+        org.junit.Assert.assertEquals(Arrays.asList(0, 1, 2), consultationManager.listConsultation("S9123456A")
+                .stream().map(Consultation::getIndex).collect(Collectors.toList()));
+
+        // new consultations are numbered after the archived ones
+        consultationManager.createConsultation(patient1);
+        consultationManager.endConsultation();
+        org.junit.Assert.assertEquals(3, consultationManager.listConsultation(4).getIndex());
+    }
+
+    @Test
+    public void setArchive_consultationsAlreadyArchived_removedFromList() throws Exception {
+        LocalDateTime session = LocalDateTime.parse("2019-01-01T10:00:00");
+        ConsultationArchiveStub archive = new ConsultationArchiveStub();
+        archive.append(Arrays.asList(newConsultation(0, session)));
+        consultationManager.addConsultation(newConsultation(0, session));
+        consultationManager.addConsultation(newConsultation(1, session));
+
+        consultationManager.setArchive(archive);
+        org.junit.Assert.assertEquals(1, consultationManager.getConsultationList().size());
+        org.junit.Assert.assertEquals(2, consultationManager.getConsultationCount());
+    }
+
+    @Test
+    public void setArchivedCount_archiveUnavailable_consultationsNumberedAfterArchived() {
+        consultationManager.setArchivedCount(2);
+        consultationManager.createConsultation(patient1);
+        consultationManager.endConsultation();
+
+        org.junit.Assert.assertEquals(2, consultationManager.listConsultation(3).getIndex());
+        org.junit.Assert.assertEquals(3, consultationManager.getConsultationCount());
+        Assert.assertThrows(IllegalArgumentException.class, () -> consultationManager.listConsultation(1));
+    }
+
+    @Test
+    public void listConsultation_byNric_onlyPatientConsultations() {
+        Patient patient2 = new Patient(new Name("Mary Lim"), new Nric("S9234567B"), new Email("mlim@gmail.com"),
+                new Address("2 Simei Road"), new Contact("92222222"), new Gender("F"), new Dob("1992-02-02"),
+                new ArrayList<Tag>());
+        consultationManager.addConsultation(newConsultation(0, LocalDateTime.parse("2019-01-01T10:00:00")));
+        consultationManager.createConsultation(patient2);
+        consultationManager.endConsultation();
+        consultationManager.createConsultation(patient1);
+        consultationManager.endConsultation();
+
+        org.junit.Assert.assertEquals(Arrays.asList(0, 2), consultationManager.listConsultation("S9123456A")
+                .stream().map(Consultation::getIndex).collect(Collectors.toList()));
+        org.junit.Assert.assertEquals(Arrays.asList(1), consultationManager.listConsultation("S9234567B")
+                .stream().map(Consultation::getIndex).collect(Collectors.toList()));
+        org.junit.Assert.assertTrue(consultationManager.listConsultation("S9345678C").isEmpty());
+    }
+
+    @Test
+    public void listConsultation_byNricAndDates_onlyConsultationsInRange() {
+        LocalDateTime session = LocalDateTime.parse("2019-01-01T10:00:00");
+        for (int i = 0; i < 5; i++) {
+            consultationManager.addConsultation(newConsultation(i, session.plusDays(i)));
+        }
+
+        // both ends of the range are included
+        org.junit.Assert.assertEquals(Arrays.asList(1, 2, 3), consultationManager
+                .listConsultation("S9123456A", session.plusDays(1), session.plusDays(3))
+                .stream().map(Consultation::getIndex).collect(Collectors.toList()));
+        org.junit.Assert.assertTrue(consultationManager
+                .listConsultation("S9123456A", session.plusDays(5), session.plusDays(10)).isEmpty());
+    }
+
+    /**
+     * A {@code ConsultationArchive} that keeps the archived consultations in memory.
+     */
+    private static class ConsultationArchiveStub implements ConsultationArchive {
+        private final List<Consultation> consultations = new ArrayList<>();
+
+        @Override
+        public int size() {
+            return consultations.size();
+        }
+
+        @Override
+        public Consultation get(int index) {
+            return consultations.get(index);
+        }
+
+        @Override
+        public List<Consultation> findByNric(String nric) {
+            return consultations.stream()
+                    .filter(consultation -> consultation.getPatient().getNric().toString().equals(nric))
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public void append(List<Consultation> consultations) {
+            this.consultations.addAll(consultations);
+        }
+    }
 }
@@ -1,9 +1,13 @@
 package quickdocs.model.medicine;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -93,4 +97,35 @@ public class DirectoryTest {
         typicalDirectory.setThreshold(10);
         assertTrue(typicalDirectory.getThreshold().equals(Optional.of(10)));
     }
+
+    @Test
+    public void addMedicine_anyOrder_listedSortedIgnoringCase() {
+        typicalDirectory.addMedicine(new Medicine("Zinc"));
+        typicalDirectory.addMedicine(new Medicine("aspirin"));
+        typicalDirectory.addMedicine(new Medicine("Benadryl"));
+        assertEquals(Arrays.asList("aspirin", "Benadryl", "testMedicine", "Zinc"),
+                typicalDirectory.getListOfMedicine().stream().map(medicine -> medicine.name)
+                        .collect(Collectors.toList()));
+        assertTrue(typicalDirectory.findMedicine(new String[] {"TEST", "BENADRYL"}, 0).isPresent());
+    }
+
+    @Test
+    public void addAllMedicines_validMedicines_allAdded() {
+        typicalDirectory.setThreshold(15);
+        typicalDirectory.addAllMedicines(Arrays.asList(new Medicine("Zinc"), new Medicine("aspirin")));
+        assertEquals(3, typicalDirectory.getListOfMedicine().size());
+        assertEquals(15, typicalDirectory.findMedicine(new String[] {"test", "zinc"}, 0).get().getThreshold());
+    }
+
+    @Test
+    public void addAllMedicines_duplicateName_noneAdded() {
+        List<Medicine> sameNameAsDirectory = Arrays.asList(new Medicine("Zinc"), new Medicine("TEST1"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> typicalDirectory.addAllMedicines(
+                sameNameAsDirectory));
+
+        List<Medicine> sameNameAsEachOther = Arrays.asList(new Medicine("Zinc"), new Medicine("zinc"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> typicalDirectory.addAllMedicines(
+                sameNameAsEachOther));
+        assertEquals(1, typicalDirectory.getListOfMedicine().size());
+    }
 }
@@ -5,6 +5,17 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -72,4 +83,281 @@ public class MedicineManagerTest {
         typicalMedicineManager.purchaseMedicine(medicineNames[0], 50);
         assertEquals(70, typicalMedicineManager.findMedicine(medicineNames[0]).get().getQuantity());
     }
+
+    @Test
+    public void findMedicine_differentCase_found() {
+        typicalMedicineManager.addMedicine("Paracetamol", 20, new String[] {"root"}, BigDecimal.ONE);
+        assertEquals("Paracetamol", typicalMedicineManager.findMedicine("pARACETAMOL").get().name);
+        Assert.assertThrows(IllegalArgumentException.class, () -> typicalMedicineManager.addMedicine(
+                "PARACETAMOL", 20, new String[] {"root"}, BigDecimal.ONE));
+    }
+
+    @Test
+    public void setListOfMedicine_sameNameDifferentCase_throwsIllegalArgumentException() {
+        ArrayList<Medicine> medicines = new ArrayList<>();
+        medicines.add(new Medicine("Ginseng"));
+        medicines.add(new Medicine("gINSENG"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> typicalMedicineManager.setListOfMedicine(medicines));
+    }
+
+    @Test
+    public void addAllMedicines_validMedicines_allFoundByNameAndPath() {
+        typicalMedicineManager.addMedicine("med2", 5, new String[] {"root", "test1"}, BigDecimal.ONE);
+        typicalMedicineManager.addAllMedicines(Arrays.asList(new Medicine("Med3", 10),
+                new Medicine("med1", 20)), new String[] {"root", "test2"});
+
+        assertEquals(Arrays.asList("med1", "med2", "Med3"), typicalMedicineManager.getListOfMedicine()
+                .stream().map(medicine -> medicine.name).collect(Collectors.toList()));
+        assertEquals(10, typicalMedicineManager.findMedicine("med3").get().getQuantity());
+        assertTrue(typicalMedicineManager.findMedicine(new String[] {"root", "test2", "med1"}).isPresent());
+    }
+
+    @Test
+    public void addAllMedicines_nameAlreadyInStorage_noneAdded() {
+        typicalMedicineManager.addMedicine("med2", 5, new String[] {"root", "test1"}, BigDecimal.ONE);
+        Assert.assertThrows(IllegalArgumentException.class, () -> typicalMedicineManager.addAllMedicines(
+                Arrays.asList(new Medicine("med1"), new Medicine("MED2")), new String[] {"root", "test2"}));
+
+        assertEquals(1, typicalMedicineManager.getListOfMedicine().size());
+        assertFalse(typicalMedicineManager.findMedicine("med1").isPresent());
+        assertTrue(typicalMedicineManager.findDirectory(new String[] {"root", "test2"}).get()
+                .getListOfMedicine().isEmpty());
+    }
+
+    @Test
+    public void findDirectory_deepPath_foundInAnyCase() {
+        // deep enough for a walk of one call per directory to overflow the stack
+        String[] path = new String[20000];
+        path[0] = "root";
+        Directory directory = typicalMedicineManager.getRoot();
+        for (int i = 1; i < path.length; i++) {
+            path[i] = "Level" + i;
+            directory = directory.addDirectory(path[i]);
+        }
+        directory.addMedicine(new Medicine("Deep", 1));
+        String[] lowerCasePath = Arrays.stream(path).map(name -> name.toLowerCase(Locale.ROOT))
+                .toArray(String[]::new);
+
+        assertTrue(directory == typicalMedicineManager.findDirectory(path).get());
+        assertTrue(directory == typicalMedicineManager.findDirectory(lowerCasePath).get());
+        String[] medicinePath = Arrays.copyOf(lowerCasePath, path.length + 1);
+        medicinePath[path.length] = "DEEP";
+        assertEquals("Deep", typicalMedicineManager.findMedicine(medicinePath).get().name);
+        assertEquals(Arrays.asList("deep"), typicalMedicineManager.getMedicineSuggestions(
+                String.join("\\", path) + "\\D"));
+    }
+
+    @Test
+    public void findDirectory_directoryAddedOrRootReplaced_pathsFoundAgain() {
+        assertFalse(typicalMedicineManager.findDirectory(new String[] {"root", "test1", "new"}).isPresent());
+        Directory test1 = typicalMedicineManager.findDirectory(new String[] {"root", "TEST1"}).get();
+        Directory added = typicalMedicineManager.addDirectory("New", new String[] {"Root", "Test1"});
+        assertTrue(added == typicalMedicineManager.findDirectory(new String[] {"root", "test1", "new"}).get());
+        assertEquals(Arrays.asList("New"), typicalMedicineManager.getDirectorySuggestions("root\\test1\\"));
+
+        // directories cached under the previous root are not found after it is replaced
+        Directory newRoot = new Directory("root");
+        Directory newTest1 = newRoot.addDirectory("test1");
+        typicalMedicineManager.setRoot(newRoot);
+        assertTrue(newTest1 == typicalMedicineManager.findDirectory(new String[] {"root", "test1"}).get());
+        assertFalse(test1 == typicalMedicineManager.findDirectory(new String[] {"root", "test1"}).get());
+        assertFalse(typicalMedicineManager.findDirectory(new String[] {"root", "test1", "new"}).isPresent());
+        Assert.assertThrows(IllegalArgumentException.class, () ->
+                typicalMedicineManager.getDirectorySuggestions("root\\test1\\new\\"));
+    }
+
+    @Test
+    public void importMedicines_validItems_directoriesCreatedAndMedicinesAdded() {
+        typicalMedicineManager.addMedicine("Aspirin", 5, new String[] {"root", "test1"}, BigDecimal.ONE);
+        List<FormularyItem> items = Arrays.asList(
+                FormularyItem.ofDirectory(new String[] {"root", "TCM"}, Optional.of(30)),
+                FormularyItem.ofMedicine(new String[] {"root", "tcm", "herbs"}, "Healroot", new BigDecimal("3.41"),
+                        50, Optional.empty()),
+                FormularyItem.ofMedicine(new String[] {"root", "test2"}, "Ginseng", BigDecimal.TEN, 10,
+                        Optional.of(5)),
+                FormularyItem.ofExistingMedicine(new String[] {"root", "TCM"}, "ginseng"),
+                FormularyItem.ofExistingMedicine(new String[] {"root", "test3", "painkillers"}, "ASPIRIN"));
+        assertTrue(typicalMedicineManager.importMedicines(items).isEmpty());
+
+        assertEquals(Arrays.asList("Aspirin", "Ginseng", "Healroot"), typicalMedicineManager.getListOfMedicine()
+                .stream().map(medicine -> medicine.name).collect(Collectors.toList()));
+        // the alarm level of a new directory is taken up by the directories and medicines added under it
+        Medicine healroot = typicalMedicineManager.findMedicine(new String[] {"root", "TCM", "herbs", "healroot"})
+                .get();
+        assertEquals(30, healroot.getThreshold());
+        assertEquals(Optional.of(30), typicalMedicineManager.findDirectory(new String[] {"root", "TCM", "herbs"})
+                .get().getThreshold());
+        // unless the medicine is given its own alarm level
+        Medicine ginseng = typicalMedicineManager.findMedicine("GINSENG").get();
+        assertTrue(ginseng == typicalMedicineManager.findMedicine(new String[] {"root", "TCM", "Ginseng"}).get());
+        assertEquals(5, ginseng.getThreshold());
+        assertTrue(typicalMedicineManager.findMedicine("aspirin").get() == typicalMedicineManager.findMedicine(
+                new String[] {"root", "test3", "painkillers", "Aspirin"}).get());
+    }
+
+    @Test
+    public void importMedicines_invalidItems_allReportedAndNoneImported() {
+        typicalMedicineManager.addMedicine("Aspirin", 5, new String[] {"root", "test1"}, BigDecimal.ONE);
+        List<FormularyItem> items = Arrays.asList(
+                FormularyItem.ofMedicine(new String[] {"root", "new"}, "Ginseng", BigDecimal.TEN, 10,
+                        Optional.empty()),
+                FormularyItem.ofMedicine(new String[] {"root", "new"}, "aspirin", BigDecimal.ONE, 1,
+                        Optional.empty()),
+                FormularyItem.ofMedicine(new String[] {"root", "other"}, "GINSENG", BigDecimal.ONE, 1,
+                        Optional.empty()),
+                FormularyItem.ofExistingMedicine(new String[] {"root", "new"}, "Unknown"),
+                FormularyItem.ofDirectory(new String[] {"root", "test1", "Aspirin"}, Optional.empty()),
+                FormularyItem.ofDirectory(new String[] {"root", "test1"}, Optional.of(10)),
+                FormularyItem.ofDirectory(new String[] {"shelf", "test1"}, Optional.empty()),
+                FormularyItem.ofMedicine(new String[] {"root", "test2"}, "Cheap", new BigDecimal("-1"), 1,
+                        Optional.empty()));
+
+        Map<Integer, String> expected = new HashMap<>();
+        expected.put(1, MedicineManager.ERROR_MESSAGE_MEDICINE_WITH_SAME_NAME_EXISTS_IN_LIST);
+        expected.put(2, MedicineManager.ERROR_MESSAGE_MEDICINE_WITH_SAME_NAME_EXISTS_IN_LIST);
+        expected.put(3, String.format(MedicineManager.ERROR_MESSAGE_NO_EXISTING_MED_FOUND, "Unknown"));
+        expected.put(4, Directory.ERROR_MESSAGE_MEDICINE_ALREADY_EXISTS_UNDER_SAME_DIRECTORY);
+        expected.put(5, MedicineManager.ERROR_MESSAGE_THRESHOLD_OF_DIRECTORY_NOT_EMPTY);
+        expected.put(6, String.format(MedicineManager.ERROR_MESSAGE_PATH_NOT_FROM_ROOT, "root"));
+        expected.put(7, "Price should not be negative.");
+        assertEquals(expected, typicalMedicineManager.importMedicines(items));
+
+        assertEquals(1, typicalMedicineManager.getListOfMedicine().size());
+        assertFalse(typicalMedicineManager.findMedicine("Ginseng").isPresent());
+        assertFalse(typicalMedicineManager.findDirectory(new String[] {"root", "new"}).isPresent());
+        assertFalse(typicalMedicineManager.findDirectory(new String[] {"root", "test1"}).get()
+                .getThreshold().isPresent());
+    }
+
+    /**
+     * Returns the given name with the case of each letter chosen at random.
+     */
+    private static String randomizeCase(String name, Random random) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : name.toCharArray()) {
+            sb.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Asserts that every name, in any case, finds the medicine added with it, that other names find nothing,
+     * and that the list of medicines is sorted by name key.
+     */
+    private static void assertLookupsConsistent(MedicineManager medicineManager, Map<String, Medicine> expected,
+                                                List<String> names, Random random) {
+        for (String name : names) {
+            Medicine found = medicineManager.findMedicine(randomizeCase(name, random)).orElse(null);
+            assertTrue(expected.get(name) == found);
+        }
+        List<Medicine> listOfMedicine = medicineManager.getListOfMedicine();
+        assertEquals(expected.size(), listOfMedicine.size());
+        for (int i = 1; i < listOfMedicine.size(); i++) {
+            assertTrue(MedicineManager.getNameKey(listOfMedicine.get(i - 1).name)
+                    .compareTo(MedicineManager.getNameKey(listOfMedicine.get(i).name)) < 0);
+        }
+    }
+
+    @Test
+    public void findMedicine_randomNamesAndCases_consistentWithAddAndLoad() {
+        Random random = new Random(2019);
+        // names of two letters out of three, so that the same names come up often in different cases
+        List<String> names = new ArrayList<>();
+        for (char first = 'a'; first <= 'c'; first++) {
+            for (char second = 'a'; second <= 'c'; second++) {
+                names.add("" + first + second);
+            }
+        }
+
+        for (int round = 0; round < 50; round++) {
+            MedicineManager medicineManager = new MedicineManager();
+            Map<String, Medicine> expected = new HashMap<>();
+            for (int i = 0; i < 12; i++) {
+                String name = names.get(random.nextInt(names.size()));
+                String nameAdded = randomizeCase(name, random);
+                if (expected.containsKey(name)) {
+                    Assert.assertThrows(IllegalArgumentException.class, () -> medicineManager.addMedicine(
+                            nameAdded, 1, new String[] {"root"}, BigDecimal.ONE));
+                } else {
+                    expected.put(name, medicineManager.addMedicine(nameAdded, 1, new String[] {"root"},
+                            BigDecimal.ONE));
+                }
+                assertLookupsConsistent(medicineManager, expected, names, random);
+            }
+
+            // loading the same medicines in any order gives the same lookups
+            ArrayList<Medicine> loaded = new ArrayList<>(expected.values());
+            Collections.shuffle(loaded, random);
+            MedicineManager loadedMedicineManager = new MedicineManager();
+            loadedMedicineManager.setListOfMedicine(loaded);
+            assertLookupsConsistent(loadedMedicineManager, expected, names, random);
+            assertEquals(medicineManager.getListOfMedicine(), loadedMedicineManager.getListOfMedicine());
+            assertFalse(loadedMedicineManager.findMedicine(names.get(0).toUpperCase(Locale.ROOT) + "x").isPresent());
+        }
+    }
+
+    @Test
+    public void getCompletions_anyPrefix_completedFromWholeStorage() {
+        typicalMedicineManager.addMedicine("Tetracycline", 5, new String[] {"root", "test1"}, BigDecimal.ONE);
+        Medicine testosterone = typicalMedicineManager.addMedicine("Testosterone", 5, new String[] {"root", "test3"},
+                BigDecimal.ONE);
+        typicalMedicineManager.addMedicine("Tamiflu", 5, new String[] {"root"}, BigDecimal.ONE);
+
+        // names and paths of the same rank are listed shorter first, then in alphabetical order
+        assertEquals(Arrays.asList("Testosterone", "Tetracycline"), typicalMedicineManager.getCompletions("te"));
+        assertEquals(Arrays.asList("root\\test1", "root\\test2", "root\\test3"),
+                typicalMedicineManager.getCompletions("ROOT\\t"));
+        assertEquals(Collections.emptyList(), typicalMedicineManager.getCompletions("tex"));
+
+        // medicines and directories added after the completions are first asked for are completed as well
+        typicalMedicineManager.addDirectory("Tablets", new String[] {"root", "TEST1"});
+        typicalMedicineManager.addMedicine("Temazepam", 5, new String[] {"root", "test1", "tablets"}, BigDecimal.ONE);
+        typicalMedicineManager.importMedicines(Arrays.asList(FormularyItem.ofMedicine(
+                new String[] {"root", "Test2", "Syrups"}, "Tessalon", BigDecimal.ONE, 5, Optional.empty())));
+        assertEquals(Arrays.asList("root\\test1\\Tablets"), typicalMedicineManager.getCompletions("root\\test1\\"));
+        assertEquals(Arrays.asList("root\\test2\\Syrups"), typicalMedicineManager.getCompletions("root\\test2\\s"));
+        assertEquals(Arrays.asList("Tessalon", "Temazepam", "Testosterone", "Tetracycline"),
+                typicalMedicineManager.getCompletions("te"));
+
+        // the medicines most prescribed come first, and are still ranked so after the storage is replaced
+        typicalMedicineManager.recordPrescription(testosterone, 3);
+        typicalMedicineManager.recordPrescription(typicalMedicineManager.findMedicine("tetracycline").get(), 2);
+        assertEquals(Arrays.asList("Testosterone", "Tetracycline", "Tessalon", "Temazepam"),
+                typicalMedicineManager.getCompletions("TE"));
+        typicalMedicineManager.setRoot(typicalMedicineManager.getRoot());
+        assertEquals(Arrays.asList("Testosterone", "Tetracycline", "Tessalon", "Temazepam"),
+                typicalMedicineManager.getCompletions("te"));
+        typicalMedicineManager.setPrescriptionCounts(Collections.singletonMap("TEMAZEPAM", 1));
+        assertEquals(Arrays.asList("Temazepam", "Tessalon", "Testosterone", "Tetracycline"),
+                typicalMedicineManager.getCompletions("te"));
+    }
+
+    @Test
+    public void getCompletions_randomPrescriptions_topRankedMedicinesCompleted() {
+        Random random = new Random(2019);
+        List<Medicine> medicines = new ArrayList<>();
+        Map<Medicine, Long> prescribed = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            medicines.add(typicalMedicineManager.addMedicine("Med" + i, 1000, new String[] {"root"}, BigDecimal.ONE));
+            prescribed.put(medicines.get(i), 0L);
+        }
+
+        for (int round = 0; round < 500; round++) {
+            Medicine medicine = medicines.get(random.nextInt(medicines.size()));
+            int quantity = random.nextInt(5);
+            typicalMedicineManager.recordPrescription(medicine, quantity);
+            prescribed.merge(medicine, (long) quantity, Long::sum);
+
+            String prefix = "med" + random.nextInt(20);
+            List<String> expected = medicines.stream()
+                    .filter(candidate -> candidate.name.toLowerCase(Locale.ROOT).startsWith(prefix))
+                    .sorted(Comparator.comparingLong((Medicine candidate) -> -prescribed.get(candidate))
+                            .thenComparingInt(candidate -> candidate.name.length())
+                            .thenComparing(candidate -> candidate.name))
+                    .limit(MedicineManager.MAX_COMPLETIONS)
+                    .map(candidate -> candidate.name)
+                    .collect(Collectors.toList());
+            assertEquals(expected, typicalMedicineManager.getCompletions(prefix));
+        }
+    }
 }
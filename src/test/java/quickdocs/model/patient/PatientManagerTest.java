@@ -5,6 +5,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -235,8 +236,14 @@ public class PatientManagerTest {
         sb.append("\n");
 
         assertEquals(patientManager.findPatientsByNric("S92"), sb.toString());
+        assertEquals(patientManager.findPatientsByNric("s92"), sb.toString());
 
         assertEquals(patientManager.findPatientsByNric("S88"), "No patient record found");
+
+        // regex metacharacters are matched literally
+        assertEquals(patientManager.findPatientsByNric("S9."), "No patient record found");
+
+        assertEquals(patientManager.findPatientsByNric("S9123456A"), patientManager.getPatientAtIndex(0).toString());
     }
 
 
@@ -301,6 +308,98 @@ public class PatientManagerTest {
 
         Tag singleTag = new Tag("Hepatitis");
         assertEquals(patientManager.findPatientsByTag(singleTag), patient4.toString());
+
+        // patients with both tags, or either tag
+        Tag highBloodPressure = new Tag("Highbloodpressure");
+        assertEquals(patientManager.findPatientsByTags(Arrays.asList(tag, highBloodPressure), true),
+                patient3.toString());
+
+        StringBuilder sb2 = new StringBuilder();
+        sb2.append(1 + ") " + name + " " + nric + " " + gender + " " + dob + "\n");
+        sb2.append(3 + ") " + name3 + " " + nric3 + " " + gender + " " + dob + "\n");
+        sb2.append(4 + ") " + name4 + " " + nric4 + " " + gender + " " + dob + "\n");
+        sb2.append("\n");
+        assertEquals(patientManager.findPatientsByTags(Arrays.asList(tag, singleTag), false), sb2.toString());
+        assertEquals(patientManager.findPatientsByTags(Arrays.asList(tag, otherTag), true),
+                "No patient record found");
+
+        // tags edited away from a patient are no longer indexed
+        ArrayList<Tag> editedTagList = new ArrayList<Tag>();
+        editedTagList.add(highBloodPressure);
+        patientManager.replacePatient(2, new Patient(name3, nric3, email, address, contact, gender, dob,
+                editedTagList));
+        assertEquals(patientManager.findPatientsByTag(tag), patient1.toString());
+        assertEquals(patientManager.findPatientsByTags(Arrays.asList(tag, highBloodPressure), true),
+                "No patient record found");
+    }
+
+    @Test
+    public void listPatients_pageSizeSmallerThanList_pagesThroughAllPatients() {
+        Name name = new Name("Perry Ng");
+        Email email = new Email("png@gmail.com");
+        Address address = new Address("2 Simei Road");
+        Contact contact = new Contact("92222222");
+        Gender gender = new Gender("M");
+        Dob dob = new Dob("1992-02-02");
+        ArrayList<Tag> tagList = new ArrayList<Tag>();
+        patientManager.addPatient(new Patient(name, new Nric("S9234567B"), email, address, contact, gender, dob,
+                tagList));
+        patientManager.addPatient(new Patient(name, new Nric("S9273478C"), email, address, contact, gender, dob,
+                tagList));
+
+        PatientPage firstPage = patientManager.listPatients(2, null);
+        assertEquals(3, firstPage.getTotalPatients());
+        assertEquals(Arrays.asList(1, 2), firstPage.getPatientIndexes());
+        assertTrue(firstPage.getNextPageToken().isPresent());
+
+        PatientPage secondPage = patientManager.listPatients(2, firstPage.getNextPageToken().get());
+        assertEquals(Arrays.asList(3), secondPage.getPatientIndexes());
+        assertEquals("3) " + name + " S9273478C " + gender + " " + dob + "\n\n", secondPage.format());
+        assertFalse(secondPage.getNextPageToken().isPresent());
+
+        // searches are paged the same way
+        PatientPage searchPage = patientManager.findPatientsByName("Perry", 1, null);
+        assertEquals(2, searchPage.getTotalPatients());
+        assertEquals(Arrays.asList(2), searchPage.getPatientIndexes());
+        searchPage = patientManager.findPatientsByName("Perry", 1, searchPage.getNextPageToken().get());
+        assertEquals(Arrays.asList(3), searchPage.getPatientIndexes());
+    }
+
+    @Test
+    public void findPatientsByName_modifiedBetweenPages_laterPagesFoundAgain() {
+        Email email = new Email("png@gmail.com");
+        Address address = new Address("2 Simei Road");
+        Contact contact = new Contact("92222222");
+        Gender gender = new Gender("M");
+        Dob dob = new Dob("1992-02-02");
+        Patient perry = new Patient(new Name("Perry Ng"), new Nric("S9234567B"), email, address, contact, gender,
+                dob, new ArrayList<Tag>());
+        patientManager.addPatient(perry);
+        patientManager.addPatient(new Patient(new Name("Perry Lim"), new Nric("S9273478C"), email, address, contact,
+                gender, dob, new ArrayList<Tag>()));
+
+        PatientPage firstPage = patientManager.findPatientsByName("Perry", 1, null);
+        assertEquals(Arrays.asList(perry), firstPage.getPatients());
+        String nextPageToken = firstPage.getNextPageToken().get();
+
+        // the records found by the last search are only reused for the same search
+        assertEquals(Arrays.asList(3), patientManager.findPatientsByName("Perry", 1, nextPageToken)
+                .getPatientIndexes());
+        assertEquals(1, patientManager.findPatientsByNric("S91", 1, null).getTotalPatients());
+        assertEquals(Arrays.asList(3), patientManager.findPatientsByName("Perry", 1, nextPageToken)
+                .getPatientIndexes());
+
+        // patients added or deleted since the last page are found by the later pages
+        Patient perryTan = new Patient(new Name("Perry Tan"), new Nric("S9312345D"), email, address, contact,
+                gender, dob, new ArrayList<Tag>());
+        patientManager.addPatient(perryTan);
+        patientManager.deletePatientByNric("S9123456A");
+        PatientPage secondPage = patientManager.findPatientsByName("Perry", 1, nextPageToken);
+        assertEquals(3, secondPage.getTotalPatients());
+        assertEquals(Arrays.asList(2), secondPage.getPatientIndexes());
+        secondPage = patientManager.findPatientsByName("Perry", 1, secondPage.getNextPageToken().get());
+        assertEquals(Arrays.asList(perryTan), secondPage.getPatients());
+        assertEquals(Arrays.asList(3), secondPage.getPatientIndexes());
     }
 
     @Test
@@ -327,6 +426,86 @@ public class PatientManagerTest {
         assertTrue(patientManager.getPatientList().size() == 0);
     }
 
+    @Test
+    public void getIndexByNric_afterDeleteAndReplace_indexUpdated() {
+        Name name = new Name("Perry Ng");
+        Nric nric = new Nric("S9234567B");
+        Email email = new Email("png@gmail.com");
+        Address address = new Address("2 Simei Road");
+        Contact contact = new Contact("92222222");
+        Gender gender = new Gender("M");
+        Dob dob = new Dob("1992-02-02");
+        ArrayList<Tag> tagList = new ArrayList<Tag>();
+        Patient patient1 = new Patient(name, nric, email, address, contact, gender, dob, tagList);
+        patientManager.addPatient(patient1);
+
+        Nric nric2 = new Nric("S9273478C");
+        Patient patient2 = new Patient(name, nric2, email, address, contact, gender, dob, tagList);
+        patientManager.addPatient(patient2);
+
+        assertEquals(2, patientManager.getIndexByNric(nric2));
+        assertEquals(patient1, patientManager.getPatientByNric("s9234567b"));
+
+        // records after the deleted record are shifted forward
+        patientManager.deletePatientByNric("S9123456A");
+        assertEquals(-1, patientManager.getIndexByNric(new Nric("S9123456A")));
+        assertEquals(0, patientManager.getIndexByNric(nric));
+        assertEquals(1, patientManager.getIndexByNric(nric2));
+
+        // editing the nric of a record moves it to the new nric
+        Nric editedNric = new Nric("S9123456D");
+        Patient editedPatient = new Patient(name, editedNric, email, address, contact, gender, dob, tagList);
+        patientManager.replacePatient(0, editedPatient);
+        assertFalse(patientManager.getPatientByNric(nric).isPresent());
+        assertEquals(editedPatient, patientManager.getPatientByNric(editedNric).get());
+        assertTrue(patientManager.isDuplicatePatient(editedPatient));
+        assertFalse(patientManager.checkDuplicatePatientAfterEdit(0, editedPatient));
+        assertTrue(patientManager.checkDuplicatePatientAfterEdit(1, editedPatient));
+    }
+
+    @Test
+    public void deletePatientByNric_manyDeletions_indexesMatchRemainingPatients() {
+        Email email = new Email("patient@gmail.com");
+        Address address = new Address("1 Simei Road");
+        Contact contact = new Contact("91111111");
+        Gender gender = new Gender("M");
+        Dob dob = new Dob("1991-01-01");
+        ArrayList<Patient> expected = new ArrayList<>(patientManager.getPatientList());
+        for (int i = 0; i < 20; i++) {
+            Patient patient = new Patient(new Name("Patient " + i), new Nric(String.format("S%07dA", i)), email,
+                    address, contact, gender, dob, new ArrayList<Tag>());
+            patientManager.addPatient(patient);
+            expected.add(patient);
+        }
+
+        // deletes from the front, middle and back, so that the list is compacted along the way
+        for (int i : new int[] {0, 5, 5, 17, 1, 10, 3, 3, 0, 8, 2, 6}) {
+            patientManager.deletePatientByNric(expected.remove(i).getNric().toString());
+
+            assertEquals(expected, patientManager.getPatientList());
+            for (int position = 0; position < expected.size(); position++) {
+                Patient patient = expected.get(position);
+                assertEquals(patient, patientManager.getPatientAtIndex(position));
+                assertEquals(position, patientManager.getIndexByNric(patient.getNric()));
+            }
+            PatientPage page = patientManager.listPatients(3, PatientPage.encodePageToken(1));
+            assertEquals(expected.subList(1, Math.min(4, expected.size())), page.getPatients());
+            assertEquals(2, (int) page.getPatientIndexes().get(0));
+        }
+
+        // searches give the indexes of the patients found among the remaining patients
+        PatientPage found = patientManager.findPatientsByNric("S00000", 20, null);
+        assertEquals(expected, found.getPatients());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, (int) found.getPatientIndexes().get(i));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getPatientList_modified_throwsUnsupportedOperationException() {
+        patientManager.getPatientList().clear();
+    }
+
     @Test
     public void equalTest() {
 
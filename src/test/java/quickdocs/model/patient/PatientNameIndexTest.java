@@ -0,0 +1,47 @@
+package quickdocs.model.patient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PatientNameIndexTest {
+    private PatientNameIndex nameIndex;
+
+    @Before
+    public void init() {
+        nameIndex = new PatientNameIndex();
+        nameIndex.add("S9123456A", new Name("Peter Tan"));
+        nameIndex.add("S9234567B", new Name("Perry Ng"));
+        nameIndex.add("S9273478C", new Name("Al"));
+    }
+
+    @Test
+    public void search_substringOfName_returnsMatchingNrics() {
+        assertEquals(new HashSet<>(Arrays.asList("S9123456A")), nameIndex.search("ter t"));
+        assertEquals(new HashSet<>(Arrays.asList("S9123456A", "S9234567B")), nameIndex.search("PE"));
+        assertEquals(new HashSet<>(Arrays.asList("S9273478C")), nameIndex.search("al"));
+        assertEquals(3, nameIndex.search("").size());
+    }
+
+    @Test
+    public void search_sharedTrigramsOnly_returnsEmpty() {
+        // both "per" and "ter" are in the index, but no name contains "perter"
+        assertTrue(nameIndex.search("perter").isEmpty());
+        assertTrue(nameIndex.search("xyz").isEmpty());
+    }
+
+    @Test
+    public void remove_indexedName_nameNoLongerFound() {
+        nameIndex.remove("S9123456A");
+        assertEquals(new HashSet<>(Arrays.asList("S9234567B")), nameIndex.search("pe"));
+        assertTrue(nameIndex.search("tan").isEmpty());
+
+        nameIndex.remove("S9273478C");
+        assertTrue(nameIndex.search("al").isEmpty());
+    }
+}
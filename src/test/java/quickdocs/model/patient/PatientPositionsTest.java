@@ -0,0 +1,46 @@
+package quickdocs.model.patient;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PatientPositionsTest {
+
+    @Test
+    public void remove_slotsRemoved_positionsOfHeldSlotsShifted() {
+        PatientPositions positions = new PatientPositions();
+        List<Integer> heldSlots = new ArrayList<>();
+        for (int slot = 0; slot < 40; slot++) {
+            positions.append();
+            heldSlots.add(slot);
+        }
+
+        for (int slot : new int[] {0, 39, 16, 17, 3, 31, 32, 8}) {
+            positions.remove(slot);
+            heldSlots.remove(Integer.valueOf(slot));
+
+            assertEquals(heldSlots.size(), positions.size());
+            for (int position = 0; position < heldSlots.size(); position++) {
+                assertEquals((int) heldSlots.get(position), positions.slotAt(position));
+                assertEquals(position, positions.positionOf(heldSlots.get(position)));
+            }
+        }
+    }
+
+    @Test
+    public void append_afterRemove_appendedAfterLastSlot() {
+        PatientPositions positions = new PatientPositions();
+        positions.append();
+        positions.append();
+        positions.remove(0);
+        positions.append();
+
+        assertEquals(2, positions.size());
+        assertEquals(1, positions.slotAt(0));
+        assertEquals(2, positions.slotAt(1));
+        assertEquals(1, positions.positionOf(2));
+    }
+}
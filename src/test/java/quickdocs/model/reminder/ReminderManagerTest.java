@@ -1,20 +1,29 @@
 package quickdocs.model.reminder;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 import static quickdocs.testutil.TypicalAppointments.APP_A;
 import static quickdocs.testutil.TypicalAppointments.APP_B;
 import static quickdocs.testutil.TypicalReminders.REM_A;
+import static quickdocs.testutil.TypicalReminders.REM_B;
+import static quickdocs.testutil.TypicalReminders.REM_C;
 import static quickdocs.testutil.TypicalReminders.REM_D;
 import static quickdocs.testutil.TypicalReminders.REM_E;
 import static quickdocs.testutil.TypicalReminders.getTypicalReminders;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import org.junit.Test;
 
+import quickdocs.model.medicine.Medicine;
+
 /**
  * Contains unit tests for {@code ReminderManager}. Most methods are already tested by commands related
  * to {@code Reminder}s. Hence {@code ReminderManagerTest} will only test some methods.
@@ -41,6 +50,67 @@ public class ReminderManagerTest {
         assertEquals(Optional.empty(), expectedRem);
     }
 
+    @Test
+    public void getReminderFromAppointment_sameTitleDateAndStart() {
+        Reminder appAReminder = new Reminder(
+                APP_A.createTitle(), APP_A.getComment(), APP_A.getDate(), APP_A.getStart(), APP_A.getEnd());
+        Reminder otherReminder = new Reminder(
+                APP_A.createTitle(), "Bring X-ray", APP_A.getDate(), APP_A.getStart(), APP_A.getEnd());
+        remMan.addReminder(appAReminder);
+        remMan.addReminder(otherReminder);
+
+        // first reminder added is found
+        assertEquals(appAReminder, remMan.getReminder(APP_A).get());
+
+        // other reminder is still found once the first is deleted
+        remMan.delete(appAReminder);
+        assertEquals(otherReminder, remMan.getReminder(APP_A).get());
+
+        // no reminder found once both are deleted
+        remMan.delete(otherReminder);
+        assertEquals(Optional.empty(), remMan.getReminder(APP_A));
+    }
+
+    @Test
+    public void addReminder_outOfOrder_sortedByDateAndTime() {
+        remMan.addReminder(REM_D);
+        remMan.addReminder(REM_B);
+        remMan.addReminder(REM_E);
+        remMan.addReminder(REM_A);
+        remMan.addReminders(Arrays.asList(REM_C));
+        assertEquals(Arrays.asList(REM_E, REM_A, REM_B, REM_C, REM_D), remMan.getReminderList());
+
+        // reminders with the same date and start time are told apart when deleting
+        Reminder sameTimeAsA = new Reminder("Call supplier", REM_A.getDate(), REM_A.getStart());
+        remMan.addReminder(sameTimeAsA);
+        assertTrue(remMan.hasDuplicateReminder(sameTimeAsA));
+        remMan.delete(REM_A);
+        assertFalse(remMan.hasDuplicateReminder(REM_A));
+        assertTrue(remMan.hasDuplicateReminder(sameTimeAsA));
+        assertEquals(Arrays.asList(REM_E, sameTimeAsA, REM_B, REM_C, REM_D), remMan.getReminderList());
+    }
+
+    @Test
+    public void reminderForMedicine() {
+        Medicine medicine = new Medicine("Paracetamol", 5);
+        medicine.setThreshold(10);
+        String title = String.format(Medicine.REMINDER_TITLE_IF_INSUFFICIENT, medicine.name);
+        remMan.addReminder(REM_A);
+
+        // low quantity reminder replaces the previous one
+        remMan.reminderForMedicine(medicine);
+        remMan.addReminder(new Reminder(title, LocalDate.parse("2019-01-01"), LocalTime.parse("09:00")));
+        remMan.reminderForMedicine(medicine);
+        assertEquals(2, remMan.getReminderList().size());
+        assertEquals(title, remMan.getReminderList().get(1).getTitle());
+
+        // reminder deleted once the medicine is sufficient again
+        medicine.setQuantity(20);
+        remMan.reminderForMedicine(medicine);
+        assertEquals(Arrays.asList(REM_A), remMan.getReminderList());
+        assertFalse(remMan.deleteExistingMedicineReminder(medicine));
+    }
+
     @Test
     public void equals() {
         // add some sample reminders into the manager
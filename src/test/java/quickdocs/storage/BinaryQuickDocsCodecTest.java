@@ -0,0 +1,152 @@
+package quickdocs.storage;
+
+import static org.junit.Assert.assertEquals;
+import static quickdocs.testutil.TypicalAppointments.APP_A;
+import static quickdocs.testutil.TypicalAppointments.APP_B;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalPatients.BOB;
+import static quickdocs.testutil.TypicalPatients.getTypicalPatientQuickDocs;
+import static quickdocs.testutil.TypicalReminders.getTypicalReminders;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_DIAGNOSIS_B;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_PRESCRIPTIONS_B;
+import static quickdocs.testutil.TypicalStatistics.getTypicalMonthStatistics;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.medicine.MedicineManager;
+import quickdocs.model.record.MonthStatistics;
+import quickdocs.model.reminder.Reminder;
+
+public class BinaryQuickDocsCodecTest {
+
+    private static final LocalDate FIRST_DATE = LocalDate.parse("2019-01-01");
+    private static final LocalDateTime SESSION = LocalDateTime.parse("2019-03-01T10:15:30");
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    /**
+     * Returns a {@code QuickDocs} with records in every section, including an appointment of a deleted patient.
+     */
+    private QuickDocs getQuickDocsWithAllSections() {
+        QuickDocs quickDocs = getTypicalPatientQuickDocs();
+        quickDocs.getConsultationManager().addConsultation(new Consultation(0, ALICE, SESSION, SAMPLE_DIAGNOSIS_B,
+                new ArrayList<>(SAMPLE_PRESCRIPTIONS_B)));
+        quickDocs.getAppointmentManager().addAppointment(APP_A);
+        quickDocs.getAppointmentManager().addAppointment(APP_B);
+        quickDocs.getPatientManager().deletePatientByNric(BOB.getNric().toString());
+        for (Reminder reminder : getTypicalReminders()) {
+            quickDocs.getReminderManager().addReminder(reminder);
+        }
+
+        MedicineManager medicineManager = quickDocs.getMedicineManager();
+        medicineManager.addDirectory("TCM", new String[] {"root"});
+        medicineManager.addMedicine("ginseng", 20, new String[] {"root", "TCM"}, new BigDecimal("1.50"));
+        medicineManager.addMedicine("paracetamol", 5, new String[] {"root"}, new BigDecimal("0.30"));
+        medicineManager.addDirectory("Vaccines", new String[] {"root"}).setThreshold(10);
+
+        for (MonthStatistics monthStatistics : getTypicalMonthStatistics()) {
+            quickDocs.getStatisticsManager().addMonthStatistics(monthStatistics);
+        }
+        quickDocs.getStatisticsManager().setConsultationFee(new BigDecimal("45"));
+        return quickDocs;
+    }
+
+    /**
+     * Asserts that both {@code QuickDocs} hold the same data, including the consultations and medicines,
+     * which are not compared by {@code QuickDocs#equals}.
+     */
+    private void assertSameData(QuickDocs expected, QuickDocs actual) throws Exception {
+        assertEquals(JsonUtil.toJsonString(new JsonSerializableQuickDocs(expected)),
+                JsonUtil.toJsonString(new JsonSerializableQuickDocs(actual)));
+    }
+
+    /**
+     * Returns the number of strings in the table of the given binary data, checking its header.
+     */
+    private int getStringCount(byte[] data) {
+        ByteBuffer header = ByteBuffer.wrap(data);
+        assertEquals(BinaryQuickDocsCodec.MAGIC_NUMBER, header.getInt());
+        assertEquals(BinaryQuickDocsCodec.FORMAT_VERSION, header.getInt());
+        return header.getInt();
+    }
+
+    @Test
+    public void encode_repeatedStrings_storedOnce() {
+        QuickDocs quickDocs = getTypicalPatientQuickDocs();
+        quickDocs.getReminderManager().addReminder(new Reminder("Restock", null, FIRST_DATE, LocalTime.NOON, null));
+        int stringCount = getStringCount(BinaryQuickDocsCodec.encode(quickDocs));
+
+        for (int i = 1; i < 100; i++) {
+            quickDocs.getReminderManager().addReminder(new Reminder("Restock", null, FIRST_DATE.plusDays(i),
+                    LocalTime.NOON, null));
+        }
+
+        // only the date of each reminder added is new
+        assertEquals(stringCount + 99, getStringCount(BinaryQuickDocsCodec.encode(quickDocs)));
+    }
+
+    @Test
+    public void decode_allSections_success() throws Exception {
+        QuickDocs original = getQuickDocsWithAllSections();
+        assertSameData(original, BinaryQuickDocsCodec.decode(BinaryQuickDocsCodec.encode(original)).toModelType());
+    }
+
+    @Test
+    public void decode_oneSection_otherSectionsEmpty() throws Exception {
+        QuickDocs original = getQuickDocsWithAllSections();
+        byte[] data = BinaryQuickDocsCodec.encode(original, EnumSet.of(DataSection.REMINDERS));
+
+        JsonSerializableQuickDocs reminders = BinaryQuickDocsCodec.decode(data, EnumSet.of(DataSection.REMINDERS));
+        JsonSerializableQuickDocs expected = new JsonSerializableQuickDocs(original, EnumSet.of(DataSection.REMINDERS));
+        assertEquals(JsonUtil.toJsonString(expected), JsonUtil.toJsonString(reminders));
+    }
+
+    @Test
+    public void decode_missingSection_throwsDataConversionException() throws Exception {
+        byte[] data = BinaryQuickDocsCodec.encode(getQuickDocsWithAllSections(), EnumSet.of(DataSection.REMINDERS));
+        thrown.expect(DataConversionException.class);
+        BinaryQuickDocsCodec.decode(data);
+    }
+
+    @Test
+    public void decode_jsonData_throwsDataConversionException() throws Exception {
+        Path filePath = Paths.get("src", "test", "data", "JsonSerializableQuickDocsTest",
+                "typicalPatientsQuickDocs.json");
+        thrown.expect(DataConversionException.class);
+        BinaryQuickDocsCodec.decode(Files.readAllBytes(filePath));
+    }
+
+    @Test
+    public void decode_truncatedData_throwsDataConversionException() throws Exception {
+        byte[] data = BinaryQuickDocsCodec.encode(getQuickDocsWithAllSections());
+        thrown.expect(DataConversionException.class);
+        BinaryQuickDocsCodec.decode(Arrays.copyOf(data, data.length / 2));
+    }
+
+    @Test
+    public void decode_newerFormatVersion_throwsDataConversionException() throws Exception {
+        byte[] data = BinaryQuickDocsCodec.encode(getTypicalPatientQuickDocs());
+        ByteBuffer.wrap(data).putInt(Integer.BYTES, BinaryQuickDocsCodec.FORMAT_VERSION + 1);
+        thrown.expect(DataConversionException.class);
+        BinaryQuickDocsCodec.decode(data);
+    }
+}
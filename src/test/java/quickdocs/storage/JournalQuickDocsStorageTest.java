@@ -0,0 +1,497 @@
+package quickdocs.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static quickdocs.testutil.TypicalAppointments.APP_A;
+import static quickdocs.testutil.TypicalAppointments.APP_B;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalPatients.BOB;
+import static quickdocs.testutil.TypicalPatients.EDITED_BOB;
+import static quickdocs.testutil.TypicalPatients.EVE;
+import static quickdocs.testutil.TypicalPatients.getTypicalPatientQuickDocs;
+import static quickdocs.testutil.TypicalReminders.REM_A;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_DIAGNOSIS_B;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_PRESCRIPTIONS_B;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.commons.core.Config.DataFormat;
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.util.FileUtil;
+import quickdocs.model.Change;
+import quickdocs.model.ModelManager;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.UserPrefs;
+import quickdocs.model.consultation.ConsultationManager;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.model.patient.Patient;
+
+public class JournalQuickDocsStorageTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path filePath;
+    private JournalQuickDocsStorage storage;
+    private ModelManager model;
+
+    @Before
+    public void setUp() throws Exception {
+        filePath = testFolder.getRoot().toPath().resolve("TempQuickDocs.json");
+        storage = new JournalQuickDocsStorage(filePath);
+        model = new ModelManager(getTypicalPatientQuickDocs(), new UserPrefs());
+        save();
+    }
+
+    /**
+     * Saves the data of the model in the same way as {@code LogicManager} after a command.
+     */
+    private void save() throws Exception {
+        storage.saveQuickDocs(model.getQuickDocs());
+        model.getQuickDocs().indicateModification(false);
+    }
+
+    private QuickDocs readBack() throws Exception {
+        return new JournalQuickDocsStorage(filePath).readQuickDocs().get();
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        Path missingFilePath = testFolder.getRoot().toPath().resolve("NonExistentFile.json");
+        assertFalse(new JournalQuickDocsStorage(missingFilePath).readQuickDocs().isPresent());
+    }
+
+    @Test
+    public void save_firstSave_writesSnapshot() {
+        assertTrue(Files.exists(filePath));
+        assertFalse(Files.exists(storage.getJournalFilePath()));
+    }
+
+    @Test
+    public void save_changes_appendedToJournalOnly() throws Exception {
+        byte[] snapshot = Files.readAllBytes(filePath);
+
+        model.addPatient(EVE);
+        save();
+        model.addApp(APP_A);
+        model.addApp(APP_B);
+        model.deleteAppointment(APP_B);
+        save();
+        model.replacePatient(model.getIndexByNric(BOB.getNric()), EDITED_BOB);
+        model.deletePatientByNric(ALICE.getNric().toString());
+        model.setConsultationFee(new BigDecimal("45"));
+        save();
+
+        // the snapshot is left as it is, and each change is one line of the journal, after its header
+        assertArrayEquals(snapshot, Files.readAllBytes(filePath));
+        assertEquals(storage.getJournalEntries() + 1, Files.readAllLines(storage.getJournalFilePath()).size());
+
+        QuickDocs readBack = readBack();
+        assertEquals(model.getQuickDocs(), readBack);
+        assertEquals(new BigDecimal("45"), readBack.getStatisticsManager().getConsultationFee());
+    }
+
+    @Test
+    public void save_medicineChanges_onlyAffectedMedicineJournaled() throws Exception {
+        String[] rootPath = {"root"};
+        String[] painkillersPath = {"root", "Painkillers"};
+        model.addDirectory("Painkillers", rootPath);
+        model.addMedicine("Paracetamol", 20, painkillersPath, new BigDecimal("0.50"));
+        model.addMedicine("Ibuprofen", 10, rootPath, new BigDecimal("0.80"));
+        save();
+        model.purchaseMedicine("Paracetamol", 30, new BigDecimal("10"));
+        model.setPrice(model.findMedicine("Paracetamol").get(), new BigDecimal("0.60"));
+        model.addExistingMedicineToDirectory(model.findMedicine("Ibuprofen").get(), painkillersPath);
+        model.setDirectoryThreshold(painkillersPath, 15);
+        save();
+
+        // no entry holds the whole catalogue, and the purchase and new price of a medicine are one entry
+        assertEquals(0, countEntries("UPDATE_MEDICINES"));
+        assertEquals(4, countEntries("UPDATE_MEDICINE"));
+        assertEquals(1, countEntries("ADD_DIRECTORY"));
+        assertEquals(1, countEntries("SET_DIRECTORY_THRESHOLD"));
+
+        QuickDocs readBack = readBack();
+        Medicine paracetamol = readBack.getMedicineManager().findMedicine("paracetamol").get();
+        assertEquals(50, paracetamol.getQuantity());
+        assertEquals(15, paracetamol.getThreshold());
+        assertEquals(new BigDecimal("0.60"), paracetamol.getPrice());
+        Medicine ibuprofen = readBack.getMedicineManager().findMedicine(new String[] {"root", "Painkillers",
+            "Ibuprofen"}).get();
+        assertSame(readBack.getMedicineManager().findMedicine(new String[] {"root", "Ibuprofen"}).get(), ibuprofen);
+        assertEquals(15, ibuprofen.getThreshold());
+        assertEquals(Integer.valueOf(15),
+                readBack.getMedicineManager().findDirectory(painkillersPath).get().getThreshold().get());
+    }
+
+    /**
+     * Returns the number of entries of the given type in the journal.
+     */
+    private long countEntries(String type) throws Exception {
+        return Files.readAllLines(storage.getJournalFilePath()).stream()
+                .filter(line -> line.startsWith("{\"type\":\"" + type + "\""))
+                .count();
+    }
+
+    @Test
+    public void save_replacedPatient_appointmentsLinkedToEditedPatient() throws Exception {
+        model.addApp(APP_B);
+        save();
+        model.replacePatient(model.getIndexByNric(BOB.getNric()), EDITED_BOB);
+        save();
+
+        QuickDocs readBack = readBack();
+        assertEquals(model.getQuickDocs(), readBack);
+        Patient editedBob = readBack.getPatientManager().getPatientByNric(EDITED_BOB.getNric()).get();
+        assertSame(editedBob, readBack.getAppointmentManager().getAppointments(editedBob).get(0).getPatient());
+
+        model.deleteAppointment(model.getAppointment(APP_B.getDate(), APP_B.getStart()).get());
+        save();
+        assertEquals(model.getQuickDocs(), readBack());
+    }
+
+    @Test
+    public void save_enoughEntries_compacted() throws Exception {
+        storage = new JournalQuickDocsStorage(filePath, 2);
+        model = new ModelManager(storage.readQuickDocs().get(), new UserPrefs());
+
+        model.addPatient(EVE);
+        save();
+        assertEquals(1, storage.getJournalEntries());
+
+        model.addApp(APP_A);
+        save();
+        assertEquals(0, storage.getJournalEntries());
+        assertFalse(Files.exists(storage.getJournalFilePath()));
+        assertEquals(model.getQuickDocs(), readBack());
+    }
+
+    @Test
+    public void save_compacted_onlyModifiedSectionsWritten() throws Exception {
+        storage = new JournalQuickDocsStorage(filePath, 1);
+        model = new ModelManager(storage.readQuickDocs().get(), new UserPrefs());
+        Path patientsFile = storage.getSectionFilePath(DataSection.PATIENTS).get();
+        Path remindersFile = storage.getSectionFilePath(DataSection.REMINDERS).get();
+
+        model.addRem(REM_A);
+        save();
+
+        assertFalse(Files.exists(storage.getJournalFilePath()));
+        assertEquals(patientsFile, storage.getSectionFilePath(DataSection.PATIENTS).get());
+        assertNotEquals(remindersFile, storage.getSectionFilePath(DataSection.REMINDERS).get());
+        // the files of the previous snapshot are kept, as its manifest is backed up
+        assertTrue(Files.exists(remindersFile));
+        assertEquals(model.getQuickDocs(), readBack());
+    }
+
+    @Test
+    public void save_consultationsArchivedWithChanges_consultationsSectionWritten() throws Exception {
+        model.createConsultation(ALICE);
+        model.diagnosePatient(SAMPLE_DIAGNOSIS_B);
+        model.prescribeMedicine(new ArrayList<>(SAMPLE_PRESCRIPTIONS_B));
+        model.endConsultation();
+        save();
+        Path consultationsFile = storage.getSectionFilePath(DataSection.CONSULTATIONS).get();
+        Path patientsFile = storage.getSectionFilePath(DataSection.PATIENTS).get();
+
+        // archived at launch, before a command records another change
+        ConsultationManager consultationManager = model.getQuickDocs().getConsultationManager();
+        consultationManager.setArchive(new MappedConsultationArchive(
+                MappedConsultationArchive.getArchiveFilePath(filePath)));
+        int consultationCount = consultationManager.getConsultationCount();
+        assertEquals(consultationCount, consultationManager.archiveConsultationsBefore(LocalDateTime.MAX));
+        model.getQuickDocs().recordChange(Change.archiveConsultations());
+        model.addRem(REM_A);
+        save();
+
+        assertFalse(Files.exists(storage.getJournalFilePath()));
+        assertNotEquals(consultationsFile, storage.getSectionFilePath(DataSection.CONSULTATIONS).get());
+        assertEquals(patientsFile, storage.getSectionFilePath(DataSection.PATIENTS).get());
+        ConsultationManager readBack = readBack().getConsultationManager();
+        assertTrue(readBack.getConsultationList().isEmpty());
+        assertEquals(consultationCount, readBack.getConsultationCount());
+    }
+
+    @Test
+    public void compact_modifiedBeforeWritten_dataAsPreparedWritten() throws Exception {
+        for (DataFormat format : DataFormat.values()) {
+            storage = new JournalQuickDocsStorage(filePath, format);
+            model = new ModelManager(getTypicalPatientQuickDocs(), new UserPrefs());
+            PendingSave save = storage.prepareSave(model.getQuickDocs());
+
+            // modified on the thread that modifies it, before the save is written on the thread that writes saves
+            model.addPatient(EVE);
+            model.addApp(APP_A);
+            model.deletePatientByNric(ALICE.getNric().toString());
+            save.write();
+
+            assertEquals(getTypicalPatientQuickDocs(), readBack());
+        }
+    }
+
+    @Test
+    public void save_compactedWithoutBackups_unlistedSectionFilesDeleted() throws Exception {
+        storage = new JournalQuickDocsStorage(filePath, 1, 0);
+        model = new ModelManager(storage.readQuickDocs().get(), new UserPrefs());
+        Path remindersFile = storage.getSectionFilePath(DataSection.REMINDERS).get();
+
+        model.addRem(REM_A);
+        save();
+
+        assertFalse(Files.exists(remindersFile));
+        assertTrue(Files.exists(storage.getSectionFilePath(DataSection.REMINDERS).get()));
+        assertEquals(model.getQuickDocs(), readBack());
+    }
+
+    @Test
+    public void save_compactedAfterPatientDeleted_appointmentsKeepPatient() throws Exception {
+        storage = new JournalQuickDocsStorage(filePath, 1);
+        model = new ModelManager(storage.readQuickDocs().get(), new UserPrefs());
+        model.addApp(APP_A);
+        save();
+        Path appointmentsFile = storage.getSectionFilePath(DataSection.APPOINTMENTS).get();
+
+        model.deletePatientByNric(ALICE.getNric().toString());
+        save();
+
+        // the appointments referred to the deleted patient by NRIC, so they are written with the patient embedded
+        assertNotEquals(appointmentsFile, storage.getSectionFilePath(DataSection.APPOINTMENTS).get());
+        assertEquals(model.getQuickDocs(), readBack());
+    }
+
+    @Test
+    public void read_unsplitSnapshot_splitAtNextSave() throws Exception {
+        Files.delete(filePath);
+        new JsonQuickDocsStorage(filePath).saveQuickDocs(model.getQuickDocs());
+        byte[] unsplitSnapshot = Files.readAllBytes(filePath);
+
+        storage = new JournalQuickDocsStorage(filePath);
+        model = new ModelManager(storage.readQuickDocs().get(), new UserPrefs());
+        assertFalse(storage.getSectionFilePath(DataSection.PATIENTS).isPresent());
+
+        model.addPatient(EVE);
+        save();
+        assertTrue(Files.exists(storage.getSectionFilePath(DataSection.PATIENTS).get()));
+        assertEquals(model.getQuickDocs(), readBack());
+
+        // the unsplit snapshot is kept as the newest backup
+        Path newestBackup = new DataFileBackups(filePath, JsonQuickDocsStorage.DEFAULT_BACKUP_COUNT)
+                .getBackupFilePaths().get(0);
+        assertArrayEquals(unsplitSnapshot, Files.readAllBytes(newestBackup));
+    }
+
+    @Test
+    public void save_binarySections_changesJournaledAndSectionsBinary() throws Exception {
+        storage = new JournalQuickDocsStorage(filePath, 4, JsonQuickDocsStorage.DEFAULT_BACKUP_COUNT,
+                DataFormat.BINARY);
+        model = new ModelManager(storage.readQuickDocs().get(), new UserPrefs());
+
+        // the json sections are written again in binary at the first save, and the next changes are journaled
+        model.addPatient(EVE);
+        save();
+        assertTrue(storage.getSectionFilePath(DataSection.PATIENTS).get().toString().endsWith(".bin"));
+        assertFalse(Files.exists(storage.getJournalFilePath()));
+        model.addApp(APP_A);
+        model.addRem(REM_A);
+        save();
+        assertEquals(storage.getJournalEntries() + 1, Files.readAllLines(storage.getJournalFilePath()).size());
+        assertEquals(model.getQuickDocs(), readBack());
+
+        model.deleteAppointment(APP_A);
+        save();
+        assertFalse(Files.exists(storage.getJournalFilePath()));
+        assertTrue(storage.getSectionFilePath(DataSection.APPOINTMENTS).get().toString().endsWith(".bin"));
+        assertEquals(model.getQuickDocs(), readBack());
+    }
+
+    @Test
+    public void read_formatChanged_latestDataRead() throws Exception {
+        JournalQuickDocsStorage binaryStorage = new JournalQuickDocsStorage(filePath, DataFormat.BINARY);
+        model = new ModelManager(binaryStorage.readQuickDocs().get(), new UserPrefs());
+        storage = binaryStorage;
+        model.addPatient(EVE);
+        save();
+        model.addRem(REM_A);
+        save();
+
+        // the binary sections and the journal are read back in json, and written in json at the next save
+        storage = new JournalQuickDocsStorage(filePath);
+        model = new ModelManager(storage.readQuickDocs().get(), new UserPrefs());
+        assertEquals(binaryStorage.readQuickDocs().get(), model.getQuickDocs());
+        model.addApp(APP_A);
+        save();
+        assertTrue(storage.getSectionFilePath(DataSection.PATIENTS).get().toString().endsWith(".json"));
+        assertEquals(model.getQuickDocs(), new JournalQuickDocsStorage(filePath, DataFormat.BINARY)
+                .readQuickDocs().get());
+    }
+
+    @Test
+    public void save_unrecordedModification_writesSnapshot() throws Exception {
+        model.getQuickDocs().getPatientManager().addPatient(EVE);
+        model.getQuickDocs().indicateModification(true);
+        save();
+
+        assertFalse(Files.exists(storage.getJournalFilePath()));
+        assertEquals(model.getQuickDocs(), readBack());
+    }
+
+    @Test
+    public void read_journalLeftAfterCompaction_replayHasNoEffect() throws Exception {
+        model.addPatient(EVE);
+        model.addApp(APP_A);
+        model.deletePatientByNric(ALICE.getNric().toString());
+        save();
+        byte[] journal = Files.readAllBytes(storage.getJournalFilePath());
+
+        // QuickDocs stopped after writing the snapshot, before deleting the journal
+        storage.compact(model.getQuickDocs());
+        Files.write(storage.getJournalFilePath(), journal);
+
+        assertEquals(model.getQuickDocs(), readBack());
+    }
+
+    @Test
+    public void read_journalLeftAfterCompactionWithArchivedConsultations_consultationsNotDuplicated()
+            throws Exception {
+        // the two oldest consultations are archived, and the archive is only attached once the data is read
+        model.getQuickDocs().getConsultationManager().setArchivedCount(2);
+        model.getQuickDocs().indicateModification(true);
+        save();
+        model.createConsultation(ALICE);
+        model.diagnosePatient(SAMPLE_DIAGNOSIS_B);
+        model.prescribeMedicine(new ArrayList<>(SAMPLE_PRESCRIPTIONS_B));
+        model.endConsultation();
+        save();
+        byte[] journal = Files.readAllBytes(storage.getJournalFilePath());
+
+        // QuickDocs stopped after writing the snapshot, before deleting the journal
+        storage.compact(model.getQuickDocs());
+        Files.write(storage.getJournalFilePath(), journal);
+
+        ConsultationManager consultationManager = readBack().getConsultationManager();
+        assertEquals(1, consultationManager.getConsultationList().size());
+        assertEquals(2, consultationManager.getConsultationList().get(0).getIndex());
+        assertEquals(3, consultationManager.getConsultationCount());
+    }
+
+    @Test
+    public void read_incompleteLastEntry_ignoredAndCompactedAtNextSave() throws Exception {
+        model.addPatient(EVE);
+        save();
+        Files.write(storage.getJournalFilePath(), Arrays.asList("{\"type\":\"ADD_PATI"), StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        storage = new JournalQuickDocsStorage(filePath);
+        model = new ModelManager(storage.readQuickDocs().get(), new UserPrefs());
+        assertTrue(model.duplicatePatient(EVE));
+
+        model.addApp(APP_A);
+        save();
+        assertFalse(Files.exists(storage.getJournalFilePath()));
+        assertEquals(model.getQuickDocs(), readBack());
+    }
+
+    @Test
+    public void read_stoppedWhileCompacting_journalReplayedOverBackup() throws Exception {
+        model.addPatient(EVE);
+        model.addApp(APP_A);
+        save();
+
+        // the snapshot file was lost while the new snapshot was being written
+        Path newestBackup = new DataFileBackups(filePath, JsonQuickDocsStorage.DEFAULT_BACKUP_COUNT)
+                .getBackupFilePaths().get(0);
+        Files.move(filePath, newestBackup);
+        Files.write(FileUtil.getTempFilePath(filePath), Arrays.asList("{\"patientList\":["), StandardCharsets.UTF_8);
+
+        storage = new JournalQuickDocsStorage(filePath);
+        model = new ModelManager(storage.readQuickDocs().get(), new UserPrefs());
+        assertTrue(model.duplicatePatient(EVE));
+        assertTrue(model.getQuickDocs().getAppointmentManager().hasDuplicateAppointment(APP_A));
+
+        // the recovered data is written to the snapshot file at the next save
+        save();
+        assertTrue(Files.exists(filePath));
+        assertFalse(Files.exists(storage.getJournalFilePath()));
+        assertEquals(model.getQuickDocs(), readBack());
+    }
+
+    @Test
+    public void read_journalOfNewerSnapshotThanRecovered_setAside() throws Exception {
+        QuickDocs previousSnapshot = readBack();
+        model.addPatient(EVE);
+        storage.compact(model.getQuickDocs());
+        model.getQuickDocs().indicateModification(false);
+        model.addApp(APP_A);
+        save();
+        byte[] journal = Files.readAllBytes(storage.getJournalFilePath());
+
+        // the snapshot the journal was written against is lost, so the previous one is recovered from its backup
+        Files.delete(filePath);
+        storage = new JournalQuickDocsStorage(filePath);
+        QuickDocs readBack = storage.readQuickDocs().get();
+        assertEquals(previousSnapshot, readBack);
+        assertFalse(Files.exists(storage.getJournalFilePath()));
+        Path unreplayedJournal = storage.getJournalFilePath().resolveSibling(
+                storage.getJournalFilePath().getFileName() + JournalQuickDocsStorage.UNREPLAYED_JOURNAL_SUFFIX);
+        assertArrayEquals(journal, Files.readAllBytes(unreplayedJournal));
+    }
+
+    @Test
+    public void compact_writeFails_snapshotAndJournalKept() throws Exception {
+        model.addPatient(EVE);
+        save();
+        byte[] manifest = Files.readAllBytes(filePath);
+        byte[] journal = Files.readAllBytes(storage.getJournalFilePath());
+
+        // the temporary file of the manifest cannot be written
+        Files.createDirectory(FileUtil.getTempFilePath(filePath));
+        try {
+            storage.compact(model.getQuickDocs());
+            fail("Expected IOException");
+        } catch (IOException ioe) {
+            assertArrayEquals(manifest, Files.readAllBytes(filePath));
+            assertArrayEquals(journal, Files.readAllBytes(storage.getJournalFilePath()));
+        }
+        Files.delete(FileUtil.getTempFilePath(filePath));
+        assertEquals(model.getQuickDocs(), readBack());
+    }
+
+    @Test
+    public void read_invalidEntry_throwsDataConversionException() throws Exception {
+        model.addPatient(EVE);
+        save();
+        Files.write(storage.getJournalFilePath(), Arrays.asList("{\"type\":\"ADD_PATIENT\"}", "{}"),
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        thrown.expect(DataConversionException.class);
+        readBack();
+    }
+
+    @Test
+    public void saveQuickDocs_nullQuickDocs_throwsNullPointerException() throws Exception {
+        thrown.expect(NullPointerException.class);
+        storage.saveQuickDocs(null);
+    }
+}
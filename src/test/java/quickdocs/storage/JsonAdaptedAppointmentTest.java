@@ -1,6 +1,8 @@
 package quickdocs.storage;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -11,6 +13,7 @@ import java.util.List;
 
 import org.junit.Test;
 
+import quickdocs.commons.util.JsonUtil;
 import quickdocs.model.appointment.Appointment;
 import quickdocs.model.patient.Address;
 import quickdocs.model.patient.Contact;
@@ -20,6 +23,7 @@ import quickdocs.model.patient.Gender;
 import quickdocs.model.patient.Name;
 import quickdocs.model.patient.Nric;
 import quickdocs.model.patient.Patient;
+import quickdocs.model.patient.PatientManager;
 import quickdocs.model.tag.Tag;
 import quickdocs.testutil.Assert;
 
@@ -65,6 +69,44 @@ public class JsonAdaptedAppointmentTest {
         assertEquals(VALID_APPOINTMENT, appointment.toModelType());
     }
 
+    @Test
+    public void toModelType_patientInList_linkedByNric() throws Exception {
+        PatientManager patientManager = new PatientManager();
+        patientManager.addPatient(VALID_PATIENT);
+
+        JsonAdaptedAppointment appointment = new JsonAdaptedAppointment(VALID_APPOINTMENT, patientManager);
+        assertFalse(JsonUtil.toJsonString(appointment).contains(VALID_EMAIL));
+        assertEquals(VALID_APPOINTMENT, appointment.toModelType(patientManager));
+    }
+
+    @Test
+    public void toModelType_embeddedPatientInList_linkedToPatientInList() {
+        Patient editedPatient = new Patient(new Name("Rachel Tan"), new Nric(VALID_NRIC), new Email(VALID_EMAIL),
+                new Address(VALID_ADDRESS), new Contact(VALID_CONTACT), new Gender(VALID_GENDER), new Dob(VALID_DOB),
+                new ArrayList<Tag>());
+        PatientManager patientManager = new PatientManager();
+        patientManager.addPatient(editedPatient);
+
+        JsonAdaptedAppointment appointment = new JsonAdaptedAppointment(VALID_APPOINTMENT);
+        assertSame(editedPatient, appointment.toModelType(patientManager).getPatient());
+    }
+
+    @Test
+    public void toModelType_patientNotInList_embedded() {
+        PatientManager patientManager = new PatientManager();
+        JsonAdaptedAppointment appointment = new JsonAdaptedAppointment(VALID_APPOINTMENT, patientManager);
+        assertEquals(VALID_APPOINTMENT, appointment.toModelType(patientManager));
+    }
+
+    @Test
+    public void toModelType_unknownNric_throwsIllegalArgumentException() {
+        JsonAdaptedAppointment appointment = new JsonAdaptedAppointment(
+                null, VALID_NRIC, VALID_DATE, VALID_START, VALID_END, VALID_COMMENT);
+        String expectedMessage = String.format(JsonAdaptedAppointment.APP_UNKNOWN_PATIENT_MESSAGE_FORMAT, VALID_NRIC);
+        Assert.assertThrows(IllegalArgumentException.class, expectedMessage, () ->
+                appointment.toModelType(new PatientManager()));
+    }
+
     @Test
     public void toModelType_invalidDate_throwsIllegalArgumentException() {
         JsonAdaptedAppointment appointment = new JsonAdaptedAppointment(
@@ -1,14 +1,19 @@
 package quickdocs.storage;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 import static quickdocs.testutil.TypicalPatients.ALICE;
 import static quickdocs.testutil.TypicalPatients.EVE;
 import static quickdocs.testutil.TypicalPatients.getTypicalPatientQuickDocs;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -16,6 +21,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
 import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.util.FileUtil;
 import quickdocs.model.QuickDocs;
 
 public class JsonQuickDocsStorageTest {
@@ -91,6 +97,82 @@ public class JsonQuickDocsStorageTest {
         assertEquals(original, readBack);
     }
 
+    @Test
+    public void saveQuickDocs_repeatedly_previousVersionsRotatedIntoBackups() throws Exception {
+        Path filePath = testFolder.getRoot().toPath().resolve("TempQuickDocs.json");
+        JsonQuickDocsStorage jsonQuickDocsStorage = new JsonQuickDocsStorage(filePath, 2);
+        QuickDocs original = getTypicalPatientQuickDocs();
+        List<Path> backupFilePaths = new DataFileBackups(filePath, 2).getBackupFilePaths();
+
+        jsonQuickDocsStorage.saveQuickDocs(original);
+        assertFalse(Files.exists(backupFilePaths.get(0)));
+
+        byte[] firstVersion = Files.readAllBytes(filePath);
+        original.getPatientManager().addPatient(EVE);
+        jsonQuickDocsStorage.saveQuickDocs(original);
+        byte[] secondVersion = Files.readAllBytes(filePath);
+        original.getPatientManager().deletePatientByNric(ALICE.getNric().toString());
+        jsonQuickDocsStorage.saveQuickDocs(original);
+        jsonQuickDocsStorage.saveQuickDocs(original);
+
+        // the oldest version is rotated out, and no temporary file is left behind
+        assertArrayEquals(Files.readAllBytes(filePath), Files.readAllBytes(backupFilePaths.get(0)));
+        assertArrayEquals(secondVersion, Files.readAllBytes(backupFilePaths.get(1)));
+        assertFalse(Arrays.equals(firstVersion, Files.readAllBytes(backupFilePaths.get(0))));
+        assertFalse(Files.exists(FileUtil.getTempFilePath(filePath)));
+        assertEquals(original, jsonQuickDocsStorage.readQuickDocs().get());
+    }
+
+    @Test
+    public void saveQuickDocs_writeFails_originalFileKept() throws Exception {
+        Path filePath = testFolder.getRoot().toPath().resolve("TempQuickDocs.json");
+        JsonQuickDocsStorage jsonQuickDocsStorage = new JsonQuickDocsStorage(filePath);
+        QuickDocs original = getTypicalPatientQuickDocs();
+        jsonQuickDocsStorage.saveQuickDocs(original);
+        byte[] savedVersion = Files.readAllBytes(filePath);
+
+        // the temporary file cannot be written
+        Files.createDirectory(FileUtil.getTempFilePath(filePath));
+        original.getPatientManager().addPatient(EVE);
+        try {
+            jsonQuickDocsStorage.saveQuickDocs(original);
+            fail("Expected IOException");
+        } catch (IOException ioe) {
+            // the data file is still in place, and the backups are not rotated
+            assertArrayEquals(savedVersion, Files.readAllBytes(filePath));
+            assertFalse(Files.exists(new DataFileBackups(filePath, 1).getBackupFilePaths().get(0)));
+        }
+    }
+
+    @Test
+    public void readQuickDocs_truncatedFile_recoveredFromNewestValidBackup() throws Exception {
+        Path filePath = testFolder.getRoot().toPath().resolve("TempQuickDocs.json");
+        JsonQuickDocsStorage jsonQuickDocsStorage = new JsonQuickDocsStorage(filePath);
+        QuickDocs original = getTypicalPatientQuickDocs();
+        jsonQuickDocsStorage.saveQuickDocs(original);
+        QuickDocs previous = jsonQuickDocsStorage.readQuickDocs().get();
+        original.getPatientManager().addPatient(EVE);
+        jsonQuickDocsStorage.saveQuickDocs(original);
+
+        byte[] content = Files.readAllBytes(filePath);
+        Files.write(filePath, Arrays.copyOf(content, content.length / 2));
+        assertEquals(previous, jsonQuickDocsStorage.readQuickDocs().get());
+    }
+
+    @Test
+    public void readQuickDocs_stoppedAfterRotation_recoveredFromCompleteTempFile() throws Exception {
+        Path filePath = testFolder.getRoot().toPath().resolve("TempQuickDocs.json");
+        JsonQuickDocsStorage jsonQuickDocsStorage = new JsonQuickDocsStorage(filePath);
+        QuickDocs original = getTypicalPatientQuickDocs();
+        jsonQuickDocsStorage.saveQuickDocs(original);
+        original.getPatientManager().addPatient(EVE);
+        jsonQuickDocsStorage.saveQuickDocs(original);
+
+        // QuickDocs stopped after writing the temporary file, before renaming it to the data file
+        Files.move(filePath, FileUtil.getTempFilePath(filePath));
+        assertEquals(original, jsonQuickDocsStorage.readQuickDocs().get());
+    }
+
     @Test
     public void saveQuickDocs_nullQuickDocs_throwsNullPointerException() {
         thrown.expect(NullPointerException.class);
@@ -1,11 +1,16 @@
 package quickdocs.storage;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static quickdocs.testutil.TypicalAppointments.getTypicalAppointmentsQuickDocs;
+import static quickdocs.testutil.TypicalPatients.ALICE;
 import static quickdocs.testutil.TypicalReminders.getTypicalRemindersQuickDocs;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -14,6 +19,7 @@ import org.junit.rules.ExpectedException;
 import quickdocs.commons.exceptions.IllegalValueException;
 import quickdocs.commons.util.JsonUtil;
 import quickdocs.model.QuickDocs;
+import quickdocs.model.patient.Patient;
 import quickdocs.testutil.TypicalPatients;
 import quickdocs.testutil.TypicalStatistics;
 
@@ -70,6 +76,28 @@ public class JsonSerializableQuickDocsTest {
         dataFromFile.toModelType();
     }
 
+    @Test
+    public void convertAll_manyRecords_orderKept() throws Exception {
+        List<Integer> records = IntStream.range(0, JsonSerializableQuickDocs.PARALLEL_CONVERSION_THRESHOLD * 4)
+                .boxed().collect(Collectors.toList());
+        List<String> converted = JsonSerializableQuickDocs.convertAll(records, String::valueOf);
+        assertEquals(records.stream().map(String::valueOf).collect(Collectors.toList()), converted);
+    }
+
+    @Test
+    public void convertAll_manyRecordsWithInvalidRecord_throwsIllegalValueException() throws Exception {
+        List<Integer> records = IntStream.range(0, JsonSerializableQuickDocs.PARALLEL_CONVERSION_THRESHOLD * 4)
+                .boxed().collect(Collectors.toList());
+        thrown.expect(IllegalValueException.class);
+        thrown.expectMessage("Invalid record");
+        JsonSerializableQuickDocs.convertAll(records, record -> {
+            if (record == records.size() - 1) {
+                throw new IllegalValueException("Invalid record");
+            }
+            return record;
+        });
+    }
+
     @Test
     public void toModelType_typicalAppointmentsFile_success() throws Exception {
         JsonSerializableQuickDocs dataFromFile = JsonUtil.readJsonFile(TYPICAL_APPOINTMENTS_FILE,
@@ -79,6 +107,29 @@ public class JsonSerializableQuickDocsTest {
         assertEquals(quickDocsFromFile, typicalAppointmentsQuickDocs);
     }
 
+    @Test
+    public void toModelType_legacyAppointmentsFile_linkedToPatients() throws Exception {
+        JsonSerializableQuickDocs dataFromFile = JsonUtil.readJsonFile(TYPICAL_APPOINTMENTS_FILE,
+                JsonSerializableQuickDocs.class).get();
+        assertEquals(JsonSerializableQuickDocs.LEGACY_FORMAT_VERSION, dataFromFile.getVersion());
+
+        QuickDocs quickDocsFromFile = dataFromFile.toModelType();
+        Patient patient = quickDocsFromFile.getPatientManager().getPatientAtIndex(0);
+        assertSame(patient, quickDocsFromFile.getAppointmentManager().getAppointments(patient).get(0).getPatient());
+    }
+
+    @Test
+    public void toModelType_typicalAppointmentsSaved_patientsReferencedByNric() throws Exception {
+        QuickDocs typicalAppointmentsQuickDocs = getTypicalAppointmentsQuickDocs();
+        String json = JsonUtil.toJsonString(new JsonSerializableQuickDocs(typicalAppointmentsQuickDocs));
+        // the email of each patient is only found in the list of patients
+        assertEquals(json.indexOf(ALICE.getEmail().toString()), json.lastIndexOf(ALICE.getEmail().toString()));
+
+        JsonSerializableQuickDocs dataFromJson = JsonUtil.fromJsonString(json, JsonSerializableQuickDocs.class);
+        assertEquals(JsonSerializableQuickDocs.FORMAT_VERSION, dataFromJson.getVersion());
+        assertEquals(typicalAppointmentsQuickDocs, dataFromJson.toModelType());
+    }
+
     @Test
     public void toModelType_invalidAppointmentFile_throwsIllegalArgumentException() throws Exception {
         JsonSerializableQuickDocs dataFromFile = JsonUtil.readJsonFile(INVALID_APPOINTMENT_FILE,
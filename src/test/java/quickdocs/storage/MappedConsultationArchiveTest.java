@@ -0,0 +1,134 @@
+package quickdocs.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalPatients.BOB;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_DIAGNOSIS_A;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_DIAGNOSIS_B;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_PRESCRIPTIONS_A;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_PRESCRIPTIONS_B;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.patient.Patient;
+
+public class MappedConsultationArchiveTest {
+
+    private static final LocalDateTime SESSION = LocalDateTime.parse("2017-03-01T10:15:30");
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path getArchiveFilePath() {
+        return testFolder.getRoot().toPath().resolve("TempQuickDocs" + MappedConsultationArchive.ARCHIVE_FILE_SUFFIX);
+    }
+
+    /**
+     * Returns consultations with the given indexes, alternating between Alice and Bob.
+     */
+    private List<Consultation> getConsultations(int firstIndex, int count) {
+        List<Consultation> consultations = new ArrayList<>();
+        for (int index = firstIndex; index < firstIndex + count; index++) {
+            Patient patient = index % 2 == 0 ? ALICE : BOB;
+            consultations.add(index % 2 == 0
+                    ? new Consultation(index, patient, SESSION.plusDays(index), SAMPLE_DIAGNOSIS_A,
+                            new ArrayList<>(SAMPLE_PRESCRIPTIONS_A))
+                    : new Consultation(index, patient, SESSION.plusDays(index), SAMPLE_DIAGNOSIS_B,
+                            new ArrayList<>(SAMPLE_PRESCRIPTIONS_B)));
+        }
+        return consultations;
+    }
+
+    /**
+     * Asserts that both consultations hold the same data, as {@code Consultation} does not override equals.
+     */
+    private void assertSameConsultation(Consultation expected, Consultation actual) throws Exception {
+        assertEquals(JsonUtil.toJsonString(new JsonAdaptedConsultation(expected)),
+                JsonUtil.toJsonString(new JsonAdaptedConsultation(actual)));
+    }
+
+    @Test
+    public void getArchiveFilePath_dataFile_archiveNextToIt() {
+        assertEquals(Paths.get("data", "quickdocs.consultations.archive"),
+                MappedConsultationArchive.getArchiveFilePath(Paths.get("data", "quickdocs.json")));
+    }
+
+    @Test
+    public void constructor_missingFile_emptyArchive() throws Exception {
+        MappedConsultationArchive archive = new MappedConsultationArchive(getArchiveFilePath());
+        assertEquals(0, archive.size());
+        assertTrue(archive.findByNric(ALICE.getNric().toString()).isEmpty());
+    }
+
+    @Test
+    public void append_thenReopen_consultationsReadBack() throws Exception {
+        List<Consultation> consultations = getConsultations(0, 5);
+        MappedConsultationArchive archive = new MappedConsultationArchive(getArchiveFilePath());
+        archive.append(consultations.subList(0, 3));
+        archive.append(consultations.subList(3, 5));
+        assertEquals(5, archive.size());
+        assertSameConsultation(consultations.get(4), archive.get(4));
+
+        MappedConsultationArchive reopened = new MappedConsultationArchive(getArchiveFilePath());
+        assertEquals(5, reopened.size());
+        for (int i = 0; i < consultations.size(); i++) {
+            assertSameConsultation(consultations.get(i), reopened.get(i));
+        }
+
+        List<Consultation> bobConsultations = reopened.findByNric(BOB.getNric().toString());
+        assertEquals(2, bobConsultations.size());
+        assertSameConsultation(consultations.get(1), bobConsultations.get(0));
+        assertSameConsultation(consultations.get(3), bobConsultations.get(1));
+    }
+
+    @Test
+    public void append_indexNotFollowingOn_throwsIllegalArgumentException() throws Exception {
+        MappedConsultationArchive archive = new MappedConsultationArchive(getArchiveFilePath());
+        archive.append(getConsultations(0, 2));
+
+        thrown.expect(IllegalArgumentException.class);
+        archive.append(getConsultations(3, 1));
+    }
+
+    @Test
+    public void constructor_incompleteLastRecord_recordRemoved() throws Exception {
+        new MappedConsultationArchive(getArchiveFilePath()).append(getConsultations(0, 3));
+        byte[] data = Files.readAllBytes(getArchiveFilePath());
+        Files.write(getArchiveFilePath(), Arrays.copyOf(data, data.length - 10));
+
+        MappedConsultationArchive archive = new MappedConsultationArchive(getArchiveFilePath());
+        assertEquals(2, archive.size());
+
+        // the consultation removed is archived again in place of its incomplete record
+        archive.append(getConsultations(2, 1));
+        assertEquals(data.length, Files.size(getArchiveFilePath()));
+        assertSameConsultation(getConsultations(2, 1).get(0),
+                new MappedConsultationArchive(getArchiveFilePath()).get(2));
+    }
+
+    @Test
+    public void constructor_notAnArchive_throwsDataConversionException() throws Exception {
+        Files.write(getArchiveFilePath(), "{ \"consultationList\" : [ ] }".getBytes());
+
+        thrown.expect(DataConversionException.class);
+        new MappedConsultationArchive(getArchiveFilePath());
+    }
+}
@@ -0,0 +1,199 @@
+package quickdocs.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static quickdocs.testutil.TypicalAppointments.APP_A;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalPatients.EVE;
+import static quickdocs.testutil.TypicalPatients.getTypicalPatientQuickDocs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.model.ModelManager;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.UserPrefs;
+
+public class QuickDocsSaverTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path filePath;
+    private QuickDocsSaver saver;
+    private ModelManager model;
+
+    @Before
+    public void setUp() {
+        filePath = testFolder.getRoot().toPath().resolve("TempQuickDocs.json");
+        model = new ModelManager(getTypicalPatientQuickDocs(), new UserPrefs());
+    }
+
+    @Test
+    public void save_journalStorage_writtenInBackground() throws Exception {
+        saver = new QuickDocsSaver(new JournalQuickDocsStorage(filePath));
+        saver.save(model.getQuickDocs());
+        model.addPatient(EVE);
+        saver.save(model.getQuickDocs());
+        model.addApp(APP_A);
+        model.deletePatientByNric(ALICE.getNric().toString());
+        saver.save(model.getQuickDocs());
+
+        assertFalse(model.getQuickDocs().isModified());
+        assertTrue(saver.flush(model.getQuickDocs()));
+        assertEquals(model.getQuickDocs(), new JournalQuickDocsStorage(filePath).readQuickDocs().get());
+    }
+
+    @Test
+    public void save_whileWriting_coalescedIntoLastSnapshot() throws Exception {
+        BlockingStorage storage = new BlockingStorage();
+        saver = new QuickDocsSaver(storage);
+
+        saver.save(model.getQuickDocs());
+        storage.firstWriteStarted.await();
+        for (int i = 0; i < 5; i++) {
+            saver.save(model.getQuickDocs());
+        }
+        storage.firstWriteReleased.countDown();
+
+        assertTrue(saver.flush(model.getQuickDocs()));
+        // the first save, then only the last of the saves made while it was written
+        assertEquals(List.of(0, 5), storage.writtenSaves);
+    }
+
+    @Test
+    public void save_changesWhileWriting_appendedAtOnce() throws Exception {
+        BlockingStorage storage = new BlockingStorage();
+        saver = new QuickDocsSaver(storage);
+
+        saver.save(model.getQuickDocs());
+        storage.firstWriteStarted.await();
+        storage.isAppending = true;
+        for (int i = 0; i < 3; i++) {
+            saver.save(model.getQuickDocs());
+        }
+        storage.firstWriteReleased.countDown();
+
+        assertTrue(saver.flush(model.getQuickDocs()));
+        assertEquals(List.of(0), storage.writtenSaves);
+        assertEquals(List.of(List.of(1, 2, 3)), storage.appendedEntries);
+    }
+
+    @Test
+    public void save_writeFails_reportedAndSnapshotWrittenAtFlush() throws Exception {
+        JournalQuickDocsStorage journalStorage = new JournalQuickDocsStorage(filePath);
+        FailingStorage storage = new FailingStorage(journalStorage);
+        List<IOException> failures = Collections.synchronizedList(new ArrayList<>());
+        saver = new QuickDocsSaver(storage);
+        saver.setFailureHandler(failures::add);
+
+        saver.save(model.getQuickDocs());
+        assertTrue(saver.flush(model.getQuickDocs()));
+
+        storage.isFailing = true;
+        model.addPatient(EVE);
+        saver.save(model.getQuickDocs());
+        assertFalse(saver.flush(model.getQuickDocs()));
+        assertFalse(failures.isEmpty());
+
+        storage.isFailing = false;
+        model.addApp(APP_A);
+        assertTrue(saver.flush(model.getQuickDocs()));
+        assertFalse(Files.exists(journalStorage.getJournalFilePath()));
+        assertEquals(model.getQuickDocs(), new JournalQuickDocsStorage(filePath).readQuickDocs().get());
+    }
+
+    /**
+     * A stub storage whose first write waits until it is released, which records the order of the saves written.
+     * While it is appending, it prepares saves that append their own number instead.
+     */
+    private static class BlockingStorage extends StorageStub {
+        private final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        private final CountDownLatch firstWriteReleased = new CountDownLatch(1);
+        private final List<Integer> writtenSaves = Collections.synchronizedList(new ArrayList<>());
+        private final List<List<?>> appendedEntries = Collections.synchronizedList(new ArrayList<>());
+        private final PendingSave.Append append = entries -> appendedEntries.add(new ArrayList<>(entries));
+        private int preparedSaves = 0;
+        private boolean isAppending = false;
+
+        @Override
+        public PendingSave prepareSave(QuickDocs quickDocs) {
+            int save = preparedSaves++;
+            if (isAppending) {
+                return PendingSave.ofChanges(List.of(save), append);
+            }
+            return PendingSave.ofSnapshot(() -> {
+                if (save == 0) {
+                    firstWriteStarted.countDown();
+                    try {
+                        firstWriteReleased.await();
+                    } catch (InterruptedException ie) {
+                        throw new AssertionError(ie);
+                    }
+                }
+                writtenSaves.add(save);
+            });
+        }
+    }
+
+    /**
+     * A stub storage that fails to write the saves prepared while it is failing.
+     */
+    private static class FailingStorage extends StorageStub {
+        private final QuickDocsStorage storage;
+        private volatile boolean isFailing = false;
+
+        FailingStorage(QuickDocsStorage storage) {
+            this.storage = storage;
+        }
+
+        @Override
+        public PendingSave prepareSave(QuickDocs quickDocs) {
+            PendingSave save = storage.prepareSave(quickDocs);
+            if (!isFailing) {
+                return save;
+            }
+            PendingSave.Write failingWrite = () -> {
+                throw new IOException("dummy exception");
+            };
+            return save.isSnapshot() ? PendingSave.ofSnapshot(failingWrite) : PendingSave.ofChanges(failingWrite);
+        }
+    }
+
+    /**
+     * A default storage stub that has all of its methods failing.
+     */
+    private static class StorageStub implements QuickDocsStorage {
+        @Override
+        public Path getFilePath() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public Optional<QuickDocs> readQuickDocs() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public void saveQuickDocs(QuickDocs quickDocs) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public PendingSave prepareSave(QuickDocs quickDocs) {
+            throw new AssertionError("This method should not be called.");
+        }
+    }
+}